@@ -0,0 +1,42 @@
+package com.portfolio.analytics.service;
+
+import com.portfolio.analytics.service.PerformanceService.PerformanceResult;
+import com.portfolio.benchmark.PortfolioFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PerformanceService 핫패스: 거래일별 평가액 / 현금흐름 → calculateTWR → calculateRiskMetrics
+ *
+ * 원장 / 가격 이력을 한 번씩 읽고 거래일을 쓸어가므로 (거래일 수 × 종목 수 + legs)에 비례한다.
+ * 기본 파라미터는 10,000 legs까지이며, 더 큰 원장은 JMH jar에 직접 지정한다.
+ * (java -jar build/libs/portfolio-api-0.0.1-SNAPSHOT-jmh.jar PerformanceServiceBenchmark -p legs=1000000)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PerformanceServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int legs;
+
+    @Param({"10"})
+    private int instruments;
+
+    @Param({"1", "10", "30"})
+    private int years;
+
+    private PortfolioFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = PortfolioFixture.create(legs, instruments, years);
+    }
+
+    @Benchmark
+    public PerformanceResult calculatePerformance() {
+        return fixture.performanceService.calculatePerformance(PortfolioFixture.PORTFOLIO_ID,
+                PortfolioFixture.WORKSPACE_ID, fixture.from, fixture.to, "TWR", "DAILY");
+    }
+}
@@ -0,0 +1,74 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.BacktestConfig;
+import com.portfolio.backtest.service.BacktestService.BacktestResult;
+import com.portfolio.backtest.service.BacktestService.TargetAlloc;
+import com.portfolio.benchmark.InMemoryRepositories;
+import com.portfolio.benchmark.PortfolioFixture;
+import com.portfolio.pricing.repository.FxRateRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BacktestService.executeBacktest: 가격 적재(PriceMatrix) + 일별 시뮬레이션 + DTO 변환
+ *
+ * 저장 / 큐 / 결과 캐시는 거치지 않는다 (시뮬레이션 경로만 측정).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BacktestServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int instruments;
+
+    @Param({"1", "10", "30"})
+    private int years;
+
+    @Param({BacktestService.ENGINE_DECIMAL, BacktestService.ENGINE_COLUMNAR})
+    private String engine;
+
+    private BacktestService backtestService;
+    private BacktestConfig config;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PortfolioFixture fixture = PortfolioFixture.create(2, instruments, years);
+        FxRateRepository fxRateRepository = InMemoryRepositories.of(FxRateRepository.class, Map.of(
+                "findSeries", args -> List.of()));
+        BacktestPriceLoader priceLoader = new BacktestPriceLoader(fixture.priceService, fixture.tradingCalendar,
+                fxRateRepository);
+        backtestService = new BacktestService(priceLoader, null, null, null, null, null);
+
+        config = new BacktestConfig();
+        config.setName("Benchmark");
+        config.setStartDate(fixture.from.toString());
+        config.setEndDate(fixture.to.toString());
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("QUARTERLY");
+        config.setEngine(engine);
+
+        BigDecimal weight = BigDecimal.ONE.divide(BigDecimal.valueOf(instruments), 6, RoundingMode.DOWN);
+        List<TargetAlloc> targets = new ArrayList<>(instruments);
+        for (int i = 0; i < instruments; i++) {
+            TargetAlloc target = new TargetAlloc();
+            target.setInstrumentId(PortfolioFixture.instrumentId(i));
+            target.setAssetClass("EQUITY");
+            target.setTargetWeight(weight);
+            targets.add(target);
+        }
+        config.setTargets(targets);
+    }
+
+    @Benchmark
+    public BacktestResult executeBacktest() {
+        return backtestService.executeBacktest(config, new BacktestRunHandle("benchmark", null));
+    }
+}
@@ -0,0 +1,67 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.backtest.service.ColumnarBacktestEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ColumnarBacktestEngine + RiskWeightingStrategy: 매일 EWMA 공분산 갱신 + 월별 비중 재계산
+ *
+ * 가격은 단일 팩터 + 개별 잡음의 합성 행렬 (가격 적재 / DTO 변환은 측정하지 않음).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RiskWeightingBenchmark {
+
+    private static final int DAYS_PER_YEAR = 252;
+
+    @Param({"10", "50"})
+    private int instruments;
+
+    @Param({"20"})
+    private int years;
+
+    @Param({RiskWeightingStrategy.INVERSE_VOL, RiskWeightingStrategy.RISK_PARITY, RiskWeightingStrategy.MIN_VARIANCE})
+    private String weighting;
+
+    private ColumnarBacktestEngine engine;
+    private ColumnarBacktestEngine.Rules rules;
+    private double[] prices;
+    private int[] monthIndex;
+    private double[] weights;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int days = years * DAYS_PER_YEAR;
+        Random random = new Random(42);
+        double[] vol = new double[instruments];
+        for (int i = 0; i < instruments; i++) vol[i] = 0.005 + 0.02 * random.nextDouble();
+
+        prices = new double[days * instruments];
+        monthIndex = new int[days];
+        for (int i = 0; i < instruments; i++) prices[i] = 100;
+        for (int d = 1; d < days; d++) {
+            double factor = random.nextGaussian();
+            for (int i = 0; i < instruments; i++) {
+                double r = vol[i] * (0.6 * factor + 0.8 * random.nextGaussian());
+                prices[d * instruments + i] = prices[(d - 1) * instruments + i] * (1 + r);
+            }
+            monthIndex[d] = d / 21;
+        }
+
+        weights = new double[instruments];
+        for (int i = 0; i < instruments; i++) weights[i] = 1.0 / instruments;
+
+        engine = new ColumnarBacktestEngine(instruments, days);
+        rules = new ColumnarBacktestEngine.Rules(100_000_000, ColumnarBacktestEngine.REBALANCE_PERIODIC, 1, 0, 0, 1);
+    }
+
+    @Benchmark
+    public double run() {
+        engine.run(prices, monthIndex, weights, rules, RiskWeightingStrategy.create(weighting, null, 1), null);
+        return engine.equity()[engine.numDays() - 1];
+    }
+}
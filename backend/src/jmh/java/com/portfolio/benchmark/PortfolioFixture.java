@@ -0,0 +1,210 @@
+package com.portfolio.benchmark;
+
+import com.portfolio.analytics.service.PerformanceService;
+import com.portfolio.common.util.AssetClass;
+import com.portfolio.ledger.entity.CashBalance;
+import com.portfolio.ledger.entity.PositionSnapshot;
+import com.portfolio.ledger.entity.Transaction;
+import com.portfolio.ledger.entity.TransactionLeg;
+import com.portfolio.ledger.repository.CashBalanceRepository;
+import com.portfolio.ledger.repository.PositionSnapshotRepository;
+import com.portfolio.ledger.repository.TransactionRepository;
+import com.portfolio.ledger.service.PositionService;
+import com.portfolio.portfolio.entity.Portfolio;
+import com.portfolio.portfolio.entity.PortfolioTarget;
+import com.portfolio.portfolio.repository.PortfolioRepository;
+import com.portfolio.portfolio.repository.PortfolioTargetRepository;
+import com.portfolio.pricing.repository.ExchangeHolidayRepository;
+import com.portfolio.pricing.repository.ExchangeRepository;
+import com.portfolio.pricing.repository.InstrumentRepository;
+import com.portfolio.pricing.service.MockPriceService;
+import com.portfolio.pricing.service.PriceService;
+import com.portfolio.pricing.service.TradingCalendar;
+import com.portfolio.rebalance.service.RebalanceService;
+import com.portfolio.valuation.service.ValuationSeriesEngine;
+import com.portfolio.valuation.service.ValuationService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 벤치마크 공용 픽스처: 합성 거래 원장 + 인메모리 저장소로 조립한 서비스
+ *
+ * - 원장: 첫날 입금 1건(2 legs) + 매수 거래(ASSET / CASH 2 legs)를 기간에 고르게 분산
+ * - 물리화 포지션 / 현금 잔액: 원장에서 미리 누적 (현재 평가는 이 행만 읽음)
+ * - 종목 ID: BENCH000 ~ (6자리 숫자가 아니므로 NYSE 달력)
+ * - 가격: MockPriceService (결정론적 시뮬레이션)
+ */
+public final class PortfolioFixture {
+
+    public static final String WORKSPACE_ID = "bench-workspace";
+    public static final String PORTFOLIO_ID = "bench-portfolio";
+
+    public final LocalDate from;
+    public final LocalDate to;
+    public final List<Transaction> ledger;
+    public final TradingCalendar tradingCalendar;
+    public final PriceService priceService;
+    public final ValuationService valuationService;
+    public final PerformanceService performanceService;
+    public final RebalanceService rebalanceService;
+
+    private PortfolioFixture(int legs, int instruments, int years) {
+        this.to = LocalDate.of(2024, 12, 31);
+        this.from = to.minusYears(years).plusDays(1);
+        this.ledger = ledger(legs, instruments, from, to);
+
+        Portfolio portfolio = Portfolio.builder()
+                .id(PORTFOLIO_ID)
+                .workspaceId(WORKSPACE_ID)
+                .name("Benchmark")
+                .baseCurrency("USD")
+                .type(Portfolio.PortfolioType.HYPOTHETICAL)
+                .build();
+        List<PortfolioTarget> targets = targets(portfolio, instruments);
+
+        PortfolioRepository portfolioRepository = InMemoryRepositories.of(PortfolioRepository.class, Map.of(
+                "findByIdAndWorkspaceId", args -> Optional.of(portfolio)));
+        TransactionRepository transactionRepository = InMemoryRepositories.of(TransactionRepository.class, Map.of(
+                "findByPortfolioIdWithLegs", args -> ledger));
+        CashBalance cashBalance = cashBalance(ledger);
+        List<PositionSnapshot> snapshots = positionSnapshots(ledger);
+        CashBalanceRepository cashBalanceRepository = InMemoryRepositories.of(CashBalanceRepository.class, Map.of(
+                "findById", args -> Optional.of(cashBalance)));
+        PositionSnapshotRepository snapshotRepository = InMemoryRepositories.of(PositionSnapshotRepository.class, Map.of(
+                "findByPortfolioIdOrderByInstrumentId", args -> snapshots));
+        InstrumentRepository instrumentRepository = InMemoryRepositories.of(InstrumentRepository.class, Map.of(
+                "findById", args -> Optional.empty(),
+                "findByIdIn", args -> List.of(),
+                "findByTicker", args -> Optional.empty()));
+        PortfolioTargetRepository targetRepository = InMemoryRepositories.of(PortfolioTargetRepository.class, Map.of(
+                "findByPortfolioId", args -> targets));
+        ExchangeRepository exchangeRepository = InMemoryRepositories.of(ExchangeRepository.class, Map.of(
+                "findByCode", args -> Optional.empty(),
+                "findById", args -> Optional.empty()));
+        ExchangeHolidayRepository holidayRepository = InMemoryRepositories.of(ExchangeHolidayRepository.class, Map.of(
+                "findByExchangeId", args -> List.of()));
+
+        this.tradingCalendar = new TradingCalendar(exchangeRepository, holidayRepository, instrumentRepository);
+        this.priceService = new MockPriceService(tradingCalendar);
+        PositionService positionService = new PositionService(transactionRepository, snapshotRepository,
+                cashBalanceRepository);
+        // calculateValuation은 평가 캐시를 거치지 않음 (getValuation만 사용)
+        this.valuationService = new ValuationService(transactionRepository, portfolioRepository,
+                instrumentRepository, priceService, positionService, null);
+        this.performanceService = new PerformanceService(
+                new ValuationSeriesEngine(transactionRepository, priceService), portfolioRepository, tradingCalendar);
+        this.rebalanceService = new RebalanceService(valuationService, portfolioRepository, targetRepository);
+    }
+
+    public static PortfolioFixture create(int legs, int instruments, int years) {
+        return new PortfolioFixture(legs, instruments, years);
+    }
+
+    public static String instrumentId(int index) {
+        return String.format("BENCH%03d", index);
+    }
+
+    /**
+     * 합성 원장 (저장소 조회와 같이 occurredAt 내림차순)
+     */
+    static List<Transaction> ledger(int legs, int instruments, LocalDate from, LocalDate to) {
+        int buys = Math.max(1, (legs - 2) / 2);
+        long spanDays = Math.max(1, to.toEpochDay() - from.toEpochDay());
+        BigDecimal price = new BigDecimal("100.00");
+        BigDecimal quantity = new BigDecimal("10");
+        BigDecimal cost = price.multiply(quantity);
+        BigDecimal deposit = cost.multiply(BigDecimal.valueOf(buys + 1L));
+
+        List<Transaction> transactions = new ArrayList<>(buys + 1);
+        Transaction depositTx = transaction(0, Transaction.TransactionType.DEPOSIT, from.atTime(9, 0));
+        depositTx.addLeg(leg(TransactionLeg.LegType.CASH, null, null, null, deposit, "CASH"));
+        depositTx.addLeg(leg(TransactionLeg.LegType.CASH, null, null, null, deposit.negate(), "EXTERNAL"));
+        transactions.add(depositTx);
+
+        for (int i = 0; i < buys; i++) {
+            LocalDate date = from.plusDays(spanDays * (i + 1) / (buys + 1));
+            Transaction buy = transaction(i + 1, Transaction.TransactionType.BUY,
+                    date.atTime(10, 0).plusNanos(i % 1_000_000));
+            buy.addLeg(leg(TransactionLeg.LegType.ASSET, instrumentId(i % instruments), quantity, price, cost, null));
+            buy.addLeg(leg(TransactionLeg.LegType.CASH, null, null, null, cost.negate(), "CASH"));
+            transactions.add(buy);
+        }
+
+        transactions.sort(Comparator.comparing(Transaction::getOccurredAt).reversed());
+        return transactions;
+    }
+
+    /**
+     * 원장 쓰기 때 물리화되는 포지션 행 (발생 시각 순으로 누적)
+     */
+    static List<PositionSnapshot> positionSnapshots(List<Transaction> ledger) {
+        Map<String, PositionSnapshot> snapshots = new TreeMap<>();
+        for (int i = ledger.size() - 1; i >= 0; i--) {
+            Transaction tx = ledger.get(i);
+            for (TransactionLeg leg : tx.getLegs()) {
+                if (leg.getLegType() != TransactionLeg.LegType.ASSET || leg.getInstrumentId() == null) continue;
+                snapshots.computeIfAbsent(leg.getInstrumentId(), id -> PositionSnapshot.builder()
+                                .portfolioId(PORTFOLIO_ID)
+                                .instrumentId(id)
+                                .build())
+                        .apply(leg.getQuantity(), leg.getPrice(), tx.getOccurredAt());
+            }
+        }
+        return new ArrayList<>(snapshots.values());
+    }
+
+    static CashBalance cashBalance(List<Transaction> ledger) {
+        BigDecimal amount = BigDecimal.ZERO;
+        for (Transaction tx : ledger) {
+            for (TransactionLeg leg : tx.getLegs()) {
+                if (leg.getLegType() == TransactionLeg.LegType.CASH && !"EXTERNAL".equals(leg.getAccount())) {
+                    amount = amount.add(leg.getAmount());
+                }
+            }
+        }
+        return CashBalance.builder().portfolioId(PORTFOLIO_ID).amount(amount).build();
+    }
+
+    private static Transaction transaction(int seq, Transaction.TransactionType type, LocalDateTime occurredAt) {
+        return Transaction.builder()
+                .id("bench-tx-" + seq)
+                .portfolioId(PORTFOLIO_ID)
+                .type(type)
+                .occurredAt(occurredAt)
+                .status(Transaction.TransactionStatus.POSTED)
+                .build();
+    }
+
+    private static TransactionLeg leg(TransactionLeg.LegType type, String instrumentId, BigDecimal quantity,
+                                      BigDecimal price, BigDecimal amount, String account) {
+        return TransactionLeg.builder()
+                .legType(type)
+                .instrumentId(instrumentId)
+                .currency("USD")
+                .quantity(quantity)
+                .price(price)
+                .amount(amount)
+                .account(account)
+                .build();
+    }
+
+    private static List<PortfolioTarget> targets(Portfolio portfolio, int instruments) {
+        BigDecimal weight = BigDecimal.ONE.divide(BigDecimal.valueOf(instruments), 6, RoundingMode.DOWN);
+        List<PortfolioTarget> targets = new ArrayList<>(instruments);
+        for (int i = 0; i < instruments; i++) {
+            targets.add(PortfolioTarget.builder()
+                    .id("bench-target-" + i)
+                    .portfolio(portfolio)
+                    .instrumentId(instrumentId(i))
+                    .assetClass(AssetClass.EQUITY)
+                    .currency("USD")
+                    .targetWeight(weight)
+                    .build());
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,34 @@
+package com.portfolio.rebalance.service;
+
+import com.portfolio.benchmark.PortfolioFixture;
+import com.portfolio.rebalance.service.RebalanceService.RebalanceAnalysis;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RebalanceService.analyze: 현재 평가 + 목표 비중 대비 매매 추천
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RebalanceServiceBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int legs;
+
+    @Param({"1", "10", "100"})
+    private int instruments;
+
+    private PortfolioFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = PortfolioFixture.create(legs, instruments, 10);
+    }
+
+    @Benchmark
+    public RebalanceAnalysis analyze() {
+        return fixture.rebalanceService.analyze(PortfolioFixture.PORTFOLIO_ID, PortfolioFixture.WORKSPACE_ID);
+    }
+}
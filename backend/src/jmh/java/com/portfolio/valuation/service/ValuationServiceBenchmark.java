@@ -0,0 +1,42 @@
+package com.portfolio.valuation.service;
+
+import com.portfolio.benchmark.PortfolioFixture;
+import com.portfolio.valuation.service.ValuationService.PortfolioValuation;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValuationService 핫패스
+ * - calculateValuation: 물리화 포지션 N행 → 시가 평가 (원장 크기와 무관해야 함)
+ * - calculateValueAtDate: 원장 전체 스캔 → 포지션 누적 → 시가 평가
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValuationServiceBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int legs;
+
+    @Param({"1", "10", "100"})
+    private int instruments;
+
+    private PortfolioFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = PortfolioFixture.create(legs, instruments, 10);
+    }
+
+    @Benchmark
+    public PortfolioValuation calculateValuation() {
+        return fixture.valuationService.calculateValuation(PortfolioFixture.PORTFOLIO_ID, PortfolioFixture.WORKSPACE_ID);
+    }
+
+    @Benchmark
+    public BigDecimal calculateValueAtDate() {
+        return fixture.valuationService.calculateValueAtDate(PortfolioFixture.PORTFOLIO_ID, fixture.to);
+    }
+}
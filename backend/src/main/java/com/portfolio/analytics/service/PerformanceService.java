@@ -2,8 +2,13 @@ package com.portfolio.analytics.service;
 
 import com.portfolio.common.exception.BusinessException;
 import com.portfolio.common.exception.ErrorCode;
+import com.portfolio.common.util.TimeSeriesDownsampler;
+import com.portfolio.portfolio.entity.Portfolio;
 import com.portfolio.portfolio.repository.PortfolioRepository;
-import com.portfolio.valuation.service.ValuationService;
+import com.portfolio.pricing.service.ExchangeCalendar;
+import com.portfolio.pricing.service.TradingCalendar;
+import com.portfolio.valuation.service.ValuationSeriesEngine;
+import com.portfolio.valuation.service.ValuationSeriesEngine.DailyValuation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,8 +33,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PerformanceService {
 
-    private final ValuationService valuationService;
+    private final ValuationSeriesEngine valuationSeriesEngine;
     private final PortfolioRepository portfolioRepository;
+    private final TradingCalendar tradingCalendar;
 
     private static final BigDecimal RISK_FREE_RATE_ANNUAL = new BigDecimal("0.035"); // 연 3.5%
     private static final int TRADING_DAYS_PER_YEAR = 252;
@@ -41,11 +47,30 @@ public class PerformanceService {
     public PerformanceResult calculatePerformance(String portfolioId, String workspaceId,
                                                    LocalDate from, LocalDate to,
                                                    String metric, String frequency) {
-        portfolioRepository.findByIdAndWorkspaceId(portfolioId, workspaceId)
+        return calculatePerformance(portfolioId, workspaceId, from, to, metric, frequency, null);
+    }
+
+    /**
+     * 포트폴리오 성과 데이터 계산 + 차트용 다운샘플링
+     *
+     * maxPoints가 주어지면 리샘플링 후의 수익률 곡선과 벤치마크 곡선을 각각 LTTB로 줄인다.
+     * (지표는 다운샘플링 전 일별 값으로 계산)
+     */
+    @Transactional(readOnly = true)
+    public PerformanceResult calculatePerformance(String portfolioId, String workspaceId,
+                                                   LocalDate from, LocalDate to,
+                                                   String metric, String frequency, Integer maxPoints) {
+        if (maxPoints != null && maxPoints < TimeSeriesDownsampler.MIN_POINTS) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "maxPoints must be at least " + TimeSeriesDownsampler.MIN_POINTS);
+        }
+        Portfolio portfolio = portfolioRepository.findByIdAndWorkspaceId(portfolioId, workspaceId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND));
 
-        // 1. 기간 내 일별 포트폴리오 가치 시계열 생성
-        List<DailyValue> dailyValues = calculateDailyValues(portfolioId, from, to);
+        // 1. 기간 내 일별 포트폴리오 가치 시계열 생성 (기준통화 시장 거래일)
+        ExchangeCalendar calendar = tradingCalendar.forCurrency(portfolio.getBaseCurrency());
+        tradingCalendar.warnIfUnverified(calendar, from, to);
+        List<DailyValue> dailyValues = calculateDailyValues(portfolioId, calendar.tradingDays(from, to));
 
         if (dailyValues.size() < 2) {
             return emptyResult(portfolioId, from, to, metric, frequency);
@@ -66,33 +91,28 @@ public class PerformanceService {
         result.to = to.toString();
         result.metric = metric;
         result.frequency = frequency;
-        result.dataPoints = resampled;
+        result.dataPoints = downsample(resampled, maxPoints);
         result.stats = riskMetrics;
         result.benchmarks = generateBenchmarks(from, to);
+        for (BenchmarkSeries benchmark : result.benchmarks) {
+            benchmark.dataPoints = downsample(benchmark.dataPoints, maxPoints);
+        }
 
         return result;
     }
 
     /**
-     * 일별 포트폴리오 가치 계산
+     * 일별 포트폴리오 가치 계산 (원장 / 가격 이력을 한 번씩만 읽는 시계열 엔진)
      */
-    private List<DailyValue> calculateDailyValues(String portfolioId, LocalDate from, LocalDate to) {
-        List<DailyValue> values = new ArrayList<>();
-        LocalDate current = from;
-
-        while (!current.isAfter(to)) {
-            // 주말 제외
-            if (current.getDayOfWeek().getValue() <= 5) {
-                BigDecimal totalValue = valuationService.calculateValueAtDate(portfolioId, current);
-                BigDecimal cashFlow = valuationService.getCashFlowAtDate(portfolioId, current);
-
-                DailyValue dv = new DailyValue();
-                dv.date = current;
-                dv.totalValue = totalValue;
-                dv.cashFlow = cashFlow;
-                values.add(dv);
-            }
-            current = current.plusDays(1);
+    private List<DailyValue> calculateDailyValues(String portfolioId, LocalDate[] sessions) {
+        List<DailyValue> values = new ArrayList<>(sessions.length);
+
+        for (DailyValuation valuation : valuationSeriesEngine.series(portfolioId, sessions)) {
+            DailyValue dv = new DailyValue();
+            dv.date = valuation.date();
+            dv.totalValue = valuation.totalValue();
+            dv.cashFlow = valuation.cashFlow();
+            values.add(dv);
         }
 
         return values;
@@ -271,17 +291,26 @@ public class PerformanceService {
         return date.getYear() + "-" + String.format("%02d", date.getMonthValue());
     }
 
+    /**
+     * 누적 수익률 곡선 다운샘플링 (낙폭 판정은 1 + 수익률 기준)
+     */
+    private static List<DataPoint> downsample(List<DataPoint> points, Integer maxPoints) {
+        return TimeSeriesDownsampler.downsample(points, p -> 1.0 + p.value.doubleValue(), maxPoints);
+    }
+
     /**
      * Mock 벤치마크 수익률 생성 (결정론적 시뮬레이션)
      */
     private List<BenchmarkSeries> generateBenchmarks(LocalDate from, LocalDate to) {
         List<BenchmarkSeries> benchmarks = new ArrayList<>();
-        benchmarks.add(generateSingleBenchmark("KOSPI", "KOSPI 200", from, to, 0.08, 0.18));
-        benchmarks.add(generateSingleBenchmark("SP500", "S&P 500", from, to, 0.10, 0.15));
+        benchmarks.add(generateSingleBenchmark("KOSPI", "KOSPI 200", tradingCalendar.forExchange(TradingCalendar.KRX),
+                from, to, 0.08, 0.18));
+        benchmarks.add(generateSingleBenchmark("SP500", "S&P 500", tradingCalendar.forExchange(TradingCalendar.NYSE),
+                from, to, 0.10, 0.15));
         return benchmarks;
     }
 
-    private BenchmarkSeries generateSingleBenchmark(String id, String label,
+    private BenchmarkSeries generateSingleBenchmark(String id, String label, ExchangeCalendar calendar,
             LocalDate from, LocalDate to, double annualReturn, double annualVol) {
         BenchmarkSeries series = new BenchmarkSeries();
         series.id = id;
@@ -298,24 +327,21 @@ public class PerformanceService {
         first.value = BigDecimal.ZERO;
         points.add(first);
 
-        LocalDate current = from.plusDays(1);
         List<Double> dailyReturns = new ArrayList<>();
 
-        while (!current.isAfter(to)) {
-            if (current.getDayOfWeek().getValue() <= 5) {
-                int seed = Objects.hash(id, current.toString());
-                Random rng = new Random(seed);
-                double noise = rng.nextGaussian() * dailyVol;
-                double dayRet = dailyReturn + noise;
-                dailyReturns.add(dayRet);
-                cumulative *= (1 + dayRet);
+        // 지수 산출 시장의 거래일만 (from 다음 날부터)
+        for (LocalDate current : calendar.tradingDays(from.plusDays(1), to)) {
+            int seed = Objects.hash(id, current.toString());
+            Random rng = new Random(seed);
+            double noise = rng.nextGaussian() * dailyVol;
+            double dayRet = dailyReturn + noise;
+            dailyReturns.add(dayRet);
+            cumulative *= (1 + dayRet);
 
-                DataPoint dp = new DataPoint();
-                dp.date = current.toString();
-                dp.value = BigDecimal.valueOf(cumulative - 1.0).setScale(6, RoundingMode.HALF_UP);
-                points.add(dp);
-            }
-            current = current.plusDays(1);
+            DataPoint dp = new DataPoint();
+            dp.date = current.toString();
+            dp.value = BigDecimal.valueOf(cumulative - 1.0).setScale(6, RoundingMode.HALF_UP);
+            points.add(dp);
         }
 
         series.dataPoints = points;
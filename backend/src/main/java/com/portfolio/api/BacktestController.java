@@ -1,13 +1,25 @@
 package com.portfolio.api;
 
+import com.portfolio.backtest.service.BacktestMonteCarloService;
+import com.portfolio.backtest.service.BacktestMonteCarloService.MonteCarloRequest;
+import com.portfolio.backtest.service.BacktestMonteCarloService.MonteCarloResult;
+import com.portfolio.backtest.service.BacktestResultStreamer;
 import com.portfolio.backtest.service.BacktestService;
 import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.backtest.service.BacktestSweepService;
+import com.portfolio.backtest.service.BacktestSweepService.SweepRequest;
+import com.portfolio.backtest.service.BacktestSweepService.SweepResult;
+import com.portfolio.backtest.service.BacktestWalkForwardService;
+import com.portfolio.backtest.service.BacktestWalkForwardService.WalkForwardRequest;
+import com.portfolio.backtest.service.BacktestWalkForwardService.WalkForwardResult;
 import com.portfolio.common.exception.BusinessException;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -18,12 +30,19 @@ import java.util.Map;
  * 백테스트 API
  *
  * POST   /v1/backtests/configs        - 설정 생성
- * GET    /v1/backtests/configs         - 설정 목록
+ * GET    /v1/backtests/configs         - 설정 목록 (cursor / limit keyset 페이지)
  * GET    /v1/backtests/configs/{id}    - 설정 조회
- * POST   /v1/backtests/runs            - 백테스트 실행
- * GET    /v1/backtests/runs            - 실행 목록
- * GET    /v1/backtests/runs/{id}       - 실행 상태 조회
- * GET    /v1/backtests/runs/{id}/results - 결과 조회
+ * GET    /v1/backtests/strategies      - 사용 가능한 전략 목록 (config.strategy)
+ * POST   /v1/backtests/runs            - 백테스트 실행 (비동기, RUNNING 상태로 즉시 반환)
+ * GET    /v1/backtests/runs            - 실행 목록 (configId / status 필터, cursor / limit keyset 페이지)
+ * GET    /v1/backtests/runs/{id}       - 실행 상태 조회 (진행률 / ETA 포함)
+ * POST   /v1/backtests/runs/{id}/cancel - 실행 취소 (RUNNING → CANCELLED)
+ * GET    /v1/backtests/runs/{id}/results - 결과 조회 (maxPoints: LTTB 다운샘플링)
+ * GET    /v1/backtests/runs/{id}/results/stream - 결과 스트리밍 (NDJSON / chunked JSON, 필드 선택, 기간 슬라이스)
+ * GET    /v1/backtests/runs/{id}/trades - 매매 로그 페이지 조회 (offset / limit)
+ * POST   /v1/backtests/sweeps          - 파라미터 스윕 (변형 그리드 병렬 평가 → 순위표)
+ * POST   /v1/backtests/monte-carlo     - 블록 부트스트랩 시뮬레이션 (분위수 밴드)
+ * POST   /v1/backtests/walk-forward    - 워크포워드 최적화 (in-sample 선택 → out-of-sample 연결 곡선)
  */
 @RestController
 @RequestMapping("/v1/backtests")
@@ -31,6 +50,10 @@ import java.util.Map;
 public class BacktestController {
 
     private final BacktestService backtestService;
+    private final BacktestSweepService sweepService;
+    private final BacktestMonteCarloService monteCarloService;
+    private final BacktestWalkForwardService walkForwardService;
+    private final BacktestResultStreamer resultStreamer;
 
     // ===== Config =====
 
@@ -47,10 +70,13 @@ public class BacktestController {
     }
 
     @GetMapping("/configs")
-    public ResponseEntity<?> listConfigs() {
+    public ResponseEntity<?> listConfigs(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<BacktestConfig> configs = backtestService.listConfigs();
+            CursorPage<BacktestConfig> configs = backtestService.listConfigs(cursor, limit);
             return ResponseEntity.ok(wrapResponse(configs));
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
         } catch (Exception e) {
             return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -73,7 +99,7 @@ public class BacktestController {
     @PostMapping("/runs")
     public ResponseEntity<?> runBacktest(@RequestBody RunRequest request) {
         try {
-            BacktestRun run = backtestService.runBacktest(
+            BacktestRun run = backtestService.submitBacktest(
                     request.getConfigId(), request.getInlineConfig());
             return ResponseEntity.ok(wrapResponse(run));
         } catch (BusinessException e) {
@@ -84,10 +110,15 @@ public class BacktestController {
     }
 
     @GetMapping("/runs")
-    public ResponseEntity<?> listRuns(@RequestParam(required = false) String configId) {
+    public ResponseEntity<?> listRuns(@RequestParam(required = false) String configId,
+                                      @RequestParam(required = false) String status,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "50") int limit) {
         try {
-            List<BacktestRun> runs = backtestService.listRuns(configId);
+            CursorPage<BacktestRun> runs = backtestService.listRuns(configId, status, cursor, limit);
             return ResponseEntity.ok(wrapResponse(runs));
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
         } catch (Exception e) {
             return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -105,10 +136,111 @@ public class BacktestController {
         }
     }
 
+    @PostMapping("/runs/{id}/cancel")
+    public ResponseEntity<?> cancelRun(@PathVariable String id) {
+        try {
+            BacktestRun run = backtestService.cancelRun(id);
+            return ResponseEntity.ok(wrapResponse(run));
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/runs/{id}/results")
-    public ResponseEntity<?> getResults(@PathVariable String id) {
+    public ResponseEntity<?> getResults(@PathVariable String id,
+                                        @RequestParam(required = false) Integer maxPoints) {
+        try {
+            BacktestResult result = backtestService.getResult(id, maxPoints);
+            return ResponseEntity.ok(wrapResponse(result));
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/runs/{id}/results/stream")
+    public ResponseEntity<?> streamResults(
+            @PathVariable String id,
+            @RequestParam(defaultValue = BacktestResultStreamer.FORMAT_NDJSON) String format,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "series,trades") List<String> include) {
+        try {
+            StreamingResponseBody body = resultStreamer.stream(id, format, fields, from, to,
+                    include.contains("series"), include.contains("trades"));
+            MediaType contentType = BacktestResultStreamer.FORMAT_NDJSON.equals(format)
+                    ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+            return ResponseEntity.ok().contentType(contentType).body(body);
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/runs/{id}/trades")
+    public ResponseEntity<?> getTradeLogs(@PathVariable String id,
+                                          @RequestParam(defaultValue = "0") int offset,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        try {
+            TradeLogPage page = backtestService.getTradeLogs(id, offset, limit);
+            return ResponseEntity.ok(wrapResponse(page));
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // ===== Strategy =====
+
+    @GetMapping("/strategies")
+    public ResponseEntity<?> listStrategies() {
+        try {
+            return ResponseEntity.ok(wrapResponse(backtestService.listStrategies()));
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // ===== Sweep =====
+
+    @PostMapping("/sweeps")
+    public ResponseEntity<?> sweep(@RequestBody SweepRequest request) {
+        try {
+            SweepResult result = sweepService.sweep(request);
+            return ResponseEntity.ok(wrapResponse(result));
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // ===== Monte Carlo =====
+
+    @PostMapping("/monte-carlo")
+    public ResponseEntity<?> monteCarlo(@RequestBody MonteCarloRequest request) {
+        try {
+            MonteCarloResult result = monteCarloService.simulate(request);
+            return ResponseEntity.ok(wrapResponse(result));
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // ===== Walk-forward =====
+
+    @PostMapping("/walk-forward")
+    public ResponseEntity<?> walkForward(@RequestBody WalkForwardRequest request) {
         try {
-            BacktestResult result = backtestService.getResult(id);
+            WalkForwardResult result = walkForwardService.optimize(request);
             return ResponseEntity.ok(wrapResponse(result));
         } catch (BusinessException e) {
             return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
@@ -56,7 +56,7 @@ public class CompareController {
                 Portfolio portfolio = portfolioService.findById(portfolioId, workspaceId);
 
                 PerformanceResult result = performanceService.calculatePerformance(
-                        portfolioId, workspaceId, from, to, metric, frequency);
+                        portfolioId, workspaceId, from, to, metric, frequency, request.getMaxPoints());
 
                 Map<String, Object> curve = new LinkedHashMap<>();
                 curve.put("id", portfolioId);
@@ -116,5 +116,6 @@ public class CompareController {
         private String metric;
         private String frequency;
         private String currencyMode;
+        private Integer maxPoints;      // 곡선별 최대 점 수 (LTTB 다운샘플링)
     }
 }
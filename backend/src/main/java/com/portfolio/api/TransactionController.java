@@ -143,6 +143,29 @@ public class TransactionController {
         }
     }
 
+    /**
+     * 포지션 재구성 (원장 기준으로 물리화 포지션 / 현금 잔액 복구)
+     * POST /v1/portfolios/{portfolioId}/positions/rebuild
+     */
+    @PostMapping("/v1/portfolios/{portfolioId}/positions/rebuild")
+    public ResponseEntity<?> rebuildPositions(@PathVariable String portfolioId) {
+        try {
+            String workspaceId = securityUtils.getCurrentWorkspaceId();
+            int instruments = transactionService.rebuildPositions(portfolioId, workspaceId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("data", Map.of("portfolioId", portfolioId, "instruments", instruments));
+            response.put("meta", Map.of("timestamp", Instant.now().toString()));
+            response.put("error", null);
+
+            return ResponseEntity.ok(response);
+        } catch (BusinessException e) {
+            return createErrorResponse(e.getMessage(), e.getErrorCode().getHttpStatus());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * 거래 취소 (VOID)
      * POST /v1/transactions/{id}/void
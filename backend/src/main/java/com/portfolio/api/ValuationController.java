@@ -38,7 +38,7 @@ public class ValuationController {
             @RequestParam(defaultValue = "REALTIME") String mode) {
         try {
             String workspaceId = securityUtils.getCurrentWorkspaceId();
-            PortfolioValuation valuation = valuationService.calculateValuation(id, workspaceId);
+            PortfolioValuation valuation = valuationService.getValuation(id, workspaceId, mode);
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("portfolioId", valuation.portfolioId);
@@ -78,13 +78,14 @@ public class ValuationController {
             @RequestParam String from,
             @RequestParam String to,
             @RequestParam(defaultValue = "TWR") String metric,
-            @RequestParam(defaultValue = "DAILY") String frequency) {
+            @RequestParam(defaultValue = "DAILY") String frequency,
+            @RequestParam(required = false) Integer maxPoints) {
         try {
             String workspaceId = securityUtils.getCurrentWorkspaceId();
             PerformanceResult result = performanceService.calculatePerformance(
                     id, workspaceId,
                     LocalDate.parse(from), LocalDate.parse(to),
-                    metric, frequency);
+                    metric, frequency, maxPoints);
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("portfolioId", result.portfolioId);
@@ -0,0 +1,72 @@
+package com.portfolio.backtest.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 백테스트 설정 (backtest_configs)
+ * 전용 컬럼이 없는 설정값(투자 방식, DCA, 엔진, 목표 비중)은 params JSON에 저장
+ */
+@Entity
+@Table(name = "backtest_configs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestConfigEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "workspace_id", nullable = false)
+    private String workspaceId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "initial_capital_base", nullable = false, precision = 18, scale = 4)
+    private BigDecimal initialCapitalBase;
+
+    @Column(name = "rebalance_type", nullable = false, length = 20)
+    private String rebalanceType;
+
+    @Column(name = "rebalance_period", length = 20)
+    private String rebalancePeriod;
+
+    @Column(name = "band_threshold", precision = 5, scale = 4)
+    private BigDecimal bandThreshold;
+
+    @Column(name = "dividend_reinvest")
+    private Boolean dividendReinvest;
+
+    @Column(name = "price_mode", nullable = false, length = 20)
+    private String priceMode;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Object> params = new HashMap<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
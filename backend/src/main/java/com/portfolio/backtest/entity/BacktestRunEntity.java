@@ -0,0 +1,74 @@
+package com.portfolio.backtest.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 백테스트 실행 (backtest_runs)
+ * 성과 통계는 결과 시계열을 다시 읽지 않고 조회할 수 있도록 실행 행에 함께 저장
+ */
+@Entity
+@Table(name = "backtest_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestRunEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "config_id", nullable = false)
+    private String configId;
+
+    @Column(name = "created_by", nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    /** 결과 캐시 적중으로 생성된 실행이면 시계열 / 매매 로그를 가진 원본 실행 ID */
+    @Column(name = "source_run_id")
+    private String sourceRunId;
+
+    /** 진행률 (%, RUNNING 중 주기적으로 갱신) */
+    @Column(precision = 5, scale = 2)
+    private BigDecimal progress;
+
+    @Column(name = "eta_seconds")
+    private Long etaSeconds;
+
+    @Column(precision = 12, scale = 6)
+    private BigDecimal cagr;
+
+    @Column(precision = 12, scale = 6)
+    private BigDecimal vol;
+
+    @Column(precision = 12, scale = 6)
+    private BigDecimal mdd;
+
+    @Column(precision = 12, scale = 4)
+    private BigDecimal sharpe;
+
+    @Column(name = "total_invested", precision = 18, scale = 4)
+    private BigDecimal totalInvested;
+
+    @Column(name = "fx_pnl_base", precision = 18, scale = 4)
+    private BigDecimal fxPnlBase;
+
+    @Column(name = "fx_return", precision = 12, scale = 6)
+    private BigDecimal fxReturn;
+}
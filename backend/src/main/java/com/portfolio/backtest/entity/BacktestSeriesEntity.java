@@ -0,0 +1,42 @@
+package com.portfolio.backtest.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 백테스트 일별 시계열 (backtest_result_series)
+ * 쓰기는 BacktestResultJdbcRepository의 JDBC batch insert로 수행
+ */
+@Entity
+@Table(name = "backtest_result_series")
+@IdClass(BacktestSeriesEntityId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestSeriesEntity {
+
+    @Id
+    @Column(name = "run_id", nullable = false)
+    private String runId;
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate ts;
+
+    @Column(name = "equity_curve_base", nullable = false, precision = 18, scale = 4)
+    private BigDecimal equityCurveBase;
+
+    @Column(precision = 10, scale = 6)
+    private BigDecimal drawdown;
+
+    @Column(name = "cash_base", precision = 18, scale = 4)
+    private BigDecimal cashBase;
+
+    @Column(name = "total_invested", precision = 18, scale = 4)
+    private BigDecimal totalInvested;
+}
@@ -0,0 +1,17 @@
+package com.portfolio.backtest.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class BacktestSeriesEntityId implements Serializable {
+
+    private String runId;
+    private LocalDate ts;
+}
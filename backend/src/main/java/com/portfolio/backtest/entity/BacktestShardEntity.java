@@ -0,0 +1,61 @@
+package com.portfolio.backtest.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백테스트 샤드 (backtest_shards)
+ * 스윕 / 몬테카를로 1건을 구간 [rangeFrom, rangeTo)로 나눈 작업 단위. 부모가 결과를 모은 뒤 삭제
+ */
+@Entity
+@Table(name = "backtest_shards")
+@IdClass(BacktestShardEntityId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestShardEntity {
+
+    @Id
+    @Column(name = "parent_id", nullable = false)
+    private String parentId;
+
+    @Id
+    @Column(name = "shard_index", nullable = false)
+    private Integer shardIndex;
+
+    @Column(nullable = false, length = 20)
+    private String kind;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "range_from", nullable = false)
+    private Integer rangeFrom;
+
+    @Column(name = "range_to", nullable = false)
+    private Integer rangeTo;
+
+    /** claim한 노드 (host:pid) */
+    @Column
+    private String worker;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /** 구간 결과 (double 배열, big-endian) */
+    @Column(columnDefinition = "BYTEA")
+    private byte[] result;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
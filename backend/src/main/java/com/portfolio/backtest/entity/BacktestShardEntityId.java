@@ -0,0 +1,16 @@
+package com.portfolio.backtest.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class BacktestShardEntityId implements Serializable {
+
+    private String parentId;
+    private Integer shardIndex;
+}
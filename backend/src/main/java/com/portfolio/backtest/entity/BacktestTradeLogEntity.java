@@ -0,0 +1,55 @@
+package com.portfolio.backtest.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 백테스트 매매 / 입금 로그 (backtest_trade_logs)
+ * - seq: 실행 내 발생 순서 (같은 날 DEPOSIT → 매매 순서 보존)
+ * - DEPOSIT 행은 instrument_id / quantity / price 없이 amount만 기록
+ * 쓰기는 BacktestResultJdbcRepository의 JDBC batch insert로 수행
+ */
+@Entity
+@Table(name = "backtest_trade_logs", indexes = {
+        @Index(name = "idx_backtest_trade_logs_run_seq", columnList = "run_id, seq")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BacktestTradeLogEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "run_id", nullable = false)
+    private String runId;
+
+    @Column(nullable = false)
+    private int seq;
+
+    @Column(nullable = false)
+    private LocalDate ts;
+
+    @Column(name = "instrument_id")
+    private String instrumentId;
+
+    @Column(nullable = false, length = 20)
+    private String action;
+
+    @Column(precision = 18, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(precision = 18, scale = 6)
+    private BigDecimal price;
+
+    @Column(precision = 18, scale = 4)
+    private BigDecimal fee;
+
+    @Column(precision = 18, scale = 4)
+    private BigDecimal amount;
+}
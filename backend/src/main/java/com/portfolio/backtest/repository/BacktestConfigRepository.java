@@ -0,0 +1,25 @@
+package com.portfolio.backtest.repository;
+
+import com.portfolio.backtest.entity.BacktestConfigEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BacktestConfigRepository extends JpaRepository<BacktestConfigEntity, String> {
+
+    /**
+     * 목록 keyset 페이지: (created_at, id) 내림차순으로 커서 (at, id) 다음 행부터 page 크기만큼
+     */
+    @Query("""
+            SELECT c FROM BacktestConfigEntity c
+             WHERE c.createdAt < :at OR (c.createdAt = :at AND c.id < :id)
+             ORDER BY c.createdAt DESC, c.id DESC
+            """)
+    List<BacktestConfigEntity> findPage(@Param("at") LocalDateTime at, @Param("id") String id, Pageable page);
+}
@@ -0,0 +1,155 @@
+package com.portfolio.backtest.repository;
+
+import com.portfolio.backtest.service.BacktestService.SeriesPoint;
+import com.portfolio.backtest.service.BacktestService.TradeLog;
+import com.portfolio.backtest.service.TradeLogBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 백테스트 결과 시계열 / 매매 로그 저장소
+ *
+ * 실행당 수천 ~ 수만 행이므로 JPA 엔티티 단건 저장 대신 JdbcTemplate batch insert로 기록한다.
+ * (PostgreSQL은 reWriteBatchedInserts=true로 multi-row INSERT로 재작성)
+ */
+@Repository
+@RequiredArgsConstructor
+public class BacktestResultJdbcRepository {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String INSERT_SERIES = """
+            INSERT INTO backtest_result_series (run_id, ts, equity_curve_base, drawdown, cash_base, total_invested)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_TRADE_LOG = """
+            INSERT INTO backtest_trade_logs (id, run_id, seq, ts, instrument_id, action, quantity, price, fee, amount)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertSeries(String runId, List<SeriesPoint> series) {
+        jdbcTemplate.batchUpdate(INSERT_SERIES, series, BATCH_SIZE, (ps, point) -> {
+            ps.setString(1, runId);
+            ps.setDate(2, Date.valueOf(LocalDate.parse(point.getTs())));
+            ps.setBigDecimal(3, point.getEquityCurveBase());
+            ps.setBigDecimal(4, point.getDrawdown());
+            ps.setBigDecimal(5, point.getCashBase());
+            ps.setBigDecimal(6, point.getTotalInvested());
+        });
+    }
+
+    /**
+     * 매매 로그 기록: 컬럼 버퍼에서 행마다 TradeLog를 만들어 바로 바인딩 (배치 밖으로 보관하지 않음)
+     */
+    public void insertTradeLogs(String runId, TradeLogBuffer tradeLogs) {
+        List<Integer> seqs = new ArrayList<>(tradeLogs.size());
+        for (int i = 0; i < tradeLogs.size(); i++) seqs.add(i);
+
+        jdbcTemplate.batchUpdate(INSERT_TRADE_LOG, seqs, BATCH_SIZE, (ps, seq) -> {
+            TradeLog log = tradeLogs.get(seq);
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, runId);
+            ps.setInt(3, seq);
+            ps.setDate(4, Date.valueOf(LocalDate.parse(log.getTs())));
+            ps.setString(5, log.getInstrumentId());
+            ps.setString(6, log.getAction());
+            ps.setBigDecimal(7, log.getQuantity());
+            ps.setBigDecimal(8, log.getPrice());
+            ps.setBigDecimal(9, log.getFee());
+            ps.setBigDecimal(10, log.getAmount());
+        });
+    }
+
+    public List<SeriesPoint> findSeries(String runId) {
+        return jdbcTemplate.query("""
+                SELECT ts, equity_curve_base, drawdown, cash_base, total_invested
+                FROM backtest_result_series WHERE run_id = ? ORDER BY ts
+                """, (rs, rowNum) -> {
+            SeriesPoint point = new SeriesPoint();
+            point.setTs(rs.getDate("ts").toLocalDate().toString());
+            point.setEquityCurveBase(scaled(rs, "equity_curve_base", 2));
+            point.setDrawdown(rs.getBigDecimal("drawdown"));
+            point.setCashBase(scaled(rs, "cash_base", 2));
+            point.setTotalInvested(scaled(rs, "total_invested", 2));
+            return point;
+        }, runId);
+    }
+
+    /**
+     * 매매 로그 적재: DTO 대신 컬럼 버퍼에 바로 채운다 (LRU에 올라가는 결과의 메모리 사용량 축소)
+     */
+    public TradeLogBuffer findTradeLogs(String runId) {
+        TradeLogBuffer tradeLogs = new TradeLogBuffer();
+        jdbcTemplate.query("""
+                SELECT ts, instrument_id, action, quantity, price, fee, amount
+                FROM backtest_trade_logs WHERE run_id = ? ORDER BY seq
+                """, (RowCallbackHandler) rs -> tradeLogs.append(
+                rs.getDate("ts").toLocalDate().toString(),
+                rs.getString("instrument_id"),
+                rs.getString("action"),
+                rs.getDouble("quantity"),
+                rs.getDouble("price"),
+                rs.getDouble("fee"),
+                rs.getDouble("amount")), runId);
+        return tradeLogs;
+    }
+
+    /**
+     * 시계열 스트리밍 조회 (행 단위 콜백, fetch size 단위로 커서 이동)
+     * PostgreSQL 커서 페치는 트랜잭션 안(autocommit off)에서만 동작하므로 호출 측에서 트랜잭션을 연다.
+     *
+     * @param from 시작일 (포함, null이면 처음부터)
+     * @param to   종료일 (포함, null이면 끝까지)
+     */
+    public void streamSeries(String runId, LocalDate from, LocalDate to, RowCallbackHandler handler) {
+        stream("""
+                SELECT ts, equity_curve_base, drawdown, cash_base, total_invested
+                FROM backtest_result_series
+                WHERE run_id = ? AND ts >= ? AND ts <= ?
+                ORDER BY ts
+                """, runId, from, to, handler);
+    }
+
+    public void streamTradeLogs(String runId, LocalDate from, LocalDate to, RowCallbackHandler handler) {
+        stream("""
+                SELECT ts, instrument_id, action, quantity, price, fee, amount
+                FROM backtest_trade_logs
+                WHERE run_id = ? AND ts >= ? AND ts <= ?
+                ORDER BY seq
+                """, runId, from, to, handler);
+    }
+
+    private void stream(String sql, String runId, LocalDate from, LocalDate to, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setString(1, runId);
+            ps.setDate(2, Date.valueOf(from != null ? from : LocalDate.of(1900, 1, 1)));
+            ps.setDate(3, Date.valueOf(to != null ? to : LocalDate.of(9999, 12, 31)));
+            return ps;
+        }, handler);
+    }
+
+    /** 저장 시 컬럼 scale(4 ~ 8)로 늘어난 값을 엔진 출력 scale로 되돌림 */
+    private static BigDecimal scaled(ResultSet rs, String column, int scale) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value != null ? value.setScale(scale, RoundingMode.HALF_UP) : null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.portfolio.backtest.repository;
+
+import com.portfolio.backtest.entity.BacktestRunEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BacktestRunRepository extends JpaRepository<BacktestRunEntity, String> {
+
+    /**
+     * 목록 keyset 페이지: (started_at, id) 내림차순으로 커서 (at, id) 다음 행부터 page 크기만큼
+     * 필터 조합별로 쿼리를 나눠 (config_id | status, started_at, id) 복합 인덱스를 그대로 탄다 (V8)
+     */
+    @Query("""
+            SELECT r FROM BacktestRunEntity r
+             WHERE r.startedAt < :at OR (r.startedAt = :at AND r.id < :id)
+             ORDER BY r.startedAt DESC, r.id DESC
+            """)
+    List<BacktestRunEntity> findPage(@Param("at") LocalDateTime at, @Param("id") String id, Pageable page);
+
+    @Query("""
+            SELECT r FROM BacktestRunEntity r
+             WHERE r.configId = :configId
+               AND (r.startedAt < :at OR (r.startedAt = :at AND r.id < :id))
+             ORDER BY r.startedAt DESC, r.id DESC
+            """)
+    List<BacktestRunEntity> findPageByConfigId(@Param("configId") String configId,
+                                               @Param("at") LocalDateTime at, @Param("id") String id,
+                                               Pageable page);
+
+    @Query("""
+            SELECT r FROM BacktestRunEntity r
+             WHERE r.status = :status
+               AND (r.startedAt < :at OR (r.startedAt = :at AND r.id < :id))
+             ORDER BY r.startedAt DESC, r.id DESC
+            """)
+    List<BacktestRunEntity> findPageByStatus(@Param("status") String status,
+                                             @Param("at") LocalDateTime at, @Param("id") String id,
+                                             Pageable page);
+
+    @Query("""
+            SELECT r FROM BacktestRunEntity r
+             WHERE r.configId = :configId AND r.status = :status
+               AND (r.startedAt < :at OR (r.startedAt = :at AND r.id < :id))
+             ORDER BY r.startedAt DESC, r.id DESC
+            """)
+    List<BacktestRunEntity> findPageByConfigIdAndStatus(@Param("configId") String configId,
+                                                        @Param("status") String status,
+                                                        @Param("at") LocalDateTime at, @Param("id") String id,
+                                                        Pageable page);
+
+    /**
+     * RUNNING → CANCELLED (조건부 갱신, 이미 끝난 실행은 0 반환)
+     */
+    @Modifying
+    @Query("""
+            UPDATE BacktestRunEntity r
+               SET r.status = 'CANCELLED', r.finishedAt = :finishedAt, r.etaSeconds = null
+             WHERE r.id = :id AND r.status = 'RUNNING'
+            """)
+    int markCancelled(@Param("id") String id, @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * RUNNING → SUCCEEDED + 성과 통계 (조건부 갱신, 그사이 취소된 실행은 0 반환)
+     */
+    @Modifying
+    @Query("""
+            UPDATE BacktestRunEntity r
+               SET r.status = 'SUCCEEDED', r.finishedAt = :finishedAt, r.errorMessage = null,
+                   r.progress = 100, r.etaSeconds = null,
+                   r.cagr = :cagr, r.vol = :vol, r.mdd = :mdd, r.sharpe = :sharpe,
+                   r.totalInvested = :totalInvested, r.fxPnlBase = :fxPnlBase, r.fxReturn = :fxReturn
+             WHERE r.id = :id AND r.status = 'RUNNING'
+            """)
+    int markSucceeded(@Param("id") String id, @Param("finishedAt") LocalDateTime finishedAt,
+                      @Param("cagr") BigDecimal cagr, @Param("vol") BigDecimal vol,
+                      @Param("mdd") BigDecimal mdd, @Param("sharpe") BigDecimal sharpe,
+                      @Param("totalInvested") BigDecimal totalInvested,
+                      @Param("fxPnlBase") BigDecimal fxPnlBase, @Param("fxReturn") BigDecimal fxReturn);
+
+    /**
+     * RUNNING → FAILED + 오류 메시지 (조건부 갱신, 그사이 취소된 실행은 0 반환)
+     */
+    @Modifying
+    @Query("""
+            UPDATE BacktestRunEntity r
+               SET r.status = 'FAILED', r.finishedAt = :finishedAt, r.errorMessage = :errorMessage,
+                   r.etaSeconds = null
+             WHERE r.id = :id AND r.status = 'RUNNING'
+            """)
+    int markFailed(@Param("id") String id, @Param("finishedAt") LocalDateTime finishedAt,
+                   @Param("errorMessage") String errorMessage);
+
+    /**
+     * 진행률 갱신 (RUNNING인 경우만, 취소된 실행은 0 반환)
+     */
+    @Modifying
+    @Query("""
+            UPDATE BacktestRunEntity r
+               SET r.progress = :progress, r.etaSeconds = :etaSeconds
+             WHERE r.id = :id AND r.status = 'RUNNING'
+            """)
+    int updateProgress(@Param("id") String id, @Param("progress") BigDecimal progress,
+                       @Param("etaSeconds") Long etaSeconds);
+}
@@ -0,0 +1,84 @@
+package com.portfolio.backtest.repository;
+
+import com.portfolio.backtest.entity.BacktestShardEntity;
+import com.portfolio.backtest.entity.BacktestShardEntityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BacktestShardRepository extends JpaRepository<BacktestShardEntity, BacktestShardEntityId> {
+
+    /**
+     * 상태만 조회 (결과 바이트는 읽지 않음)
+     */
+    interface ShardState {
+        Integer getShardIndex();
+        String getStatus();
+        LocalDateTime getClaimedAt();
+        String getErrorMessage();
+    }
+
+    List<ShardState> findStateByParentIdOrderByShardIndex(String parentId);
+
+    List<BacktestShardEntity> findByParentIdOrderByShardIndex(String parentId);
+
+    /**
+     * claim: PENDING(또는 claimedAt이 staleBefore 이전인 RUNNING, retryFailed면 FAILED) → RUNNING
+     * 조건부 갱신이므로 같은 샤드는 한 노드만 가져간다 (샤드가 삭제되었거나 이미 끝났으면 0)
+     */
+    @Modifying
+    @Query("""
+            UPDATE BacktestShardEntity s
+               SET s.status = 'RUNNING', s.worker = :worker, s.claimedAt = :now, s.errorMessage = null
+             WHERE s.parentId = :parentId AND s.shardIndex = :shardIndex
+               AND (s.status = 'PENDING'
+                    OR (s.status = 'RUNNING' AND s.claimedAt < :staleBefore)
+                    OR (:retryFailed = true AND s.status = 'FAILED'))
+            """)
+    int claim(@Param("parentId") String parentId, @Param("shardIndex") int shardIndex,
+              @Param("worker") String worker, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore, @Param("retryFailed") boolean retryFailed);
+
+    /**
+     * 완료 기록 (먼저 끝난 쪽 결과만 유지)
+     */
+    @Modifying
+    @Query("""
+            UPDATE BacktestShardEntity s
+               SET s.status = 'DONE', s.result = :result, s.completedAt = :now, s.errorMessage = null
+             WHERE s.parentId = :parentId AND s.shardIndex = :shardIndex AND s.status <> 'DONE'
+            """)
+    int markDone(@Param("parentId") String parentId, @Param("shardIndex") int shardIndex,
+                 @Param("result") byte[] result, @Param("now") LocalDateTime now);
+
+    /**
+     * 실패 기록 (이 노드가 claim한 RUNNING 샤드만)
+     */
+    @Modifying
+    @Query("""
+            UPDATE BacktestShardEntity s
+               SET s.status = 'FAILED', s.errorMessage = :errorMessage, s.completedAt = :now
+             WHERE s.parentId = :parentId AND s.shardIndex = :shardIndex
+               AND s.status = 'RUNNING' AND s.worker = :worker
+            """)
+    int markFailed(@Param("parentId") String parentId, @Param("shardIndex") int shardIndex,
+                   @Param("worker") String worker, @Param("errorMessage") String errorMessage,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM BacktestShardEntity s WHERE s.parentId = :parentId")
+    int deleteByParentId(@Param("parentId") String parentId);
+
+    /**
+     * 부모가 중단되어 남은 샤드 정리
+     */
+    @Modifying
+    @Query("DELETE FROM BacktestShardEntity s WHERE s.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,79 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.BacktestJob;
+import com.portfolio.infra.rabbitmq.RabbitMQConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 백테스트 작업 디스패처
+ *
+ * - RabbitMQ 사용 시: portfolio-exchange / "backtest" 라우팅 키로 발행 → backtest-jobs 큐
+ *   (BacktestJobListener가 max-concurrent-runs 개의 consumer로 처리)
+ * - RabbitMQ 미사용 시 (dev/test 등): 인프로세스 워커 풀 (max-concurrent-runs 스레드, 대기열)
+ * - 발행 실패 시 인프로세스 워커 풀로 폴백
+ */
+@Component
+@Slf4j
+public class BacktestJobDispatcher {
+
+    private final ObjectProvider<RabbitTemplate> rabbitTemplateProvider;
+    private final ThreadPoolExecutor localWorkers;
+
+    public BacktestJobDispatcher(ObjectProvider<RabbitTemplate> rabbitTemplateProvider,
+                                 @Value("${app.backtest.max-concurrent-runs:5}") int maxConcurrentRuns) {
+        this.rabbitTemplateProvider = rabbitTemplateProvider;
+        this.localWorkers = new ThreadPoolExecutor(
+                maxConcurrentRuns, maxConcurrentRuns,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                workerThreadFactory());
+    }
+
+    /**
+     * 작업 전달
+     *
+     * @param job       큐로 발행할 작업 (실행 ID + 설정 스냅샷)
+     * @param localTask RabbitMQ를 사용할 수 없을 때 인프로세스로 실행할 작업
+     */
+    public void dispatch(BacktestJob job, Runnable localTask) {
+        RabbitTemplate rabbitTemplate = rabbitTemplateProvider.getIfAvailable();
+        if (rabbitTemplate != null) {
+            try {
+                rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, "backtest", job);
+                log.debug("Backtest job published: runId={}", job.getRunId());
+                return;
+            } catch (Exception e) {
+                log.warn("Backtest job publish failed, running in-process: runId={}, cause={}",
+                        job.getRunId(), e.getMessage());
+            }
+        }
+        localWorkers.execute(localTask);
+        log.debug("Backtest job queued in-process: runId={}, active={}, queued={}",
+                job.getRunId(), localWorkers.getActiveCount(), localWorkers.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        localWorkers.shutdown();
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "backtest-worker-" + seq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,371 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.BacktestConfig;
+import com.portfolio.backtest.service.BacktestService.TargetAlloc;
+import com.portfolio.backtest.service.BacktestShardCoordinator.BacktestShardJob;
+import com.portfolio.backtest.service.BacktestShardCoordinator.ShardKind;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import com.portfolio.common.util.StreamingPerformanceStats;
+import com.portfolio.pricing.service.TradingCalendar;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 몬테카를로 (블록 부트스트랩) 백테스트
+ *
+ * 과거 일별 수익률을 blockSize일 단위 블록으로 복원 추출해 합성 가격 경로를 만들고,
+ * 각 경로를 ColumnarBacktestEngine으로 동일한 리밸런싱 / DCA 규칙에 따라 실행한다.
+ * 경로별 최종 평가액 / CAGR / MDD의 분위수(p5 ~ p95)와 MDD 초과 확률을 반환한다.
+ *
+ * - 블록은 같은 날짜의 종목 수익률 행 전체를 가져오므로 종목 간 상관관계가 유지됨
+ * - 경로 i의 난수는 SplittableRandom(pathSeed(seed, i))로 생성 → 스레드 배치와 무관하게 같은 seed면 같은 결과
+ * - 워커(leaf 작업)마다 엔진 / 합성 가격 버퍼를 한 번만 할당해 재사용
+ * - RabbitMQ 사용 시 SHARD_PATHS개 단위 경로 구간으로 나눠 다른 노드와 함께 실행 (BacktestShardCoordinator)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestMonteCarloService {
+
+    public static final int MAX_PATHS = 20_000;
+    public static final int MAX_YEARS = 50;
+
+    /** 분산 실행 시 샤드당 경로 수 */
+    static final int SHARD_PATHS = 250;
+
+    private static final int DEFAULT_PATHS = 1_000;
+    private static final int DEFAULT_BLOCK_SIZE = 20;
+    private static final int LEAF_SIZE = 16;
+    private static final int SHARD_CONTEXT_CACHE_SIZE = 4;
+    private static final double[] PERCENTILES = {0.05, 0.25, 0.50, 0.75, 0.95};
+    private static final double[] MDD_THRESHOLDS = {0.10, 0.20, 0.30, 0.40, 0.50};
+
+    private final BacktestPriceLoader priceLoader;
+    private final TradingCalendar tradingCalendar;
+    private final BacktestShardCoordinator shardCoordinator;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /** 워커: 부모 ID → 수익률 행렬 / 달력 (같은 시뮬레이션의 샤드를 연달아 받으면 다시 적재하지 않음) */
+    private final Map<String, Simulation> shardSimulations = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Simulation> eldest) {
+            return size() > SHARD_CONTEXT_CACHE_SIZE;
+        }
+    };
+
+    public MonteCarloResult simulate(MonteCarloRequest request) {
+        return simulate(request, shardCoordinator.isDistributed() ? SHARD_PATHS : 0);
+    }
+
+    /**
+     * @param shardSize 샤드당 경로 수 (0이면 이 노드에서만 실행)
+     */
+    MonteCarloResult simulate(MonteCarloRequest request, int shardSize) {
+        BacktestConfig config = request.getBaseConfig();
+        BacktestService.requireStaticBaseConfig(config);
+        int paths = request.getPaths() != null ? request.getPaths() : DEFAULT_PATHS;
+        int blockSize = request.getBlockSize() != null ? request.getBlockSize() : DEFAULT_BLOCK_SIZE;
+        if (paths <= 0 || paths > MAX_PATHS) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "paths must be between 1 and " + MAX_PATHS);
+        }
+        if (request.getYears() != null && (request.getYears() <= 0 || request.getYears() > MAX_YEARS)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "years must be between 1 and " + MAX_YEARS);
+        }
+        long startedAt = System.nanoTime();
+        long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+        Simulation simulation = prepare(config, request.getYears(), blockSize, seed);
+
+        double[] terminal = new double[paths];
+        double[] cagr = new double[paths];
+        double[] mdd = new double[paths];
+        double[] invested = new double[1];
+
+        if (shardSize > 0 && paths > shardSize) {
+            // 샤드는 시드 / 블록 길이를 고정한 요청으로 같은 경로를 재현
+            MonteCarloRequest shardRequest = new MonteCarloRequest();
+            shardRequest.setBaseConfig(config);
+            shardRequest.setPaths(paths);
+            shardRequest.setYears(request.getYears());
+            shardRequest.setBlockSize(blockSize);
+            shardRequest.setSeed(seed);
+
+            BacktestShardJob job = new BacktestShardJob();
+            job.setKind(ShardKind.MONTE_CARLO);
+            job.setMonteCarloRequest(shardRequest);
+            shardCoordinator.execute(job, paths, shardSize,
+                    (from, to) -> simulateShard(simulation, from, to),
+                    (from, to, packed) -> {
+                        int length = to - from;
+                        System.arraycopy(packed, 0, terminal, from, length);
+                        System.arraycopy(packed, length, cagr, from, length);
+                        System.arraycopy(packed, length * 2, mdd, from, length);
+                        if (from == 0) {
+                            invested[0] = packed[length * 3];
+                        }
+                    });
+        } else {
+            pool.invoke(new PathTask(new PathContext(simulation, 0, terminal, cagr, mdd, invested), 0, paths));
+        }
+
+        MonteCarloResult result = new MonteCarloResult();
+        result.setPaths(paths);
+        result.setTradingDays(simulation.horizonDays());
+        result.setBlockSize(blockSize);
+        result.setSeed(seed);
+        result.setTotalInvested(BigDecimal.valueOf(invested[0]).setScale(2, RoundingMode.HALF_UP));
+        result.setTerminalWealth(percentiles(terminal, 2));
+        result.setCagr(percentiles(cagr, 6));
+        result.setMdd(percentiles(mdd, 6));
+        result.setMddExceedance(exceedance(mdd));
+        result.setElapsedMs((System.nanoTime() - startedAt) / 1_000_000);
+
+        log.info("Monte Carlo backtest finished: paths={}, days={}, blockSize={}, elapsedMs={}",
+                paths, simulation.horizonDays(), blockSize, result.getElapsedMs());
+        return result;
+    }
+
+    /**
+     * 워커: 다른 노드가 발행한 경로 샤드 실행
+     */
+    public void processShard(BacktestShardJob job) {
+        shardCoordinator.process(job, (from, to) -> simulateShard(shardSimulation(job), from, to));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 과거 가격 적재 → 일별 총수익률 행렬 + 합성 경로의 거래일 달력
+     */
+    private Simulation prepare(BacktestConfig config, Integer years, int blockSize, long seed) {
+        List<String> instrumentIds = config.getTargets().stream().map(TargetAlloc::getInstrumentId).toList();
+        LocalDate start = LocalDate.parse(config.getStartDate());
+        PriceMatrix history = priceLoader.load(config, start, LocalDate.parse(config.getEndDate()));
+
+        int n = history.numInstruments();
+        int historyReturns = history.numDays() - 1;
+        if (historyReturns < blockSize || blockSize <= 0) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "History has " + historyReturns + " daily returns, blockSize must be between 1 and that");
+        }
+
+        // 과거 일별 총수익률 (gross return) 행렬: returns[d * n + i] = p[d + 1] / p[d]
+        double[] returns = new double[historyReturns * n];
+        for (int d = 0; d < historyReturns; d++) {
+            for (int i = 0; i < n; i++) {
+                returns[d * n + i] = history.price(d + 1, i) / history.price(d, i);
+            }
+        }
+        double[] startPrices = new double[n];
+        for (int i = 0; i < n; i++) {
+            startPrices[i] = history.price(0, i);
+        }
+
+        // 합성 경로의 거래일 달력 (시작일부터 years년, 기본은 과거 기간과 동일)
+        LocalDate horizonEnd = years != null
+                ? start.plusYears(years).minusDays(1)
+                : LocalDate.parse(config.getEndDate());
+        int[] monthIndex = sessionMonthIndex(tradingCalendar.forInstruments(instrumentIds).tradingDays(start, horizonEnd));
+
+        double[] weights = config.getTargets().stream()
+                .mapToDouble(t -> t.getTargetWeight().doubleValue()).toArray();
+        return new Simulation(returns, startPrices, n, historyReturns, blockSize, monthIndex, monthIndex.length,
+                weights, BacktestService.toColumnarRules(config), seed);
+    }
+
+    private Simulation shardSimulation(BacktestShardJob job) {
+        synchronized (shardSimulations) {
+            Simulation cached = shardSimulations.get(job.getParentId());
+            if (cached != null) return cached;
+        }
+        MonteCarloRequest request = job.getMonteCarloRequest();
+        Simulation simulation = prepare(request.getBaseConfig(), request.getYears(),
+                request.getBlockSize(), request.getSeed());
+        synchronized (shardSimulations) {
+            shardSimulations.put(job.getParentId(), simulation);
+        }
+        return simulation;
+    }
+
+    /**
+     * 경로 구간 [from, to) 실행. 결과 배치: [terminal | cagr | mdd] (각 to - from개) + 총 투자금 1개
+     */
+    private double[] simulateShard(Simulation simulation, int from, int to) {
+        int length = to - from;
+        double[] terminal = new double[length];
+        double[] cagr = new double[length];
+        double[] mdd = new double[length];
+        double[] invested = new double[1];
+        pool.invoke(new PathTask(new PathContext(simulation, from, terminal, cagr, mdd, invested), from, to));
+
+        double[] packed = new double[length * 3 + 1];
+        System.arraycopy(terminal, 0, packed, 0, length);
+        System.arraycopy(cagr, 0, packed, length, length);
+        System.arraycopy(mdd, 0, packed, length * 2, length);
+        packed[length * 3] = invested[0];
+        return packed;
+    }
+
+    private static int[] sessionMonthIndex(LocalDate[] sessions) {
+        int[] months = new int[sessions.length];
+        for (int d = 0; d < sessions.length; d++) {
+            months[d] = ColumnarBacktestEngine.monthIndex(sessions[d]);
+        }
+        return months;
+    }
+
+    /** 선형 보간 분위수 (NaN 제외) */
+    private static Map<String, BigDecimal> percentiles(double[] values, int scale) {
+        double[] sorted = Arrays.stream(values).filter(v -> !Double.isNaN(v)).sorted().toArray();
+        Map<String, BigDecimal> bands = new LinkedHashMap<>();
+        for (double p : PERCENTILES) {
+            String key = "p" + Math.round(p * 100);
+            if (sorted.length == 0) {
+                bands.put(key, null);
+                continue;
+            }
+            double pos = p * (sorted.length - 1);
+            int lo = (int) Math.floor(pos);
+            int hi = Math.min(lo + 1, sorted.length - 1);
+            double value = sorted[lo] + (sorted[hi] - sorted[lo]) * (pos - lo);
+            bands.put(key, BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP));
+        }
+        return bands;
+    }
+
+    /** MDD가 임계값 이상인 경로 비율 */
+    private static Map<String, BigDecimal> exceedance(double[] mdd) {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (double threshold : MDD_THRESHOLDS) {
+            int count = 0;
+            for (double v : mdd) {
+                if (v >= threshold) count++;
+            }
+            result.put(BigDecimal.valueOf(threshold).setScale(2, RoundingMode.HALF_UP).toPlainString(),
+                    BigDecimal.valueOf((double) count / mdd.length).setScale(4, RoundingMode.HALF_UP));
+        }
+        return result;
+    }
+
+    /** 경로 i의 시드: SplitMix64 혼합으로 인접 경로 간 상관 제거 */
+    static long pathSeed(long seed, int path) {
+        long z = seed + 0x9E3779B97F4A7C15L * (path + 1L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** 경로 생성 입력 (읽기 전용, 모든 경로 / 샤드가 공유) */
+    private record Simulation(double[] returns, double[] startPrices, int numInstruments, int historyReturns,
+                              int blockSize, int[] monthIndex, int horizonDays, double[] weights,
+                              ColumnarBacktestEngine.Rules rules, long seed) {
+    }
+
+    /** 경로 path의 결과는 path - offset 위치에 기록 */
+    private record PathContext(Simulation sim, int offset,
+                               double[] terminal, double[] cagr, double[] mdd, double[] invested) {
+    }
+
+    private static final class PathTask extends RecursiveAction {
+        private final PathContext ctx;
+        private final int from;
+        private final int to;
+
+        PathTask(PathContext ctx, int from, int to) {
+            this.ctx = ctx;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PathTask(ctx, from, mid), new PathTask(ctx, mid, to));
+                return;
+            }
+
+            Simulation sim = ctx.sim();
+            int n = sim.numInstruments();
+            int days = sim.horizonDays();
+            ColumnarBacktestEngine engine = new ColumnarBacktestEngine(n, days);
+            double[] prices = new double[days * n];
+
+            for (int path = from; path < to; path++) {
+                fillPath(prices, new SplittableRandom(pathSeed(sim.seed(), path)));
+                engine.run(prices, sim.monthIndex(), sim.weights(), sim.rules());
+
+                StreamingPerformanceStats running = engine.stats();
+                int i = path - ctx.offset();
+                ctx.terminal()[i] = running.last();
+                ctx.cagr()[i] = BacktestService.annualizedReturn(
+                        running, sim.rules().initialCapital, sim.rules().dcaAmount > 0);
+                ctx.mdd()[i] = running.maxDrawdown();
+                if (i == 0) {
+                    ctx.invested()[0] = engine.totalInvested();
+                }
+            }
+        }
+
+        /** 블록 부트스트랩으로 합성 가격 경로 생성 (첫날은 실제 시작 가격) */
+        private void fillPath(double[] prices, SplittableRandom random) {
+            Simulation sim = ctx.sim();
+            int n = sim.numInstruments();
+            int days = sim.horizonDays();
+            double[] returns = sim.returns();
+            System.arraycopy(sim.startPrices(), 0, prices, 0, n);
+
+            int d = 1;
+            while (d < days) {
+                int blockStart = random.nextInt(sim.historyReturns() - sim.blockSize() + 1);
+                int length = Math.min(sim.blockSize(), days - d);
+                for (int k = 0; k < length; k++, d++) {
+                    int src = (blockStart + k) * n;
+                    int dst = d * n;
+                    for (int i = 0; i < n; i++) {
+                        prices[dst + i] = prices[dst - n + i] * returns[src + i];
+                    }
+                }
+            }
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @Data
+    public static class MonteCarloRequest {
+        private BacktestConfig baseConfig;   // 대상 종목 / 비중 / 리밸런싱 / DCA 규칙, 과거 기간
+        private Integer paths;               // 경로 수 (기본 1,000, 최대 20,000)
+        private Integer years;               // 시뮬레이션 기간 (기본: 과거 기간과 동일)
+        private Integer blockSize;           // 블록 길이 (거래일, 기본 20)
+        private Long seed;                   // 재현용 시드 (미지정 시 임의)
+    }
+
+    @Data
+    public static class MonteCarloResult {
+        private int paths;
+        private int tradingDays;
+        private int blockSize;
+        private long seed;
+        private BigDecimal totalInvested;
+        private Map<String, BigDecimal> terminalWealth;   // p5, p25, p50, p75, p95
+        private Map<String, BigDecimal> cagr;
+        private Map<String, BigDecimal> mdd;
+        private Map<String, BigDecimal> mddExceedance;    // MDD 임계값 → 해당 낙폭 이상 경로 비율
+        private long elapsedMs;
+    }
+}
@@ -0,0 +1,187 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.BacktestConfig;
+import com.portfolio.backtest.service.BacktestService.TargetAlloc;
+import com.portfolio.pricing.entity.FxRate;
+import com.portfolio.pricing.repository.FxRateRepository;
+import com.portfolio.pricing.service.ExchangeCalendar;
+import com.portfolio.pricing.service.PriceService;
+import com.portfolio.pricing.service.TradingCalendar;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * 백테스트 가격 적재 단계
+ *
+ * 종목별로 PriceService.getBulkHistoricalPrices를 한 번만 호출해 기간 전체 가격을 받아오고,
+ * 시뮬레이션 전에 거래일 × 종목 PriceMatrix를 구성한다.
+ * (기존: 종목 × 거래일마다 getHistoricalPrice 호출 → 외부 API는 매번 전체 시계열을 재다운로드)
+ *
+ * 거래일은 TradingCalendar 기준 (종목 거래소들의 합집합 달력, 휴장일 제외)
+ *
+ * 결측 처리:
+ * - 시세가 없는 거래일(다른 시장 휴장 등)은 직전 가격을 이어서 사용
+ * - 기간 초반 결측은 이후 첫 가격으로 채우고, 가격이 전혀 없으면 기본가 100
+ *
+ * 다중 통화 (BacktestConfig.baseCurrency 지정 시):
+ * - 종목 통화(TargetAlloc.currency, 없으면 TradingCalendar.currency)별로 기준 통화 환율 시계열을
+ *   실행당 한 번 적재해 가격과 같은 모양의 환율 행렬을 만들고, PriceMatrix가 기준 통화 가격으로 환산
+ * - 환율 출처 우선순위: fx_rates 테이블(정방향, 없으면 역방향 역수) → PriceService.getHistoricalFxRates
+ *   → PriceService.getFxRate 현재 환율 (기간 내 고정)
+ * - 거래일에 환율이 없으면 직전 환율, 기간 초반은 이후 첫 환율
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestPriceLoader {
+
+    private static final double DEFAULT_PRICE = 100.0;
+
+    /** 첫 거래일 직전 환율을 찾기 위해 앞당겨 조회하는 일수 */
+    private static final int FX_LOOKBACK_DAYS = 10;
+
+    private final PriceService priceService;
+    private final TradingCalendar tradingCalendar;
+    private final FxRateRepository fxRateRepository;
+
+    /**
+     * 설정의 종목 / 기간 / 기준 통화로 적재
+     */
+    public PriceMatrix load(BacktestConfig config, LocalDate start, LocalDate end) {
+        List<TargetAlloc> targets = config.getTargets();
+        List<String> instrumentIds = targets.stream().map(TargetAlloc::getInstrumentId).toList();
+        List<String> currencies = targets.stream().map(TargetAlloc::getCurrency).toList();
+        return load(instrumentIds, currencies, config.getBaseCurrency(), start, end);
+    }
+
+    public PriceMatrix load(BacktestConfig config) {
+        return load(config, LocalDate.parse(config.getStartDate()), LocalDate.parse(config.getEndDate()));
+    }
+
+    /**
+     * 단일 통화 적재 (가격을 기준 통화로 간주)
+     */
+    public PriceMatrix load(List<String> instrumentIds, LocalDate start, LocalDate end) {
+        return load(instrumentIds, null, null, start, end);
+    }
+
+    /**
+     * @param currencies   종목별 통화 (null이거나 원소가 null이면 TradingCalendar로 추정)
+     * @param baseCurrency 기준 통화 (null이면 환산하지 않음)
+     */
+    public PriceMatrix load(List<String> instrumentIds, List<String> currencies, String baseCurrency,
+                            LocalDate start, LocalDate end) {
+        long startedAt = System.nanoTime();
+
+        ExchangeCalendar calendar = tradingCalendar.forInstruments(instrumentIds);
+        tradingCalendar.warnIfUnverified(calendar, start, end);
+        LocalDate[] tradingDays = calendar.tradingDays(start, end);
+
+        // 일괄 조회 (중복 종목은 한 번만)
+        Map<String, Map<LocalDate, BigDecimal>> history = priceService.getBulkHistoricalPrices(
+                new LinkedHashSet<>(instrumentIds), start, end);
+
+        int n = instrumentIds.size();
+        int days = tradingDays.length;
+        double[] prices = new double[days * n];
+
+        for (int i = 0; i < n; i++) {
+            Map<LocalDate, BigDecimal> series = history.getOrDefault(instrumentIds.get(i), Collections.emptyMap());
+
+            double last = Double.NaN;
+            int firstKnown = -1;
+            for (int d = 0; d < days; d++) {
+                BigDecimal price = series.get(tradingDays[d]);
+                if (price != null) {
+                    last = price.doubleValue();
+                    if (firstKnown < 0) firstKnown = d;
+                }
+                prices[d * n + i] = last;
+            }
+
+            // 기간 초반 결측 채우기
+            double backfill = firstKnown >= 0 ? prices[firstKnown * n + i] : DEFAULT_PRICE;
+            int until = firstKnown >= 0 ? firstKnown : days;
+            for (int d = 0; d < until; d++) {
+                prices[d * n + i] = backfill;
+            }
+        }
+
+        double[] fxRates = baseCurrency != null
+                ? loadFxRates(instrumentIds, currencies, baseCurrency, tradingDays, start, end) : null;
+
+        log.debug("Loaded backtest price matrix: instruments={}, days={}, fx={}, elapsedMs={}",
+                n, days, fxRates != null, (System.nanoTime() - startedAt) / 1_000_000);
+
+        return new PriceMatrix(tradingDays, instrumentIds.toArray(new String[0]), prices, fxRates);
+    }
+
+    /**
+     * 거래일 × 종목 환율 행렬 (통화별 시계열은 한 번만 적재). 모든 종목이 기준 통화면 null
+     */
+    private double[] loadFxRates(List<String> instrumentIds, List<String> currencies, String baseCurrency,
+                                 LocalDate[] tradingDays, LocalDate start, LocalDate end) {
+        int n = instrumentIds.size();
+        int days = tradingDays.length;
+        Map<String, double[]> seriesByCurrency = new HashMap<>();
+        double[] fxRates = null;
+
+        for (int i = 0; i < n; i++) {
+            String currency = currencies != null && currencies.get(i) != null
+                    ? currencies.get(i) : tradingCalendar.currency(instrumentIds.get(i));
+            if (baseCurrency.equals(currency)) continue;
+
+            if (fxRates == null) {
+                fxRates = new double[days * n];
+                Arrays.fill(fxRates, 1.0);
+            }
+            double[] series = seriesByCurrency.computeIfAbsent(currency,
+                    c -> fxSeries(c, baseCurrency, tradingDays, start, end));
+            for (int d = 0; d < days; d++) {
+                fxRates[d * n + i] = series[d];
+            }
+        }
+        return fxRates;
+    }
+
+    /**
+     * 통화 1단위의 기준 통화 환율을 거래일에 맞춘 시계열
+     */
+    private double[] fxSeries(String currency, String baseCurrency, LocalDate[] tradingDays,
+                              LocalDate start, LocalDate end) {
+        LocalDate from = start.minusDays(FX_LOOKBACK_DAYS);
+        TreeMap<LocalDate, Double> rates = new TreeMap<>();
+        for (FxRate rate : fxRateRepository.findSeries(currency, baseCurrency,
+                from.atStartOfDay(), end.atTime(LocalTime.MAX))) {
+            rates.put(rate.getTs().toLocalDate(), rate.getRate().doubleValue());
+        }
+        if (rates.isEmpty()) {
+            for (FxRate rate : fxRateRepository.findSeries(baseCurrency, currency,
+                    from.atStartOfDay(), end.atTime(LocalTime.MAX))) {
+                rates.put(rate.getTs().toLocalDate(), 1.0 / rate.getRate().doubleValue());
+            }
+        }
+        if (rates.isEmpty()) {
+            priceService.getHistoricalFxRates(currency, baseCurrency, from, end)
+                    .forEach((date, rate) -> rates.put(date, rate.doubleValue()));
+        }
+
+        double[] series = new double[tradingDays.length];
+        if (rates.isEmpty()) {
+            log.warn("No FX history for {}/{}, using current rate", currency, baseCurrency);
+            Arrays.fill(series, priceService.getFxRate(currency, baseCurrency).doubleValue());
+            return series;
+        }
+        for (int d = 0; d < tradingDays.length; d++) {
+            Map.Entry<LocalDate, Double> entry = rates.floorEntry(tradingDays[d]);
+            series[d] = (entry != null ? entry : rates.firstEntry()).getValue();
+        }
+        return series;
+    }
+}
@@ -0,0 +1,192 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.BacktestConfig;
+import com.portfolio.backtest.service.BacktestService.TargetAlloc;
+import com.portfolio.pricing.service.PriceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 내용 주소 기반 백테스트 결과 캐시
+ *
+ * 백테스트는 (설정, 가격 데이터)가 같으면 결과가 같으므로, 정규화한 설정 + 가격 데이터 버전의
+ * SHA-256 해시를 키로 성공한 실행 ID를 기억해 두고 같은 요청은 기존 결과를 재사용한다.
+ *
+ * - 1차: 인프로세스 LRU (app.backtest.hash-cache-size)
+ * - 2차: Redis (RedisTemplate 빈이 있을 때만, 노드 간 공유)
+ * - 지표: backtest.result.cache{result=hit|miss}
+ *
+ * 이름 / ID처럼 결과에 영향이 없는 필드는 해시에서 제외하고, 비중·금액은 scale을 정규화해
+ * 0.6과 0.60이 같은 키가 되도록 한다. 종목 순서는 결과에 영향을 주므로 설정 순서 그대로 해시한다.
+ */
+@Component
+@Slf4j
+public class BacktestResultCache {
+
+    private static final String REDIS_KEY_PREFIX = "backtest:result:";
+    private static final Duration REDIS_TTL = Duration.ofDays(1);
+
+    private final PriceService priceService;
+    private final ObjectProvider<RedisTemplate<String, Object>> redisTemplate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<String, String> runIdsByHash;
+
+    public BacktestResultCache(PriceService priceService,
+                               ObjectProvider<RedisTemplate<String, Object>> redisTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.backtest.hash-cache-size:1024}") int capacity) {
+        this.priceService = priceService;
+        this.redisTemplate = redisTemplate;
+        this.hits = Counter.builder("backtest.result.cache").tag("result", "hit")
+                .description("Backtest runs served from an identical earlier run").register(meterRegistry);
+        this.misses = Counter.builder("backtest.result.cache").tag("result", "miss")
+                .description("Backtest runs that required a simulation").register(meterRegistry);
+        this.runIdsByHash = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * 캐시 키: 정규화 설정 + 현재 가격 데이터 버전의 SHA-256
+     */
+    public String key(BacktestConfig config) {
+        return configHash(config, priceService.getPriceDataVersion());
+    }
+
+    /**
+     * 같은 키로 성공한 실행 ID 조회 (LRU → Redis 순)
+     */
+    public Optional<String> lookup(String key) {
+        String runId;
+        synchronized (runIdsByHash) {
+            runId = runIdsByHash.get(key);
+        }
+        if (runId == null) {
+            runId = redisGet(key);
+            if (runId != null) {
+                synchronized (runIdsByHash) {
+                    runIdsByHash.put(key, runId);
+                }
+            }
+        }
+        return Optional.ofNullable(runId);
+    }
+
+    public void put(String key, String runId) {
+        synchronized (runIdsByHash) {
+            runIdsByHash.put(key, runId);
+        }
+        RedisTemplate<String, Object> redis = redisTemplate.getIfAvailable();
+        if (redis != null) {
+            try {
+                redis.opsForValue().set(REDIS_KEY_PREFIX + key, runId, REDIS_TTL);
+            } catch (Exception e) {
+                log.warn("Backtest result cache write to Redis failed: key={}", key, e);
+            }
+        }
+    }
+
+    /**
+     * 조회된 실행을 더 이상 쓸 수 없을 때 (삭제 / 실패 등) 항목 제거
+     */
+    public void evict(String key) {
+        synchronized (runIdsByHash) {
+            runIdsByHash.remove(key);
+        }
+        RedisTemplate<String, Object> redis = redisTemplate.getIfAvailable();
+        if (redis != null) {
+            try {
+                redis.delete(REDIS_KEY_PREFIX + key);
+            } catch (Exception e) {
+                log.warn("Backtest result cache eviction from Redis failed: key={}", key, e);
+            }
+        }
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    private String redisGet(String key) {
+        RedisTemplate<String, Object> redis = redisTemplate.getIfAvailable();
+        if (redis == null) return null;
+        try {
+            Object value = redis.opsForValue().get(REDIS_KEY_PREFIX + key);
+            return value != null ? value.toString() : null;
+        } catch (Exception e) {
+            log.warn("Backtest result cache read from Redis failed: key={}", key, e);
+            return null;
+        }
+    }
+
+    // ========== 정규화 / 해시 ==========
+
+    static String configHash(BacktestConfig config, String priceDataVersion) {
+        // 종목 순서는 정렬하지 않는다 (현금 부족 시 체결 우선순위 / 매매 로그 순서 / 행렬 열 순서가 설정 순서를 따름)
+        List<TargetAlloc> targets = config.getTargets() != null ? config.getTargets() : List.of();
+
+        StringBuilder canonical = new StringBuilder(256);
+        field(canonical, "start", config.getStartDate());
+        field(canonical, "end", config.getEndDate());
+        field(canonical, "capital", decimal(config.getInitialCapitalBase()));
+        field(canonical, "rebalance", config.getRebalanceType());
+        field(canonical, "period", config.getRebalancePeriod());
+        field(canonical, "band", decimal(config.getBandThreshold()));
+        field(canonical, "investment", config.getInvestmentType());
+        field(canonical, "dcaAmount", decimal(config.getDcaAmount()));
+        field(canonical, "dcaFrequency", config.getDcaFrequency());
+        field(canonical, "dividend", String.valueOf(config.isDividendReinvest()));
+        field(canonical, "priceMode", config.getPriceMode());
+        field(canonical, "engine", config.getEngine() != null ? config.getEngine() : BacktestService.ENGINE_DECIMAL);
+        field(canonical, "strategy", config.getStrategy());
+        if (config.getStrategyParams() != null) {
+            new TreeMap<>(config.getStrategyParams())
+                    .forEach((name, value) -> field(canonical, "strategyParam", name + "=" + decimal(value)));
+        }
+        field(canonical, "baseCurrency", config.getBaseCurrency());
+        field(canonical, "weighting", config.getWeighting());
+        field(canonical, "covarianceHalfLife", config.getCovarianceHalfLifeDays() != null
+                ? config.getCovarianceHalfLifeDays().toString() : null);
+        for (TargetAlloc target : targets) {
+            field(canonical, "target", target.getInstrumentId() + "=" + decimal(target.getTargetWeight())
+                    + (target.getCurrency() != null ? "@" + target.getCurrency() : ""));
+        }
+        field(canonical, "prices", priceDataVersion);
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void field(StringBuilder sb, String name, String value) {
+        sb.append(name).append('=').append(value != null ? value : "").append('\n');
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : null;
+    }
+}
@@ -0,0 +1,223 @@
+package com.portfolio.backtest.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backtest.repository.BacktestResultJdbcRepository;
+import com.portfolio.backtest.service.BacktestService.BacktestRun;
+import com.portfolio.backtest.service.BacktestService.PerformanceStats;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 백테스트 결과 스트리밍 (NDJSON / chunked JSON)
+ *
+ * 결과 DTO를 만들지 않고 DB 커서에서 읽은 행을 Jackson JsonGenerator로 바로 응답 스트림에 쓴다.
+ * 요청당 메모리는 fetch size만큼의 행 + 출력 버퍼로 일정하며 시계열 길이와 무관하다.
+ *
+ * - NDJSON: 한 줄에 하나의 JSON 객체 ({"type":"run"} → {"type":"series"}... → {"type":"trade"}...)
+ * - JSON: {"run": {...}, "stats": {...}, "series": [...], "tradeLogs": [...]}
+ * - fields: 시계열 / 매매 로그에 포함할 필드 (미지정 시 전체). 선택한 필드가 하나도 없는 구간은 빈 객체 대신 생략
+ * - from / to: 날짜 구간 (포함)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestResultStreamer {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_JSON = "json";
+
+    /** 응답 필드 → (컬럼, 출력 scale). scale -1은 문자열 */
+    private static final Map<String, Column> SERIES_COLUMNS = columns(
+            "ts", "ts", -1,
+            "equityCurveBase", "equity_curve_base", 2,
+            "drawdown", "drawdown", 6,
+            "cashBase", "cash_base", 2,
+            "totalInvested", "total_invested", 2);
+
+    private static final Map<String, Column> TRADE_COLUMNS = columns(
+            "ts", "ts", -1,
+            "instrumentId", "instrument_id", -1,
+            "action", "action", -1,
+            "quantity", "quantity", 4,
+            "price", "price", 2,
+            "fee", "fee", 2,
+            "amount", "amount", 2);
+
+    private final BacktestStore store;
+    private final BacktestResultJdbcRepository resultRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 스트리밍 본문 생성. 실행 / 파라미터 검증은 응답을 쓰기 전에 수행해 오류를 일반 JSON 응답으로 돌려줄 수 있게 한다.
+     */
+    public StreamingResponseBody stream(String runId, String format, List<String> fields,
+                                        String from, String to, boolean includeSeries, boolean includeTrades) {
+        if (!FORMAT_NDJSON.equals(format) && !FORMAT_JSON.equals(format)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "format must be ndjson or json");
+        }
+        BacktestRun run = store.findRun(runId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BACKTEST_NOT_FOUND));
+        PerformanceStats stats = store.findStats(runId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BACKTEST_NOT_FOUND,
+                        "Backtest result is not available: " + run.getStatus()));
+
+        String dataRunId = run.getSourceRunId() != null ? run.getSourceRunId() : runId;
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        List<Column> seriesColumns = project(SERIES_COLUMNS, fields);
+        List<Column> tradeColumns = project(TRADE_COLUMNS, fields);
+        boolean writeSeries = includeSeries && !seriesColumns.isEmpty();
+        boolean writeTrades = includeTrades && !tradeColumns.isEmpty();
+        boolean ndjson = FORMAT_NDJSON.equals(format);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        return out -> {
+            long startedAt = System.nanoTime();
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                gen.setRootValueSeparator(null);
+
+                if (ndjson) {
+                    gen.writeStartObject();
+                    gen.writeStringField("type", "run");
+                    gen.writeObjectField("run", run);
+                    gen.writeObjectField("stats", stats);
+                    gen.writeEndObject();
+                    gen.writeRaw('\n');
+                } else {
+                    gen.writeStartObject();
+                    gen.writeObjectField("run", run);
+                    gen.writeObjectField("stats", stats);
+                }
+
+                RowWriter seriesWriter = new RowWriter(gen, ndjson ? "series" : null, seriesColumns);
+                RowWriter tradeWriter = new RowWriter(gen, ndjson ? "trade" : null, tradeColumns);
+
+                readOnly.executeWithoutResult(status -> {
+                    try {
+                        if (writeSeries) {
+                            if (!ndjson) gen.writeArrayFieldStart("series");
+                            resultRepository.streamSeries(dataRunId, fromDate, toDate, seriesWriter::write);
+                            if (!ndjson) gen.writeEndArray();
+                        }
+                        if (writeTrades) {
+                            if (!ndjson) gen.writeArrayFieldStart("tradeLogs");
+                            resultRepository.streamTradeLogs(dataRunId, fromDate, toDate, tradeWriter::write);
+                            if (!ndjson) gen.writeEndArray();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                if (!ndjson) {
+                    gen.writeEndObject();
+                }
+                log.debug("Backtest result streamed: runId={}, format={}, series={}, trades={}, elapsedMs={}",
+                        runId, format, seriesWriter.count, tradeWriter.count,
+                        (System.nanoTime() - startedAt) / 1_000_000);
+            }
+        };
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDate.parse(value);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid date: " + value);
+        }
+    }
+
+    /** 필드 선택. 두 종류(시계열 / 매매 로그) 중 어디에도 없는 필드면 오류 */
+    private static List<Column> project(Map<String, Column> available, List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return new ArrayList<>(available.values());
+        }
+        List<Column> selected = new ArrayList<>();
+        for (String field : fields) {
+            if (!SERIES_COLUMNS.containsKey(field) && !TRADE_COLUMNS.containsKey(field)) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT, "Unknown field: " + field);
+            }
+            Column column = available.get(field);
+            if (column != null) selected.add(column);
+        }
+        return selected;
+    }
+
+    private static Map<String, Column> columns(Object... spec) {
+        Map<String, Column> map = new LinkedHashMap<>();
+        for (int i = 0; i < spec.length; i += 3) {
+            map.put((String) spec[i], new Column((String) spec[i], (String) spec[i + 1], (Integer) spec[i + 2]));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private record Column(String field, String column, int scale) {
+    }
+
+    /**
+     * ResultSet 한 행 → JSON 객체 한 개
+     */
+    private static final class RowWriter {
+        private final JsonGenerator gen;
+        private final String type;          // NDJSON 행 타입 (JSON 배열 모드면 null)
+        private final List<Column> columns;
+        private long count;
+
+        RowWriter(JsonGenerator gen, String type, List<Column> columns) {
+            this.gen = gen;
+            this.type = type;
+            this.columns = columns;
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            try {
+                gen.writeStartObject();
+                if (type != null) {
+                    gen.writeStringField("type", type);
+                }
+                for (Column column : columns) {
+                    if (column.scale() < 0) {
+                        String value = "ts".equals(column.column())
+                                ? rs.getDate(column.column()).toLocalDate().toString()
+                                : rs.getString(column.column());
+                        if (value != null) gen.writeStringField(column.field(), value);
+                    } else {
+                        BigDecimal value = rs.getBigDecimal(column.column());
+                        if (value != null) {
+                            gen.writeFieldName(column.field());
+                            gen.writeNumber(value.setScale(column.scale(), RoundingMode.HALF_UP));
+                        }
+                    }
+                }
+                gen.writeEndObject();
+                if (type != null) {
+                    gen.writeRaw('\n');
+                }
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.portfolio.backtest.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 실행 중인 백테스트의 진행률 / 취소 핸들 (실행 1건당 1개, 워커 스레드가 갱신)
+ *
+ * - 엔진은 CHECK_INTERVAL_DAYS 거래일마다 checkpoint(day)를 호출 (volatile 쓰기 + 취소 플래그 읽기)
+ * - 진행률은 REPORT_INTERVAL_NANOS(1초)마다 reporter로 DB에 기록하고,
+ *   reporter가 false를 돌려주면(다른 노드에서 취소됨) 취소로 간주
+ * - 취소 시 checkpoint가 CancellationException을 던져 워커가 즉시 다음 작업을 받는다
+ *
+ * 진행률은 처리한 거래일 / 전체 거래일, ETA는 시뮬레이션 시작 이후 경과 시간으로 선형 추정한다.
+ */
+public final class BacktestRunHandle {
+
+    /** 체크포인트 간격 (거래일), 2의 거듭제곱 */
+    public static final int CHECK_INTERVAL_DAYS = 256;
+    private static final int CHECK_MASK = CHECK_INTERVAL_DAYS - 1;
+
+    private static final long REPORT_INTERVAL_NANOS = 1_000_000_000L;
+
+    /**
+     * 진행률 기록: 실행이 아직 RUNNING이면 true
+     */
+    @FunctionalInterface
+    public interface ProgressReporter {
+        boolean report(String runId, BigDecimal progress, Long etaSeconds);
+    }
+
+    private final String runId;
+    private final ProgressReporter reporter;
+
+    private volatile boolean cancelled;
+    private volatile int processedDays;
+    private volatile int totalDays;
+    private volatile long simulationStartedAt;
+
+    /** 워커 스레드 전용 */
+    private long lastReportedAt;
+
+    public BacktestRunHandle(String runId, ProgressReporter reporter) {
+        this.runId = runId;
+        this.reporter = reporter;
+    }
+
+    public String runId() {
+        return runId;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 시뮬레이션 시작 (가격 적재 완료 후)
+     */
+    public void start(int totalDays) {
+        throwIfCancelled();
+        this.totalDays = totalDays;
+        this.processedDays = 0;
+        this.simulationStartedAt = System.nanoTime();
+        this.lastReportedAt = simulationStartedAt;
+    }
+
+    /**
+     * 일별 루프에서 매일 호출해도 되는 체크포인트 (CHECK_INTERVAL_DAYS마다만 실제 작업)
+     */
+    public void checkpoint(int day) {
+        if ((day & CHECK_MASK) != 0) return;
+        processedDays = day;
+
+        long now = System.nanoTime();
+        if (reporter != null && now - lastReportedAt >= REPORT_INTERVAL_NANOS) {
+            lastReportedAt = now;
+            if (!reporter.report(runId, progress(), etaSeconds())) {
+                cancelled = true;
+            }
+        }
+        throwIfCancelled();
+    }
+
+    public void complete() {
+        processedDays = totalDays;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Backtest cancelled: " + runId);
+        }
+    }
+
+    /**
+     * 진행률 (%, 소수 2자리). 시뮬레이션 시작 전이면 0
+     */
+    public BigDecimal progress() {
+        int total = totalDays;
+        if (total <= 0) return BigDecimal.ZERO.setScale(2);
+        return BigDecimal.valueOf(processedDays * 100.0 / total).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 남은 시간 추정 (초). 추정할 근거가 없으면 null
+     */
+    public Long etaSeconds() {
+        int processed = processedDays;
+        int total = totalDays;
+        if (processed <= 0 || total <= 0) return null;
+        long elapsed = System.nanoTime() - simulationStartedAt;
+        double remaining = (double) elapsed * (total - processed) / processed;
+        return Math.round(remaining / 1e9);
+    }
+}
@@ -0,0 +1,37 @@
+package com.portfolio.backtest.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 인스턴스에서 실행 중인 백테스트 핸들 목록
+ *
+ * - 취소 요청이 같은 인스턴스로 오면 핸들에 바로 전달 (다음 체크포인트에서 중단)
+ * - 다른 인스턴스의 실행은 DB 상태(CANCELLED)를 진행률 기록 시 확인해 중단
+ */
+@Component
+@RequiredArgsConstructor
+public class BacktestRunRegistry {
+
+    private final BacktestStore store;
+
+    private final Map<String, BacktestRunHandle> running = new ConcurrentHashMap<>();
+
+    public BacktestRunHandle register(String runId) {
+        BacktestRunHandle handle = new BacktestRunHandle(runId, store::reportProgress);
+        running.put(runId, handle);
+        return handle;
+    }
+
+    public Optional<BacktestRunHandle> find(String runId) {
+        return Optional.ofNullable(running.get(runId));
+    }
+
+    public void remove(BacktestRunHandle handle) {
+        running.remove(handle.runId(), handle);
+    }
+}
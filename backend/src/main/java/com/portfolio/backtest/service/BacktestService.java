@@ -1,8 +1,12 @@
 package com.portfolio.backtest.service;
 
+import com.portfolio.backtest.strategy.BacktestStrategy;
+import com.portfolio.backtest.strategy.BacktestStrategyRegistry;
+import com.portfolio.backtest.strategy.RiskWeightingStrategy;
 import com.portfolio.common.exception.BusinessException;
 import com.portfolio.common.exception.ErrorCode;
-import com.portfolio.pricing.service.PriceService;
+import com.portfolio.common.util.StreamingPerformanceStats;
+import com.portfolio.common.util.TimeSeriesDownsampler;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +17,7 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
 
 /**
  * 백테스트 엔진
@@ -24,120 +28,345 @@ import java.util.concurrent.ConcurrentHashMap;
  * - 거래 비용 0.1% 반영
  * - 배당 재투자 옵션
  * - 일별 Equity Curve, Drawdown, Trade Log 생성
+ * - 엔진 선택: DECIMAL (BigDecimal, 기본) / COLUMNAR (primitive 배열, ColumnarBacktestEngine)
+ * - 전략(strategy, BacktestStrategyRegistry): 거래일마다 목표 비중 계산 (지정 시 COLUMNAR 엔진으로 실행)
+ * - 위험 기반 비중(weighting): 리밸런싱 시점마다 EWMA 공분산으로 비중 재계산 (지정 시 COLUMNAR 엔진으로 실행)
+ * - 다중 통화(baseCurrency): 환율 시계열을 가격 행렬과 함께 적재해 기준 통화로 평가하고,
+ *   환율 변동 손익(fxPnlBase / fxReturn)을 성과 통계에 따로 보고
+ * - 가격은 시뮬레이션 전에 BacktestPriceLoader가 PriceMatrix로 일괄 적재
+ * - 비동기 실행: submitBacktest → BacktestJobDispatcher (RabbitMQ 또는 인프로세스 워커 풀)
+ * - 설정 / 실행 / 결과는 BacktestStore를 통해 DB에 저장 (최근 결과만 메모리 LRU)
+ * - 같은 설정 + 가격 데이터 버전의 재실행은 BacktestResultCache 적중 시 시뮬레이션 없이 원본 결과 공유
+ * - 실행 중 진행률(처리 거래일 %, ETA) 기록 및 협조적 취소 (BacktestRunHandle, CANCELLED 상태)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BacktestService {
 
-    private final PriceService priceService;
-
-    // In-memory 저장소 (추후 DB 전환)
-    private final Map<String, BacktestConfig> configs = new ConcurrentHashMap<>();
-    private final Map<String, BacktestRun> runs = new ConcurrentHashMap<>();
-    private final Map<String, BacktestResult> results = new ConcurrentHashMap<>();
+    private final BacktestPriceLoader priceLoader;
+    private final BacktestJobDispatcher jobDispatcher;
+    private final BacktestStore store;
+    private final BacktestResultCache resultCache;
+    private final BacktestRunRegistry runRegistry;
+    private final BacktestStrategyRegistry strategyRegistry;
 
     private static final BigDecimal TRANSACTION_FEE_RATE = new BigDecimal("0.001"); // 0.1%
     private static final int SCALE = 6;
 
+    static final int TRADING_DAYS_PER_YEAR = 252;
+    static final double RISK_FREE_RATE = 0.035;
+
+    public static final String ENGINE_DECIMAL = "DECIMAL";
+    public static final String ENGINE_COLUMNAR = "COLUMNAR";
+
+    public static final int MAX_TRADE_LOG_PAGE_SIZE = 1_000;
+    public static final int MAX_LIST_PAGE_SIZE = 200;
+
+    private static final Set<String> RUN_STATUSES = Set.of("RUNNING", "SUCCEEDED", "FAILED", "CANCELLED");
+
     // ========== Config CRUD ==========
 
     public BacktestConfig createConfig(BacktestConfig config) {
         if (config.getId() == null || config.getId().isBlank()) {
             config.setId(UUID.randomUUID().toString());
         }
-        configs.put(config.getId(), config);
+        if (config.getStartDate() == null || config.getEndDate() == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "startDate and endDate are required");
+        }
+        if (config.getStrategy() != null) {
+            // 알 수 없는 전략 / 잘못된 파라미터는 저장 전에 거절
+            strategyRegistry.create(config.getStrategy(), config.getStrategyParams());
+        }
+        if (config.getWeighting() != null) {
+            if (config.getStrategy() != null) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT, "strategy and weighting cannot be combined");
+            }
+            createWeighting(config);
+        }
+        store.saveConfig(config);
         log.info("Created backtest config: id={}, name={}", config.getId(), config.getName());
         return config;
     }
 
     public BacktestConfig getConfig(String configId) {
-        BacktestConfig config = configs.get(configId);
-        if (config == null) {
-            throw new BusinessException(ErrorCode.BACKTEST_NOT_FOUND);
-        }
-        return config;
+        return store.findConfig(configId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BACKTEST_NOT_FOUND));
     }
 
-    public List<BacktestConfig> listConfigs() {
-        return new ArrayList<>(configs.values());
+    /**
+     * 설정 목록 (최근 생성 순, cursor는 이전 페이지의 nextCursor)
+     */
+    public CursorPage<BacktestConfig> listConfigs(String cursor, int limit) {
+        return store.listConfigs(cursor, checkListLimit(limit));
+    }
+
+    /**
+     * 사용 가능한 전략 이름 (BacktestConfig.strategy)
+     */
+    public List<String> listStrategies() {
+        return List.copyOf(strategyRegistry.names());
     }
 
     // ========== Run ==========
 
+    /**
+     * 동기 실행 (호출 스레드에서 시뮬레이션까지 완료)
+     */
     public BacktestRun runBacktest(String configId, BacktestConfig inlineConfig) {
-        BacktestConfig config;
+        BacktestConfig config = resolveConfig(configId, inlineConfig);
+        Optional<BacktestRun> cached = reuseCachedRun(config);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        BacktestRun run = createRun(config);
+        execute(run, config);
+        return run;
+    }
+
+    /**
+     * 비동기 실행: RUNNING 상태의 Run을 즉시 반환하고 작업은 워커가 처리
+     */
+    public BacktestRun submitBacktest(String configId, BacktestConfig inlineConfig) {
+        BacktestConfig config = resolveConfig(configId, inlineConfig);
+        Optional<BacktestRun> cached = reuseCachedRun(config);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        BacktestRun run = createRun(config);
+
+        BacktestJob job = new BacktestJob();
+        job.setRunId(run.getId());
+        job.setConfig(config);
+        jobDispatcher.dispatch(job, () -> processJob(job));
+
+        log.info("Backtest submitted: runId={}, config={}", run.getId(), config.getName());
+        return run;
+    }
+
+    /**
+     * 워커 진입점 (큐 consumer / 인프로세스 워커 공용)
+     * Run / 설정은 발행 시점에 DB에 저장되므로, 없으면 메시지의 설정 스냅샷으로 다시 등록한 뒤 실행한다.
+     */
+    public void processJob(BacktestJob job) {
+        BacktestConfig config = job.getConfig();
+        if (store.findConfig(config.getId()).isEmpty()) {
+            store.saveConfig(config);
+        }
+
+        BacktestRun run = store.findRun(job.getRunId()).orElseGet(() -> {
+            BacktestRun r = new BacktestRun();
+            r.setId(job.getRunId());
+            r.setConfigId(config.getId());
+            r.setStatus("RUNNING");
+            r.setStartedAt(Instant.now().toString());
+            store.insertRun(r);
+            return r;
+        });
+        if (!"RUNNING".equals(run.getStatus())) {
+            log.warn("Backtest job skipped (not running): runId={}, status={}", run.getId(), run.getStatus());
+            return;
+        }
+        execute(run, config);
+    }
+
+    private BacktestConfig resolveConfig(String configId, BacktestConfig inlineConfig) {
         if (inlineConfig != null) {
-            config = createConfig(inlineConfig);
+            return createConfig(inlineConfig);
         } else if (configId != null) {
-            config = getConfig(configId);
-        } else {
-            throw new BusinessException(ErrorCode.INVALID_INPUT);
+            return getConfig(configId);
+        }
+        throw new BusinessException(ErrorCode.INVALID_INPUT);
+    }
+
+    /**
+     * 결과 캐시 조회: 같은 키로 성공한 실행이 있으면 그 결과를 공유하는 SUCCEEDED 실행을 만들어 반환
+     */
+    private Optional<BacktestRun> reuseCachedRun(BacktestConfig config) {
+        String cacheKey = resultCache.key(config);
+        Optional<String> sourceRunId = resultCache.lookup(cacheKey);
+        if (sourceRunId.isPresent()) {
+            Optional<BacktestRun> run = store.insertCachedRun(sourceRunId.get(), config.getId());
+            if (run.isPresent()) {
+                resultCache.recordHit();
+                log.info("Backtest result cache hit: runId={}, sourceRunId={}, config={}",
+                        run.get().getId(), run.get().getSourceRunId(), config.getName());
+                return run;
+            }
+            resultCache.evict(cacheKey);
         }
+        resultCache.recordMiss();
+        return Optional.empty();
+    }
 
-        // Run 생성
+    private BacktestRun createRun(BacktestConfig config) {
         BacktestRun run = new BacktestRun();
         run.setId(UUID.randomUUID().toString());
         run.setConfigId(config.getId());
         run.setStatus("RUNNING");
         run.setStartedAt(Instant.now().toString());
-        runs.put(run.getId(), run);
+        store.insertRun(run);
+        return run;
+    }
 
-        // 동기 실행
+    private void execute(BacktestRun run, BacktestConfig config) {
+        BacktestRunHandle handle = runRegistry.register(run.getId());
         try {
-            BacktestResult result = executeBacktest(config, run.getId());
-            results.put(run.getId(), result);
+            String cacheKey = resultCache.key(config);
+            BacktestResult result = executeBacktest(config, handle);
+            handle.throwIfCancelled();
 
-            run.setStatus("SUCCEEDED");
             run.setFinishedAt(Instant.now().toString());
+            run.setStatus("SUCCEEDED");
+            result.setRun(run);
+            store.saveResult(run, result);
+            resultCache.put(cacheKey, run.getId());
             log.info("Backtest succeeded: runId={}, config={}", run.getId(), config.getName());
+        } catch (CancellationException e) {
+            run.setFinishedAt(Instant.now().toString());
+            run.setStatus("CANCELLED");
+            log.info("Backtest cancelled: runId={}, progress={}%", run.getId(), handle.progress());
         } catch (Exception e) {
-            run.setStatus("FAILED");
             run.setFinishedAt(Instant.now().toString());
             run.setErrorMessage(e.getMessage());
-            log.error("Backtest failed: runId={}", run.getId(), e);
+            run.setStatus("FAILED");
+            if (store.failRun(run)) {
+                log.error("Backtest failed: runId={}", run.getId(), e);
+            } else {
+                log.info("Backtest failed after cancellation, keeping CANCELLED: runId={}, cause={}",
+                        run.getId(), e.getMessage());
+            }
+        } finally {
+            runRegistry.remove(handle);
         }
+    }
 
-        return run;
+    /**
+     * 실행 취소: RUNNING → CANCELLED
+     *
+     * 대기 중인 작업은 워커가 꺼내는 즉시 건너뛰고, 실행 중인 작업은 다음 체크포인트
+     * (CHECK_INTERVAL_DAYS 거래일 이내, 다른 인스턴스는 진행률 기록 주기 이내)에서 중단된다.
+     */
+    public BacktestRun cancelRun(String runId) {
+        BacktestRun run = getRun(runId);
+        if (!store.cancelRun(runId)) {
+            throw new BusinessException(ErrorCode.BACKTEST_NOT_CANCELLABLE,
+                    "Backtest run is not running: " + run.getStatus());
+        }
+        runRegistry.find(runId).ifPresent(BacktestRunHandle::cancel);
+        log.info("Backtest cancel requested: runId={}", runId);
+        return getRun(runId);
     }
 
     public BacktestRun getRun(String runId) {
-        BacktestRun run = runs.get(runId);
-        if (run == null) {
-            throw new BusinessException(ErrorCode.BACKTEST_NOT_FOUND);
+        return store.findRun(runId)
+                .map(this::withLiveProgress)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BACKTEST_NOT_FOUND));
+    }
+
+    /**
+     * 실행 목록 (최근 시작 순, configId / status 필터, cursor는 이전 페이지의 nextCursor)
+     */
+    public CursorPage<BacktestRun> listRuns(String configId, String status, String cursor, int limit) {
+        if (status != null && !RUN_STATUSES.contains(status)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Unsupported status: " + status);
         }
-        return run;
+        CursorPage<BacktestRun> page = store.listRuns(configId, status, cursor, checkListLimit(limit));
+        page.setItems(page.getItems().stream().map(this::withLiveProgress).toList());
+        return page;
     }
 
-    public List<BacktestRun> listRuns(String configId) {
-        if (configId != null) {
-            return runs.values().stream()
-                    .filter(r -> configId.equals(r.getConfigId()))
-                    .toList();
+    private static int checkListLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIST_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "limit must be between 1 and " + MAX_LIST_PAGE_SIZE);
         }
-        return new ArrayList<>(runs.values());
+        return limit;
+    }
+
+    /**
+     * 이 인스턴스에서 실행 중이면 DB에 기록된 값 대신 핸들의 최신 진행률 사용
+     */
+    private BacktestRun withLiveProgress(BacktestRun run) {
+        if ("RUNNING".equals(run.getStatus())) {
+            runRegistry.find(run.getId()).ifPresent(handle -> {
+                run.setProgress(handle.progress());
+                run.setEtaSeconds(handle.etaSeconds());
+            });
+        }
+        return run;
     }
 
     public BacktestResult getResult(String runId) {
-        BacktestResult result = results.get(runId);
-        if (result == null) {
-            throw new BusinessException(ErrorCode.BACKTEST_NOT_FOUND);
+        return store.findResult(runId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.BACKTEST_NOT_FOUND));
+    }
+
+    /**
+     * 결과 조회 + 차트용 시계열 다운샘플링 (maxPoints가 null이면 전체)
+     * 평가액 기준 LTTB, MDD 고점 / 저점은 항상 포함. 매매 로그와 통계는 그대로
+     */
+    public BacktestResult getResult(String runId, Integer maxPoints) {
+        if (maxPoints != null && maxPoints < TimeSeriesDownsampler.MIN_POINTS) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "maxPoints must be at least " + TimeSeriesDownsampler.MIN_POINTS);
         }
-        return result;
+        BacktestResult result = getResult(runId);
+        if (maxPoints == null || result.getSeries() == null || result.getSeries().size() <= maxPoints) {
+            return result;
+        }
+
+        // LRU에 캐시된 결과를 바꾸지 않도록 사본에 담아 반환
+        BacktestResult sampled = new BacktestResult();
+        sampled.setRun(result.getRun());
+        sampled.setStats(result.getStats());
+        sampled.setTradeLogs(result.getTradeLogs());
+        sampled.setSeries(TimeSeriesDownsampler.downsample(result.getSeries(),
+                p -> p.getEquityCurveBase().doubleValue(), maxPoints));
+        return sampled;
     }
 
-    // ========== 백테스트 엔진 ==========
+    /**
+     * 매매 로그 페이지 조회: 결과의 컬럼 버퍼에서 [offset, offset + limit) 구간만 변환
+     */
+    public TradeLogPage getTradeLogs(String runId, int offset, int limit) {
+        if (offset < 0) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_TRADE_LOG_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "limit must be between 1 and " + MAX_TRADE_LOG_PAGE_SIZE);
+        }
+        TradeLogBuffer tradeLogs = getResult(runId).getTradeLogs();
+
+        TradeLogPage page = new TradeLogPage();
+        page.setOffset(offset);
+        page.setLimit(limit);
+        page.setTotal(tradeLogs.size());
+        page.setItems(tradeLogs.page(offset, limit));
+        return page;
+    }
 
-    private BacktestResult executeBacktest(BacktestConfig config, String runId) {
-        LocalDate start = LocalDate.parse(config.getStartDate());
-        LocalDate end = LocalDate.parse(config.getEndDate());
-        BigDecimal initialCapital = config.getInitialCapitalBase();
+    // ========== 백테스트 엔진 ==========
 
+    BacktestResult executeBacktest(BacktestConfig config, BacktestRunHandle handle) {
         List<TargetAlloc> targetAllocs = config.getTargets();
         if (targetAllocs == null || targetAllocs.isEmpty()) {
             throw new IllegalArgumentException("At least one target allocation required");
         }
 
+        // 1단계: 가격 일괄 적재 (I/O), 2단계: 시뮬레이션 (CPU)
+        PriceMatrix matrix = loadPriceMatrix(config);
+        handle.start(matrix.numDays());
+
+        if (ENGINE_COLUMNAR.equals(config.getEngine()) || config.getStrategy() != null
+                || config.getWeighting() != null) {
+            BacktestResult result = executeColumnarBacktest(config, matrix, handle);
+            applyFxAttribution(result, matrix);
+            return result;
+        }
+
+        BigDecimal initialCapital = config.getInitialCapitalBase();
+
         // DCA 설정
         boolean isDCA = "DCA".equals(config.getInvestmentType());
         BigDecimal totalInvested = initialCapital != null ? initialCapital : BigDecimal.ZERO;
@@ -147,26 +376,21 @@ public class BacktestService {
         BigDecimal cash = totalInvested;
 
         List<SeriesPoint> series = new ArrayList<>();
-        List<TradeLog> tradeLogs = new ArrayList<>();
+        TradeLogBuffer tradeLogs = newTradeLogBuffer(matrix, 64);
+        StreamingPerformanceStats running = new StreamingPerformanceStats();
 
-        LocalDate current = start;
         LocalDate lastRebalanceDate = null;
         LocalDate lastDepositDate = null;
         boolean firstDay = true;
 
-        while (!current.isAfter(end)) {
-            // 주말 제외
-            if (current.getDayOfWeek().getValue() > 5) {
-                current = current.plusDays(1);
-                continue;
-            }
+        for (int d = 0; d < matrix.numDays(); d++) {
+            handle.checkpoint(d);
+            LocalDate current = matrix.date(d);
 
-            // 일별 가격 조회
+            // 일별 가격 (적재된 행렬에서 조회)
             Map<String, BigDecimal> prices = new LinkedHashMap<>();
-            for (TargetAlloc t : targetAllocs) {
-                BigDecimal price = priceService.getHistoricalPrice(t.getInstrumentId(), current)
-                        .orElse(BigDecimal.valueOf(100));
-                prices.put(t.getInstrumentId(), price);
+            for (int i = 0; i < targetAllocs.size(); i++) {
+                prices.put(targetAllocs.get(i).getInstrumentId(), BigDecimal.valueOf(matrix.price(d, i)));
             }
 
             // 첫 거래일: 초기 배분 + DCA인 경우 첫 입금
@@ -175,14 +399,11 @@ public class BacktestService {
                         && config.getDcaAmount().compareTo(BigDecimal.ZERO) > 0) {
                     cash = cash.add(config.getDcaAmount());
                     totalInvested = totalInvested.add(config.getDcaAmount());
-                    TradeLog depositLog = new TradeLog();
-                    depositLog.setTs(current.toString());
-                    depositLog.setAction("DEPOSIT");
-                    depositLog.setAmount(config.getDcaAmount().setScale(2, RoundingMode.HALF_UP));
-                    tradeLogs.add(depositLog);
+                    tradeLogs.record(d, -1, ColumnarBacktestEngine.ACTION_DEPOSIT,
+                            0, config.getDcaAmount().doubleValue(), 0);
                 }
                 if (cash.compareTo(BigDecimal.ZERO) > 0) {
-                    cash = executeTrades(targetAllocs, positions, cash, prices, tradeLogs, current);
+                    cash = executeTrades(targetAllocs, positions, cash, prices, tradeLogs, d);
                 }
                 firstDay = false;
                 lastRebalanceDate = current;
@@ -197,12 +418,8 @@ public class BacktestService {
                         totalInvested = totalInvested.add(config.getDcaAmount());
                         lastDepositDate = current;
                         deposited = true;
-
-                        TradeLog depositLog = new TradeLog();
-                        depositLog.setTs(current.toString());
-                        depositLog.setAction("DEPOSIT");
-                        depositLog.setAmount(config.getDcaAmount().setScale(2, RoundingMode.HALF_UP));
-                        tradeLogs.add(depositLog);
+                        tradeLogs.record(d, -1, ColumnarBacktestEngine.ACTION_DEPOSIT,
+                                0, config.getDcaAmount().doubleValue(), 0);
                     }
                 }
 
@@ -213,7 +430,7 @@ public class BacktestService {
                         targetAllocs, positions, cash, prices);
 
                 if (shouldRebalance || deposited) {
-                    cash = executeTrades(targetAllocs, positions, cash, prices, tradeLogs, current);
+                    cash = executeTrades(targetAllocs, positions, cash, prices, tradeLogs, d);
                     if (shouldRebalance) {
                         lastRebalanceDate = current;
                     }
@@ -227,43 +444,243 @@ public class BacktestService {
                 totalValue = totalValue.add(entry.getValue().multiply(price));
             }
 
-            // Drawdown 계산
-            BigDecimal drawdown = BigDecimal.ZERO;
-            if (!series.isEmpty()) {
-                BigDecimal peak = series.stream()
-                        .map(SeriesPoint::getEquityCurveBase)
-                        .max(BigDecimal::compareTo)
-                        .orElse(totalValue);
-                if (peak.compareTo(BigDecimal.ZERO) > 0 && totalValue.compareTo(peak) < 0) {
-                    drawdown = peak.subtract(totalValue)
-                            .divide(peak, SCALE, RoundingMode.HALF_UP);
-                }
-            }
+            // Drawdown / 수익률 통계 누적 (O(1))
+            BigDecimal equity = totalValue.setScale(2, RoundingMode.HALF_UP);
+            running.add(equity.doubleValue(), totalInvested.doubleValue());
 
             SeriesPoint point = new SeriesPoint();
             point.setTs(current.toString());
-            point.setEquityCurveBase(totalValue.setScale(2, RoundingMode.HALF_UP));
-            point.setDrawdown(drawdown);
+            point.setEquityCurveBase(equity);
+            point.setDrawdown(BigDecimal.valueOf(running.drawdown()).setScale(SCALE, RoundingMode.HALF_UP));
             point.setCashBase(cash.setScale(2, RoundingMode.HALF_UP));
             point.setTotalInvested(totalInvested.setScale(2, RoundingMode.HALF_UP));
             series.add(point);
-
-            current = current.plusDays(1);
         }
 
+        handle.complete();
+
         // 통계 계산
-        PerformanceStats stats = calculateStats(series, initialCapital, totalInvested, isDCA);
+        PerformanceStats stats = calculateStats(running, initialCapital, totalInvested, isDCA);
 
         BacktestResult result = new BacktestResult();
-        BacktestRun run = getRun(runId);
-        result.setRun(run);
         result.setSeries(series);
         result.setStats(stats);
         result.setTradeLogs(tradeLogs);
+        applyFxAttribution(result, matrix);
 
         return result;
     }
 
+    /**
+     * 가격 적재 단계: 종목별 기간 시세(+ 기준 통화 환율)를 한 번에 받아 거래일 × 종목 행렬 구성
+     */
+    private PriceMatrix loadPriceMatrix(BacktestConfig config) {
+        return priceLoader.load(config);
+    }
+
+    /**
+     * 환율 기여 분해 (다중 통화 행렬일 때만)
+     *
+     * 거래일 d의 환차손익 = Σ 전일 말 보유 수량 × 당일 현지 가격 × (당일 환율 - 전일 환율).
+     * 보유 수량은 거래 로그(수량 소수 4자리)를 날짜순으로 재생해 복원하므로 두 엔진에 공통으로 적용된다.
+     * - fxPnlBase: 누적 환차손익 (기준 통화)
+     * - fxReturn: 일별 환율 기여(환차손익 / 전일 평가액)의 합
+     */
+    static void applyFxAttribution(BacktestResult result, PriceMatrix matrix) {
+        if (!matrix.hasFx()) return;
+
+        int n = matrix.numInstruments();
+        Map<String, Integer> column = new HashMap<>();
+        for (int i = n - 1; i >= 0; i--) {
+            column.put(matrix.instrumentId(i), i);
+        }
+
+        double[] quantities = new double[n];
+        TradeLogBuffer tradeLogs = result.getTradeLogs();
+        List<SeriesPoint> series = result.getSeries();
+        int t = 0;
+        double fxPnl = 0;
+        double fxReturn = 0;
+        for (int d = 0; d < matrix.numDays(); d++) {
+            if (d > 0) {
+                double dayPnl = 0;
+                for (int i = 0; i < n; i++) {
+                    if (quantities[i] == 0) continue;
+                    dayPnl += quantities[i] * matrix.localPrice(d, i)
+                            * (matrix.fxRate(d, i) - matrix.fxRate(d - 1, i));
+                }
+                fxPnl += dayPnl;
+                double previousEquity = series.get(d - 1).getEquityCurveBase().doubleValue();
+                if (previousEquity > 0) {
+                    fxReturn += dayPnl / previousEquity;
+                }
+            }
+
+            String date = matrix.date(d).toString();
+            for (; t < tradeLogs.size() && tradeLogs.date(t).equals(date); t++) {
+                String instrumentId = tradeLogs.instrumentId(t);
+                Integer i = instrumentId != null ? column.get(instrumentId) : null;
+                if (i == null) continue;
+                double quantity = tradeLogs.quantity(t);
+                quantities[i] += tradeLogs.action(t) == ColumnarBacktestEngine.ACTION_SELL ? -quantity : quantity;
+            }
+        }
+
+        result.getStats().setFxPnlBase(BigDecimal.valueOf(fxPnl).setScale(2, RoundingMode.HALF_UP));
+        result.getStats().setFxReturn(BigDecimal.valueOf(fxReturn).setScale(SCALE, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * 컬럼형 엔진 실행 (engine = COLUMNAR 또는 전략 / 위험 기반 비중 지정)
+     *
+     * 일별 루프는 ColumnarBacktestEngine이 primitive 배열로 수행하고,
+     * BigDecimal은 SeriesPoint DTO 생성 시에만 사용하고, 매매 로그는 TradeLogBuffer 컬럼으로 복사한다.
+     */
+    private BacktestResult executeColumnarBacktest(BacktestConfig config, PriceMatrix matrix, BacktestRunHandle handle) {
+        BigDecimal initialCapital = config.getInitialCapitalBase();
+        List<TargetAlloc> targetAllocs = config.getTargets();
+
+        int n = matrix.numInstruments();
+        int days = matrix.numDays();
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = targetAllocs.get(i).getTargetWeight().doubleValue();
+        }
+
+        ColumnarBacktestEngine.Rules rules = toColumnarRules(config);
+        BacktestStrategy strategy = null;
+        if (config.getStrategy() != null) {
+            strategy = strategyRegistry.create(config.getStrategy(), config.getStrategyParams());
+        } else if (config.getWeighting() != null) {
+            strategy = createWeighting(config);
+        }
+
+        ColumnarBacktestEngine engine = new ColumnarBacktestEngine(n, days);
+        engine.run(matrix.prices(), matrix.monthIndex(), weights, rules, strategy, handle);
+        handle.complete();
+
+        // DTO 변환
+        double[] equity = engine.equity();
+        double[] cash = engine.cash();
+        double[] invested = engine.invested();
+        double[] drawdown = engine.drawdown();
+
+        List<SeriesPoint> series = new ArrayList<>(days);
+        for (int d = 0; d < days; d++) {
+            SeriesPoint point = new SeriesPoint();
+            point.setTs(matrix.date(d).toString());
+            point.setEquityCurveBase(BigDecimal.valueOf(equity[d]).setScale(2, RoundingMode.HALF_UP));
+            point.setDrawdown(BigDecimal.valueOf(drawdown[d]).setScale(SCALE, RoundingMode.HALF_UP));
+            point.setCashBase(BigDecimal.valueOf(cash[d]).setScale(2, RoundingMode.HALF_UP));
+            point.setTotalInvested(BigDecimal.valueOf(invested[d]).setScale(2, RoundingMode.HALF_UP));
+            series.add(point);
+        }
+
+        // 매매 로그는 컬럼 그대로 복사 (TradeLog DTO는 조회 시에만 생성)
+        TradeLogBuffer tradeLogs = newTradeLogBuffer(matrix, engine.tradeCount());
+        long qtyUnit = ColumnarBacktestEngine.QTY_SCALE / 10_000;
+        for (int t = 0; t < engine.tradeCount(); t++) {
+            byte action = engine.tradeAction(t);
+            if (action == ColumnarBacktestEngine.ACTION_DEPOSIT) {
+                tradeLogs.record(engine.tradeDay(t), -1, action, 0, config.getDcaAmount().doubleValue(), 0);
+            } else {
+                // 고정소수점 수량 → 소수 4자리 (정수 연산으로 반올림)
+                double quantity = ((engine.tradeQty(t) + qtyUnit / 2) / qtyUnit) / 10_000.0;
+                tradeLogs.record(engine.tradeDay(t), engine.tradeInstrument(t), action,
+                        quantity, engine.tradePrice(t), engine.tradeFee(t));
+            }
+        }
+
+        // 총 투자금은 입금 횟수로 정확히 계산 (double 누적 오차 배제)
+        BigDecimal totalInvested = initialCapital != null ? initialCapital : BigDecimal.ZERO;
+        if (engine.depositCount() > 0) {
+            totalInvested = totalInvested.add(
+                    config.getDcaAmount().multiply(BigDecimal.valueOf(engine.depositCount())));
+        }
+
+        boolean isDCA = "DCA".equals(config.getInvestmentType());
+        PerformanceStats stats = calculateStats(engine.stats(), initialCapital, totalInvested, isDCA);
+
+        BacktestResult result = new BacktestResult();
+        result.setSeries(series);
+        result.setStats(stats);
+        result.setTradeLogs(tradeLogs);
+        return result;
+    }
+
+    /**
+     * 거래일 / 종목 사전을 가격 행렬에서 가져온 매매 로그 버퍼 (day / instrument = 행렬 인덱스)
+     */
+    private static TradeLogBuffer newTradeLogBuffer(PriceMatrix matrix, int capacity) {
+        String[] dates = new String[matrix.numDays()];
+        for (int d = 0; d < dates.length; d++) {
+            dates[d] = matrix.date(d).toString();
+        }
+        String[] instrumentIds = new String[matrix.numInstruments()];
+        for (int i = 0; i < instrumentIds.length; i++) {
+            instrumentIds[i] = matrix.instrumentId(i);
+        }
+        return new TradeLogBuffer(dates, instrumentIds, capacity);
+    }
+
+    /**
+     * 위험 기반 비중: PERIODIC은 리밸런싱 주기마다, BAND는 매월 비중 재계산 (NONE은 거절)
+     */
+    private static RiskWeightingStrategy createWeighting(BacktestConfig config) {
+        int recomputeMonths = switch (config.getRebalanceType() != null ? config.getRebalanceType() : "") {
+            case "PERIODIC" -> ColumnarBacktestEngine.periodMonths(config.getRebalancePeriod());
+            case "BAND" -> 1;
+            default -> 0;
+        };
+        return RiskWeightingStrategy.create(config.getWeighting(), config.getCovarianceHalfLifeDays(), recomputeMonths);
+    }
+
+    /**
+     * 스윕 / 몬테카를로 / 워크포워드의 기준 설정 검증
+     * 이 엔드포인트들은 목표 비중 고정 규칙만 평가하므로, 전략 / 위험 기반 비중이 지정된 설정은 거절한다.
+     * (그대로 받으면 같은 설정의 runBacktest와 다른 포트폴리오를 평가하게 됨)
+     */
+    static void requireStaticBaseConfig(BacktestConfig base) {
+        if (base == null || base.getTargets() == null || base.getTargets().isEmpty()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "baseConfig with at least one target is required");
+        }
+        if (base.getStrategy() != null || base.getStrategyParams() != null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "baseConfig must not set strategy or strategyParams");
+        }
+        if (base.getWeighting() != null || base.getCovarianceHalfLifeDays() != null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "baseConfig must not set weighting or covarianceHalfLifeDays");
+        }
+    }
+
+    /**
+     * BacktestConfig → 컬럼형 엔진 규칙 변환
+     */
+    static ColumnarBacktestEngine.Rules toColumnarRules(BacktestConfig config) {
+        double initialCapital = config.getInitialCapitalBase() != null
+                ? config.getInitialCapitalBase().doubleValue() : 0;
+
+        int rebalanceMode = switch (config.getRebalanceType() != null ? config.getRebalanceType() : "") {
+            case "PERIODIC" -> ColumnarBacktestEngine.REBALANCE_PERIODIC;
+            case "BAND" -> ColumnarBacktestEngine.REBALANCE_BAND;
+            default -> ColumnarBacktestEngine.REBALANCE_NONE;
+        };
+        int rebalanceMonths = rebalanceMode == ColumnarBacktestEngine.REBALANCE_PERIODIC
+                ? ColumnarBacktestEngine.periodMonths(config.getRebalancePeriod()) : 0;
+        double bandThreshold = config.getBandThreshold() != null
+                ? config.getBandThreshold().doubleValue() : 0.05;
+
+        boolean isDCA = "DCA".equals(config.getInvestmentType());
+        double dcaAmount = isDCA && config.getDcaAmount() != null
+                && config.getDcaAmount().compareTo(BigDecimal.ZERO) > 0
+                ? config.getDcaAmount().doubleValue() : 0;
+        int dcaMonths = ColumnarBacktestEngine.periodMonths(
+                config.getDcaFrequency() != null ? config.getDcaFrequency() : "MONTHLY");
+
+        return new ColumnarBacktestEngine.Rules(
+                initialCapital, rebalanceMode, rebalanceMonths, bandThreshold, dcaAmount, dcaMonths);
+    }
+
     /**
      * 목표 비중에 맞게 매매 실행
      */
@@ -272,8 +689,8 @@ public class BacktestService {
             Map<String, BigDecimal> positions,
             BigDecimal cash,
             Map<String, BigDecimal> prices,
-            List<TradeLog> tradeLogs,
-            LocalDate date) {
+            TradeLogBuffer tradeLogs,
+            int day) {
 
         // 현재 포트폴리오 가치
         BigDecimal totalValue = cash;
@@ -285,7 +702,8 @@ public class BacktestService {
         if (totalValue.compareTo(BigDecimal.ZERO) <= 0) return cash;
 
         // 목표 수량 계산 및 매매
-        for (TargetAlloc target : targets) {
+        for (int i = 0; i < targets.size(); i++) {
+            TargetAlloc target = targets.get(i);
             String instrumentId = target.getInstrumentId();
             BigDecimal price = prices.getOrDefault(instrumentId, BigDecimal.valueOf(100));
             if (price.compareTo(BigDecimal.ZERO) <= 0) continue;
@@ -317,15 +735,8 @@ public class BacktestService {
                 }
                 positions.put(instrumentId, currentQty.add(tradeQty));
                 cash = cash.subtract(cost);
-
-                TradeLog log = new TradeLog();
-                log.setTs(date.toString());
-                log.setInstrumentId(instrumentId);
-                log.setAction("BUY");
-                log.setQuantity(tradeQty.setScale(4, RoundingMode.HALF_UP));
-                log.setPrice(price.setScale(2, RoundingMode.HALF_UP));
-                log.setFee(fee);
-                tradeLogs.add(log);
+                tradeLogs.record(day, i, ColumnarBacktestEngine.ACTION_BUY,
+                        tradeQty.setScale(4, RoundingMode.HALF_UP).doubleValue(), price.doubleValue(), fee.doubleValue());
             } else if (tradeQty.compareTo(BigDecimal.ZERO) < 0) {
                 // SELL
                 BigDecimal sellQty = tradeQty.abs();
@@ -335,15 +746,8 @@ public class BacktestService {
                 BigDecimal proceeds = sellQty.multiply(price).subtract(fee);
                 positions.put(instrumentId, currentQty.subtract(sellQty));
                 cash = cash.add(proceeds);
-
-                TradeLog log = new TradeLog();
-                log.setTs(date.toString());
-                log.setInstrumentId(instrumentId);
-                log.setAction("SELL");
-                log.setQuantity(sellQty.setScale(4, RoundingMode.HALF_UP));
-                log.setPrice(price.setScale(2, RoundingMode.HALF_UP));
-                log.setFee(fee);
-                tradeLogs.add(log);
+                tradeLogs.record(day, i, ColumnarBacktestEngine.ACTION_SELL,
+                        sellQty.setScale(4, RoundingMode.HALF_UP).doubleValue(), price.doubleValue(), fee.doubleValue());
             }
         }
 
@@ -429,108 +833,58 @@ public class BacktestService {
     }
 
     /**
-     * 성과 통계 계산
+     * 성과 통계 계산 (시뮬레이션 중 누적된 StreamingPerformanceStats에서 O(1)로 도출)
      * DCA 모드에서는 TWR(Time-Weighted Return) 기반 CAGR을 사용하여
      * 현금 흐름의 영향을 제거한 순수 투자 성과를 측정
      */
-    private PerformanceStats calculateStats(List<SeriesPoint> series,
+    private PerformanceStats calculateStats(StreamingPerformanceStats running,
                                             BigDecimal initialCapital,
                                             BigDecimal totalInvested,
                                             boolean isDCA) {
         PerformanceStats stats = new PerformanceStats();
         stats.setTotalInvested(totalInvested);
 
-        if (series.size() < 2) return stats;
+        if (running.count() < 2) return stats;
 
-        BigDecimal finalValue = series.get(series.size() - 1).getEquityCurveBase();
-
-        if (!isDCA) {
-            // LUMP_SUM: 기존 로직
-            if (initialCapital != null && initialCapital.compareTo(BigDecimal.ZERO) > 0) {
-                double totalReturn = finalValue.subtract(initialCapital)
-                        .divide(initialCapital, 10, RoundingMode.HALF_UP).doubleValue();
-
-                int tradingDays = series.size();
-                double years = (double) tradingDays / 252.0;
-                double cagr = years > 0 ? Math.pow(1.0 + totalReturn, 1.0 / years) - 1.0 : 0;
-                stats.setCagr(BigDecimal.valueOf(cagr).setScale(SCALE, RoundingMode.HALF_UP));
-            }
-        } else {
-            // DCA: TWR (Time-Weighted Return) 기반 CAGR
-            double twrProduct = 1.0;
-            for (int i = 1; i < series.size(); i++) {
-                BigDecimal prevEquity = series.get(i - 1).getEquityCurveBase();
-                BigDecimal currEquity = series.get(i).getEquityCurveBase();
-                BigDecimal prevInvested = series.get(i - 1).getTotalInvested();
-                BigDecimal currInvested = series.get(i).getTotalInvested();
-
-                // 당일 입금액 감지
-                BigDecimal depositOnDay = currInvested.subtract(prevInvested);
-                BigDecimal adjustedPrev = prevEquity.add(depositOnDay);
-
-                if (adjustedPrev.compareTo(BigDecimal.ZERO) > 0) {
-                    double dailyReturn = currEquity.subtract(adjustedPrev)
-                            .divide(adjustedPrev, 10, RoundingMode.HALF_UP).doubleValue();
-                    twrProduct *= (1.0 + dailyReturn);
-                }
-            }
-
-            int tradingDays = series.size();
-            double years = (double) tradingDays / 252.0;
-            double cagr = years > 0 ? Math.pow(twrProduct, 1.0 / years) - 1.0 : 0;
+        double capital = initialCapital != null ? initialCapital.doubleValue() : 0;
+        double cagr = annualizedReturn(running, capital, isDCA);
+        if (!Double.isNaN(cagr)) {
             stats.setCagr(BigDecimal.valueOf(cagr).setScale(SCALE, RoundingMode.HALF_UP));
         }
 
-        // 일별 수익률 (DCA에서는 입금 효과 제거)
-        List<Double> dailyReturns = new ArrayList<>();
-        for (int i = 1; i < series.size(); i++) {
-            BigDecimal prev = series.get(i - 1).getEquityCurveBase();
-            BigDecimal curr = series.get(i).getEquityCurveBase();
-
-            if (isDCA) {
-                BigDecimal deposit = series.get(i).getTotalInvested()
-                        .subtract(series.get(i - 1).getTotalInvested());
-                prev = prev.add(deposit);
-            }
-
-            if (prev.compareTo(BigDecimal.ZERO) > 0) {
-                dailyReturns.add(curr.subtract(prev).divide(prev, 10, RoundingMode.HALF_UP).doubleValue());
-            }
-        }
-
-        if (!dailyReturns.isEmpty()) {
-            // Volatility
-            double mean = dailyReturns.stream().mapToDouble(r -> r).average().orElse(0);
-            double variance = dailyReturns.stream()
-                    .mapToDouble(r -> Math.pow(r - mean, 2)).average().orElse(0);
-            double annualVol = Math.sqrt(variance) * Math.sqrt(252);
+        if (running.returnCount() > 0) {
+            // Volatility (일별 수익률, 입금 효과 제거)
+            double annualVol = running.annualizedVolatility(TRADING_DAYS_PER_YEAR);
             stats.setVol(BigDecimal.valueOf(annualVol).setScale(SCALE, RoundingMode.HALF_UP));
 
             // Sharpe Ratio (risk-free = 3.5%)
             if (annualVol > 0 && stats.getCagr() != null) {
-                double sharpe = (stats.getCagr().doubleValue() - 0.035) / annualVol;
+                double sharpe = (stats.getCagr().doubleValue() - RISK_FREE_RATE) / annualVol;
                 stats.setSharpe(BigDecimal.valueOf(sharpe).setScale(4, RoundingMode.HALF_UP));
             }
         }
 
         // MDD
-        BigDecimal peak = BigDecimal.ZERO;
-        BigDecimal maxDd = BigDecimal.ZERO;
-        for (SeriesPoint sp : series) {
-            if (sp.getEquityCurveBase().compareTo(peak) > 0) {
-                peak = sp.getEquityCurveBase();
-            }
-            if (peak.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal dd = peak.subtract(sp.getEquityCurveBase())
-                        .divide(peak, SCALE, RoundingMode.HALF_UP);
-                if (dd.compareTo(maxDd) > 0) maxDd = dd;
-            }
-        }
-        stats.setMdd(maxDd);
+        stats.setMdd(BigDecimal.valueOf(running.maxDrawdown()).setScale(SCALE, RoundingMode.HALF_UP));
 
         return stats;
     }
 
+    /**
+     * CAGR 계산 (계산 불가 시 NaN)
+     * - LUMP_SUM: 최종 평가액 / 초기 자본
+     * - DCA: TWR (Time-Weighted Return) 기반
+     */
+    static double annualizedReturn(StreamingPerformanceStats running, double initialCapital, boolean isDCA) {
+        if (running.count() < 2) return Double.NaN;
+        double years = (double) running.count() / TRADING_DAYS_PER_YEAR;
+        if (isDCA) {
+            return Math.pow(running.twrProduct(), 1.0 / years) - 1.0;
+        }
+        if (initialCapital <= 0) return Double.NaN;
+        return Math.pow(running.last() / initialCapital, 1.0 / years) - 1.0;
+    }
+
     // ========== DTOs ==========
 
     @Data
@@ -548,6 +902,12 @@ public class BacktestService {
         private String investmentType = "LUMP_SUM";      // LUMP_SUM, DCA
         private BigDecimal dcaAmount;                     // 적립식 투자 금액
         private String dcaFrequency;                      // MONTHLY, QUARTERLY, SEMI_ANNUAL, ANNUAL
+        private String engine = ENGINE_DECIMAL;           // DECIMAL, COLUMNAR
+        private String strategy;                          // DUAL_MOMENTUM, TREND, VOL_TARGET (null: 목표 비중 고정)
+        private Map<String, BigDecimal> strategyParams;   // 전략 파라미터 (예: lookbackDays, maDays, targetVol)
+        private String weighting;                         // INVERSE_VOL, RISK_PARITY, MIN_VARIANCE (null: 목표 비중 고정)
+        private Integer covarianceHalfLifeDays;           // weighting 공분산 EWMA 반감기 (기본 60 거래일)
+        private String baseCurrency;                      // 기준 통화 (예: KRW). null이면 모든 가격을 기준 통화로 간주
         private List<TargetAlloc> targets = new ArrayList<>();
     }
 
@@ -556,16 +916,29 @@ public class BacktestService {
         private String instrumentId;
         private String assetClass;
         private BigDecimal targetWeight;
+        private String currency;      // 종목 통화 (null이면 종목 정보 / 거래소로 추정)
     }
 
     @Data
     public static class BacktestRun {
         private String id;
         private String configId;
-        private String status;        // RUNNING, SUCCEEDED, FAILED
+        private String status;        // RUNNING, SUCCEEDED, FAILED, CANCELLED
         private String startedAt;
         private String finishedAt;
         private String errorMessage;
+        private String sourceRunId;   // 결과 캐시 적중 시 결과를 공유하는 원본 실행
+        private BigDecimal progress;  // 처리한 거래일 비율 (%)
+        private Long etaSeconds;      // 남은 시간 추정 (RUNNING 중에만)
+    }
+
+    /**
+     * 큐 메시지: 실행 ID + 설정 스냅샷 (worker 인스턴스가 설정 저장소를 공유하지 않아도 실행 가능)
+     */
+    @Data
+    public static class BacktestJob {
+        private String runId;
+        private BacktestConfig config;
     }
 
     @Data
@@ -573,7 +946,27 @@ public class BacktestService {
         private BacktestRun run;
         private List<SeriesPoint> series;
         private PerformanceStats stats;
-        private List<TradeLog> tradeLogs;
+        private TradeLogBuffer tradeLogs;   // 컬럼 버퍼 (직렬화 시 한 건씩 TradeLog로 변환)
+    }
+
+    /**
+     * 목록 페이지 (keyset): nextCursor가 null이면 마지막 페이지
+     */
+    @Data
+    public static class CursorPage<T> {
+        private List<T> items;
+        private String nextCursor;
+    }
+
+    /**
+     * 매매 로그 페이지 (offset 기준, 요청한 구간만 TradeLog로 변환)
+     */
+    @Data
+    public static class TradeLogPage {
+        private int offset;
+        private int limit;
+        private int total;
+        private List<TradeLog> items;
     }
 
     @Data
@@ -596,6 +989,8 @@ public class BacktestService {
         private BigDecimal beta;
         private BigDecimal trackingError;
         private BigDecimal totalInvested;
+        private BigDecimal fxPnlBase;       // 환율 변동 손익 (기준 통화, baseCurrency 지정 시)
+        private BigDecimal fxReturn;        // 환율 기여 수익률 (일별 기여의 합)
     }
 
     @Data
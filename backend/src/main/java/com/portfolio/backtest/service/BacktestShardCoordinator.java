@@ -0,0 +1,245 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.repository.BacktestShardRepository.ShardState;
+import com.portfolio.backtest.service.BacktestMonteCarloService.MonteCarloRequest;
+import com.portfolio.backtest.service.BacktestSweepService.SweepRequest;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import com.portfolio.infra.rabbitmq.RabbitMQConfig;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 백테스트 샤드 분산 실행 (스윕 변형 구간 / 몬테카를로 경로 구간)
+ *
+ * 부모 노드 (요청을 받은 노드):
+ * - 작업을 shardSize 단위 구간으로 나눠 backtest_shards에 PENDING으로 기록하고,
+ *   샤드마다 BacktestShardJob을 portfolio-exchange / "backtest" 라우팅 키로 발행
+ * - 결과를 기다리는 동안 자신도 남은 샤드를 뒤쪽부터 claim해 실행 (큐 consumer는 앞쪽부터 받음)
+ * - 모든 샤드가 DONE이면 구간 순서대로 결과를 넘기고 샤드 행을 삭제
+ *
+ * 워커 노드 (BacktestJobListener):
+ * - claim에 성공한 샤드만 실행 → 중복 전달 / 이미 다른 노드가 가져간 샤드는 건너뜀
+ * - 일이 끝난 노드의 consumer가 큐에서 다음 샤드를 가져가므로 느린 노드에 작업이 몰리지 않음
+ *
+ * claim 후 claim-timeout-seconds 동안 끝나지 않은 샤드(노드 중단)는 다른 노드가 다시 가져간다.
+ * RabbitMQ를 사용할 수 없으면 분할하지 않는다 (isDistributed() == false).
+ */
+@Component
+@Slf4j
+public class BacktestShardCoordinator {
+
+    /** 이 노드의 식별자 (pid@host) */
+    static final String WORKER_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    /**
+     * 구간 [from, to) 평가. 결과 배열의 배치는 작업 종류별로 정한다
+     */
+    @FunctionalInterface
+    public interface ShardEvaluator {
+        double[] evaluate(int from, int to);
+    }
+
+    /**
+     * 샤드 결과 수신 (구간 순서대로 호출)
+     */
+    @FunctionalInterface
+    public interface ShardConsumer {
+        void accept(int from, int to, double[] result);
+    }
+
+    private final BacktestStore store;
+    private final ObjectProvider<RabbitTemplate> rabbitTemplateProvider;
+    private final boolean enabled;
+    private final Duration claimTimeout;
+    private final Duration timeout;
+
+    public BacktestShardCoordinator(BacktestStore store,
+                                    ObjectProvider<RabbitTemplate> rabbitTemplateProvider,
+                                    @Value("${app.backtest.shard.enabled:true}") boolean enabled,
+                                    @Value("${app.backtest.shard.claim-timeout-seconds:120}") long claimTimeoutSeconds,
+                                    @Value("${app.backtest.shard.timeout-seconds:1800}") long timeoutSeconds) {
+        this.store = store;
+        this.rabbitTemplateProvider = rabbitTemplateProvider;
+        this.enabled = enabled;
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    /**
+     * 다른 노드로 샤드를 보낼 수 있는지 (RabbitMQ 사용 중)
+     */
+    public boolean isDistributed() {
+        return enabled && rabbitTemplateProvider.getIfAvailable() != null;
+    }
+
+    /**
+     * 부모: [0, total)을 샤드로 나눠 발행하고, 남은 샤드는 직접 실행하면서 전체 결과를 모은다
+     *
+     * @param template  발행할 작업 (kind + 요청 스냅샷, 난수 시드 등은 미리 고정)
+     * @param evaluator 이 노드에서 샤드를 실행할 때 사용 (이미 적재한 가격 등을 재사용)
+     * @param consumer  샤드 결과 수신 (구간 순서대로)
+     */
+    public void execute(BacktestShardJob template, int total, int shardSize,
+                        ShardEvaluator evaluator, ShardConsumer consumer) {
+        store.purgeShards(LocalDateTime.now(ZoneOffset.UTC).minus(timeout));
+
+        String parentId = UUID.randomUUID().toString();
+        int shardCount = store.insertShards(parentId, template.getKind().name(), total, shardSize);
+        long startedAt = System.nanoTime();
+        try {
+            publish(template, parentId, shardCount, total, shardSize);
+            Map<Integer, double[]> local = awaitShards(parentId, shardCount, total, shardSize, evaluator);
+            Map<Integer, double[]> remote = local.size() < shardCount ? store.findShardResults(parentId) : Map.of();
+
+            for (int index = 0; index < shardCount; index++) {
+                double[] result = local.containsKey(index) ? local.get(index) : remote.get(index);
+                if (result == null) {
+                    throw new BusinessException(ErrorCode.BACKTEST_FAILED, "Missing result for shard " + index);
+                }
+                int from = index * shardSize;
+                consumer.accept(from, Math.min(from + shardSize, total), result);
+            }
+            log.info("Backtest shards finished: parentId={}, kind={}, shards={}, local={}, elapsedMs={}",
+                    parentId, template.getKind(), shardCount, local.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } finally {
+            store.deleteShards(parentId);
+        }
+    }
+
+    /**
+     * 워커: claim에 성공한 경우만 실행하고 결과를 기록 (실패는 FAILED로 남기고 부모가 다시 실행)
+     */
+    public void process(BacktestShardJob job, ShardEvaluator evaluator) {
+        LocalDateTime staleBefore = LocalDateTime.now(ZoneOffset.UTC).minus(claimTimeout);
+        if (!store.claimShard(job.getParentId(), job.getShardIndex(), WORKER_ID, staleBefore, false)) {
+            log.debug("Backtest shard skipped: parentId={}, shard={}", job.getParentId(), job.getShardIndex());
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            double[] result = evaluator.evaluate(job.getFrom(), job.getTo());
+            store.completeShard(job.getParentId(), job.getShardIndex(), result);
+            log.debug("Backtest shard finished: parentId={}, shard={}, range=[{}, {}), elapsedMs={}",
+                    job.getParentId(), job.getShardIndex(), job.getFrom(), job.getTo(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Backtest shard failed: parentId={}, shard={}, cause={}",
+                    job.getParentId(), job.getShardIndex(), e.getMessage());
+            store.failShard(job.getParentId(), job.getShardIndex(), WORKER_ID, e.getMessage());
+        }
+    }
+
+    private void publish(BacktestShardJob template, String parentId, int shardCount, int total, int shardSize) {
+        RabbitTemplate rabbitTemplate = enabled ? rabbitTemplateProvider.getIfAvailable() : null;
+        if (rabbitTemplate == null) return;
+
+        for (int index = 0; index < shardCount; index++) {
+            int from = index * shardSize;
+            BacktestShardJob job = new BacktestShardJob();
+            job.setParentId(parentId);
+            job.setKind(template.getKind());
+            job.setShardIndex(index);
+            job.setFrom(from);
+            job.setTo(Math.min(from + shardSize, total));
+            job.setSweepRequest(template.getSweepRequest());
+            job.setMonteCarloRequest(template.getMonteCarloRequest());
+            try {
+                rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, "backtest", job);
+            } catch (Exception e) {
+                log.warn("Backtest shard publish failed, running the rest in-process: parentId={}, cause={}",
+                        parentId, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 모든 샤드가 DONE이 될 때까지 대기. 그동안 PENDING / 중단된 RUNNING / FAILED 샤드를 뒤쪽부터 직접 실행
+     *
+     * @return 이 노드가 실행한 샤드 결과
+     */
+    private Map<Integer, double[]> awaitShards(String parentId, int shardCount, int total, int shardSize,
+                                               ShardEvaluator evaluator) {
+        Map<Integer, double[]> local = new HashMap<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            LocalDateTime staleBefore = LocalDateTime.now(ZoneOffset.UTC).minus(claimTimeout);
+            List<ShardState> states = store.findShardStates(parentId);
+
+            int done = 0;
+            int candidate = -1;
+            for (int i = states.size() - 1; i >= 0; i--) {
+                ShardState state = states.get(i);
+                boolean claimable = switch (state.getStatus()) {
+                    case "DONE" -> {
+                        done++;
+                        yield false;
+                    }
+                    case "RUNNING" -> state.getClaimedAt() != null && state.getClaimedAt().isBefore(staleBefore);
+                    default -> true;
+                };
+                if (claimable && candidate < 0) {
+                    candidate = state.getShardIndex();
+                }
+            }
+            if (done == shardCount) {
+                return local;
+            }
+
+            if (candidate >= 0 && store.claimShard(parentId, candidate, WORKER_ID, staleBefore, true)) {
+                int from = candidate * shardSize;
+                local.put(candidate, evaluator.evaluate(from, Math.min(from + shardSize, total)));
+                store.completeShard(parentId, candidate, null);
+                continue;
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new BusinessException(ErrorCode.BACKTEST_FAILED,
+                        "Timed out waiting for backtest shards (" + done + "/" + shardCount + " done)");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ErrorCode.BACKTEST_FAILED, "Interrupted while waiting for backtest shards");
+            }
+        }
+    }
+
+    // ========== DTOs ==========
+
+    public enum ShardKind {
+        SWEEP, MONTE_CARLO
+    }
+
+    /**
+     * 샤드 작업 메시지 (backtest-jobs 큐, BacktestJob과 같은 라우팅 키)
+     */
+    @Data
+    public static class BacktestShardJob {
+        private String parentId;
+        private ShardKind kind;
+        private int shardIndex;
+        private int from;                              // 구간 시작 (포함)
+        private int to;                                // 구간 끝 (제외)
+        private SweepRequest sweepRequest;             // SWEEP
+        private MonteCarloRequest monteCarloRequest;   // MONTE_CARLO (seed 고정)
+    }
+}
@@ -0,0 +1,487 @@
+package com.portfolio.backtest.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backtest.entity.BacktestConfigEntity;
+import com.portfolio.backtest.entity.BacktestRunEntity;
+import com.portfolio.backtest.entity.BacktestShardEntity;
+import com.portfolio.backtest.repository.BacktestConfigRepository;
+import com.portfolio.backtest.repository.BacktestResultJdbcRepository;
+import com.portfolio.backtest.repository.BacktestRunRepository;
+import com.portfolio.backtest.repository.BacktestShardRepository;
+import com.portfolio.backtest.repository.BacktestShardRepository.ShardState;
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.infra.init.DataInitializer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+
+/**
+ * 백테스트 설정 / 실행 / 결과 영속화
+ *
+ * - 설정, 실행: JPA (backtest_configs, backtest_runs)
+ * - 결과 시계열, 매매 로그: JDBC batch insert (backtest_result_series, backtest_trade_logs)
+ * - 최근 조회한 결과만 LRU(app.backtest.result-cache-size)로 메모리에 유지
+ * - 분산 실행 샤드: JPA (backtest_shards), 상태 전환은 조건부 갱신
+ *
+ * 결과 행과 SUCCEEDED 상태는 한 트랜잭션으로 기록되므로, 다른 노드에서도
+ * SUCCEEDED 실행은 항상 결과를 읽을 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestStore {
+
+    private static final TypeReference<List<TargetAlloc>> TARGET_LIST = new TypeReference<>() {};
+    private static final TypeReference<Map<String, BigDecimal>> STRATEGY_PARAMS = new TypeReference<>() {};
+
+    private final BacktestConfigRepository configRepository;
+    private final BacktestRunRepository runRepository;
+    private final BacktestResultJdbcRepository resultRepository;
+    private final BacktestShardRepository shardRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.backtest.result-cache-size:32}")
+    private int resultCacheSize;
+
+    private final Map<String, BacktestResult> recentResults = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BacktestResult> eldest) {
+            return size() > resultCacheSize;
+        }
+    };
+
+    // ========== Config ==========
+
+    @Transactional
+    public void saveConfig(BacktestConfig config) {
+        configRepository.save(toEntity(config));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BacktestConfig> findConfig(String configId) {
+        return configRepository.findById(configId).map(this::toDto);
+    }
+
+    /**
+     * 설정 목록 (생성 시각 내림차순 keyset 페이지)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BacktestConfig> listConfigs(String cursor, int limit) {
+        ListCursor after = ListCursor.decode(cursor);
+        List<BacktestConfigEntity> rows = configRepository.findPage(after.at(), after.id(), PageRequest.of(0, limit + 1));
+        return toPage(rows, limit, this::toDto, row -> new ListCursor(row.getCreatedAt(), row.getId()));
+    }
+
+    // ========== Run ==========
+
+    @Transactional
+    public void insertRun(BacktestRun run) {
+        BacktestRunEntity entity = BacktestRunEntity.builder()
+                .id(run.getId())
+                .configId(run.getConfigId())
+                .createdBy(DataInitializer.SYSTEM_USER_ID)
+                .status(run.getStatus())
+                .startedAt(toDateTime(run.getStartedAt()))
+                .build();
+        runRepository.save(entity);
+    }
+
+    /**
+     * 결과 캐시 적중: 원본 실행의 결과를 공유하는 SUCCEEDED 실행 등록
+     * 원본이 없거나 SUCCEEDED가 아니면 empty (캐시 항목이 더 이상 유효하지 않음)
+     */
+    @Transactional
+    public Optional<BacktestRun> insertCachedRun(String sourceRunId, String configId) {
+        return runRepository.findById(sourceRunId)
+                .filter(source -> "SUCCEEDED".equals(source.getStatus()))
+                .map(source -> {
+                    LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+                    BacktestRunEntity entity = BacktestRunEntity.builder()
+                            .id(UUID.randomUUID().toString())
+                            .configId(configId)
+                            .createdBy(DataInitializer.SYSTEM_USER_ID)
+                            .status("SUCCEEDED")
+                            .startedAt(now)
+                            .finishedAt(now)
+                            .sourceRunId(dataRunId(source))
+                            .progress(source.getProgress())
+                            .cagr(source.getCagr())
+                            .vol(source.getVol())
+                            .mdd(source.getMdd())
+                            .sharpe(source.getSharpe())
+                            .totalInvested(source.getTotalInvested())
+                            .fxPnlBase(source.getFxPnlBase())
+                            .fxReturn(source.getFxReturn())
+                            .build();
+                    return toDto(runRepository.save(entity));
+                });
+    }
+
+    /**
+     * 실패: RUNNING인 경우만 FAILED로 전환 (조건부 갱신, 그사이 취소된 실행은 그대로 둔다)
+     *
+     * @return 전환되었으면 true
+     */
+    @Transactional
+    public boolean failRun(BacktestRun run) {
+        return runRepository.markFailed(run.getId(), toDateTime(run.getFinishedAt()), run.getErrorMessage()) > 0;
+    }
+
+    /**
+     * 취소: RUNNING인 경우만 CANCELLED로 전환
+     *
+     * @return 전환되었으면 true
+     */
+    @Transactional
+    public boolean cancelRun(String runId) {
+        return runRepository.markCancelled(runId, LocalDateTime.now(ZoneOffset.UTC)) > 0;
+    }
+
+    /**
+     * 진행률 기록 (BacktestRunHandle.ProgressReporter)
+     *
+     * @return 실행이 아직 RUNNING이면 true (다른 노드에서 취소되었으면 false)
+     */
+    @Transactional
+    public boolean reportProgress(String runId, BigDecimal progress, Long etaSeconds) {
+        return runRepository.updateProgress(runId, progress, etaSeconds) > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BacktestRun> findRun(String runId) {
+        return runRepository.findById(runId).map(this::toDto);
+    }
+
+    /**
+     * 실행 목록 (시작 시각 내림차순 keyset 페이지, configId / status 필터는 선택)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BacktestRun> listRuns(String configId, String status, String cursor, int limit) {
+        ListCursor after = ListCursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<BacktestRunEntity> rows;
+        if (configId != null && status != null) {
+            rows = runRepository.findPageByConfigIdAndStatus(configId, status, after.at(), after.id(), page);
+        } else if (configId != null) {
+            rows = runRepository.findPageByConfigId(configId, after.at(), after.id(), page);
+        } else if (status != null) {
+            rows = runRepository.findPageByStatus(status, after.at(), after.id(), page);
+        } else {
+            rows = runRepository.findPage(after.at(), after.id(), page);
+        }
+        return toPage(rows, limit, this::toDto, row -> new ListCursor(row.getStartedAt(), row.getId()));
+    }
+
+    /**
+     * limit + 1행을 읽어 다음 페이지 유무 판단, 있으면 이번 페이지 마지막 행을 커서로
+     */
+    private static <E, T> CursorPage<T> toPage(List<E> rows, int limit, Function<E, T> toDto,
+                                               Function<E, ListCursor> toCursor) {
+        boolean hasMore = rows.size() > limit;
+        List<E> items = hasMore ? rows.subList(0, limit) : rows;
+
+        CursorPage<T> page = new CursorPage<>();
+        page.setItems(items.stream().map(toDto).toList());
+        page.setNextCursor(hasMore ? toCursor.apply(items.get(limit - 1)).encode() : null);
+        return page;
+    }
+
+    // ========== Result ==========
+
+    /**
+     * 결과 저장: 시계열 / 매매 로그 batch insert + 실행 상태·통계 갱신 (단일 트랜잭션)
+     *
+     * SUCCEEDED 전환은 RUNNING인 경우만 하는 조건부 갱신이다. 저장 중에 다른 노드에서 취소되었으면
+     * CancellationException으로 트랜잭션을 롤백해 결과 행도 남기지 않는다.
+     */
+    @Transactional
+    public void saveResult(BacktestRun run, BacktestResult result) {
+        BacktestRunEntity entity = runRepository.findById(run.getId())
+                .orElseThrow(() -> new IllegalStateException("Backtest run not found: " + run.getId()));
+        if ("CANCELLED".equals(entity.getStatus())) {
+            throw new CancellationException("Backtest cancelled: " + run.getId());
+        }
+
+        long startedAt = System.nanoTime();
+        resultRepository.insertSeries(run.getId(), result.getSeries());
+        resultRepository.insertTradeLogs(run.getId(), result.getTradeLogs());
+
+        PerformanceStats stats = result.getStats() != null ? result.getStats() : new PerformanceStats();
+        int updated = runRepository.markSucceeded(run.getId(), toDateTime(run.getFinishedAt()),
+                stats.getCagr(), stats.getVol(), stats.getMdd(), stats.getSharpe(),
+                stats.getTotalInvested(), stats.getFxPnlBase(), stats.getFxReturn());
+        if (updated == 0) {
+            throw new CancellationException("Backtest cancelled: " + run.getId());
+        }
+
+        cacheResult(run.getId(), result);
+        log.debug("Backtest result saved: runId={}, series={}, trades={}, elapsedMs={}", run.getId(),
+                result.getSeries().size(), result.getTradeLogs().size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 결과 조회: LRU → DB 순. SUCCEEDED가 아닌 실행은 결과 없음
+     */
+    @Transactional(readOnly = true)
+    public Optional<BacktestResult> findResult(String runId) {
+        synchronized (recentResults) {
+            BacktestResult cached = recentResults.get(runId);
+            if (cached != null) return Optional.of(cached);
+        }
+
+        Optional<BacktestRunEntity> entity = runRepository.findById(runId);
+        if (entity.isEmpty() || !"SUCCEEDED".equals(entity.get().getStatus())) {
+            return Optional.empty();
+        }
+
+        BacktestRunEntity run = entity.get();
+        String dataRunId = dataRunId(run);
+        BacktestResult result = new BacktestResult();
+        result.setRun(toDto(run));
+        result.setSeries(resultRepository.findSeries(dataRunId));
+        result.setTradeLogs(resultRepository.findTradeLogs(dataRunId));
+        result.setStats(toStats(run));
+
+        cacheResult(runId, result);
+        return Optional.of(result);
+    }
+
+    /**
+     * 요약 통계만 조회 (시계열 / 매매 로그는 읽지 않음). SUCCEEDED가 아닌 실행은 없음
+     */
+    @Transactional(readOnly = true)
+    public Optional<PerformanceStats> findStats(String runId) {
+        return runRepository.findById(runId)
+                .filter(run -> "SUCCEEDED".equals(run.getStatus()))
+                .map(BacktestStore::toStats);
+    }
+
+    private void cacheResult(String runId, BacktestResult result) {
+        synchronized (recentResults) {
+            recentResults.put(runId, result);
+        }
+    }
+
+    // ========== Shard ==========
+
+    /**
+     * 샤드 생성: [0, total)을 shardSize 단위 구간으로 나눠 PENDING으로 기록
+     *
+     * @return 샤드 수
+     */
+    @Transactional
+    public int insertShards(String parentId, String kind, int total, int shardSize) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<BacktestShardEntity> shards = new ArrayList<>();
+        for (int from = 0, index = 0; from < total; from += shardSize, index++) {
+            shards.add(BacktestShardEntity.builder()
+                    .parentId(parentId)
+                    .shardIndex(index)
+                    .kind(kind)
+                    .status("PENDING")
+                    .rangeFrom(from)
+                    .rangeTo(Math.min(from + shardSize, total))
+                    .createdAt(now)
+                    .build());
+        }
+        shardRepository.saveAll(shards);
+        return shards.size();
+    }
+
+    /**
+     * claim: 성공한 노드만 샤드를 실행한다
+     *
+     * @param staleBefore 이 시각 이전에 claim된 RUNNING 샤드는 중단된 노드의 것으로 보고 다시 가져감
+     * @param retryFailed FAILED 샤드도 다시 가져갈지 (부모 노드)
+     */
+    @Transactional
+    public boolean claimShard(String parentId, int shardIndex, String worker,
+                              LocalDateTime staleBefore, boolean retryFailed) {
+        return shardRepository.claim(parentId, shardIndex, worker, LocalDateTime.now(ZoneOffset.UTC),
+                staleBefore, retryFailed) > 0;
+    }
+
+    /**
+     * 완료 기록. result가 null이면 상태만 DONE (부모가 직접 실행해 결과를 메모리에 가진 경우)
+     */
+    @Transactional
+    public boolean completeShard(String parentId, int shardIndex, double[] result) {
+        return shardRepository.markDone(parentId, shardIndex, result != null ? encode(result) : null,
+                LocalDateTime.now(ZoneOffset.UTC)) > 0;
+    }
+
+    @Transactional
+    public boolean failShard(String parentId, int shardIndex, String worker, String errorMessage) {
+        return shardRepository.markFailed(parentId, shardIndex, worker, errorMessage,
+                LocalDateTime.now(ZoneOffset.UTC)) > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ShardState> findShardStates(String parentId) {
+        return shardRepository.findStateByParentIdOrderByShardIndex(parentId);
+    }
+
+    /**
+     * 완료된 샤드 결과 (샤드 인덱스 → 결과, 결과 없이 DONE인 샤드는 제외)
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, double[]> findShardResults(String parentId) {
+        Map<Integer, double[]> results = new HashMap<>();
+        for (BacktestShardEntity shard : shardRepository.findByParentIdOrderByShardIndex(parentId)) {
+            if ("DONE".equals(shard.getStatus()) && shard.getResult() != null) {
+                results.put(shard.getShardIndex(), decode(shard.getResult()));
+            }
+        }
+        return results;
+    }
+
+    @Transactional
+    public void deleteShards(String parentId) {
+        shardRepository.deleteByParentId(parentId);
+    }
+
+    /**
+     * before 이전에 생성된 샤드 삭제 (부모 노드가 중단되어 정리되지 않은 샤드)
+     */
+    @Transactional
+    public int purgeShards(LocalDateTime before) {
+        return shardRepository.deleteByCreatedAtBefore(before);
+    }
+
+    private static byte[] encode(double[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES);
+        buffer.asDoubleBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static double[] decode(byte[] bytes) {
+        double[] values = new double[bytes.length / Double.BYTES];
+        ByteBuffer.wrap(bytes).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    // ========== 변환 ==========
+
+    private BacktestConfigEntity toEntity(BacktestConfig config) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("investmentType", config.getInvestmentType());
+        params.put("dcaAmount", config.getDcaAmount());
+        params.put("dcaFrequency", config.getDcaFrequency());
+        params.put("engine", config.getEngine());
+        params.put("strategy", config.getStrategy());
+        params.put("strategyParams", config.getStrategyParams());
+        params.put("weighting", config.getWeighting());
+        params.put("covarianceHalfLifeDays", config.getCovarianceHalfLifeDays());
+        params.put("baseCurrency", config.getBaseCurrency());
+        params.put("targets", objectMapper.convertValue(config.getTargets(), List.class));
+
+        return BacktestConfigEntity.builder()
+                .id(config.getId())
+                .workspaceId(DataInitializer.DEFAULT_WORKSPACE_ID)
+                .name(config.getName() != null ? config.getName() : "Backtest")
+                .startDate(LocalDate.parse(config.getStartDate()))
+                .endDate(LocalDate.parse(config.getEndDate()))
+                .initialCapitalBase(config.getInitialCapitalBase() != null
+                        ? config.getInitialCapitalBase() : BigDecimal.ZERO)
+                .rebalanceType(config.getRebalanceType())
+                .rebalancePeriod(config.getRebalancePeriod())
+                .bandThreshold(config.getBandThreshold())
+                .dividendReinvest(config.isDividendReinvest())
+                .priceMode(config.getPriceMode())
+                .params(params)
+                .build();
+    }
+
+    private BacktestConfig toDto(BacktestConfigEntity entity) {
+        Map<String, Object> params = entity.getParams() != null ? entity.getParams() : Map.of();
+
+        BacktestConfig config = new BacktestConfig();
+        config.setId(entity.getId());
+        config.setName(entity.getName());
+        config.setStartDate(entity.getStartDate().toString());
+        config.setEndDate(entity.getEndDate().toString());
+        config.setInitialCapitalBase(entity.getInitialCapitalBase());
+        config.setRebalanceType(entity.getRebalanceType());
+        config.setRebalancePeriod(entity.getRebalancePeriod());
+        config.setBandThreshold(entity.getBandThreshold());
+        config.setDividendReinvest(Boolean.TRUE.equals(entity.getDividendReinvest()));
+        config.setPriceMode(entity.getPriceMode());
+        if (params.get("investmentType") != null) {
+            config.setInvestmentType((String) params.get("investmentType"));
+        }
+        if (params.get("dcaAmount") != null) {
+            config.setDcaAmount(new BigDecimal(params.get("dcaAmount").toString()));
+        }
+        config.setDcaFrequency((String) params.get("dcaFrequency"));
+        if (params.get("engine") != null) {
+            config.setEngine((String) params.get("engine"));
+        }
+        config.setStrategy((String) params.get("strategy"));
+        if (params.get("strategyParams") != null) {
+            config.setStrategyParams(objectMapper.convertValue(params.get("strategyParams"), STRATEGY_PARAMS));
+        }
+        config.setWeighting((String) params.get("weighting"));
+        config.setBaseCurrency((String) params.get("baseCurrency"));
+        if (params.get("covarianceHalfLifeDays") != null) {
+            config.setCovarianceHalfLifeDays(((Number) params.get("covarianceHalfLifeDays")).intValue());
+        }
+        if (params.get("targets") != null) {
+            config.setTargets(objectMapper.convertValue(params.get("targets"), TARGET_LIST));
+        }
+        return config;
+    }
+
+    /** 시계열 / 매매 로그가 저장된 실행 ID (캐시 적중 실행은 원본) */
+    private static String dataRunId(BacktestRunEntity run) {
+        return run.getSourceRunId() != null ? run.getSourceRunId() : run.getId();
+    }
+
+    private static PerformanceStats toStats(BacktestRunEntity run) {
+        PerformanceStats stats = new PerformanceStats();
+        stats.setCagr(run.getCagr());
+        stats.setVol(run.getVol());
+        stats.setMdd(run.getMdd());
+        stats.setSharpe(run.getSharpe());
+        stats.setTotalInvested(run.getTotalInvested());
+        stats.setFxPnlBase(run.getFxPnlBase());
+        stats.setFxReturn(run.getFxReturn());
+        return stats;
+    }
+
+    private BacktestRun toDto(BacktestRunEntity entity) {
+        BacktestRun run = new BacktestRun();
+        run.setId(entity.getId());
+        run.setConfigId(entity.getConfigId());
+        run.setStatus(entity.getStatus());
+        run.setStartedAt(toInstantString(entity.getStartedAt()));
+        run.setFinishedAt(toInstantString(entity.getFinishedAt()));
+        run.setErrorMessage(entity.getErrorMessage());
+        run.setSourceRunId(entity.getSourceRunId());
+        run.setProgress(entity.getProgress());
+        run.setEtaSeconds(entity.getEtaSeconds());
+        return run;
+    }
+
+    /** 실행 시각은 UTC 기준 TIMESTAMP로 저장 (DTO는 ISO-8601 Instant 문자열) */
+    private static LocalDateTime toDateTime(String instant) {
+        return instant != null ? LocalDateTime.ofInstant(Instant.parse(instant), ZoneOffset.UTC) : null;
+    }
+
+    private static String toInstantString(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toString() : null;
+    }
+}
@@ -0,0 +1,500 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.BacktestConfig;
+import com.portfolio.backtest.service.BacktestService.TargetAlloc;
+import com.portfolio.backtest.service.BacktestShardCoordinator.BacktestShardJob;
+import com.portfolio.backtest.service.BacktestShardCoordinator.ShardKind;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import com.portfolio.common.util.StreamingPerformanceStats;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 백테스트 파라미터 스윕
+ *
+ * 기본 설정(baseConfig)에 리밸런싱 주기 / 밴드 임계값 / 목표 비중 / 적립 금액 후보를 곱해 그리드를 만들고,
+ * ForkJoinPool에서 병렬로 평가한 뒤 성과 지표 순으로 정렬해 반환한다.
+ *
+ * - 가격 행렬은 한 번만 적재해 모든 변형이 읽기 전용으로 공유
+ * - 워커(leaf 작업)마다 ColumnarBacktestEngine 하나를 만들어 재사용
+ * - 변형별로 CAGR / 변동성 / MDD / Sharpe만 primitive 배열에 남기고 시계열은 보관하지 않음
+ * - RabbitMQ 사용 시 SHARD_VARIANTS개 단위 구간으로 나눠 다른 노드와 함께 평가 (BacktestShardCoordinator)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestSweepService {
+
+    /** 그리드 최대 변형 수 */
+    public static final int MAX_VARIANTS = 50_000;
+
+    /** 분산 실행 시 샤드당 변형 수 */
+    static final int SHARD_VARIANTS = 512;
+
+    private static final int DEFAULT_TOP_N = 100;
+    private static final int LEAF_SIZE = 64;
+    private static final int SHARD_CONTEXT_CACHE_SIZE = 4;
+
+    private final BacktestPriceLoader priceLoader;
+    private final BacktestShardCoordinator shardCoordinator;
+
+    /** 스윕 전용 풀 (공용 풀을 쓰는 다른 병렬 작업과 분리) */
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /** 워커: 부모 ID → 그리드 / 가격 행렬 (같은 스윕의 샤드를 연달아 받으면 다시 적재하지 않음) */
+    private final Map<String, SweepContext> shardContexts = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SweepContext> eldest) {
+            return size() > SHARD_CONTEXT_CACHE_SIZE;
+        }
+    };
+
+    public SweepResult sweep(SweepRequest request) {
+        return sweep(request, shardCoordinator.isDistributed() ? SHARD_VARIANTS : 0);
+    }
+
+    /**
+     * @param shardSize 샤드당 변형 수 (0이면 이 노드에서만 평가)
+     */
+    SweepResult sweep(SweepRequest request, int shardSize) {
+        BacktestConfig base = request.getBaseConfig();
+        BacktestService.requireStaticBaseConfig(base);
+        long startedAt = System.nanoTime();
+
+        Grid grid = Grid.expand(request);
+        int variantCount = grid.size();
+        if (variantCount > MAX_VARIANTS) {
+            throw new BusinessException(ErrorCode.BACKTEST_SWEEP_TOO_LARGE,
+                    "Sweep grid has " + variantCount + " variants (max " + MAX_VARIANTS + ")");
+        }
+
+        List<String> instrumentIds = base.getTargets().stream().map(TargetAlloc::getInstrumentId).toList();
+        SweepContext context = new SweepContext(grid, load(base));
+        PriceMatrix matrix = context.matrix();
+
+        double[] cagr = new double[variantCount];
+        double[] vol = new double[variantCount];
+        double[] mdd = new double[variantCount];
+        double[] sharpe = new double[variantCount];
+
+        if (shardSize > 0 && variantCount > shardSize) {
+            BacktestShardJob job = new BacktestShardJob();
+            job.setKind(ShardKind.SWEEP);
+            job.setSweepRequest(request);
+            shardCoordinator.execute(job, variantCount, shardSize,
+                    (from, to) -> evaluateShard(context, from, to),
+                    (from, to, packed) -> unpack(packed, from, to - from, cagr, vol, mdd, sharpe));
+        } else {
+            pool.invoke(new EvaluateTask(grid, matrix, 0, 0, variantCount, cagr, vol, mdd, sharpe));
+        }
+
+        String sortBy = request.getSortBy() != null ? request.getSortBy() : "SHARPE";
+        Integer[] order = rank(variantCount, sortBy, cagr, vol, mdd, sharpe);
+
+        int topN = request.getTopN() != null && request.getTopN() > 0 ? request.getTopN() : DEFAULT_TOP_N;
+        List<SweepRow> rows = new ArrayList<>(Math.min(topN, variantCount));
+        for (int r = 0; r < Math.min(topN, variantCount); r++) {
+            rows.add(grid.toRow(order[r], r + 1, instrumentIds, cagr, vol, mdd, sharpe));
+        }
+
+        SweepResult result = new SweepResult();
+        result.setVariantCount(variantCount);
+        result.setTradingDays(matrix.numDays());
+        result.setSortBy(sortBy);
+        result.setElapsedMs((System.nanoTime() - startedAt) / 1_000_000);
+        result.setRows(rows);
+
+        log.info("Backtest sweep finished: variants={}, days={}, elapsedMs={}",
+                variantCount, matrix.numDays(), result.getElapsedMs());
+        return result;
+    }
+
+    /**
+     * 워커: 다른 노드가 발행한 스윕 샤드 평가
+     */
+    public void processShard(BacktestShardJob job) {
+        shardCoordinator.process(job, (from, to) -> evaluateShard(shardContext(job), from, to));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private PriceMatrix load(BacktestConfig base) {
+        return priceLoader.load(base);
+    }
+
+    private SweepContext shardContext(BacktestShardJob job) {
+        synchronized (shardContexts) {
+            SweepContext cached = shardContexts.get(job.getParentId());
+            if (cached != null) return cached;
+        }
+        SweepRequest request = job.getSweepRequest();
+        SweepContext context = new SweepContext(Grid.expand(request), load(request.getBaseConfig()));
+        synchronized (shardContexts) {
+            shardContexts.put(job.getParentId(), context);
+        }
+        return context;
+    }
+
+    /**
+     * 변형 구간 [from, to) 평가. 결과 배치: [cagr | vol | mdd | sharpe] (각 to - from개)
+     */
+    private double[] evaluateShard(SweepContext context, int from, int to) {
+        int length = to - from;
+        double[] cagr = new double[length];
+        double[] vol = new double[length];
+        double[] mdd = new double[length];
+        double[] sharpe = new double[length];
+        pool.invoke(new EvaluateTask(context.grid(), context.matrix(), from, from, to, cagr, vol, mdd, sharpe));
+
+        double[] packed = new double[length * 4];
+        System.arraycopy(cagr, 0, packed, 0, length);
+        System.arraycopy(vol, 0, packed, length, length);
+        System.arraycopy(mdd, 0, packed, length * 2, length);
+        System.arraycopy(sharpe, 0, packed, length * 3, length);
+        return packed;
+    }
+
+    private static void unpack(double[] packed, int from, int length, double[]... targets) {
+        for (int k = 0; k < targets.length; k++) {
+            System.arraycopy(packed, length * k, targets[k], from, length);
+        }
+    }
+
+    private record SweepContext(Grid grid, PriceMatrix matrix) {
+    }
+
+    /**
+     * 정렬: NaN(계산 불가)은 항상 뒤로
+     * SHARPE / CAGR: 내림차순, MDD / VOL: 오름차순
+     */
+    private Integer[] rank(int count, String sortBy,
+                           double[] cagr, double[] vol, double[] mdd, double[] sharpe) {
+        double[] key;
+        boolean descending;
+        switch (sortBy) {
+            case "CAGR" -> { key = cagr; descending = true; }
+            case "MDD" -> { key = mdd; descending = false; }
+            case "VOL" -> { key = vol; descending = false; }
+            case "SHARPE" -> { key = sharpe; descending = true; }
+            default -> throw new BusinessException(ErrorCode.INVALID_INPUT, "Unsupported sortBy: " + sortBy);
+        }
+
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> {
+            boolean nanA = Double.isNaN(key[a]);
+            boolean nanB = Double.isNaN(key[b]);
+            if (nanA || nanB) return Boolean.compare(nanA, nanB);
+            return descending ? Double.compare(key[b], key[a]) : Double.compare(key[a], key[b]);
+        });
+        return order;
+    }
+
+    /**
+     * 변형 구간 [from, to) 평가. LEAF_SIZE 이하가 될 때까지 분할하고,
+     * leaf에서는 엔진 인스턴스 하나로 구간 전체를 순차 실행한다.
+     * 변형 v의 지표는 결과 배열의 v - offset 위치에 기록 (샤드는 구간 길이만큼만 할당)
+     */
+    private static final class EvaluateTask extends RecursiveAction {
+        private final Grid grid;
+        private final PriceMatrix matrix;
+        private final int offset;
+        private final int from;
+        private final int to;
+        private final double[] cagr;
+        private final double[] vol;
+        private final double[] mdd;
+        private final double[] sharpe;
+
+        EvaluateTask(Grid grid, PriceMatrix matrix, int offset, int from, int to,
+                     double[] cagr, double[] vol, double[] mdd, double[] sharpe) {
+            this.grid = grid;
+            this.matrix = matrix;
+            this.offset = offset;
+            this.from = from;
+            this.to = to;
+            this.cagr = cagr;
+            this.vol = vol;
+            this.mdd = mdd;
+            this.sharpe = sharpe;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new EvaluateTask(grid, matrix, offset, from, mid, cagr, vol, mdd, sharpe),
+                        new EvaluateTask(grid, matrix, offset, mid, to, cagr, vol, mdd, sharpe));
+                return;
+            }
+
+            ColumnarBacktestEngine engine = new ColumnarBacktestEngine(matrix.numInstruments(), matrix.numDays());
+            for (int v = from; v < to; v++) {
+                ColumnarBacktestEngine.Rules rules = grid.rules(v);
+                engine.run(matrix.prices(), matrix.monthIndex(), grid.weights(v), rules);
+
+                StreamingPerformanceStats running = engine.stats();
+                double c = BacktestService.annualizedReturn(running, rules.initialCapital, rules.dcaAmount > 0);
+                double annualVol = running.returnCount() > 0
+                        ? running.annualizedVolatility(BacktestService.TRADING_DAYS_PER_YEAR) : Double.NaN;
+                int i = v - offset;
+                cagr[i] = c;
+                vol[i] = annualVol;
+                mdd[i] = running.maxDrawdown();
+                sharpe[i] = annualVol > 0 ? (c - BacktestService.RISK_FREE_RATE) / annualVol : Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * 변형 그리드 (리밸런싱 규칙 × 비중 세트 × 적립 금액)
+     * 변형 인덱스는 혼합 기수(mixed radix)로 각 축의 인덱스에 대응되며, 변형별 설정 객체는 만들지 않는다.
+     */
+    private static final class Grid {
+        private final double initialCapital;
+        private final int dcaMonths;
+        private final List<RebalanceOption> rebalanceOptions;
+        private final List<double[]> weightSets;
+        private final double[] dcaAmounts;
+
+        private Grid(double initialCapital, int dcaMonths, List<RebalanceOption> rebalanceOptions,
+                     List<double[]> weightSets, double[] dcaAmounts) {
+            this.initialCapital = initialCapital;
+            this.dcaMonths = dcaMonths;
+            this.rebalanceOptions = rebalanceOptions;
+            this.weightSets = weightSets;
+            this.dcaAmounts = dcaAmounts;
+        }
+
+        static Grid expand(SweepRequest request) {
+            BacktestConfig base = request.getBaseConfig();
+            ColumnarBacktestEngine.Rules baseRules = BacktestService.toColumnarRules(base);
+            int n = base.getTargets().size();
+
+            List<RebalanceOption> rebalanceOptions = rebalanceOptions(base, baseRules,
+                    request.getRebalancePeriods(), request.getBandThresholds());
+
+            // 비중 세트: 명시 목록 > 격자 간격(step, 합계 1인 모든 조합) > 기본 설정
+            List<double[]> weightSets = new ArrayList<>();
+            if (request.getTargetWeightSets() != null && !request.getTargetWeightSets().isEmpty()) {
+                for (List<BigDecimal> set : request.getTargetWeightSets()) {
+                    if (set.size() != n) {
+                        throw new BusinessException(ErrorCode.INVALID_INPUT,
+                                "Each targetWeightSet must have " + n + " weights");
+                    }
+                    weightSets.add(set.stream().mapToDouble(BigDecimal::doubleValue).toArray());
+                }
+            } else if (request.getTargetWeightStep() != null) {
+                weightSets.addAll(simplexGrid(n, request.getTargetWeightStep()));
+            } else {
+                weightSets.add(base.getTargets().stream()
+                        .mapToDouble(t -> t.getTargetWeight().doubleValue()).toArray());
+            }
+
+            // 적립 금액: 후보가 있으면 DCA로 평가
+            double[] dcaAmounts = request.getDcaAmounts() != null
+                    ? request.getDcaAmounts().expand().stream().mapToDouble(BigDecimal::doubleValue).toArray()
+                    : new double[]{baseRules.dcaAmount};
+            if (dcaAmounts.length == 0) {
+                dcaAmounts = new double[]{baseRules.dcaAmount};
+            }
+
+            return new Grid(baseRules.initialCapital, baseRules.dcaMonths, rebalanceOptions, weightSets, dcaAmounts);
+        }
+
+        /** 합계 1인 n차원 비중 조합 (각 비중은 step의 배수) */
+        private static List<double[]> simplexGrid(int n, BigDecimal step) {
+            if (step.signum() <= 0 || BigDecimal.ONE.remainder(step).signum() != 0) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT, "targetWeightStep must evenly divide 1");
+            }
+            int units = BigDecimal.ONE.divide(step, 0, RoundingMode.UNNECESSARY).intValueExact();
+            double unit = 1.0 / units;
+
+            List<double[]> result = new ArrayList<>();
+            int[] parts = new int[n];
+            compose(parts, 0, units, unit, result);
+            return result;
+        }
+
+        private static void compose(int[] parts, int index, int remaining, double unit, List<double[]> out) {
+            if (out.size() > MAX_VARIANTS) return;
+            if (index == parts.length - 1) {
+                parts[index] = remaining;
+                double[] weights = new double[parts.length];
+                for (int i = 0; i < parts.length; i++) weights[i] = parts[i] * unit;
+                out.add(weights);
+                return;
+            }
+            for (int k = remaining; k >= 0; k--) {
+                parts[index] = k;
+                compose(parts, index + 1, remaining - k, unit, out);
+            }
+        }
+
+        int size() {
+            long size = (long) rebalanceOptions.size() * weightSets.size() * dcaAmounts.length;
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        private int dcaIndex(int variant) {
+            return variant % dcaAmounts.length;
+        }
+
+        private int weightIndex(int variant) {
+            return (variant / dcaAmounts.length) % weightSets.size();
+        }
+
+        private int rebalanceIndex(int variant) {
+            return variant / dcaAmounts.length / weightSets.size();
+        }
+
+        double[] weights(int variant) {
+            return weightSets.get(weightIndex(variant));
+        }
+
+        ColumnarBacktestEngine.Rules rules(int variant) {
+            RebalanceOption option = rebalanceOptions.get(rebalanceIndex(variant));
+            return new ColumnarBacktestEngine.Rules(initialCapital, option.mode, option.months,
+                    option.threshold, dcaAmounts[dcaIndex(variant)], dcaMonths);
+        }
+
+        SweepRow toRow(int variant, int rank, List<String> instrumentIds,
+                       double[] cagr, double[] vol, double[] mdd, double[] sharpe) {
+            RebalanceOption option = rebalanceOptions.get(rebalanceIndex(variant));
+            double[] weights = weights(variant);
+
+            SweepRow row = new SweepRow();
+            row.setRank(rank);
+            row.setRebalanceType(option.type);
+            row.setRebalancePeriod(option.period);
+            row.setBandThreshold(option.bandThreshold);
+            Map<String, BigDecimal> weightMap = new LinkedHashMap<>();
+            for (int i = 0; i < weights.length; i++) {
+                weightMap.merge(instrumentIds.get(i),
+                        BigDecimal.valueOf(weights[i]).setScale(4, RoundingMode.HALF_UP), BigDecimal::add);
+            }
+            row.setWeights(weightMap);
+            double dca = dcaAmounts[dcaIndex(variant)];
+            row.setDcaAmount(dca > 0 ? BigDecimal.valueOf(dca).setScale(2, RoundingMode.HALF_UP) : null);
+            row.setCagr(toDecimal(cagr[variant], 6));
+            row.setVol(toDecimal(vol[variant], 6));
+            row.setMdd(toDecimal(mdd[variant], 6));
+            row.setSharpe(toDecimal(sharpe[variant], 4));
+            return row;
+        }
+
+        private static BigDecimal toDecimal(double value, int scale) {
+            return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * 리밸런싱 규칙 후보: 주기 후보(PERIODIC) ∪ 밴드 임계값 후보(BAND), 둘 다 없으면 기본 설정
+     * (워크포워드 최적화와 공용)
+     */
+    static List<RebalanceOption> rebalanceOptions(BacktestConfig base, ColumnarBacktestEngine.Rules baseRules,
+                                                  List<String> periods, SweepRange bandThresholds) {
+        List<RebalanceOption> options = new ArrayList<>();
+        if (periods != null) {
+            for (String period : periods) {
+                int months = ColumnarBacktestEngine.periodMonths(period);
+                if (months == 0) {
+                    throw new BusinessException(ErrorCode.INVALID_INPUT, "Unsupported rebalancePeriod: " + period);
+                }
+                options.add(new RebalanceOption("PERIODIC", period, null,
+                        ColumnarBacktestEngine.REBALANCE_PERIODIC, months, 0));
+            }
+        }
+        if (bandThresholds != null) {
+            for (BigDecimal threshold : bandThresholds.expand()) {
+                options.add(new RebalanceOption("BAND", null, threshold,
+                        ColumnarBacktestEngine.REBALANCE_BAND, 0, threshold.doubleValue()));
+            }
+        }
+        if (options.isEmpty()) {
+            options.add(new RebalanceOption(base.getRebalanceType(), base.getRebalancePeriod(),
+                    base.getBandThreshold(), baseRules.rebalanceMode, baseRules.rebalanceMonths,
+                    baseRules.bandThreshold));
+        }
+        return options;
+    }
+
+    record RebalanceOption(String type, String period, BigDecimal bandThreshold,
+                           int mode, int months, double threshold) {
+    }
+
+    // ========== DTOs ==========
+
+    @Data
+    public static class SweepRequest {
+        private BacktestConfig baseConfig;
+        private List<String> rebalancePeriods;           // PERIODIC 후보 (MONTHLY, QUARTERLY, ...)
+        private SweepRange bandThresholds;               // BAND 후보
+        private List<List<BigDecimal>> targetWeightSets; // 비중 세트 (baseConfig.targets 순서)
+        private BigDecimal targetWeightStep;             // 비중 격자 간격 (예: 0.1 → 합계 1인 모든 조합)
+        private SweepRange dcaAmounts;                   // 적립 금액 후보 (지정 시 DCA로 평가)
+        private String sortBy = "SHARPE";                // SHARPE, CAGR, MDD, VOL
+        private Integer topN;                            // 반환 행 수 (기본 100)
+    }
+
+    /**
+     * 값 목록(values) 또는 범위(from ~ to, step)
+     */
+    @Data
+    public static class SweepRange {
+        private List<BigDecimal> values;
+        private BigDecimal from;
+        private BigDecimal to;
+        private BigDecimal step;
+
+        public List<BigDecimal> expand() {
+            if (values != null && !values.isEmpty()) {
+                return values;
+            }
+            if (from == null || to == null || step == null || step.signum() <= 0 || from.compareTo(to) > 0) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT, "Range requires values or from <= to with step > 0");
+            }
+            List<BigDecimal> result = new ArrayList<>();
+            for (BigDecimal v = from; v.compareTo(to) <= 0 && result.size() <= MAX_VARIANTS; v = v.add(step)) {
+                result.add(v);
+            }
+            return result;
+        }
+    }
+
+    @Data
+    public static class SweepRow {
+        private int rank;
+        private String rebalanceType;
+        private String rebalancePeriod;
+        private BigDecimal bandThreshold;
+        private Map<String, BigDecimal> weights;
+        private BigDecimal dcaAmount;
+        private BigDecimal cagr;
+        private BigDecimal vol;
+        private BigDecimal mdd;
+        private BigDecimal sharpe;
+    }
+
+    @Data
+    public static class SweepResult {
+        private int variantCount;
+        private int tradingDays;
+        private String sortBy;
+        private long elapsedMs;
+        private List<SweepRow> rows;
+    }
+}
@@ -0,0 +1,346 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.BacktestConfig;
+import com.portfolio.backtest.service.BacktestSweepService.RebalanceOption;
+import com.portfolio.backtest.service.BacktestSweepService.SweepRange;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import com.portfolio.common.util.StreamingPerformanceStats;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 워크포워드 최적화
+ *
+ * 백테스트 기간을 in-sample / out-of-sample 창으로 굴려 가며, 창마다 in-sample 구간에서
+ * 리밸런싱 규칙 후보(주기 / 밴드) 중 목표 지표가 가장 좋은 규칙을 고르고 바로 다음
+ * out-of-sample 구간에 적용한다. out-of-sample 구간들의 일별 수익률을 이어 붙인 곡선이 결과다.
+ *
+ * - 가격 행렬은 한 번만 적재
+ * - 후보마다 전체 기간을 ColumnarBacktestEngine으로 한 번만 실행하고, 일별 수익률의
+ *   누적합(Σr, Σr², Σlog(1+r))을 저장 → 겹치는 창들의 구간 통계는 재실행 없이 O(1)로 계산 (MDD만 구간 스캔)
+ * - 후보별 곡선은 전체 기간 동안 같은 규칙을 유지한 경로이므로, 창 경계에서 규칙을 바꿀 때의
+ *   보유 수량 차이는 반영하지 않는다 (규칙 간 비교 / 선택 용도)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestWalkForwardService {
+
+    /** 리밸런싱 규칙 후보 최대 수 (후보당 거래일 × 3개 누적합 배열을 보관) */
+    public static final int MAX_CANDIDATES = 200;
+
+    private static final int DEFAULT_IN_SAMPLE_MONTHS = 24;
+    private static final int DEFAULT_OUT_OF_SAMPLE_MONTHS = 6;
+    private static final int LEAF_SIZE = 4;
+
+    private final BacktestPriceLoader priceLoader;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public WalkForwardResult optimize(WalkForwardRequest request) {
+        BacktestConfig base = request.getBaseConfig();
+        BacktestService.requireStaticBaseConfig(base);
+        int inSampleMonths = request.getInSampleMonths() != null ? request.getInSampleMonths() : DEFAULT_IN_SAMPLE_MONTHS;
+        int outOfSampleMonths = request.getOutOfSampleMonths() != null
+                ? request.getOutOfSampleMonths() : DEFAULT_OUT_OF_SAMPLE_MONTHS;
+        if (inSampleMonths <= 0 || outOfSampleMonths <= 0) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "inSampleMonths and outOfSampleMonths must be positive");
+        }
+        String objective = request.getObjective() != null ? request.getObjective() : "SHARPE";
+        if (!List.of("SHARPE", "CAGR", "MDD").contains(objective)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Unsupported objective: " + objective);
+        }
+        long startedAt = System.nanoTime();
+
+        ColumnarBacktestEngine.Rules baseRules = BacktestService.toColumnarRules(base);
+        List<RebalanceOption> options = BacktestSweepService.rebalanceOptions(base, baseRules,
+                request.getRebalancePeriods(), request.getBandThresholds());
+        if (options.size() > MAX_CANDIDATES) {
+            throw new BusinessException(ErrorCode.BACKTEST_SWEEP_TOO_LARGE,
+                    "Walk-forward grid has " + options.size() + " candidates (max " + MAX_CANDIDATES + ")");
+        }
+
+        PriceMatrix matrix = priceLoader.load(base);
+
+        List<Window> windows = windows(matrix, inSampleMonths, outOfSampleMonths, request.isAnchored());
+        if (windows.isEmpty()) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "Backtest period is shorter than inSampleMonths + one out-of-sample day");
+        }
+
+        // 후보별 전체 기간 1회 실행 → 일별 수익률 누적합
+        double[] weights = base.getTargets().stream().mapToDouble(t -> t.getTargetWeight().doubleValue()).toArray();
+        int days = matrix.numDays();
+        double[][] sumR = new double[options.size()][days];
+        double[][] sumR2 = new double[options.size()][days];
+        double[][] sumLog = new double[options.size()][days];
+        pool.invoke(new CandidateTask(matrix, weights, baseRules, options, 0, options.size(), sumR, sumR2, sumLog));
+
+        // 창별 선택 + out-of-sample 수익률 연결
+        double startEquity = baseRules.initialCapital > 0 ? baseRules.initialCapital : 1.0;
+        double equity = startEquity;
+        StreamingPerformanceStats stitched = new StreamingPerformanceStats();
+        List<WalkForwardPoint> series = new ArrayList<>();
+        List<WalkForwardWindow> windowRows = new ArrayList<>(windows.size());
+
+        for (Window w : windows) {
+            int best = -1;
+            double bestScore = Double.NaN;
+            for (int c = 0; c < options.size(); c++) {
+                double score = score(objective, sumR[c], sumR2[c], sumLog[c], w.isStart, w.isEnd);
+                if (Double.isNaN(score)) continue;
+                boolean better = "MDD".equals(objective) ? score < bestScore : score > bestScore;
+                if (best < 0 || better) {
+                    best = c;
+                    bestScore = score;
+                }
+            }
+            if (best < 0) best = 0;
+
+            double[] log = sumLog[best];
+            if (series.isEmpty()) {
+                stitched.add(equity, 0);
+                series.add(point(matrix.date(w.oosStart), equity, stitched));
+            }
+            for (int d = w.oosStart + 1; d <= w.oosEnd; d++) {
+                equity *= Math.exp(log[d] - log[d - 1]);
+                stitched.add(equity, 0);
+                series.add(point(matrix.date(d), equity, stitched));
+            }
+
+            RebalanceOption option = options.get(best);
+            WalkForwardWindow row = new WalkForwardWindow();
+            row.setInSampleStart(matrix.date(w.isStart).toString());
+            row.setInSampleEnd(matrix.date(w.isEnd).toString());
+            row.setOutOfSampleStart(matrix.date(w.oosStart + 1).toString());
+            row.setOutOfSampleEnd(matrix.date(w.oosEnd).toString());
+            row.setRebalanceType(option.type());
+            row.setRebalancePeriod(option.period());
+            row.setBandThreshold(option.bandThreshold());
+            row.setInSampleScore(toDecimal(bestScore, 6));
+            row.setOutOfSampleReturn(toDecimal(Math.exp(log[w.oosEnd] - log[w.oosStart]) - 1.0, 6));
+            windowRows.add(row);
+        }
+
+        double cagr = BacktestService.annualizedReturn(stitched, startEquity, false);
+        double vol = stitched.returnCount() > 0
+                ? stitched.annualizedVolatility(BacktestService.TRADING_DAYS_PER_YEAR) : Double.NaN;
+
+        WalkForwardResult result = new WalkForwardResult();
+        result.setObjective(objective);
+        result.setCandidateCount(options.size());
+        result.setTradingDays(days);
+        result.setWindows(windowRows);
+        result.setSeries(series);
+        result.setCagr(toDecimal(cagr, 6));
+        result.setVol(toDecimal(vol, 6));
+        result.setMdd(toDecimal(stitched.maxDrawdown(), 6));
+        result.setSharpe(toDecimal(vol > 0 ? (cagr - BacktestService.RISK_FREE_RATE) / vol : Double.NaN, 4));
+        result.setElapsedMs((System.nanoTime() - startedAt) / 1_000_000);
+
+        log.info("Walk-forward optimization finished: candidates={}, windows={}, days={}, elapsedMs={}",
+                options.size(), windows.size(), days, result.getElapsedMs());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 구간 (a, b] 일별 수익률의 목표 지표 (누적합 차이로 O(1), MDD는 구간 스캔)
+     * SHARPE / CAGR: 클수록 좋음, MDD: 작을수록 좋음
+     */
+    static double score(String objective, double[] sumR, double[] sumR2, double[] sumLog, int a, int b) {
+        int count = b - a;
+        if (count <= 0) return Double.NaN;
+
+        if ("MDD".equals(objective)) {
+            double peak = sumLog[a];
+            double mdd = 0;
+            for (int d = a + 1; d <= b; d++) {
+                peak = Math.max(peak, sumLog[d]);
+                mdd = Math.max(mdd, 1.0 - Math.exp(sumLog[d] - peak));
+            }
+            return mdd;
+        }
+
+        double cagr = Math.exp((sumLog[b] - sumLog[a]) * BacktestService.TRADING_DAYS_PER_YEAR / count) - 1.0;
+        if ("CAGR".equals(objective)) {
+            return cagr;
+        }
+        double mean = (sumR[b] - sumR[a]) / count;
+        double variance = Math.max(0, (sumR2[b] - sumR2[a]) / count - mean * mean);
+        double vol = Math.sqrt(variance * BacktestService.TRADING_DAYS_PER_YEAR);
+        return vol > 0 ? (cagr - BacktestService.RISK_FREE_RATE) / vol : Double.NaN;
+    }
+
+    /**
+     * 월 경계 기준 창 목록. 창 k의 in-sample은 (anchored면 첫 달부터) k × oos번째 달부터 is개월,
+     * out-of-sample은 그다음 oos개월 (마지막 창은 데이터 끝까지 잘림)
+     */
+    private static List<Window> windows(PriceMatrix matrix, int inSampleMonths, int outOfSampleMonths,
+                                        boolean anchored) {
+        int[] monthIndex = matrix.monthIndex();
+        List<Integer> monthStarts = new ArrayList<>();
+        for (int d = 0; d < matrix.numDays(); d++) {
+            if (d == 0 || monthIndex[d] != monthIndex[d - 1]) {
+                monthStarts.add(d);
+            }
+        }
+        int months = monthStarts.size();
+        int lastDay = matrix.numDays() - 1;
+
+        List<Window> windows = new ArrayList<>();
+        for (int k = 0; ; k++) {
+            int startMonth = anchored ? 0 : k * outOfSampleMonths;
+            int oosStartMonth = k * outOfSampleMonths + inSampleMonths;
+            if (oosStartMonth >= months) break;
+            int oosEndMonth = oosStartMonth + outOfSampleMonths;
+
+            int isStart = monthStarts.get(startMonth);
+            int isEnd = monthStarts.get(oosStartMonth) - 1;
+            int oosEnd = oosEndMonth < months ? monthStarts.get(oosEndMonth) - 1 : lastDay;
+            if (isEnd <= isStart || oosEnd <= isEnd) break;
+            windows.add(new Window(isStart, isEnd, isEnd, oosEnd));
+        }
+        return windows;
+    }
+
+    private static WalkForwardPoint point(LocalDate date, double equity, StreamingPerformanceStats stats) {
+        WalkForwardPoint point = new WalkForwardPoint();
+        point.setTs(date.toString());
+        point.setEquity(BigDecimal.valueOf(equity).setScale(2, RoundingMode.HALF_UP));
+        point.setDrawdown(BigDecimal.valueOf(stats.drawdown()).setScale(6, RoundingMode.HALF_UP));
+        return point;
+    }
+
+    private static BigDecimal toDecimal(double value, int scale) {
+        return Double.isNaN(value) || Double.isInfinite(value)
+                ? null : BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    /** 거래일 인덱스: in-sample 수익률 (isStart, isEnd], out-of-sample 수익률 (oosStart, oosEnd] */
+    private record Window(int isStart, int isEnd, int oosStart, int oosEnd) {
+    }
+
+    /**
+     * 후보 구간 [from, to) 실행. leaf마다 엔진 하나를 재사용하고,
+     * 일별 현금 흐름 조정 수익률(StreamingPerformanceStats와 동일 정의)의 누적합만 남긴다.
+     */
+    private static final class CandidateTask extends RecursiveAction {
+        private final PriceMatrix matrix;
+        private final double[] weights;
+        private final ColumnarBacktestEngine.Rules baseRules;
+        private final List<RebalanceOption> options;
+        private final int from;
+        private final int to;
+        private final double[][] sumR;
+        private final double[][] sumR2;
+        private final double[][] sumLog;
+
+        CandidateTask(PriceMatrix matrix, double[] weights, ColumnarBacktestEngine.Rules baseRules,
+                      List<RebalanceOption> options, int from, int to,
+                      double[][] sumR, double[][] sumR2, double[][] sumLog) {
+            this.matrix = matrix;
+            this.weights = weights;
+            this.baseRules = baseRules;
+            this.options = options;
+            this.from = from;
+            this.to = to;
+            this.sumR = sumR;
+            this.sumR2 = sumR2;
+            this.sumLog = sumLog;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CandidateTask(matrix, weights, baseRules, options, from, mid, sumR, sumR2, sumLog),
+                        new CandidateTask(matrix, weights, baseRules, options, mid, to, sumR, sumR2, sumLog));
+                return;
+            }
+
+            ColumnarBacktestEngine engine = new ColumnarBacktestEngine(matrix.numInstruments(), matrix.numDays());
+            for (int c = from; c < to; c++) {
+                RebalanceOption option = options.get(c);
+                engine.run(matrix.prices(), matrix.monthIndex(), weights, new ColumnarBacktestEngine.Rules(
+                        baseRules.initialCapital, option.mode(), option.months(), option.threshold(),
+                        baseRules.dcaAmount, baseRules.dcaMonths));
+
+                double[] equity = engine.equity();
+                double[] invested = engine.invested();
+                double[] r1 = sumR[c];
+                double[] r2 = sumR2[c];
+                double[] lg = sumLog[c];
+                for (int d = 1; d < equity.length; d++) {
+                    double adjustedPrev = equity[d - 1] + (invested[d] - invested[d - 1]);
+                    double r = adjustedPrev > 0 ? (equity[d] - adjustedPrev) / adjustedPrev : 0;
+                    r1[d] = r1[d - 1] + r;
+                    r2[d] = r2[d - 1] + r * r;
+                    lg[d] = lg[d - 1] + Math.log1p(r);
+                }
+            }
+        }
+    }
+
+    // ========== DTOs ==========
+
+    @Data
+    public static class WalkForwardRequest {
+        private BacktestConfig baseConfig;       // 대상 종목 / 비중 / 적립 규칙, 전체 기간
+        private List<String> rebalancePeriods;   // PERIODIC 후보
+        private SweepRange bandThresholds;       // BAND 후보
+        private Integer inSampleMonths;          // in-sample 길이 (기본 24개월)
+        private Integer outOfSampleMonths;       // out-of-sample 길이 = 창 이동 간격 (기본 6개월)
+        private boolean anchored;                // true: in-sample 시작을 첫 달로 고정 (확장 창)
+        private String objective = "SHARPE";     // SHARPE, CAGR, MDD
+    }
+
+    @Data
+    public static class WalkForwardWindow {
+        private String inSampleStart;
+        private String inSampleEnd;
+        private String outOfSampleStart;
+        private String outOfSampleEnd;
+        private String rebalanceType;            // 선택된 규칙
+        private String rebalancePeriod;
+        private BigDecimal bandThreshold;
+        private BigDecimal inSampleScore;        // 선택 규칙의 in-sample 목표 지표
+        private BigDecimal outOfSampleReturn;    // 선택 규칙의 out-of-sample 구간 수익률
+    }
+
+    @Data
+    public static class WalkForwardPoint {
+        private String ts;
+        private BigDecimal equity;
+        private BigDecimal drawdown;
+    }
+
+    @Data
+    public static class WalkForwardResult {
+        private String objective;
+        private int candidateCount;
+        private int tradingDays;
+        private List<WalkForwardWindow> windows;
+        private List<WalkForwardPoint> series;   // out-of-sample 연결 곡선
+        private BigDecimal cagr;
+        private BigDecimal vol;
+        private BigDecimal mdd;
+        private BigDecimal sharpe;
+        private long elapsedMs;
+    }
+}
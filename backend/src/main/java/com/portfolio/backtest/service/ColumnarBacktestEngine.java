@@ -0,0 +1,404 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.strategy.BacktestStrategy;
+import com.portfolio.common.util.StreamingPerformanceStats;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 컬럼형(primitive) 백테스트 커널
+ *
+ * - 종목은 정수 인덱스, 가격은 일 × 종목 row-major double[] 행렬
+ * - 보유 수량은 long 고정소수점 (소수 8자리, BigDecimal 엔진의 scale 8과 동일)
+ * - 일별 루프에서 객체를 할당하지 않음 (버퍼는 생성 시 한 번만 할당, 거래 버퍼만 2배씩 확장)
+ * - 규칙은 BigDecimal 엔진과 동일: 첫 거래일 배분, DCA 입금, NONE/PERIODIC/BAND 리밸런싱,
+ *   0.5% 최소 거래 금액, 0.1% 수수료(원 단위 반올림), 현금 부족 시 가능한 만큼만 매수
+ * - drawdown / 변동성 / TWR은 루프 중 StreamingPerformanceStats에 누적
+ * - 전략(BacktestStrategy)이 주어지면 매 거래일 목표 비중을 갱신하고, 비중이 바뀐 날 리밸런싱
+ *
+ * 허용 오차: 현금·평가액을 double로 누적하므로 일별 평가액은 BigDecimal 엔진 대비 상대 오차
+ * 1e-6 이내로 일치한다. 단, 최소 거래(0.5%)나 밴드 임계값 비교가 정확히 경계값에 걸리는 날에는
+ * 두 엔진의 매매 여부가 갈릴 수 있으며 이 경우 이후 시계열도 달라질 수 있다.
+ *
+ * 인스턴스는 (종목 수, 거래일 수) 크기의 작업 공간이므로 스레드 간 공유하지 않고,
+ * 같은 크기의 실행에는 run()을 반복 호출해 재사용한다.
+ */
+public final class ColumnarBacktestEngine {
+
+    /** 수량 고정소수점 배율 (1e-8 단위) */
+    public static final long QTY_SCALE = 100_000_000L;
+
+    public static final int REBALANCE_NONE = 0;
+    public static final int REBALANCE_PERIODIC = 1;
+    public static final int REBALANCE_BAND = 2;
+
+    public static final byte ACTION_BUY = 0;
+    public static final byte ACTION_SELL = 1;
+    public static final byte ACTION_DEPOSIT = 2;
+
+    private static final double FEE_RATE = 0.001;          // 0.1%
+    private static final double MIN_TRADE_RATIO = 0.005;   // 총 가치의 0.5%
+    private static final double QTY_UNIT = 1.0 / QTY_SCALE;
+
+    private final int numInstruments;
+    private final int numDays;
+
+    private final long[] quantities;
+    private final double[] targetWeights;
+    private final double[] equity;
+    private final double[] cashSeries;
+    private final double[] investedSeries;
+    private final double[] drawdown;
+    private final StreamingPerformanceStats stats = new StreamingPerformanceStats();
+
+    private int tradeCount;
+    private int[] tradeDay;
+    private int[] tradeInstrument;
+    private byte[] tradeAction;
+    private long[] tradeQty;
+    private double[] tradePrice;
+    private double[] tradeFee;
+
+    private double cash;
+    private double totalInvested;
+    private int depositCount;
+
+    public ColumnarBacktestEngine(int numInstruments, int numDays) {
+        if (numInstruments <= 0) {
+            throw new IllegalArgumentException("At least one target allocation required");
+        }
+        this.numInstruments = numInstruments;
+        this.numDays = numDays;
+        this.quantities = new long[numInstruments];
+        this.targetWeights = new double[numInstruments];
+        this.equity = new double[numDays];
+        this.cashSeries = new double[numDays];
+        this.investedSeries = new double[numDays];
+        this.drawdown = new double[numDays];
+
+        int initialTradeCapacity = Math.max(16, numInstruments * 8);
+        this.tradeDay = new int[initialTradeCapacity];
+        this.tradeInstrument = new int[initialTradeCapacity];
+        this.tradeAction = new byte[initialTradeCapacity];
+        this.tradeQty = new long[initialTradeCapacity];
+        this.tradePrice = new double[initialTradeCapacity];
+        this.tradeFee = new double[initialTradeCapacity];
+    }
+
+    /**
+     * 백테스트 실행
+     *
+     * @param prices     일 × 종목 가격 행렬 (prices[day * numInstruments + i])
+     * @param monthIndex 거래일별 월 인덱스 (year * 12 + month - 1), 주기 판정용
+     * @param weights    종목별 목표 비중
+     * @param rules      리밸런싱 / 적립 규칙
+     */
+    public void run(double[] prices, int[] monthIndex, double[] weights, Rules rules) {
+        run(prices, monthIndex, weights, rules, null);
+    }
+
+    /**
+     * 진행률 / 취소 핸들과 함께 실행 (handle이 null이면 체크포인트 없음)
+     *
+     * @throws java.util.concurrent.CancellationException 실행이 취소된 경우
+     */
+    public void run(double[] prices, int[] monthIndex, double[] weights, Rules rules, BacktestRunHandle handle) {
+        run(prices, monthIndex, weights, rules, null, handle);
+    }
+
+    /**
+     * 전략과 함께 실행 (strategy가 null이면 설정 비중 고정)
+     *
+     * @param weights 설정 목표 비중 (전략의 기준 비중, 변경하지 않음)
+     */
+    public void run(double[] prices, int[] monthIndex, double[] weights, Rules rules,
+                    BacktestStrategy strategy, BacktestRunHandle handle) {
+        int n = numInstruments;
+        if (prices.length < numDays * n || monthIndex.length < numDays || weights.length < n) {
+            throw new IllegalArgumentException("Price matrix does not match engine dimensions");
+        }
+
+        Arrays.fill(quantities, 0L);
+        tradeCount = 0;
+        depositCount = 0;
+        cash = rules.initialCapital;
+        totalInvested = rules.initialCapital;
+        stats.reset();
+        System.arraycopy(weights, 0, targetWeights, 0, n);
+        if (strategy != null) {
+            strategy.reset(n, weights);
+        }
+
+        int lastRebalanceMonth = 0;
+        int lastDepositMonth = 0;
+
+        for (int d = 0; d < numDays; d++) {
+            if (handle != null) {
+                handle.checkpoint(d);
+            }
+            int base = d * n;
+            int month = monthIndex[d];
+            boolean signal = strategy != null && strategy.update(d, month, prices, base, targetWeights);
+
+            if (d == 0) {
+                // 첫 거래일: DCA 첫 입금 + 초기 배분
+                if (rules.dcaAmount > 0) {
+                    deposit(d, rules.dcaAmount);
+                }
+                if (cash > 0) {
+                    trade(d, base, prices, targetWeights);
+                }
+                lastRebalanceMonth = month;
+                lastDepositMonth = month;
+            } else {
+                boolean deposited = false;
+                if (rules.dcaAmount > 0 && isDue(month, lastDepositMonth, rules.dcaMonths)) {
+                    deposit(d, rules.dcaAmount);
+                    lastDepositMonth = month;
+                    deposited = true;
+                }
+
+                boolean rebalance = switch (rules.rebalanceMode) {
+                    case REBALANCE_PERIODIC -> isDue(month, lastRebalanceMonth, rules.rebalanceMonths);
+                    case REBALANCE_BAND -> isOutsideBand(base, prices, targetWeights, rules.bandThreshold);
+                    default -> false;
+                };
+
+                if (rebalance || signal || deposited) {
+                    trade(d, base, prices, targetWeights);
+                    if (rebalance) {
+                        lastRebalanceMonth = month;
+                    }
+                }
+            }
+
+            double total = cash + marketValue(base, prices);
+            stats.add(total, totalInvested);
+            equity[d] = total;
+            cashSeries[d] = cash;
+            investedSeries[d] = totalInvested;
+            drawdown[d] = stats.drawdown();
+        }
+    }
+
+    private void deposit(int day, double amount) {
+        cash += amount;
+        totalInvested += amount;
+        depositCount++;
+        recordTrade(day, -1, ACTION_DEPOSIT, 0L, 0, 0);
+    }
+
+    /**
+     * 목표 비중에 맞게 매매 실행 (BacktestService.executeTrades와 동일 규칙)
+     */
+    private void trade(int day, int base, double[] prices, double[] weights) {
+        double total = cash + marketValue(base, prices);
+        if (total <= 0) return;
+
+        double minTrade = total * MIN_TRADE_RATIO;
+        for (int i = 0; i < numInstruments; i++) {
+            double price = prices[base + i];
+            if (price <= 0) continue;
+
+            long currentQty = quantities[i];
+            double diffValue = total * weights[i] - currentQty * QTY_UNIT * price;
+            if (Math.abs(diffValue) < minTrade) continue;
+
+            long qty = roundHalfDown(diffValue / price * QTY_SCALE);
+            double amount = Math.abs(qty) * QTY_UNIT * price;
+            double fee = roundCents(amount * FEE_RATE);
+
+            if (qty > 0) {
+                double cost = amount + fee;
+                if (cost > cash) {
+                    // 현금 부족 → 가능한 만큼만 매수
+                    qty = roundHalfDown((cash - fee) / price * QTY_SCALE);
+                    amount = Math.abs(qty) * QTY_UNIT * price;
+                    fee = roundCents(amount * FEE_RATE);
+                    cost = amount + fee;
+                }
+                quantities[i] = currentQty + qty;
+                cash -= cost;
+                recordTrade(day, i, ACTION_BUY, qty, price, fee);
+            } else if (qty < 0) {
+                long sellQty = Math.min(-qty, currentQty);
+                quantities[i] = currentQty - sellQty;
+                cash += sellQty * QTY_UNIT * price - fee;
+                recordTrade(day, i, ACTION_SELL, sellQty, price, fee);
+            }
+        }
+    }
+
+    private boolean isOutsideBand(int base, double[] prices, double[] weights, double threshold) {
+        double total = cash + marketValue(base, prices);
+        if (total <= 0) return false;
+
+        for (int i = 0; i < numInstruments; i++) {
+            double currentWeight = quantities[i] * QTY_UNIT * prices[base + i] / total;
+            if (Math.abs(currentWeight - weights[i]) > threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double marketValue(int base, double[] prices) {
+        double value = 0;
+        for (int i = 0; i < numInstruments; i++) {
+            value += quantities[i] * QTY_UNIT * prices[base + i];
+        }
+        return value;
+    }
+
+    private void recordTrade(int day, int instrument, byte action, long qty, double price, double fee) {
+        if (tradeCount == tradeDay.length) {
+            int capacity = tradeCount * 2;
+            tradeDay = Arrays.copyOf(tradeDay, capacity);
+            tradeInstrument = Arrays.copyOf(tradeInstrument, capacity);
+            tradeAction = Arrays.copyOf(tradeAction, capacity);
+            tradeQty = Arrays.copyOf(tradeQty, capacity);
+            tradePrice = Arrays.copyOf(tradePrice, capacity);
+            tradeFee = Arrays.copyOf(tradeFee, capacity);
+        }
+        tradeDay[tradeCount] = day;
+        tradeInstrument[tradeCount] = instrument;
+        tradeAction[tradeCount] = action;
+        tradeQty[tradeCount] = qty;
+        tradePrice[tradeCount] = price;
+        tradeFee[tradeCount] = fee;
+        tradeCount++;
+    }
+
+    // ========== 주기 / 반올림 유틸 ==========
+
+    /**
+     * 주기 경계를 넘었는지 판정 (months = 1/3/6/12, 0이면 도래하지 않음)
+     */
+    private static boolean isDue(int month, int lastMonth, int months) {
+        return months > 0 && month / months != lastMonth / months;
+    }
+
+    /**
+     * BigDecimal RoundingMode.HALF_DOWN과 동일한 정수 반올림
+     */
+    static long roundHalfDown(double value) {
+        long rounded = (long) Math.ceil(Math.abs(value) - 0.5);
+        return value < 0 ? -rounded : rounded;
+    }
+
+    private static double roundCents(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    public static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * MONTHLY/QUARTERLY/SEMI_ANNUAL/ANNUAL → 개월 수 (알 수 없는 주기는 0 = 도래하지 않음)
+     */
+    public static int periodMonths(String period) {
+        if (period == null) {
+            throw new IllegalArgumentException("Rebalance period is required");
+        }
+        return switch (period) {
+            case "MONTHLY" -> 1;
+            case "QUARTERLY" -> 3;
+            case "SEMI_ANNUAL" -> 6;
+            case "ANNUAL" -> 12;
+            default -> 0;
+        };
+    }
+
+    // ========== 결과 접근 (내부 배열을 그대로 노출, 다음 run() 호출 시 덮어씀) ==========
+
+    public int numInstruments() {
+        return numInstruments;
+    }
+
+    public int numDays() {
+        return numDays;
+    }
+
+    public double[] equity() {
+        return equity;
+    }
+
+    public double[] cash() {
+        return cashSeries;
+    }
+
+    public double[] invested() {
+        return investedSeries;
+    }
+
+    public double[] drawdown() {
+        return drawdown;
+    }
+
+    /** 실행 중 누적된 성과 통계 (MDD, 변동성, TWR) */
+    public StreamingPerformanceStats stats() {
+        return stats;
+    }
+
+    public double totalInvested() {
+        return totalInvested;
+    }
+
+    public int depositCount() {
+        return depositCount;
+    }
+
+    public int tradeCount() {
+        return tradeCount;
+    }
+
+    public int tradeDay(int index) {
+        return tradeDay[index];
+    }
+
+    /** 종목 인덱스 (DEPOSIT은 -1) */
+    public int tradeInstrument(int index) {
+        return tradeInstrument[index];
+    }
+
+    public byte tradeAction(int index) {
+        return tradeAction[index];
+    }
+
+    /** 거래 수량 (QTY_SCALE 고정소수점) */
+    public long tradeQty(int index) {
+        return tradeQty[index];
+    }
+
+    public double tradePrice(int index) {
+        return tradePrice[index];
+    }
+
+    public double tradeFee(int index) {
+        return tradeFee[index];
+    }
+
+    /**
+     * 실행 규칙 (primitive)
+     */
+    public static final class Rules {
+        final double initialCapital;
+        final int rebalanceMode;
+        final int rebalanceMonths;
+        final double bandThreshold;
+        final double dcaAmount;        // 0이면 적립 없음
+        final int dcaMonths;
+
+        public Rules(double initialCapital, int rebalanceMode, int rebalanceMonths,
+                     double bandThreshold, double dcaAmount, int dcaMonths) {
+            this.initialCapital = initialCapital;
+            this.rebalanceMode = rebalanceMode;
+            this.rebalanceMonths = rebalanceMonths;
+            this.bandThreshold = bandThreshold;
+            this.dcaAmount = dcaAmount;
+            this.dcaMonths = dcaMonths;
+        }
+    }
+}
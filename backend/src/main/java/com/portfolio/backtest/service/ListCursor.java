@@ -0,0 +1,38 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 목록 keyset 커서: 마지막 행의 (정렬 시각, id)를 URL-safe Base64 문자열로 주고받는다
+ *
+ * 첫 페이지(cursor 없음)는 모든 행보다 뒤인 시각을 기준으로 삼아 같은 쿼리로 처리한다.
+ */
+record ListCursor(LocalDateTime at, String id) {
+
+    static final ListCursor FIRST = new ListCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), "");
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = at + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ListCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) throw new IllegalArgumentException("separator missing");
+            return new ListCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.portfolio.backtest.service;
+
+import java.time.LocalDate;
+
+/**
+ * 거래일 × 종목 가격 행렬 (읽기 전용)
+ *
+ * - 가격은 row-major double[] (prices[day * numInstruments + i])
+ * - 열 순서는 BacktestConfig.targets 순서와 동일
+ * - 다중 통화: prices는 기준 통화로 환산한 가격(현지 가격 × 환율)이고, 환율 행렬(같은 모양,
+ *   기준 통화 종목은 1)을 함께 보관해 환율 기여 분해에 쓴다. 엔진은 일별 환율 조회 없이 prices만 읽는다
+ * - 시뮬레이션 시작 전에 한 번 적재되며, 이후 여러 스레드에서 공유해도 안전하다
+ */
+public final class PriceMatrix {
+
+    private final LocalDate[] dates;
+    private final String[] instrumentIds;
+    private final double[] prices;
+    private final double[] localPrices;
+    private final double[] fxRates;
+    private final int[] monthIndex;
+
+    public PriceMatrix(LocalDate[] dates, String[] instrumentIds, double[] prices) {
+        this(dates, instrumentIds, prices, null);
+    }
+
+    /**
+     * @param localPrices 현지 통화 가격 (fxRates가 null이면 기준 통화 가격으로 간주)
+     * @param fxRates     현지 통화 1단위의 기준 통화 환율 (localPrices와 같은 모양, null이면 단일 통화)
+     */
+    public PriceMatrix(LocalDate[] dates, String[] instrumentIds, double[] localPrices, double[] fxRates) {
+        if (localPrices.length != dates.length * instrumentIds.length
+                || (fxRates != null && fxRates.length != localPrices.length)) {
+            throw new IllegalArgumentException("Price matrix size does not match dates x instruments");
+        }
+        this.dates = dates;
+        this.instrumentIds = instrumentIds;
+        this.localPrices = localPrices;
+        this.fxRates = fxRates;
+        if (fxRates == null) {
+            this.prices = localPrices;
+        } else {
+            this.prices = new double[localPrices.length];
+            for (int k = 0; k < localPrices.length; k++) {
+                prices[k] = localPrices[k] * fxRates[k];
+            }
+        }
+        this.monthIndex = new int[dates.length];
+        for (int d = 0; d < dates.length; d++) {
+            monthIndex[d] = ColumnarBacktestEngine.monthIndex(dates[d]);
+        }
+    }
+
+    public int numDays() {
+        return dates.length;
+    }
+
+    public int numInstruments() {
+        return instrumentIds.length;
+    }
+
+    public LocalDate date(int day) {
+        return dates[day];
+    }
+
+    public String instrumentId(int instrument) {
+        return instrumentIds[instrument];
+    }
+
+    public double price(int day, int instrument) {
+        return prices[day * instrumentIds.length + instrument];
+    }
+
+    /** 다중 통화 행렬인지 (환율 행렬 보유) */
+    public boolean hasFx() {
+        return fxRates != null;
+    }
+
+    /** 현지 통화 1단위의 기준 통화 환율 (단일 통화면 1) */
+    public double fxRate(int day, int instrument) {
+        return fxRates != null ? fxRates[day * instrumentIds.length + instrument] : 1.0;
+    }
+
+    /** 현지 통화 가격 */
+    public double localPrice(int day, int instrument) {
+        return localPrices[day * instrumentIds.length + instrument];
+    }
+
+    /** 기준 통화 가격 원본 배열 (수정 금지) */
+    public double[] prices() {
+        return prices;
+    }
+
+    /** 거래일별 월 인덱스 (year * 12 + month - 1, 수정 금지) */
+    public int[] monthIndex() {
+        return monthIndex;
+    }
+}
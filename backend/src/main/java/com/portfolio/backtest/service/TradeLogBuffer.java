@@ -0,0 +1,205 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.TradeLog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * 매매 로그 컬럼 버퍼 (struct-of-arrays)
+ *
+ * - 거래 1건 = 거래일 인덱스(int) + 종목 인덱스(int) + 구분(byte) + 수량 / 가격 / 수수료(double), 33바이트
+ * - 날짜 / 종목 ID 문자열은 사전(dates, instrumentIds)에 한 번만 두고 인덱스로 참조
+ * - 수량은 소수 4자리, 가격·수수료는 2자리로 반올림해 저장 (API / DB에 노출되는 값과 동일)
+ * - DEPOSIT은 종목 인덱스 -1, 입금액을 가격 열에 저장
+ *
+ * 읽기 전용 List 뷰로, TradeLog DTO는 get(i) / page()를 호출할 때만 만들고 보관하지 않는다.
+ * (DTO 1건은 문자열 / BigDecimal 포함 약 400바이트)
+ * 기록은 실행 스레드 하나에서 끝나고, 이후에는 여러 스레드에서 읽어도 안전하다.
+ */
+public final class TradeLogBuffer extends AbstractList<TradeLog> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private String[] dates;
+    private int dateCount;
+    private String[] instrumentIds;
+    private int instrumentCount;
+    private Map<String, Integer> instrumentIndex;   // append() 전용 (DB 적재)
+
+    private int size;
+    private int[] day;
+    private int[] instrument;
+    private byte[] action;
+    private double[] quantity;
+    private double[] price;
+    private double[] fee;
+
+    /**
+     * DB 적재용: 날짜 / 종목 사전을 append() 순서대로 채운다
+     */
+    public TradeLogBuffer() {
+        this(new String[16], 0, new String[8], 0, INITIAL_CAPACITY);
+    }
+
+    /**
+     * 엔진 기록용: 날짜 / 종목 사전을 가격 행렬과 공유 (record()의 day / instrument는 이 배열의 인덱스)
+     */
+    public TradeLogBuffer(String[] dates, String[] instrumentIds, int capacity) {
+        this(dates, dates.length, instrumentIds, instrumentIds.length, capacity);
+    }
+
+    private TradeLogBuffer(String[] dates, int dateCount, String[] instrumentIds, int instrumentCount, int capacity) {
+        this.dates = dates;
+        this.dateCount = dateCount;
+        this.instrumentIds = instrumentIds;
+        this.instrumentCount = instrumentCount;
+        int initial = Math.max(capacity, 1);
+        this.day = new int[initial];
+        this.instrument = new int[initial];
+        this.action = new byte[initial];
+        this.quantity = new double[initial];
+        this.price = new double[initial];
+        this.fee = new double[initial];
+    }
+
+    /**
+     * 거래 기록 (BUY / SELL 수량은 양수, DEPOSIT은 instrument -1, price = 입금액)
+     */
+    public void record(int dayIndex, int instrumentIndex, byte actionCode, double qty, double px, double feeAmount) {
+        if (size == day.length) grow();
+        day[size] = dayIndex;
+        instrument[size] = instrumentIndex;
+        action[size] = actionCode;
+        quantity[size] = round(qty, 10_000);
+        price[size] = round(px, 100);
+        fee[size] = round(feeAmount, 100);
+        size++;
+    }
+
+    /**
+     * DB 행 적재 (seq 순서 = 날짜 순서이므로 같은 날짜는 직전 사전 항목을 재사용)
+     */
+    public void append(String ts, String instrumentId, String actionName,
+                       double qty, double px, double feeAmount, double amount) {
+        if (dateCount == 0 || !dates[dateCount - 1].equals(ts)) {
+            if (dateCount == dates.length) dates = Arrays.copyOf(dates, dateCount * 2);
+            dates[dateCount++] = ts;
+        }
+        byte actionCode = actionCode(actionName);
+        if (actionCode == ColumnarBacktestEngine.ACTION_DEPOSIT) {
+            record(dateCount - 1, -1, actionCode, 0, amount, 0);
+        } else {
+            record(dateCount - 1, instrumentIndex(instrumentId), actionCode, qty, px, feeAmount);
+        }
+    }
+
+    private int instrumentIndex(String instrumentId) {
+        if (instrumentIndex == null) {
+            instrumentIndex = new HashMap<>();
+            for (int i = 0; i < instrumentCount; i++) instrumentIndex.put(instrumentIds[i], i);
+        }
+        Integer index = instrumentIndex.get(instrumentId);
+        if (index != null) return index;
+        if (instrumentCount == instrumentIds.length) instrumentIds = Arrays.copyOf(instrumentIds, instrumentCount * 2);
+        instrumentIds[instrumentCount] = instrumentId;
+        instrumentIndex.put(instrumentId, instrumentCount);
+        return instrumentCount++;
+    }
+
+    private void grow() {
+        int capacity = day.length * 2;
+        day = Arrays.copyOf(day, capacity);
+        instrument = Arrays.copyOf(instrument, capacity);
+        action = Arrays.copyOf(action, capacity);
+        quantity = Arrays.copyOf(quantity, capacity);
+        price = Arrays.copyOf(price, capacity);
+        fee = Arrays.copyOf(fee, capacity);
+    }
+
+    // ========== 컬럼 조회 ==========
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int day(int index) {
+        Objects.checkIndex(index, size);
+        return day[index];
+    }
+
+    public String date(int index) {
+        return dates[day(index)];
+    }
+
+    /** DEPOSIT이면 null */
+    public String instrumentId(int index) {
+        Objects.checkIndex(index, size);
+        return instrument[index] >= 0 ? instrumentIds[instrument[index]] : null;
+    }
+
+    public byte action(int index) {
+        Objects.checkIndex(index, size);
+        return action[index];
+    }
+
+    public double quantity(int index) {
+        Objects.checkIndex(index, size);
+        return quantity[index];
+    }
+
+    // ========== DTO 변환 ==========
+
+    /**
+     * 한 건만 TradeLog로 변환 (호출할 때마다 새 객체)
+     */
+    @Override
+    public TradeLog get(int index) {
+        Objects.checkIndex(index, size);
+        TradeLog log = new TradeLog();
+        log.setTs(dates[day[index]]);
+        if (action[index] == ColumnarBacktestEngine.ACTION_DEPOSIT) {
+            log.setAction("DEPOSIT");
+            log.setAmount(decimal(price[index], 2));
+        } else {
+            log.setInstrumentId(instrumentIds[instrument[index]]);
+            log.setAction(action[index] == ColumnarBacktestEngine.ACTION_BUY ? "BUY" : "SELL");
+            log.setQuantity(decimal(quantity[index], 4));
+            log.setPrice(decimal(price[index], 2));
+            log.setFee(decimal(fee[index], 2));
+        }
+        return log;
+    }
+
+    /**
+     * [offset, offset + limit) 구간만 TradeLog로 변환 (범위를 넘으면 있는 만큼)
+     */
+    public List<TradeLog> page(int offset, int limit) {
+        int from = Math.min(Math.max(offset, 0), size);
+        int to = (int) Math.min((long) from + Math.max(limit, 0), size);
+        List<TradeLog> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(get(i));
+        }
+        return page;
+    }
+
+    static byte actionCode(String actionName) {
+        return switch (actionName) {
+            case "BUY" -> ColumnarBacktestEngine.ACTION_BUY;
+            case "SELL" -> ColumnarBacktestEngine.ACTION_SELL;
+            case "DEPOSIT" -> ColumnarBacktestEngine.ACTION_DEPOSIT;
+            default -> throw new IllegalArgumentException("Unknown trade action: " + actionName);
+        };
+    }
+
+    private static double round(double value, double unit) {
+        return Math.round(value * unit) / unit;
+    }
+
+    private static BigDecimal decimal(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+}
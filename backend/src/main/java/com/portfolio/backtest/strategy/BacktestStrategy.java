@@ -0,0 +1,30 @@
+package com.portfolio.backtest.strategy;
+
+/**
+ * 백테스트 전략 SPI: 거래일마다 목표 비중을 계산
+ *
+ * - ColumnarBacktestEngine이 매 거래일 가격 확정 후 update()를 호출하고,
+ *   true를 돌려받으면 그날 새 목표 비중으로 리밸런싱한다 (설정의 PERIODIC / BAND 규칙도 함께 적용)
+ * - 비중 합이 1보다 작으면 나머지는 현금으로 보유 (레버리지 없음)
+ * - 지표는 indicator 패키지의 증분 지표로 O(1) 갱신하고, 과거 가격 구간을 다시 훑지 않는다
+ * - 인스턴스는 실행 하나 전용 (상태를 가짐). BacktestStrategyFactory가 실행마다 새로 만든다
+ */
+public interface BacktestStrategy {
+
+    /**
+     * 실행 시작 (지표 / 버퍼 할당)
+     *
+     * @param baseWeights 설정의 목표 비중 (읽기 전용)
+     */
+    void reset(int numInstruments, double[] baseWeights);
+
+    /**
+     * 거래일 day 가격 확정 후 호출 (0부터 순서대로 매일)
+     *
+     * @param month   월 인덱스 (year * 12 + month - 1)
+     * @param prices  일 × 종목 가격 행렬. 오늘 가격은 prices[base + i], day 이후 행은 읽지 않는다
+     * @param weights 현재 목표 비중 (바꾸려면 덮어씀)
+     * @return 목표 비중을 바꿨으면 true
+     */
+    boolean update(int day, int month, double[] prices, int base, double[] weights);
+}
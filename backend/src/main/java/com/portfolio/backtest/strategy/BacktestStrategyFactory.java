@@ -0,0 +1,18 @@
+package com.portfolio.backtest.strategy;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 전략 팩토리 (Spring 빈으로 등록하면 BacktestStrategyRegistry가 이름으로 찾는다)
+ */
+public interface BacktestStrategyFactory {
+
+    /** 설정의 strategy 값 (예: DUAL_MOMENTUM) */
+    String name();
+
+    /**
+     * 실행 하나용 전략 생성. 파라미터가 잘못되면 BusinessException(INVALID_INPUT)
+     */
+    BacktestStrategy create(Map<String, BigDecimal> params);
+}
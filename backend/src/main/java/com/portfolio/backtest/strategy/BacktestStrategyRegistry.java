@@ -0,0 +1,44 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 등록된 전략 팩토리 목록 (이름 → 팩토리)
+ */
+@Component
+public class BacktestStrategyRegistry {
+
+    private final Map<String, BacktestStrategyFactory> factories = new TreeMap<>();
+
+    public BacktestStrategyRegistry(List<BacktestStrategyFactory> factories) {
+        for (BacktestStrategyFactory factory : factories) {
+            if (this.factories.putIfAbsent(factory.name(), factory) != null) {
+                throw new IllegalStateException("Duplicate backtest strategy: " + factory.name());
+            }
+        }
+    }
+
+    public Set<String> names() {
+        return factories.keySet();
+    }
+
+    /**
+     * 전략 생성 (파라미터 검증 포함)
+     */
+    public BacktestStrategy create(String name, Map<String, BigDecimal> params) {
+        BacktestStrategyFactory factory = factories.get(name);
+        if (factory == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "Unsupported strategy: " + name + " (available: " + factories.keySet() + ")");
+        }
+        return factory.create(params != null ? params : Map.of());
+    }
+}
@@ -0,0 +1,114 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 듀얼 모멘텀 (DUAL_MOMENTUM)
+ *
+ * 매월 첫 거래일에 위험 자산을 lookbackDays 수익률(상대 모멘텀) 순으로 topN개 고르고,
+ * 그중 수익률이 0 이하인 자산(절대 모멘텀 실패) 몫은 안전 자산으로 돌린다.
+ * 선택된 자산은 1 / topN씩 동일 비중. lookback이 쌓이기 전에는 설정 비중 유지.
+ *
+ * 파라미터:
+ * - lookbackDays (기본 252): 모멘텀 측정 거래일 수
+ * - topN (기본 1): 보유할 위험 자산 수
+ * - safeAssetIndex (기본: 마지막 종목, 종목이 하나면 현금): 안전 자산의 targets 인덱스, -1이면 현금
+ *
+ * lookback 수익률은 가격 행렬의 day - lookbackDays 행을 직접 읽으므로 O(종목 수)다.
+ */
+public final class DualMomentumStrategy implements BacktestStrategy {
+
+    public static final String NAME = "DUAL_MOMENTUM";
+
+    private final int lookbackDays;
+    private final int topN;
+    private final Integer safeAssetParam;
+
+    private int n;
+    private int safeAsset;
+    private double[] momentum;
+    private boolean[] selected;
+    private int lastMonth;
+
+    DualMomentumStrategy(int lookbackDays, int topN, Integer safeAssetParam) {
+        this.lookbackDays = lookbackDays;
+        this.topN = topN;
+        this.safeAssetParam = safeAssetParam;
+    }
+
+    @Override
+    public void reset(int numInstruments, double[] baseWeights) {
+        n = numInstruments;
+        safeAsset = safeAssetParam != null ? safeAssetParam : (n > 1 ? n - 1 : -1);
+        if (safeAsset >= n) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    "safeAssetIndex must be less than the number of targets (" + n + ")");
+        }
+        momentum = new double[n];
+        selected = new boolean[n];
+        lastMonth = Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean update(int day, int month, double[] prices, int base, double[] weights) {
+        if (month == lastMonth) return false;
+        lastMonth = month;
+        if (day < lookbackDays) return false;
+
+        int back = base - lookbackDays * n;
+        for (int i = 0; i < n; i++) {
+            double past = prices[back + i];
+            momentum[i] = past > 0 ? prices[base + i] / past - 1 : Double.NaN;
+        }
+
+        // 상대 모멘텀 상위 topN 중 절대 모멘텀(> 0)을 통과한 자산만 선택
+        Arrays.fill(selected, false);
+        int picks = 0;
+        for (int k = 0; k < topN; k++) {
+            int best = -1;
+            for (int i = 0; i < n; i++) {
+                if (i == safeAsset || selected[i] || Double.isNaN(momentum[i])) continue;
+                if (best < 0 || momentum[i] > momentum[best]) best = i;
+            }
+            if (best < 0 || momentum[best] <= 0) break;
+            selected[best] = true;
+            picks++;
+        }
+
+        double share = 1.0 / topN;
+        double safeWeight = 1.0 - picks * share;
+        boolean changed = false;
+        for (int i = 0; i < n; i++) {
+            double w = (selected[i] ? share : 0) + (i == safeAsset ? safeWeight : 0);
+            if (Math.abs(weights[i] - w) > 1e-12) {
+                weights[i] = w;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Component
+    public static class Factory implements BacktestStrategyFactory {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public BacktestStrategy create(Map<String, BigDecimal> params) {
+            return new DualMomentumStrategy(
+                    StrategyParams.intParam(params, "lookbackDays", 252, 20, 2520),
+                    StrategyParams.intParam(params, "topN", 1, 1, 100),
+                    StrategyParams.has(params, "safeAssetIndex")
+                            ? StrategyParams.intParam(params, "safeAssetIndex", -1, -1, 1000) : null);
+        }
+    }
+}
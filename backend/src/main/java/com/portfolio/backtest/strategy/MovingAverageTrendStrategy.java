@@ -0,0 +1,107 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.backtest.strategy.indicator.Ema;
+import com.portfolio.backtest.strategy.indicator.IncrementalIndicator;
+import com.portfolio.backtest.strategy.indicator.RollingMax;
+import com.portfolio.backtest.strategy.indicator.RollingMean;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 이동평균 추세 추종 (TREND)
+ *
+ * 종목별로 가격이 maDays 이동평균 위면 설정 비중을 보유하고, 아래면 그 비중을 현금으로 둔다.
+ * 추세 판정은 매월 첫 거래일에만 하고(잦은 매매 방지), 이동평균이 쌓이기 전에는 보유.
+ *
+ * 파라미터:
+ * - maDays (기본 200): 이동평균 거래일 수
+ * - ema (기본 0): 1이면 단순 이동평균 대신 EMA
+ * - stopLossPct (기본 0 = 사용 안 함): 최근 maDays 최고가 대비 이 비율 이상 하락하면 그날 바로 현금화
+ *   (재진입은 다음 월초 추세 판정)
+ */
+public final class MovingAverageTrendStrategy implements BacktestStrategy {
+
+    public static final String NAME = "TREND";
+
+    private final int maDays;
+    private final boolean ema;
+    private final double stopLossPct;
+
+    private int n;
+    private double[] baseWeights;
+    private IncrementalIndicator[] averages;
+    private RollingMax[] peaks;
+    private boolean[] inTrend;
+    private int lastMonth;
+
+    MovingAverageTrendStrategy(int maDays, boolean ema, double stopLossPct) {
+        this.maDays = maDays;
+        this.ema = ema;
+        this.stopLossPct = stopLossPct;
+    }
+
+    @Override
+    public void reset(int numInstruments, double[] baseWeights) {
+        n = numInstruments;
+        this.baseWeights = baseWeights.clone();
+        averages = new IncrementalIndicator[n];
+        peaks = stopLossPct > 0 ? new RollingMax[n] : null;
+        for (int i = 0; i < n; i++) {
+            averages[i] = ema ? Ema.ofPeriod(maDays) : new RollingMean(maDays);
+            if (peaks != null) peaks[i] = new RollingMax(maDays);
+        }
+        inTrend = new boolean[n];
+        Arrays.fill(inTrend, true);
+        lastMonth = Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean update(int day, int month, double[] prices, int base, double[] weights) {
+        boolean monthStart = month != lastMonth;
+        lastMonth = month;
+
+        boolean changed = false;
+        for (int i = 0; i < n; i++) {
+            double price = prices[base + i];
+            IncrementalIndicator average = averages[i];
+            average.add(price);
+            if (peaks != null) peaks[i].add(price);
+
+            boolean trend = inTrend[i];
+            if (monthStart && average.isReady()) {
+                trend = price > average.value();
+            }
+            if (trend && peaks != null && peaks[i].isReady() && price < peaks[i].value() * (1 - stopLossPct)) {
+                trend = false;
+            }
+            inTrend[i] = trend;
+
+            double w = trend ? baseWeights[i] : 0;
+            if (weights[i] != w) {
+                weights[i] = w;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Component
+    public static class Factory implements BacktestStrategyFactory {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public BacktestStrategy create(Map<String, BigDecimal> params) {
+            return new MovingAverageTrendStrategy(
+                    StrategyParams.intParam(params, "maDays", 200, 2, 2520),
+                    StrategyParams.intParam(params, "ema", 0, 0, 1) == 1,
+                    StrategyParams.doubleParam(params, "stopLossPct", 0, 0, 0.95));
+        }
+    }
+}
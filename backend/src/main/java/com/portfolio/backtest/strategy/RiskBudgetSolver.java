@@ -0,0 +1,177 @@
+package com.portfolio.backtest.strategy;
+
+/**
+ * 공분산 행렬(n × n row-major double[])로 long-only 비중 계산 (합 1)
+ *
+ * - inverseVolatility: w_i ∝ 1 / sigma_i
+ * - equalRiskContribution: 위험 기여도 w_i (Σw)_i가 모두 같은 비중.
+ *   Griveau-Billion, Richard, Roncalli (2013)의 순환 좌표 하강(CCD)으로
+ *   min ½ y'Σy - Σ ln(y_i) / n 을 풀고 w = y / Σy (한 번 훑는 데 O(n^2))
+ * - minimumVariance: min w'Σw (w >= 0, Σw = 1). 기울기가 가장 큰 / 작은 두 종목 사이로
+ *   비중을 옮기는 쌍 좌표 하강 (SMO 방식, 반복당 O(n))
+ *
+ * 입력 out에 이전 결과가 있으면(모두 유효한 비중) 초깃값으로 사용해 리밸런싱 간 수렴을 빠르게 한다.
+ * 인스턴스는 작업 버퍼를 가지므로 실행 하나 전용.
+ */
+public final class RiskBudgetSolver {
+
+    private static final int MAX_SWEEPS = 200;
+    private static final double TOLERANCE = 1e-10;
+    private static final double MIN_VARIANCE = 1e-16;
+
+    private final int n;
+    private final double[] work;
+
+    public RiskBudgetSolver(int n) {
+        this.n = n;
+        this.work = new double[n];
+    }
+
+    public void inverseVolatility(double[] cov, double[] out) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            out[i] = 1 / Math.sqrt(variance(cov, i));
+            sum += out[i];
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] /= sum;
+        }
+    }
+
+    /**
+     * 동일 위험 기여 (risk parity)
+     *
+     * @return 수렴까지 훑은 횟수
+     */
+    public int equalRiskContribution(double[] cov, double[] out) {
+        if (!isWeightVector(out)) {
+            inverseVolatility(cov, out);
+        }
+        // 시작점: out을 y'Σy = 1이 되게 스케일 (해의 스케일과 같음)
+        double[] sigmaY = work;
+        multiply(cov, out, sigmaY);
+        double scale = 1 / Math.sqrt(Math.max(dot(out, sigmaY), MIN_VARIANCE));
+        for (int i = 0; i < n; i++) {
+            out[i] *= scale;
+            sigmaY[i] *= scale;
+        }
+
+        double budget = 1.0 / n;
+        int sweeps = 0;
+        while (sweeps < MAX_SWEEPS) {
+            sweeps++;
+            double maxChange = 0;
+            for (int i = 0; i < n; i++) {
+                double sii = variance(cov, i);
+                double yi = out[i];
+                double c = sigmaY[i] - cov[i * n + i] * yi;
+                double next = (-c + Math.sqrt(c * c + 4 * sii * budget)) / (2 * sii);
+                double delta = next - yi;
+                if (delta != 0) {
+                    int row = i * n;
+                    for (int j = 0; j < n; j++) {
+                        sigmaY[j] += delta * cov[row + j];
+                    }
+                    out[i] = next;
+                    maxChange = Math.max(maxChange, Math.abs(delta) / next);
+                }
+            }
+            if (maxChange < TOLERANCE) break;
+        }
+        normalize(out);
+        return sweeps;
+    }
+
+    /**
+     * long-only 최소 분산
+     *
+     * @return 반복 횟수
+     */
+    public int minimumVariance(double[] cov, double[] out) {
+        if (!isWeightVector(out)) {
+            inverseVolatility(cov, out);
+        }
+        double[] gradient = work;
+        multiply(cov, out, gradient);
+
+        double meanVariance = 0;
+        for (int i = 0; i < n; i++) {
+            meanVariance += variance(cov, i);
+        }
+        double tolerance = TOLERANCE * meanVariance / n;
+
+        int maxIterations = MAX_SWEEPS * n;
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            // KKT: 비중이 있는 종목의 기울기 최댓값 - 전체 기울기 최솟값이 0이면 최적
+            int up = 0;
+            int down = -1;
+            for (int i = 0; i < n; i++) {
+                if (gradient[i] < gradient[up]) up = i;
+                if (out[i] > 0 && (down < 0 || gradient[i] > gradient[down])) down = i;
+            }
+            if (down < 0 || up == down || gradient[down] - gradient[up] <= tolerance) break;
+            iterations++;
+
+            // down → up으로 delta만큼 이동: f(delta)의 최소점을 [0, out[down]]로 제한
+            double curvature = cov[up * n + up] + cov[down * n + down] - 2 * cov[up * n + down];
+            double delta = curvature > MIN_VARIANCE
+                    ? Math.min((gradient[down] - gradient[up]) / curvature, out[down])
+                    : out[down];
+            out[up] += delta;
+            out[down] -= delta;
+            if (out[down] < 0) out[down] = 0;
+
+            int upRow = up * n;
+            int downRow = down * n;
+            for (int j = 0; j < n; j++) {
+                gradient[j] += delta * (cov[upRow + j] - cov[downRow + j]);
+            }
+        }
+        normalize(out);
+        return iterations;
+    }
+
+    private double variance(double[] cov, int i) {
+        return Math.max(cov[i * n + i], MIN_VARIANCE);
+    }
+
+    private void multiply(double[] cov, double[] x, double[] result) {
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+            double sum = 0;
+            for (int j = 0; j < n; j++) {
+                sum += cov[row + j] * x[j];
+            }
+            result[i] = sum;
+        }
+    }
+
+    private double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private void normalize(double[] weights) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += weights[i];
+        }
+        for (int i = 0; i < n; i++) {
+            weights[i] /= sum;
+        }
+    }
+
+    /** 음수 / NaN 없이 합이 양수인 비중 벡터인지 (이전 결과를 초깃값으로 쓸 수 있는지) */
+    private boolean isWeightVector(double[] weights) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            if (!(weights[i] >= 0)) return false;
+            sum += weights[i];
+        }
+        return sum > 0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.backtest.strategy.indicator.EwmaCovariance;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+
+import java.util.Set;
+
+/**
+ * 위험 기반 비중 (BacktestConfig.weighting): 리밸런싱 시점마다 최근 공분산으로 목표 비중 재계산
+ *
+ * - INVERSE_VOL: 변동성 역수 비중
+ * - RISK_PARITY: 동일 위험 기여 (ERC)
+ * - MIN_VARIANCE: long-only 최소 분산
+ *
+ * 공분산은 일별 단순 수익률로 EwmaCovariance를 매일 갱신하고(반감기 halfLifeDays),
+ * recomputeMonths 경계(PERIODIC 주기, BAND는 매월)를 넘는 날 RiskBudgetSolver로 비중을 다시 푼다.
+ * 매매는 엔진의 리밸런싱 규칙(PERIODIC 주기 / BAND 이탈)이 그날의 새 비중으로 수행하므로
+ * update()는 비중만 바꾸고 false를 돌려준다. 공분산이 준비되기 전에는 설정 비중을 그대로 쓴다.
+ * 설정 비중의 합(투자 비율)은 유지하고 종목 간 배분만 바꾼다 (나머지는 현금).
+ */
+public final class RiskWeightingStrategy implements BacktestStrategy {
+
+    public static final String INVERSE_VOL = "INVERSE_VOL";
+    public static final String RISK_PARITY = "RISK_PARITY";
+    public static final String MIN_VARIANCE = "MIN_VARIANCE";
+    public static final Set<String> SCHEMES = Set.of(INVERSE_VOL, RISK_PARITY, MIN_VARIANCE);
+
+    public static final int DEFAULT_HALF_LIFE_DAYS = 60;
+
+    private final String scheme;
+    private final int halfLifeDays;
+    private final int recomputeMonths;
+
+    private int n;
+    private EwmaCovariance covariance;
+    private RiskBudgetSolver solver;
+    private double[] returns;
+    private double[] solution;
+    private double investedRatio;
+    private int lastMonth;
+
+    RiskWeightingStrategy(String scheme, int halfLifeDays, int recomputeMonths) {
+        this.scheme = scheme;
+        this.halfLifeDays = halfLifeDays;
+        this.recomputeMonths = recomputeMonths;
+    }
+
+    /**
+     * @param halfLifeDays    공분산 반감기 (null이면 60 거래일)
+     * @param recomputeMonths 비중 재계산 주기 (개월)
+     */
+    public static RiskWeightingStrategy create(String scheme, Integer halfLifeDays, int recomputeMonths) {
+        if (!SCHEMES.contains(scheme)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Unsupported weighting: " + scheme);
+        }
+        int halfLife = halfLifeDays != null ? halfLifeDays : DEFAULT_HALF_LIFE_DAYS;
+        if (halfLife < 2 || halfLife > 2520) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "covarianceHalfLifeDays must be between 2 and 2520");
+        }
+        if (recomputeMonths <= 0) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Weighting requires PERIODIC or BAND rebalancing");
+        }
+        return new RiskWeightingStrategy(scheme, halfLife, recomputeMonths);
+    }
+
+    @Override
+    public void reset(int numInstruments, double[] baseWeights) {
+        n = numInstruments;
+        covariance = new EwmaCovariance(n, halfLifeDays);
+        solver = new RiskBudgetSolver(n);
+        returns = new double[n];
+        solution = new double[n];
+        solution[0] = Double.NaN;   // 첫 계산은 초깃값 없이
+        investedRatio = 0;
+        for (int i = 0; i < n; i++) {
+            investedRatio += baseWeights[i];
+        }
+        lastMonth = Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean update(int day, int month, double[] prices, int base, double[] weights) {
+        if (day == 0) {
+            lastMonth = month;
+            return false;
+        }
+
+        int prev = base - n;
+        for (int i = 0; i < n; i++) {
+            double previous = prices[prev + i];
+            double current = prices[base + i];
+            returns[i] = previous > 0 && current > 0 ? current / previous - 1 : 0;
+        }
+        covariance.add(returns);
+
+        if (month / recomputeMonths == lastMonth / recomputeMonths) return false;
+        lastMonth = month;
+        if (!covariance.isReady()) return false;
+
+        double[] cov = covariance.matrix();
+        switch (scheme) {
+            case INVERSE_VOL -> solver.inverseVolatility(cov, solution);
+            case RISK_PARITY -> solver.equalRiskContribution(cov, solution);
+            default -> solver.minimumVariance(cov, solution);
+        }
+        for (int i = 0; i < n; i++) {
+            weights[i] = solution[i] * investedRatio;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 전략 파라미터 조회 / 범위 검증 (strategyParams: 이름 → 숫자)
+ */
+public final class StrategyParams {
+
+    private StrategyParams() {
+    }
+
+    public static boolean has(Map<String, BigDecimal> params, String key) {
+        return params.get(key) != null;
+    }
+
+    public static int intParam(Map<String, BigDecimal> params, String key, int defaultValue, int min, int max) {
+        BigDecimal value = params.get(key);
+        if (value == null) return defaultValue;
+        if (value.stripTrailingZeros().scale() > 0 || value.compareTo(BigDecimal.valueOf(min)) < 0
+                || value.compareTo(BigDecimal.valueOf(max)) > 0) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT,
+                    key + " must be an integer between " + min + " and " + max);
+        }
+        return value.intValue();
+    }
+
+    public static double doubleParam(Map<String, BigDecimal> params, String key, double defaultValue,
+                                     double min, double max) {
+        BigDecimal value = params.get(key);
+        if (value == null) return defaultValue;
+        double v = value.doubleValue();
+        if (v < min || v > max) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, key + " must be between " + min + " and " + max);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,103 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.backtest.strategy.indicator.Ema;
+import com.portfolio.backtest.strategy.indicator.IncrementalIndicator;
+import com.portfolio.backtest.strategy.indicator.RollingStdev;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 변동성 타기팅 (VOL_TARGET)
+ *
+ * 설정 비중 포트폴리오의 일별 수익률 변동성을 추정해 연환산 변동성이 targetVol이 되도록
+ * 전체 노출(exposure)을 조절한다. 비중 = 설정 비중 × exposure, 나머지는 현금.
+ * exposure 변화가 minChange 미만이면 매매하지 않는다.
+ *
+ * 파라미터:
+ * - targetVol (기본 0.10): 목표 연환산 변동성
+ * - volDays (기본 60): 이동 표준편차 거래일 수
+ * - halfLifeDays (기본 0): 0보다 크면 이동 표준편차 대신 EWMA 분산 (반감기, 평균 0 가정)
+ * - maxExposure (기본 1.0): 노출 상한 (레버리지 없음)
+ * - minChange (기본 0.05): 리밸런싱할 최소 노출 변화
+ */
+public final class VolatilityTargetStrategy implements BacktestStrategy {
+
+    public static final String NAME = "VOL_TARGET";
+
+    private static final double ANNUALIZATION = Math.sqrt(252);
+
+    private final double targetVol;
+    private final int volDays;
+    private final double halfLifeDays;
+    private final double maxExposure;
+    private final double minChange;
+
+    private int n;
+    private double[] baseWeights;
+    private IncrementalIndicator volatility;
+    private double exposure;
+
+    VolatilityTargetStrategy(double targetVol, int volDays, double halfLifeDays, double maxExposure, double minChange) {
+        this.targetVol = targetVol;
+        this.volDays = volDays;
+        this.halfLifeDays = halfLifeDays;
+        this.maxExposure = maxExposure;
+        this.minChange = minChange;
+    }
+
+    @Override
+    public void reset(int numInstruments, double[] baseWeights) {
+        n = numInstruments;
+        this.baseWeights = baseWeights.clone();
+        volatility = halfLifeDays > 0 ? Ema.ofHalfLife(halfLifeDays) : new RollingStdev(volDays);
+        exposure = 1.0;
+    }
+
+    @Override
+    public boolean update(int day, int month, double[] prices, int base, double[] weights) {
+        if (day == 0) return false;
+
+        // 설정 비중 포트폴리오의 일별 수익률
+        int prev = base - n;
+        double r = 0;
+        for (int i = 0; i < n; i++) {
+            double previous = prices[prev + i];
+            if (previous > 0) {
+                r += baseWeights[i] * (prices[base + i] / previous - 1);
+            }
+        }
+        volatility.add(halfLifeDays > 0 ? r * r : r);
+        if (!volatility.isReady()) return false;
+
+        double dailyVol = halfLifeDays > 0 ? Math.sqrt(volatility.value()) : volatility.value();
+        double target = dailyVol > 0 ? Math.min(maxExposure, targetVol / (dailyVol * ANNUALIZATION)) : maxExposure;
+        if (Math.abs(target - exposure) < minChange) return false;
+
+        exposure = target;
+        for (int i = 0; i < n; i++) {
+            weights[i] = baseWeights[i] * exposure;
+        }
+        return true;
+    }
+
+    @Component
+    public static class Factory implements BacktestStrategyFactory {
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public BacktestStrategy create(Map<String, BigDecimal> params) {
+            return new VolatilityTargetStrategy(
+                    StrategyParams.doubleParam(params, "targetVol", 0.10, 0.005, 2.0),
+                    StrategyParams.intParam(params, "volDays", 60, 2, 2520),
+                    StrategyParams.doubleParam(params, "halfLifeDays", 0, 0, 2520),
+                    StrategyParams.doubleParam(params, "maxExposure", 1.0, 0.01, 1.0),
+                    StrategyParams.doubleParam(params, "minChange", 0.05, 0, 1.0));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.portfolio.backtest.strategy.indicator;
+
+/**
+ * 고정 크기 primitive double 링 버퍼 (가득 차면 가장 오래된 값을 덮어씀)
+ */
+public final class DoubleRingBuffer {
+
+    private final double[] values;
+    private int head;     // 다음에 쓸 위치
+    private int size;
+
+    public DoubleRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.values = new double[capacity];
+    }
+
+    /**
+     * 값 추가
+     *
+     * @return 가득 찬 상태에서 밀려난 값, 아니면 NaN
+     */
+    public double push(double value) {
+        double evicted = size == values.length ? values[head] : Double.NaN;
+        values[head] = value;
+        head = head + 1 == values.length ? 0 : head + 1;
+        if (size < values.length) size++;
+        return evicted;
+    }
+
+    /** i번째로 오래된 값 (0 = 가장 오래된 값) */
+    public double get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        int index = head - size + i;
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
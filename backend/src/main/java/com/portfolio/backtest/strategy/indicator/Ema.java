@@ -0,0 +1,60 @@
+package com.portfolio.backtest.strategy.indicator;
+
+/**
+ * 지수 이동 평균 (EMA): value = alpha * x + (1 - alpha) * value
+ *
+ * 첫 값으로 시작하고, period개(반감기 기준이면 반감기 일수) 이상 입력되면 ready.
+ */
+public final class Ema implements IncrementalIndicator {
+
+    private final double alpha;
+    private final int warmup;
+    private double value = Double.NaN;
+    private int count;
+
+    private Ema(double alpha, int warmup) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+        this.warmup = warmup;
+    }
+
+    /** alpha = 2 / (period + 1) */
+    public static Ema ofPeriod(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return new Ema(2.0 / (period + 1), period);
+    }
+
+    /** halfLife일 뒤 가중치가 절반: alpha = 1 - 2^(-1 / halfLife) */
+    public static Ema ofHalfLife(double halfLife) {
+        if (!(halfLife > 0)) {
+            throw new IllegalArgumentException("halfLife must be positive");
+        }
+        return new Ema(1 - Math.pow(2, -1 / halfLife), (int) Math.ceil(halfLife));
+    }
+
+    @Override
+    public void add(double x) {
+        value = count == 0 ? x : value + alpha * (x - value);
+        count++;
+    }
+
+    @Override
+    public double value() {
+        return count >= warmup ? value : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count >= warmup;
+    }
+
+    @Override
+    public void reset() {
+        value = Double.NaN;
+        count = 0;
+    }
+}
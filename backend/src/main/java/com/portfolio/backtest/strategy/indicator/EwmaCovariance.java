@@ -0,0 +1,76 @@
+package com.portfolio.backtest.strategy.indicator;
+
+import java.util.Arrays;
+
+/**
+ * 지수 가중 공분산 행렬 (EWMA, RiskMetrics 방식: 평균 0 가정)
+ *
+ * - 행렬은 n × n row-major double[] 하나 (대칭, 두 삼각형 모두 유지)
+ * - add(r)마다 cov += alpha_t * (r r' - cov), alpha_t는 누적 가중치로 정규화해
+ *   초기 구간에서도 가중 평균이 되도록 보정 (첫 입력이면 cov = r r')
+ * - 갱신은 O(n^2 / 2), 과거 수익률을 다시 훑지 않는다
+ * - 반감기 일수 이상 입력되면 ready
+ */
+public final class EwmaCovariance {
+
+    private final int n;
+    private final double lambda;
+    private final int warmup;
+    private final double[] matrix;
+    private double weightSum;
+    private int count;
+
+    public EwmaCovariance(int n, double halfLife) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        if (!(halfLife > 0)) {
+            throw new IllegalArgumentException("halfLife must be positive");
+        }
+        this.n = n;
+        this.lambda = Math.pow(2, -1 / halfLife);
+        this.warmup = (int) Math.ceil(halfLife);
+        this.matrix = new double[n * n];
+    }
+
+    /**
+     * 하루치 수익률 벡터 반영 (returns[0..n-1])
+     */
+    public void add(double[] returns) {
+        weightSum = lambda * weightSum + (1 - lambda);
+        double alpha = (1 - lambda) / weightSum;
+        for (int i = 0; i < n; i++) {
+            double ri = returns[i];
+            int row = i * n;
+            for (int j = i; j < n; j++) {
+                double value = matrix[row + j] + alpha * (ri * returns[j] - matrix[row + j]);
+                matrix[row + j] = value;
+                matrix[j * n + i] = value;
+            }
+        }
+        count++;
+    }
+
+    public double get(int i, int j) {
+        return matrix[i * n + j];
+    }
+
+    /** 내부 행렬 (읽기 전용, 다음 add()에서 갱신됨) */
+    public double[] matrix() {
+        return matrix;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public boolean isReady() {
+        return count >= warmup;
+    }
+
+    public void reset() {
+        Arrays.fill(matrix, 0);
+        weightSum = 0;
+        count = 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.portfolio.backtest.strategy.indicator;
+
+/**
+ * 증분 기술 지표: 값을 하나씩 넣으면 O(1)(RollingMax는 분할 상환 O(1))로 갱신
+ *
+ * 과거 구간을 다시 훑지 않으므로 200일 lookback 전략도 거래일마다 상수 시간에 갱신된다.
+ * 인스턴스는 실행(스레드) 하나에서만 사용하고, 다음 실행 전에 reset()으로 재사용한다.
+ */
+public interface IncrementalIndicator {
+
+    void add(double value);
+
+    /** 현재 값 (isReady() 전에는 NaN) */
+    double value();
+
+    /** 창이 찼는지 (EMA는 period개 이상 입력) */
+    boolean isReady();
+
+    void reset();
+}
@@ -0,0 +1,61 @@
+package com.portfolio.backtest.strategy.indicator;
+
+/**
+ * 이동 최대값 (최근 window개 중 최대)
+ *
+ * 단조 감소 deque(primitive 원형 배열)에 값과 입력 순번을 유지한다.
+ * 각 값은 한 번 들어가고 한 번 나가므로 입력당 분할 상환 O(1).
+ */
+public final class RollingMax implements IncrementalIndicator {
+
+    private final int window;
+    private final double[] dequeValues;
+    private final long[] dequeSeq;
+    private int head;
+    private int size;
+    private long seq;
+
+    public RollingMax(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.window = window;
+        this.dequeValues = new double[window];
+        this.dequeSeq = new long[window];
+    }
+
+    @Override
+    public void add(double value) {
+        // 창에서 벗어난 앞쪽 값 제거
+        if (size > 0 && dequeSeq[head] <= seq - window) {
+            head = (head + 1) % window;
+            size--;
+        }
+        // 새 값 이하인 뒤쪽 값은 다시 최대가 될 수 없으므로 제거
+        while (size > 0 && dequeValues[(head + size - 1) % window] <= value) {
+            size--;
+        }
+        int tail = (head + size) % window;
+        dequeValues[tail] = value;
+        dequeSeq[tail] = seq;
+        size++;
+        seq++;
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? dequeValues[head] : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return seq >= window;
+    }
+
+    @Override
+    public void reset() {
+        head = 0;
+        size = 0;
+        seq = 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.portfolio.backtest.strategy.indicator;
+
+/**
+ * 이동 평균 (window개 단순 평균)
+ *
+ * 합계를 더하고 빼며 갱신하고, window개마다 한 번 버퍼에서 다시 합산해 누적 오차를 없앤다.
+ */
+public final class RollingMean implements IncrementalIndicator {
+
+    private final DoubleRingBuffer window;
+    private double sum;
+    private int sinceResum;
+
+    public RollingMean(int window) {
+        this.window = new DoubleRingBuffer(window);
+    }
+
+    @Override
+    public void add(double value) {
+        double evicted = window.push(value);
+        sum += Double.isNaN(evicted) ? value : value - evicted;
+        if (++sinceResum == window.capacity()) {
+            sinceResum = 0;
+            double exact = 0;
+            for (int i = 0; i < window.size(); i++) exact += window.get(i);
+            sum = exact;
+        }
+    }
+
+    @Override
+    public double value() {
+        return window.isFull() ? sum / window.capacity() : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        sum = 0;
+        sinceResum = 0;
+    }
+}
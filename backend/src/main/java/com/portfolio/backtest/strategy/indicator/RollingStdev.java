@@ -0,0 +1,57 @@
+package com.portfolio.backtest.strategy.indicator;
+
+/**
+ * 이동 표준편차 (window개 표본 표준편차, n - 1)
+ *
+ * 창 단위 Welford 갱신: 새 값 x가 들어오고 y가 밀려날 때
+ * mean' = mean + (x - y) / n, M2' = M2 + (x - y)(x - mean' + y - mean)
+ */
+public final class RollingStdev implements IncrementalIndicator {
+
+    private final DoubleRingBuffer window;
+    private double mean;
+    private double m2;
+
+    public RollingStdev(int window) {
+        if (window < 2) {
+            throw new IllegalArgumentException("window must be at least 2");
+        }
+        this.window = new DoubleRingBuffer(window);
+    }
+
+    @Override
+    public void add(double value) {
+        double evicted = window.push(value);
+        double oldMean = mean;
+        if (Double.isNaN(evicted)) {
+            int n = window.size();
+            mean += (value - oldMean) / n;
+            m2 += (value - oldMean) * (value - mean);
+        } else {
+            mean += (value - evicted) / window.capacity();
+            m2 += (value - evicted) * (value - mean + evicted - oldMean);
+            if (m2 < 0) m2 = 0;
+        }
+    }
+
+    @Override
+    public double value() {
+        return window.isFull() ? Math.sqrt(m2 / (window.capacity() - 1)) : Double.NaN;
+    }
+
+    public double mean() {
+        return window.size() > 0 ? mean : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    @Override
+    public void reset() {
+        window.clear();
+        mean = 0;
+        m2 = 0;
+    }
+}
@@ -36,7 +36,9 @@ public enum ErrorCode {
 
     // Backtest
     BACKTEST_NOT_FOUND(HttpStatus.NOT_FOUND, "BACKTEST_NOT_FOUND", "Backtest run not found"),
-    BACKTEST_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "BACKTEST_FAILED", "Backtest execution failed");
+    BACKTEST_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "BACKTEST_FAILED", "Backtest execution failed"),
+    BACKTEST_SWEEP_TOO_LARGE(HttpStatus.UNPROCESSABLE_ENTITY, "BACKTEST_SWEEP_TOO_LARGE", "Too many sweep variants"),
+    BACKTEST_NOT_CANCELLABLE(HttpStatus.CONFLICT, "BACKTEST_NOT_CANCELLABLE", "Backtest run is not running");
 
     private final HttpStatus httpStatus;
     private final String code;
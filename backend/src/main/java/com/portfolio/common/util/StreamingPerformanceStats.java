@@ -0,0 +1,133 @@
+package com.portfolio.common.util;
+
+/**
+ * 일별 평가액 스트리밍 성과 통계 누적기
+ *
+ * 평가액을 하루씩 add()로 넣으면 O(1)로 다음 값을 갱신한다.
+ * - 누적 최고점(peak), 당일 drawdown, 최대 낙폭(MDD)
+ * - 일별 수익률의 평균 / 분산 (Welford, 모분산)
+ * - TWR(Time-Weighted Return) 누적 곱
+ *
+ * 일별 수익률은 당일 입금액(누적 투자금 증가분)을 전일 평가액에 더해 현금 흐름 효과를 제거한다.
+ * (입금이 없으면 단순 수익률과 동일)
+ *
+ * 상태를 가지므로 스레드 간 공유하지 않고, reset() 후 재사용한다.
+ */
+public final class StreamingPerformanceStats {
+
+    private int count;
+    private double first;
+    private double last;
+    private double lastInvested;
+
+    private double peak;
+    private double drawdown;
+    private double maxDrawdown;
+
+    private int returnCount;
+    private double mean;
+    private double m2;
+    private double twrProduct = 1.0;
+
+    public void reset() {
+        count = 0;
+        first = 0;
+        last = 0;
+        lastInvested = 0;
+        peak = 0;
+        drawdown = 0;
+        maxDrawdown = 0;
+        returnCount = 0;
+        mean = 0;
+        m2 = 0;
+        twrProduct = 1.0;
+    }
+
+    /**
+     * 하루치 평가액 반영
+     *
+     * @param equity   당일 평가액
+     * @param invested 당일까지의 누적 투자금 (입금 감지용)
+     */
+    public void add(double equity, double invested) {
+        if (count == 0) {
+            first = equity;
+        } else {
+            double adjustedPrev = last + (invested - lastInvested);
+            if (adjustedPrev > 0) {
+                double r = (equity - adjustedPrev) / adjustedPrev;
+                returnCount++;
+                double delta = r - mean;
+                mean += delta / returnCount;
+                m2 += delta * (r - mean);
+                twrProduct *= 1.0 + r;
+            }
+        }
+
+        if (equity > peak) {
+            peak = equity;
+        }
+        drawdown = peak > 0 && equity < peak ? (peak - equity) / peak : 0;
+        if (drawdown > maxDrawdown) {
+            maxDrawdown = drawdown;
+        }
+
+        last = equity;
+        lastInvested = invested;
+        count++;
+    }
+
+    /** 반영된 일수 */
+    public int count() {
+        return count;
+    }
+
+    public double first() {
+        return first;
+    }
+
+    public double last() {
+        return last;
+    }
+
+    public double peak() {
+        return peak;
+    }
+
+    /** 마지막으로 반영한 날의 drawdown (0 ~ 1) */
+    public double drawdown() {
+        return drawdown;
+    }
+
+    public double maxDrawdown() {
+        return maxDrawdown;
+    }
+
+    /** 계산된 일별 수익률 개수 (전일 평가액이 0 이하인 날은 제외) */
+    public int returnCount() {
+        return returnCount;
+    }
+
+    public double meanReturn() {
+        return mean;
+    }
+
+    /** 일별 수익률 모분산 */
+    public double variance() {
+        return returnCount > 0 ? m2 / returnCount : 0;
+    }
+
+    public double stdDev() {
+        return Math.sqrt(variance());
+    }
+
+    /** 연환산 변동성 (periodsPerYear: 일별 252) */
+    public double annualizedVolatility(int periodsPerYear) {
+        return stdDev() * Math.sqrt(periodsPerYear);
+    }
+
+    /** TWR 누적 곱 (1 + r1)(1 + r2)... */
+    public double twrProduct() {
+        return twrProduct;
+    }
+}
@@ -0,0 +1,168 @@
+package com.portfolio.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 차트용 시계열 다운샘플링 (Largest-Triangle-Three-Buckets)
+ *
+ * - x축은 거래일 인덱스(0..n-1), 값은 primitive double[]로만 계산하고 선택된 인덱스를 돌려준다
+ * - 첫 점 / 마지막 점은 항상 유지
+ * - 최대 낙폭(MDD)의 고점 / 저점 인덱스는 LTTB 결과와 무관하게 항상 포함
+ *   (LTTB 예산을 2개 줄여 결과 크기는 maxPoints 이하)
+ * - maxPoints가 작아 LTTB 예산이 MIN_POINTS 미만이면 첫 점 / 마지막 점 + 고점 / 저점만 돌려주고,
+ *   그것도 maxPoints를 넘으면(maxPoints = 3) 고점 / 저점 없이 LTTB만 사용
+ *
+ * 참고: Sveinn Steinarsson, "Downsampling Time Series for Visual Representation" (2013)
+ */
+public final class TimeSeriesDownsampler {
+
+    /** LTTB가 의미를 갖는 최소 점 수 (첫 점 + 버킷 1개 + 마지막 점) */
+    public static final int MIN_POINTS = 3;
+
+    private TimeSeriesDownsampler() {
+    }
+
+    /**
+     * LTTB + MDD 고점 / 저점 보존. 점 수가 maxPoints 이하이면 전체 인덱스
+     * maxPoints는 점 수와 무관하게 MIN_POINTS 이상이어야 한다.
+     *
+     * @return 오름차순 인덱스
+     */
+    public static int[] downsample(double[] values, int maxPoints) {
+        checkMaxPoints(maxPoints);
+        int n = values.length;
+        if (maxPoints >= n) {
+            return identity(n);
+        }
+
+        int[] extremes = maxDrawdownPeakTrough(values);
+        if (extremes.length == 0) {
+            return lttb(values, maxPoints);
+        }
+        if (maxPoints - extremes.length < MIN_POINTS) {
+            int[] anchors = Arrays.stream(new int[] {0, extremes[0], extremes[1], n - 1}).sorted().distinct().toArray();
+            return anchors.length <= maxPoints ? anchors : lttb(values, maxPoints);
+        }
+        int[] selected = lttb(values, maxPoints - extremes.length);
+
+        int[] merged = Arrays.copyOf(selected, selected.length + extremes.length);
+        System.arraycopy(extremes, 0, merged, selected.length, extremes.length);
+        return Arrays.stream(merged).sorted().distinct().toArray();
+    }
+
+    /**
+     * 리스트 DTO용: value로 값을 뽑아 downsample한 뒤 선택된 원소만 반환 (maxPoints가 null이면 그대로)
+     */
+    public static <T> List<T> downsample(List<T> points, ToDoubleFunction<T> value, Integer maxPoints) {
+        if (maxPoints == null) {
+            return points;
+        }
+        checkMaxPoints(maxPoints);
+        if (points == null || points.size() <= maxPoints) {
+            return points;
+        }
+        double[] values = new double[points.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value.applyAsDouble(points.get(i));
+        }
+        int[] indices = downsample(values, maxPoints);
+        List<T> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(points.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * 순수 LTTB: 정확히 min(maxPoints, n)개의 인덱스 (오름차순)
+     */
+    public static int[] lttb(double[] values, int maxPoints) {
+        int n = values.length;
+        if (maxPoints >= n) {
+            return identity(n);
+        }
+        checkMaxPoints(maxPoints);
+
+        int[] selected = new int[maxPoints];
+        double bucketSize = (double) (n - 2) / (maxPoints - 2);
+
+        int a = 0;
+        selected[0] = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            // 다음 버킷의 평균점
+            int avgStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int avgEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += j;
+                avgY += values[j];
+            }
+            int avgCount = avgEnd - avgStart;
+            if (avgCount > 0) {
+                avgX /= avgCount;
+                avgY /= avgCount;
+            } else {
+                avgX = n - 1;
+                avgY = values[n - 1];
+            }
+
+            // 현재 버킷에서 (직전 선택점, 후보, 다음 버킷 평균) 삼각형 넓이가 최대인 점
+            int rangeStart = (int) (bucket * bucketSize) + 1;
+            int rangeEnd = Math.min((int) ((bucket + 1) * bucketSize) + 1, n - 1);
+            double ax = a;
+            double ay = values[a];
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((ax - avgX) * (values[j] - ay) - (ax - j) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            selected[bucket + 1] = next;
+            a = next;
+        }
+        selected[maxPoints - 1] = n - 1;
+        return selected;
+    }
+
+    /**
+     * 최대 낙폭 구간의 [고점, 저점] 인덱스 (낙폭이 없으면 빈 배열)
+     */
+    public static int[] maxDrawdownPeakTrough(double[] values) {
+        int peak = 0;
+        int mddPeak = -1;
+        int mddTrough = -1;
+        double maxDrawdown = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[peak]) {
+                peak = i;
+            } else if (values[peak] > 0) {
+                double drawdown = (values[peak] - values[i]) / values[peak];
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                    mddPeak = peak;
+                    mddTrough = i;
+                }
+            }
+        }
+        return mddTrough < 0 ? new int[0] : new int[] {mddPeak, mddTrough};
+    }
+
+    private static void checkMaxPoints(int maxPoints) {
+        if (maxPoints < MIN_POINTS) {
+            throw new IllegalArgumentException("maxPoints must be at least " + MIN_POINTS);
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+        return indices;
+    }
+}
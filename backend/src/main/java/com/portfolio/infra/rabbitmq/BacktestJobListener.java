@@ -0,0 +1,52 @@
+package com.portfolio.infra.rabbitmq;
+
+import com.portfolio.backtest.service.BacktestMonteCarloService;
+import com.portfolio.backtest.service.BacktestService;
+import com.portfolio.backtest.service.BacktestService.BacktestJob;
+import com.portfolio.backtest.service.BacktestShardCoordinator.BacktestShardJob;
+import com.portfolio.backtest.service.BacktestSweepService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * backtest-jobs 큐 consumer
+ * 동시 실행 수는 app.backtest.max-concurrent-runs로 제한 (consumer당 prefetch 1)
+ *
+ * 메시지 타입(__TypeId__ 헤더)별 처리:
+ * - BacktestJob: 단일 백테스트 실행
+ * - BacktestShardJob: 다른 노드가 나눈 스윕 / 몬테카를로 샤드 (claim에 성공한 경우만 실행)
+ */
+@Component
+@ConditionalOnProperty(name = "spring.rabbitmq.host", matchIfMissing = false)
+@Profile("!dev & !test")
+@RabbitListener(queues = "${app.backtest.queue-name}",
+        concurrency = "${app.backtest.max-concurrent-runs:5}")
+@RequiredArgsConstructor
+@Slf4j
+public class BacktestJobListener {
+
+    private final BacktestService backtestService;
+    private final BacktestSweepService sweepService;
+    private final BacktestMonteCarloService monteCarloService;
+
+    @RabbitHandler
+    public void onBacktestJob(BacktestJob job) {
+        log.debug("Backtest job received: runId={}", job.getRunId());
+        backtestService.processJob(job);
+    }
+
+    @RabbitHandler
+    public void onBacktestShard(BacktestShardJob job) {
+        log.debug("Backtest shard received: parentId={}, kind={}, shard={}",
+                job.getParentId(), job.getKind(), job.getShardIndex());
+        switch (job.getKind()) {
+            case SWEEP -> sweepService.processShard(job);
+            case MONTE_CARLO -> monteCarloService.processShard(job);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.portfolio.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 현금 잔액 (portfolio_cash_balances)
+ *
+ * EXTERNAL 계정을 제외한 CASH leg 합계. 원장 쓰기는 이 행을 잠가(PESSIMISTIC_WRITE) 포트폴리오 단위로 직렬화한다.
+ * 잠금을 위해 첫 쓰기 전에 행을 먼저 만들며(materialized = false), 포지션을 원장에서 재구성한 뒤 true가 된다.
+ */
+@Entity
+@Table(name = "portfolio_cash_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashBalance {
+
+    @Id
+    @Column(name = "portfolio_id", nullable = false)
+    private String portfolioId;
+
+    @Column(nullable = false, precision = 18, scale = 4)
+    @Builder.Default
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    /** 포지션 / 현금 잔액이 원장에서 물리화되었는지 (false면 잠금용 행만 있는 상태) */
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean materialized = true;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
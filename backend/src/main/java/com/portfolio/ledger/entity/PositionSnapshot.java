@@ -0,0 +1,93 @@
+package com.portfolio.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 × 종목 현재 포지션 (position_snapshots)
+ *
+ * 거래 생성 / 취소 시 같은 트랜잭션에서 갱신되는 물리화 행. 평가 시 원장을 다시 읽지 않는다.
+ * - asOf: 마지막으로 반영한 거래의 발생 시각 (이보다 이른 거래가 들어오면 종목 단위로 재계산)
+ * - totalCost / realizedPnlBase: 반올림 없이 누적 (avgCost만 소수 6자리)
+ */
+@Entity
+@Table(name = "position_snapshots")
+@IdClass(PositionSnapshotId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionSnapshot {
+
+    @Id
+    @Column(name = "portfolio_id", nullable = false)
+    private String portfolioId;
+
+    @Id
+    @Column(name = "instrument_id", nullable = false)
+    private String instrumentId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    @Builder.Default
+    private BigDecimal quantity = BigDecimal.ZERO;
+
+    @Column(name = "avg_cost", precision = 18, scale = 6)
+    @Builder.Default
+    private BigDecimal avgCost = BigDecimal.ZERO;
+
+    @Column(name = "total_cost", nullable = false, precision = 32, scale = 14)
+    @Builder.Default
+    private BigDecimal totalCost = BigDecimal.ZERO;
+
+    @Column(name = "realized_pnl_base", precision = 32, scale = 14)
+    @Builder.Default
+    private BigDecimal realizedPnlBase = BigDecimal.ZERO;
+
+    /**
+     * ASSET leg 1건 반영 (수량 양수 = 매수, 음수 = 매도)
+     * 매수는 평균 단가에 반영, 매도는 평균 단가 대비 실현 손익을 쌓고 비용을 비례 차감
+     */
+    public void apply(BigDecimal qty, BigDecimal price, LocalDateTime occurredAt) {
+        if (occurredAt != null && (asOf == null || occurredAt.isAfter(asOf))) {
+            asOf = occurredAt;
+        }
+        if (qty == null) return;
+
+        BigDecimal tradePrice = price != null ? price : BigDecimal.ZERO;
+        if (qty.compareTo(BigDecimal.ZERO) > 0) {
+            totalCost = totalCost.add(qty.multiply(tradePrice));
+            quantity = quantity.add(qty);
+        } else {
+            BigDecimal sellQty = qty.abs();
+            BigDecimal currentAvgCost = avgCost();
+            realizedPnlBase = realizedPnlBase.add(sellQty.multiply(tradePrice.subtract(currentAvgCost)));
+            if (quantity.compareTo(BigDecimal.ZERO) > 0) {
+                totalCost = totalCost.subtract(currentAvgCost.multiply(sellQty));
+            }
+            quantity = quantity.add(qty);
+        }
+        avgCost = avgCost();
+    }
+
+    /** 처음부터 다시 누적할 때 */
+    public void reset() {
+        asOf = null;
+        quantity = BigDecimal.ZERO;
+        avgCost = BigDecimal.ZERO;
+        totalCost = BigDecimal.ZERO;
+        realizedPnlBase = BigDecimal.ZERO;
+    }
+
+    private BigDecimal avgCost() {
+        if (quantity.compareTo(BigDecimal.ZERO) <= 0) return BigDecimal.ZERO;
+        return totalCost.divide(quantity, 6, RoundingMode.HALF_UP);
+    }
+}
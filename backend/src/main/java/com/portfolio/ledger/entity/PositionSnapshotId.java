@@ -0,0 +1,16 @@
+package com.portfolio.ledger.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class PositionSnapshotId implements Serializable {
+
+    private String portfolioId;
+    private String instrumentId;
+}
@@ -0,0 +1,35 @@
+package com.portfolio.ledger.repository;
+
+import com.portfolio.ledger.entity.CashBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CashBalanceRepository extends JpaRepository<CashBalance, String> {
+
+    /**
+     * 원장 쓰기 직렬화용 행 잠금 (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CashBalance c WHERE c.portfolioId = :portfolioId")
+    Optional<CashBalance> findForUpdate(@Param("portfolioId") String portfolioId);
+
+    /**
+     * 잠금용 행 생성 (물리화되지 않은 상태, 이미 있으면 무시)
+     * 동시에 첫 쓰기를 하는 트랜잭션은 먼저 넣은 쪽이 커밋할 때까지 기다린 뒤 아무것도 하지 않는다.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO portfolio_cash_balances (portfolio_id, amount, materialized, updated_at)
+            VALUES (:portfolioId, 0, FALSE, CURRENT_TIMESTAMP)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("portfolioId") String portfolioId);
+}
@@ -0,0 +1,14 @@
+package com.portfolio.ledger.repository;
+
+import com.portfolio.ledger.entity.PositionSnapshot;
+import com.portfolio.ledger.entity.PositionSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PositionSnapshotRepository extends JpaRepository<PositionSnapshot, PositionSnapshotId> {
+
+    List<PositionSnapshot> findByPortfolioIdOrderByInstrumentId(String portfolioId);
+}
@@ -1,6 +1,7 @@
 package com.portfolio.ledger.repository;
 
 import com.portfolio.ledger.entity.Transaction;
+import com.portfolio.ledger.entity.TransactionLeg;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -81,6 +83,47 @@ public interface TransactionRepository extends JpaRepository<Transaction, String
             @Param("to") LocalDateTime to
     );
 
+    /**
+     * 포지션 재계산용 ASSET legs (발생 시각 → 생성 시각 순)
+     */
+    @Query("SELECT l FROM TransactionLeg l JOIN FETCH l.transaction t " +
+            "WHERE t.portfolioId = :portfolioId " +
+            "AND t.status <> :status " +
+            "AND l.legType = :legType " +
+            "AND l.instrumentId IS NOT NULL " +
+            "ORDER BY t.occurredAt ASC, t.createdAt ASC, t.id ASC")
+    List<TransactionLeg> findLegsInOrder(
+            @Param("portfolioId") String portfolioId,
+            @Param("status") Transaction.TransactionStatus status,
+            @Param("legType") TransactionLeg.LegType legType
+    );
+
+    @Query("SELECT l FROM TransactionLeg l JOIN FETCH l.transaction t " +
+            "WHERE t.portfolioId = :portfolioId " +
+            "AND t.status <> :status " +
+            "AND l.legType = :legType " +
+            "AND l.instrumentId = :instrumentId " +
+            "ORDER BY t.occurredAt ASC, t.createdAt ASC, t.id ASC")
+    List<TransactionLeg> findLegsInOrderByInstrument(
+            @Param("portfolioId") String portfolioId,
+            @Param("status") Transaction.TransactionStatus status,
+            @Param("legType") TransactionLeg.LegType legType,
+            @Param("instrumentId") String instrumentId
+    );
+
+    /**
+     * 현금 잔액 재계산: EXTERNAL 계정을 제외한 CASH legs 합계
+     */
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM TransactionLeg l JOIN l.transaction t " +
+            "WHERE t.portfolioId = :portfolioId " +
+            "AND t.status <> :status " +
+            "AND l.legType = 'CASH' " +
+            "AND (l.account IS NULL OR l.account <> 'EXTERNAL')")
+    BigDecimal sumCash(
+            @Param("portfolioId") String portfolioId,
+            @Param("status") Transaction.TransactionStatus status
+    );
+
     @Query("SELECT t FROM Transaction t WHERE t.portfolioId = :portfolioId " +
             "AND t.status = 'POSTED' " +
             "AND t.type = :type " +
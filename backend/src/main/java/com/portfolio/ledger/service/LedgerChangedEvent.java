@@ -0,0 +1,8 @@
+package com.portfolio.ledger.service;
+
+/**
+ * 포트폴리오 원장 변경 (거래 생성 / 취소, 포지션 재구성)
+ * 트랜잭션 안에서 발행되며, 구독 측은 커밋 이후에 반영한다.
+ */
+public record LedgerChangedEvent(String portfolioId) {
+}
@@ -0,0 +1,215 @@
+package com.portfolio.ledger.service;
+
+import com.portfolio.ledger.entity.CashBalance;
+import com.portfolio.ledger.entity.PositionSnapshot;
+import com.portfolio.ledger.entity.PositionSnapshotId;
+import com.portfolio.ledger.entity.Transaction;
+import com.portfolio.ledger.entity.TransactionLeg;
+import com.portfolio.ledger.repository.CashBalanceRepository;
+import com.portfolio.ledger.repository.PositionSnapshotRepository;
+import com.portfolio.ledger.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * 물리화 포지션 (position_snapshots + portfolio_cash_balances)
+ *
+ * 원장 쓰기(거래 생성 / 취소)와 같은 트랜잭션에서 포트폴리오 × 종목 포지션 행과 현금 잔액을 갱신해,
+ * 평가는 원장 전체 재생 대신 포지션 N행만 읽는다.
+ * - 현금: 순서와 무관한 합계이므로 항상 증분 반영
+ * - 포지션: 평균 단가 / 실현 손익은 발생 시각 순서에 의존하므로, 종목의 마지막 반영 시각(asOf) 이후 거래만
+ *   증분 반영하고 과거 시점 거래나 취소는 해당 종목의 legs만 다시 누적한다
+ * - 동시 쓰기: 현금 잔액 행을 잠가 포트폴리오 단위로 직렬화 (행이 없으면 잠그기 전에 물리화되지 않은 행을 먼저 만듦)
+ * - 물리화되지 않은 포트폴리오(물리화 이전 데이터, 새 포트폴리오)는 첫 쓰기 때 원장에서 재구성, 그 전의 조회는 원장 재생으로 대체
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PositionService {
+
+    private final TransactionRepository transactionRepository;
+    private final PositionSnapshotRepository snapshotRepository;
+    private final CashBalanceRepository cashBalanceRepository;
+
+    /**
+     * 거래 생성 반영 (호출 측 트랜잭션, 거래는 저장된 뒤)
+     */
+    @Transactional
+    public void applyCreated(Transaction transaction) {
+        String portfolioId = transaction.getPortfolioId();
+        CashBalance cash = lock(portfolioId);
+        if (!cash.isMaterialized()) {
+            replay(cash);
+            return;
+        }
+
+        cash.setAmount(cash.getAmount().add(cashDelta(transaction)));
+        cashBalanceRepository.save(cash);
+
+        Set<String> replayed = new HashSet<>();
+        for (TransactionLeg leg : transaction.getLegs()) {
+            if (!isPositionLeg(leg) || replayed.contains(leg.getInstrumentId())) continue;
+
+            PositionSnapshot snapshot = snapshotRepository
+                    .findById(new PositionSnapshotId(portfolioId, leg.getInstrumentId()))
+                    .orElse(null);
+            if (snapshot == null) {
+                snapshot = PositionSnapshot.builder()
+                        .portfolioId(portfolioId)
+                        .instrumentId(leg.getInstrumentId())
+                        .build();
+            } else if (snapshot.getAsOf() != null && transaction.getOccurredAt().isBefore(snapshot.getAsOf())) {
+                // 과거 시점 거래: 이 종목만 처음부터 다시 누적
+                replayInstrument(portfolioId, leg.getInstrumentId());
+                replayed.add(leg.getInstrumentId());
+                continue;
+            }
+            snapshot.apply(leg.getQuantity(), leg.getPrice(), transaction.getOccurredAt());
+            snapshotRepository.save(snapshot);
+        }
+    }
+
+    /**
+     * 거래 취소 반영 (호출 측 트랜잭션, VOID 상태가 저장된 뒤)
+     */
+    @Transactional
+    public void applyVoided(Transaction transaction) {
+        String portfolioId = transaction.getPortfolioId();
+        CashBalance cash = lock(portfolioId);
+        if (!cash.isMaterialized()) {
+            replay(cash);
+            return;
+        }
+
+        cash.setAmount(cash.getAmount().subtract(cashDelta(transaction)));
+        cashBalanceRepository.save(cash);
+
+        transaction.getLegs().stream()
+                .filter(PositionService::isPositionLeg)
+                .map(TransactionLeg::getInstrumentId)
+                .distinct()
+                .forEach(instrumentId -> replayInstrument(portfolioId, instrumentId));
+    }
+
+    /**
+     * 현재 포지션 조회
+     * 물리화 전 포트폴리오는 원장을 발생 시각 순으로 재생한 결과를 돌려준다 (저장하지 않음, 다음 쓰기 / rebuild 때 물리화)
+     */
+    @Transactional(readOnly = true)
+    public Positions currentPositions(String portfolioId) {
+        return cashBalanceRepository.findById(portfolioId)
+                .filter(CashBalance::isMaterialized)
+                .map(cash -> new Positions(cash.getAmount(),
+                        snapshotRepository.findByPortfolioIdOrderByInstrumentId(portfolioId)))
+                .orElseGet(() -> new Positions(
+                        transactionRepository.sumCash(portfolioId, Transaction.TransactionStatus.VOID),
+                        accumulate(portfolioId, new TreeMap<>())));
+    }
+
+    /**
+     * 전체 재구성 (복구 명령): 포트폴리오의 포지션 행과 현금 잔액을 원장에서 다시 만든다
+     *
+     * @return 재구성한 종목 수
+     */
+    @Transactional
+    public int rebuild(String portfolioId) {
+        return replay(lock(portfolioId));
+    }
+
+    /**
+     * 현금 잔액 행 잠금 (없으면 물리화되지 않은 행을 만든 뒤 잠금)
+     * 행이 없는 포트폴리오의 동시 첫 쓰기도 같은 행에서 직렬화되어, 두 쪽이 모두 INSERT하다 충돌하지 않는다.
+     */
+    private CashBalance lock(String portfolioId) {
+        cashBalanceRepository.insertIfAbsent(portfolioId);
+        return cashBalanceRepository.findForUpdate(portfolioId)
+                .orElseThrow(() -> new IllegalStateException("Cash balance row not found: " + portfolioId));
+    }
+
+    private int replay(CashBalance cash) {
+        long startedAt = System.nanoTime();
+        String portfolioId = cash.getPortfolioId();
+        transactionRepository.flush();
+        cash.setAmount(transactionRepository.sumCash(portfolioId, Transaction.TransactionStatus.VOID));
+        cash.setMaterialized(true);
+        cashBalanceRepository.save(cash);
+
+        // 기존 행을 초기화해 다시 누적하고, 남은 거래가 없는 종목의 행은 삭제
+        Map<String, PositionSnapshot> snapshots = new TreeMap<>();
+        for (PositionSnapshot existing : snapshotRepository.findByPortfolioIdOrderByInstrumentId(portfolioId)) {
+            existing.reset();
+            snapshots.put(existing.getInstrumentId(), existing);
+        }
+        accumulate(portfolioId, snapshots);
+
+        List<PositionSnapshot> stale = new ArrayList<>();
+        List<PositionSnapshot> current = new ArrayList<>();
+        for (PositionSnapshot snapshot : snapshots.values()) {
+            (snapshot.getAsOf() == null ? stale : current).add(snapshot);
+        }
+        snapshotRepository.deleteAll(stale);
+        snapshotRepository.saveAll(current);
+
+        log.info("Rebuilt positions: portfolio={}, instruments={}, elapsedMs={}",
+                portfolioId, current.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        return current.size();
+    }
+
+    /** ASSET legs를 발생 시각 순으로 누적 (종목별 행이 없으면 새로 만듦) */
+    private List<PositionSnapshot> accumulate(String portfolioId, Map<String, PositionSnapshot> snapshots) {
+        for (TransactionLeg leg : transactionRepository.findLegsInOrder(
+                portfolioId, Transaction.TransactionStatus.VOID, TransactionLeg.LegType.ASSET)) {
+            snapshots.computeIfAbsent(leg.getInstrumentId(), id -> PositionSnapshot.builder()
+                            .portfolioId(portfolioId)
+                            .instrumentId(id)
+                            .build())
+                    .apply(leg.getQuantity(), leg.getPrice(), leg.getTransaction().getOccurredAt());
+        }
+        return new ArrayList<>(snapshots.values());
+    }
+
+    private void replayInstrument(String portfolioId, String instrumentId) {
+        transactionRepository.flush();
+        Optional<PositionSnapshot> existing = snapshotRepository.findById(new PositionSnapshotId(portfolioId, instrumentId));
+        PositionSnapshot snapshot = existing
+                .orElseGet(() -> PositionSnapshot.builder().portfolioId(portfolioId).instrumentId(instrumentId).build());
+        snapshot.reset();
+        for (TransactionLeg leg : transactionRepository.findLegsInOrderByInstrument(
+                portfolioId, Transaction.TransactionStatus.VOID, TransactionLeg.LegType.ASSET, instrumentId)) {
+            snapshot.apply(leg.getQuantity(), leg.getPrice(), leg.getTransaction().getOccurredAt());
+        }
+
+        if (snapshot.getAsOf() != null) {
+            snapshotRepository.save(snapshot);
+        } else if (existing.isPresent()) {
+            // 남은 거래가 없으면 행 삭제
+            snapshotRepository.delete(snapshot);
+        }
+    }
+
+    private static boolean isPositionLeg(TransactionLeg leg) {
+        return leg.getLegType() == TransactionLeg.LegType.ASSET && leg.getInstrumentId() != null;
+    }
+
+    /** EXTERNAL 계정을 제외한 CASH legs 합계 */
+    private static BigDecimal cashDelta(Transaction transaction) {
+        BigDecimal delta = BigDecimal.ZERO;
+        for (TransactionLeg leg : transaction.getLegs()) {
+            if (leg.getLegType() == TransactionLeg.LegType.CASH && !"EXTERNAL".equals(leg.getAccount())) {
+                delta = delta.add(leg.getAmount());
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * 현재 포지션 (수량 0인 종목 포함, 실현 손익 보존)
+     */
+    public record Positions(BigDecimal cashBalance, List<PositionSnapshot> snapshots) {
+    }
+}
@@ -12,6 +12,7 @@ import com.portfolio.pricing.entity.Instrument;
 import com.portfolio.pricing.repository.InstrumentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +33,8 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final PortfolioRepository portfolioRepository;
     private final InstrumentRepository instrumentRepository;
+    private final PositionService positionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 거래 생성 (복식부기 검증 포함)
@@ -67,6 +70,10 @@ public class TransactionService {
         }
 
         Transaction saved = transactionRepository.save(transaction);
+
+        // 5. 포지션 / 현금 잔액 갱신 (같은 트랜잭션)
+        positionService.applyCreated(saved);
+        eventPublisher.publishEvent(new LedgerChangedEvent(portfolioId));
         log.info("Created transaction: id={}, portfolio={}, type={}, legs={}",
                 saved.getId(), portfolioId, type, legs.size());
 
@@ -134,11 +141,27 @@ public class TransactionService {
 
         transaction.setStatus(Transaction.TransactionStatus.VOID);
         Transaction saved = transactionRepository.save(transaction);
+        positionService.applyVoided(saved);
+        eventPublisher.publishEvent(new LedgerChangedEvent(saved.getPortfolioId()));
 
         log.info("Voided transaction: id={}, portfolio={}", transactionId, transaction.getPortfolioId());
         return saved;
     }
 
+    /**
+     * 포지션 재구성 (원장 기준으로 position_snapshots / 현금 잔액 복구)
+     *
+     * @return 재구성한 종목 수
+     */
+    @Transactional
+    public int rebuildPositions(String portfolioId, String workspaceId) {
+        portfolioRepository.findByIdAndWorkspaceId(portfolioId, workspaceId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND));
+        int instruments = positionService.rebuild(portfolioId);
+        eventPublisher.publishEvent(new LedgerChangedEvent(portfolioId));
+        return instruments;
+    }
+
     /**
      * 기간별 거래 조회 (POSTED만)
      */
@@ -0,0 +1,29 @@
+package com.portfolio.pricing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "exchanges")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Exchange {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false, unique = true, length = 20)
+    private String code;
+
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 50)
+    private String timezone;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+}
@@ -0,0 +1,31 @@
+package com.portfolio.pricing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 거래소 휴장일 (규칙으로 계산할 수 없는 날: 음력 명절, 선거일, 임시 휴장 등)
+ */
+@Entity
+@Table(name = "exchange_holidays")
+@IdClass(ExchangeHolidayId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeHoliday {
+
+    @Id
+    @Column(name = "exchange_id", nullable = false)
+    private String exchangeId;
+
+    @Id
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate holidayDate;
+
+    @Column(length = 100)
+    private String name;
+}
@@ -0,0 +1,17 @@
+package com.portfolio.pricing.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ExchangeHolidayId implements Serializable {
+
+    private String exchangeId;
+    private LocalDate holidayDate;
+}
@@ -0,0 +1,14 @@
+package com.portfolio.pricing.repository;
+
+import com.portfolio.pricing.entity.ExchangeHoliday;
+import com.portfolio.pricing.entity.ExchangeHolidayId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExchangeHolidayRepository extends JpaRepository<ExchangeHoliday, ExchangeHolidayId> {
+
+    List<ExchangeHoliday> findByExchangeId(String exchangeId);
+}
@@ -0,0 +1,13 @@
+package com.portfolio.pricing.repository;
+
+import com.portfolio.pricing.entity.Exchange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExchangeRepository extends JpaRepository<Exchange, String> {
+
+    Optional<Exchange> findByCode(String code);
+}
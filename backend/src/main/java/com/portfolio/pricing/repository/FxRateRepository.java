@@ -0,0 +1,26 @@
+package com.portfolio.pricing.repository;
+
+import com.portfolio.pricing.entity.FxRate;
+import com.portfolio.pricing.entity.FxRateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, FxRateId> {
+
+    @Query("SELECT f FROM FxRate f WHERE f.baseCurrency = :baseCurrency " +
+            "AND f.quoteCurrency = :quoteCurrency " +
+            "AND f.ts BETWEEN :from AND :to " +
+            "ORDER BY f.ts ASC")
+    List<FxRate> findSeries(
+            @Param("baseCurrency") String baseCurrency,
+            @Param("quoteCurrency") String quoteCurrency,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+}
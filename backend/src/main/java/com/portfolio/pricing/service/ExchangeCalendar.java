@@ -0,0 +1,209 @@
+package com.portfolio.pricing.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * 거래소 하나(또는 여러 거래소 합집합)의 거래일 달력 (불변, 스레드 간 공유 가능)
+ *
+ * [FIRST, LAST] 구간을 epoch day 오프셋 BitSet으로 미리 계산해 두고,
+ * 오프셋별 누적 거래일 수(prefix count)로 "구간 내 거래일 수"를 O(1)에 구한다.
+ * 구간 밖 날짜는 주말만 제외한다.
+ *
+ * 검증 구간(verifiedFrom ~ verifiedTo): 규칙으로 계산할 수 없는 휴장일까지 반영된 구간.
+ * 그 밖에서는 음력 명절 / 선거일 등이 거래일로 취급될 수 있다.
+ */
+public final class ExchangeCalendar {
+
+    static final LocalDate FIRST = LocalDate.of(1970, 1, 1);
+    static final LocalDate LAST = LocalDate.of(2100, 12, 31);
+
+    private static final long FIRST_EPOCH_DAY = FIRST.toEpochDay();
+    private static final int SPAN = (int) (LAST.toEpochDay() - FIRST_EPOCH_DAY + 1);
+
+    private final String code;
+    private final BitSet sessions;
+    /** sessionsBefore[k] = 오프셋 k 이전(미포함)의 거래일 수 */
+    private final int[] sessionsBefore;
+    /** 검증 구간 (둘 다 null이면 검증된 구간 없음) */
+    private final LocalDate verifiedFrom;
+    private final LocalDate verifiedTo;
+
+    private ExchangeCalendar(String code, BitSet sessions, LocalDate verifiedFrom, LocalDate verifiedTo) {
+        this.code = code;
+        this.sessions = sessions;
+        boolean verified = verifiedFrom != null && verifiedTo != null && !verifiedFrom.isAfter(verifiedTo);
+        this.verifiedFrom = verified ? verifiedFrom : null;
+        this.verifiedTo = verified ? verifiedTo : null;
+        this.sessionsBefore = new int[SPAN + 1];
+        for (int k = 0; k < SPAN; k++) {
+            sessionsBefore[k + 1] = sessionsBefore[k] + (sessions.get(k) ? 1 : 0);
+        }
+    }
+
+    /**
+     * 주말과 주어진 휴장일을 제외한 달력 생성 (전 구간 검증)
+     */
+    static ExchangeCalendar of(String code, Set<LocalDate> holidays) {
+        return of(code, holidays, FIRST, LAST);
+    }
+
+    /**
+     * 주말과 주어진 휴장일을 제외한 달력 생성
+     *
+     * @param verifiedFrom 검증 구간 시작 (null이면 검증된 구간 없음)
+     * @param verifiedTo   검증 구간 끝 (null이면 검증된 구간 없음)
+     */
+    static ExchangeCalendar of(String code, Set<LocalDate> holidays, LocalDate verifiedFrom, LocalDate verifiedTo) {
+        BitSet sessions = new BitSet(SPAN);
+        LocalDate date = FIRST;
+        for (int k = 0; k < SPAN; k++, date = date.plusDays(1)) {
+            if (isWeekday(date) && !holidays.contains(date)) {
+                sessions.set(k);
+            }
+        }
+        return new ExchangeCalendar(code, sessions, verifiedFrom, verifiedTo);
+    }
+
+    /**
+     * 합집합 달력: 어느 한 거래소라도 열리는 날 (다른 시장 종목은 직전 가격으로 이어감)
+     * 검증 구간은 두 달력 검증 구간의 교집합
+     */
+    public ExchangeCalendar union(ExchangeCalendar other) {
+        if (other == this) return this;
+        BitSet merged = (BitSet) sessions.clone();
+        merged.or(other.sessions);
+        boolean verified = verifiedFrom != null && other.verifiedFrom != null;
+        return new ExchangeCalendar(code + "+" + other.code, merged,
+                verified ? max(verifiedFrom, other.verifiedFrom) : null,
+                verified ? min(verifiedTo, other.verifiedTo) : null);
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public LocalDate verifiedFrom() {
+        return verifiedFrom;
+    }
+
+    public LocalDate verifiedTo() {
+        return verifiedTo;
+    }
+
+    /** [from, to] 구간 전체가 검증 구간 안인지 */
+    public boolean isVerified(LocalDate from, LocalDate to) {
+        return verifiedFrom != null && !from.isBefore(verifiedFrom) && !to.isAfter(verifiedTo);
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        int k = offset(date);
+        return inRange(k) ? sessions.get(k) : isWeekday(date);
+    }
+
+    /** date 다음(미포함) 첫 거래일 */
+    public LocalDate nextTradingDay(LocalDate date) {
+        int k = offset(date);
+        if (k >= -1 && k < SPAN - 1) {
+            int next = sessions.nextSetBit(k + 1);
+            if (next >= 0) return dateAt(next);
+        }
+        LocalDate d = date.plusDays(1);
+        while (!isTradingDay(d)) d = d.plusDays(1);
+        return d;
+    }
+
+    /** date 이전(미포함) 마지막 거래일 */
+    public LocalDate previousTradingDay(LocalDate date) {
+        int k = offset(date);
+        if (k > 0 && k <= SPAN) {
+            int prev = sessions.previousSetBit(k - 1);
+            if (prev >= 0) return dateAt(prev);
+        }
+        LocalDate d = date.minusDays(1);
+        while (!isTradingDay(d)) d = d.minusDays(1);
+        return d;
+    }
+
+    /** date가 거래일이면 그대로, 아니면 다음 거래일 */
+    public LocalDate onOrAfter(LocalDate date) {
+        return isTradingDay(date) ? date : nextTradingDay(date);
+    }
+
+    /** [from, to] 구간의 거래일 수 (양 끝 포함) */
+    public int tradingDaysBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return 0;
+        int a = offset(from);
+        int b = offset(to);
+        if (inRange(a) && inRange(b)) {
+            return sessionsBefore[b + 1] - sessionsBefore[a];
+        }
+        int count = 0;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (isTradingDay(d)) count++;
+        }
+        return count;
+    }
+
+    /** [from, to] 구간의 거래일 (오름차순, 조밀 배열) */
+    public LocalDate[] tradingDays(LocalDate from, LocalDate to) {
+        int[] epochDays = epochDays(from, to);
+        LocalDate[] result = new LocalDate[epochDays.length];
+        for (int i = 0; i < epochDays.length; i++) {
+            result[i] = LocalDate.ofEpochDay(epochDays[i]);
+        }
+        return result;
+    }
+
+    public List<LocalDate> tradingDayList(LocalDate from, LocalDate to) {
+        return Arrays.asList(tradingDays(from, to));
+    }
+
+    /** [from, to] 구간 거래일의 epoch day 배열 */
+    public int[] epochDays(LocalDate from, LocalDate to) {
+        int count = tradingDaysBetween(from, to);
+        int[] result = new int[count];
+        if (count == 0) return result;
+
+        int i = 0;
+        LocalDate d = onOrAfter(from);
+        int k = offset(d);
+        if (inRange(k) && inRange(offset(to))) {
+            for (int bit = k; i < count; bit = sessions.nextSetBit(bit + 1)) {
+                result[i++] = (int) (FIRST_EPOCH_DAY + bit);
+            }
+            return result;
+        }
+        for (; i < count; d = nextTradingDay(d)) {
+            result[i++] = (int) d.toEpochDay();
+        }
+        return result;
+    }
+
+    private static int offset(LocalDate date) {
+        long k = date.toEpochDay() - FIRST_EPOCH_DAY;
+        return k < Integer.MIN_VALUE / 2 ? Integer.MIN_VALUE / 2 : k > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE / 2 : (int) k;
+    }
+
+    private static boolean inRange(int k) {
+        return k >= 0 && k < SPAN;
+    }
+
+    private static LocalDate dateAt(int k) {
+        return LocalDate.ofEpochDay(FIRST_EPOCH_DAY + k);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    static boolean isWeekday(LocalDate date) {
+        DayOfWeek dow = date.getDayOfWeek();
+        return dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY;
+    }
+}
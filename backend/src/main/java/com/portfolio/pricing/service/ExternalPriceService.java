@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -22,6 +23,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * 외부 시세 API 서비스.
@@ -29,6 +31,7 @@ import java.util.*;
  * - 국내(한국): KRX 정보데이터시스템
  *
  * 실패 시 MockPriceService로 자동 폴백한다.
+ * 현재가 일괄 조회는 벤더 일괄 API를 우선 사용하고, 나머지를 가상 스레드로 동시 호출한다.
  */
 @Service
 @Primary
@@ -38,11 +41,14 @@ import java.util.*;
 public class ExternalPriceService implements PriceService {
 
     private static final DateTimeFormatter YYYYMMDD = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int ALPHA_BULK_QUOTES_MAX_SYMBOLS = 100;
 
     private final InstrumentRepository instrumentRepository;
     private final MockPriceService fallbackPriceService;
     private final ObjectMapper objectMapper;
     private final RestTemplateBuilder restTemplateBuilder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, BigDecimal> lastPrices = new ConcurrentHashMap<>();
 
     @Value("${app.pricing.external.alpha-vantage.base-url:https://www.alphavantage.co}")
     private String alphaBaseUrl;
@@ -56,6 +62,15 @@ public class ExternalPriceService implements PriceService {
     @Value("${app.pricing.external.timeout-ms:3000}")
     private long timeoutMs;
 
+    @Value("${app.pricing.external.alpha-vantage.bulk-quotes:false}")
+    private boolean alphaBulkQuotes;
+
+    @Value("${app.pricing.external.batch-deadline-ms:5000}")
+    private long batchDeadlineMs;
+
+    @Value("${app.pricing.external.max-concurrency:8}")
+    private int maxConcurrency;
+
     private RestTemplate restTemplate() {
         return restTemplateBuilder
                 .setConnectTimeout(Duration.ofMillis(timeoutMs))
@@ -66,17 +81,58 @@ public class ExternalPriceService implements PriceService {
     @Override
     public BigDecimal getCurrentPrice(String instrumentId) {
         return resolveInstrument(instrumentId)
-                .map(instrument -> fetchExternalCurrentPrice(instrument, instrumentId)
-                        .orElseGet(() -> fallbackPriceService.getCurrentPrice(instrumentId)))
+                .flatMap(instrument -> fetchExternalCurrentPrice(instrument, instrumentId))
+                .map(price -> observe(instrumentId, price))
                 .orElseGet(() -> fallbackPriceService.getCurrentPrice(instrumentId));
     }
 
+    /**
+     * 현재가 일괄 조회
+     * 1. 종목 정보를 한 번에 조회해 벤더별로 분류 (KRX / Alpha Vantage)
+     * 2. 벤더 일괄 API를 동시 호출: KRX 전종목 시세 1회, Alpha Vantage REALTIME_BULK_QUOTES (설정 시, 100종목씩)
+     * 3. 남은 종목은 종목별 API를 가상 스레드로 동시 호출 (동시 호출 수 제한)
+     * 4. 외부 시세를 얻지 못한 종목만 Mock 가격으로 폴백
+     *
+     * 마감 시각(batch-deadline-ms)은 진입 시 한 번 정하고 2, 3 단계 전체에 적용한다.
+     */
     @Override
     public Map<String, BigDecimal> getCurrentPrices(Iterable<String> instrumentIds) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchDeadlineMs);
+        Set<String> ids = new LinkedHashSet<>();
+        instrumentIds.forEach(ids::add);
+
+        Map<String, Instrument> krx = new LinkedHashMap<>();
+        Map<String, Instrument> alpha = new LinkedHashMap<>();
+        resolveInstruments(ids).forEach((id, instrument) ->
+                (isKoreanStock(instrument) ? krx : alpha).put(id, instrument));
+
+        Map<String, BigDecimal> external = new HashMap<>();
+        Map<String, Instrument> remaining = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Map<String, BigDecimal>> krxBulk = krx.isEmpty() ? null
+                    : executor.submit(() -> fetchKrxCurrentPrices(krx, deadline));
+            Future<Map<String, BigDecimal>> alphaBulk = alpha.isEmpty() || !alphaBulkQuotes ? null
+                    : executor.submit(() -> fetchAlphaBulkCurrentPrices(alpha, deadline));
+            external.putAll(awaitBulk("KRX", krxBulk, deadline));
+            external.putAll(awaitBulk("Alpha", alphaBulk, deadline));
+
+            krx.forEach((id, instrument) -> { if (!external.containsKey(id)) remaining.put(id, instrument); });
+            alpha.forEach((id, instrument) -> { if (!external.containsKey(id)) remaining.put(id, instrument); });
+            external.putAll(fetchCurrentPricesConcurrently(remaining, executor, deadline));
+        } finally {
+            // 마감을 넘긴 호출은 기다리지 않고 중단
+            executor.shutdownNow();
+        }
+        external.forEach(this::observe);
+
         Map<String, BigDecimal> prices = new LinkedHashMap<>();
-        for (String id : instrumentIds) {
-            prices.put(id, getCurrentPrice(id));
+        for (String id : ids) {
+            BigDecimal price = external.get(id);
+            prices.put(id, price != null ? price : fallbackPriceService.getCurrentPrice(id));
         }
+        log.debug("Current prices: requested={}, krx={}, alpha={}, concurrent={}, fallback={}",
+                ids.size(), krx.size(), alpha.size(), remaining.size(), ids.size() - external.size());
         return prices;
     }
 
@@ -98,6 +154,29 @@ public class ExternalPriceService implements PriceService {
         return external.orElseGet(() -> fallbackPriceService.getHistoricalPrices(instrumentId, from, to));
     }
 
+    /**
+     * 종목별 TIME_SERIES_DAILY_ADJUSTED 다운로드를 ticker당 한 번으로 제한한다.
+     * (같은 ticker로 해석되는 종목 ID가 여러 개여도 재다운로드하지 않음)
+     */
+    @Override
+    public Map<String, Map<LocalDate, BigDecimal>> getBulkHistoricalPrices(
+            Collection<String> instrumentIds, LocalDate from, LocalDate to) {
+        Map<String, Map<LocalDate, BigDecimal>> result = new LinkedHashMap<>();
+        Map<String, Optional<Map<LocalDate, BigDecimal>>> byTicker = new HashMap<>();
+
+        for (String instrumentId : instrumentIds) {
+            if (result.containsKey(instrumentId)) continue;
+
+            Optional<Map<LocalDate, BigDecimal>> external = resolveInstrument(instrumentId)
+                    .map(Instrument::getTicker)
+                    .flatMap(ticker -> byTicker.computeIfAbsent(ticker,
+                            t -> fetchAlphaHistoricalPrices(t, from, to)));
+            result.put(instrumentId, external.orElseGet(
+                    () -> fallbackPriceService.getHistoricalPrices(instrumentId, from, to)));
+        }
+        return result;
+    }
+
     @Override
     public BigDecimal getFxRate(String fromCurrency, String toCurrency) {
         if (Objects.equals(fromCurrency, toCurrency)) {
@@ -125,9 +204,7 @@ public class ExternalPriceService implements PriceService {
 
     private Optional<BigDecimal> fetchExternalCurrentPrice(Instrument instrument, String instrumentId) {
         try {
-            boolean isKoreanStock = "KR".equalsIgnoreCase(instrument.getCountry())
-                    || (instrument.getTicker() != null && instrument.getTicker().matches("\\d{6}"));
-            if (isKoreanStock) {
+            if (isKoreanStock(instrument)) {
                 return fetchKrxCurrentPrice(instrument.getTicker());
             }
             return fetchAlphaCurrentPrice(instrument.getTicker());
@@ -138,7 +215,168 @@ public class ExternalPriceService implements PriceService {
         }
     }
 
-    private Optional<BigDecimal> fetchAlphaCurrentPrice(String ticker) {
+    /**
+     * 외부 현재가 수신 기록, 직전 값과 다르면 PriceChangedEvent 발행 (평가 캐시 무효화)
+     */
+    private BigDecimal observe(String instrumentId, BigDecimal price) {
+        BigDecimal previous = lastPrices.put(instrumentId, price);
+        if (previous != null && previous.compareTo(price) != 0) {
+            eventPublisher.publishEvent(new PriceChangedEvent(instrumentId, price));
+        }
+        return price;
+    }
+
+    private static boolean isKoreanStock(Instrument instrument) {
+        return "KR".equalsIgnoreCase(instrument.getCountry())
+                || (instrument.getTicker() != null && instrument.getTicker().matches("\\d{6}"));
+    }
+
+    /**
+     * 벤더 일괄 API 결과를 마감 시각까지만 대기, 넘기면 호출을 중단하고 빈 결과 (종목별 호출 / 폴백으로 넘어감)
+     */
+    private Map<String, BigDecimal> awaitBulk(String vendor, Future<Map<String, BigDecimal>> future, long deadline) {
+        if (future == null) return Map.of();
+        try {
+            return future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("{} bulk price fetch timed out: deadlineMs={}", vendor, batchDeadlineMs);
+        } catch (ExecutionException e) {
+            log.warn("{} bulk price fetch failed: cause={}", vendor, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Map.of();
+    }
+
+    /**
+     * 종목별 현재가 API를 가상 스레드로 동시 호출
+     * 마감 시각까지 끝나지 않은 호출은 결과에서 뺀다 (호출 측에서 중단 후 폴백).
+     */
+    private Map<String, BigDecimal> fetchCurrentPricesConcurrently(Map<String, Instrument> instruments,
+                                                                   ExecutorService executor, long deadline) {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        if (instruments.isEmpty()) return prices;
+
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        Map<String, Future<Optional<BigDecimal>>> futures = new LinkedHashMap<>();
+        instruments.forEach((id, instrument) -> futures.put(id, executor.submit(() -> {
+            permits.acquire();
+            try {
+                return fetchExternalCurrentPrice(instrument, id);
+            } finally {
+                permits.release();
+            }
+        })));
+
+        for (Map.Entry<String, Future<Optional<BigDecimal>>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get(remainingNanos(deadline), TimeUnit.NANOSECONDS)
+                        .ifPresent(price -> prices.put(entry.getKey(), price));
+            } catch (TimeoutException e) {
+                log.warn("External price fetch timed out: instrument={}, deadlineMs={}", entry.getKey(), batchDeadlineMs);
+            } catch (ExecutionException e) {
+                log.warn("External price fetch failed: instrument={}, cause={}", entry.getKey(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return prices;
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * KRX 전종목 시세 (MDCSTAT01501, mktId=ALL) 한 번으로 국내 종목 현재가 조회
+     * 휴장일이면 최근 5일 안에서 시세가 있는 마지막 거래일을 사용한다.
+     */
+    private Map<String, BigDecimal> fetchKrxCurrentPrices(Map<String, Instrument> instruments, long deadline) {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        try {
+            JsonNode outBlock = null;
+            for (int back = 0; back <= 5 && outBlock == null && remainingNanos(deadline) > 0; back++) {
+                outBlock = fetchKrxAllQuotes(LocalDate.now().minusDays(back));
+            }
+            if (outBlock == null) return prices;
+
+            Map<String, BigDecimal> byTicker = new HashMap<>();
+            for (JsonNode row : outBlock) {
+                String ticker = row.path("ISU_SRT_CD").asText(null);
+                String close = row.path("TDD_CLSPRC").asText(null);
+                if (ticker == null || close == null || close.isBlank() || "-".equals(close.trim())) continue;
+                byTicker.put(ticker, new BigDecimal(close.replace(",", "").trim()));
+            }
+            instruments.forEach((id, instrument) -> {
+                BigDecimal price = byTicker.get(instrument.getTicker());
+                if (price != null) prices.put(id, price);
+            });
+        } catch (Exception e) {
+            log.warn("KRX bulk price fetch failed: instruments={}, cause={}", instruments.size(), e.getMessage());
+        }
+        return prices;
+    }
+
+    private JsonNode fetchKrxAllQuotes(LocalDate tradeDate) throws Exception {
+        String url = krxBaseUrl + "/comm/bldAttendant/getJsonData.cmd";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("bld", "dbms/MDC/STAT/standard/MDCSTAT01501");
+        form.add("locale", "ko_KR");
+        form.add("mktId", "ALL");
+        form.add("trdDd", tradeDate.format(YYYYMMDD));
+        form.add("share", "1");
+        form.add("money", "1");
+
+        ResponseEntity<String> response = restTemplate().exchange(
+                url, HttpMethod.POST, new HttpEntity<>(form, headers), String.class);
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            return null;
+        }
+        JsonNode outBlock = objectMapper.readTree(response.getBody()).path("OutBlock_1");
+        return outBlock.isArray() && !outBlock.isEmpty() ? outBlock : null;
+    }
+
+    /**
+     * Alpha Vantage REALTIME_BULK_QUOTES (프리미엄 키 전용, 요청당 최대 100종목)
+     */
+    private Map<String, BigDecimal> fetchAlphaBulkCurrentPrices(Map<String, Instrument> instruments, long deadline) {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        if (alphaApiKey == null || alphaApiKey.isBlank()) return prices;
+
+        Map<String, List<String>> idsByTicker = new LinkedHashMap<>();
+        instruments.forEach((id, instrument) -> {
+            if (instrument.getTicker() != null && !instrument.getTicker().isBlank()) {
+                idsByTicker.computeIfAbsent(instrument.getTicker(), t -> new ArrayList<>()).add(id);
+            }
+        });
+
+        List<String> tickers = new ArrayList<>(idsByTicker.keySet());
+        for (int from = 0; from < tickers.size() && remainingNanos(deadline) > 0; from += ALPHA_BULK_QUOTES_MAX_SYMBOLS) {
+            List<String> chunk = tickers.subList(from, Math.min(from + ALPHA_BULK_QUOTES_MAX_SYMBOLS, tickers.size()));
+            try {
+                String url = alphaBaseUrl + "/query?function=REALTIME_BULK_QUOTES&symbol=" + String.join(",", chunk)
+                        + "&apikey=" + alphaApiKey;
+                JsonNode data = objectMapper.readTree(restTemplate().getForObject(url, String.class)).path("data");
+                for (JsonNode quote : data) {
+                    String close = quote.path("close").asText(null);
+                    List<String> ids = idsByTicker.get(quote.path("symbol").asText(""));
+                    if (ids == null || close == null || close.isBlank()) continue;
+                    BigDecimal price = new BigDecimal(close).setScale(2, RoundingMode.HALF_UP);
+                    ids.forEach(id -> prices.put(id, price));
+                }
+            } catch (Exception e) {
+                log.warn("Alpha bulk quote fetch failed: symbols={}, cause={}", chunk.size(), e.getMessage());
+            }
+        }
+        return prices;
+    }
+
+    private Optional<BigDecimal> fetchAlphaCurrentPrice(String ticker) throws Exception {
         if (ticker == null || ticker.isBlank() || alphaApiKey == null || alphaApiKey.isBlank()) {
             return Optional.empty();
         }
@@ -151,7 +389,7 @@ public class ExternalPriceService implements PriceService {
         return Optional.of(new BigDecimal(rawPrice).setScale(2, RoundingMode.HALF_UP));
     }
 
-    private Optional<BigDecimal> fetchKrxCurrentPrice(String ticker) {
+    private Optional<BigDecimal> fetchKrxCurrentPrice(String ticker) throws Exception {
         if (ticker == null || ticker.isBlank()) return Optional.empty();
 
         String url = krxBaseUrl + "/comm/bldAttendant/getJsonData.cmd";
@@ -230,6 +468,26 @@ public class ExternalPriceService implements PriceService {
         }
     }
 
+    /**
+     * ID 일괄 조회 후, ID로 찾지 못한 항목만 ticker로 조회
+     */
+    private Map<String, Instrument> resolveInstruments(Collection<String> instrumentIds) {
+        Map<String, Instrument> byId = new HashMap<>();
+        for (Instrument instrument : instrumentRepository.findByIdIn(new ArrayList<>(instrumentIds))) {
+            byId.put(instrument.getId(), instrument);
+        }
+
+        Map<String, Instrument> resolved = new LinkedHashMap<>();
+        for (String id : instrumentIds) {
+            Instrument instrument = byId.get(id);
+            if (instrument == null) {
+                instrument = instrumentRepository.findByTicker(id).orElse(null);
+            }
+            if (instrument != null) resolved.put(id, instrument);
+        }
+        return resolved;
+    }
+
     private Optional<Instrument> resolveInstrument(String instrumentId) {
         Optional<Instrument> byId = instrumentRepository.findById(instrumentId);
         if (byId.isPresent()) return byId;
@@ -0,0 +1,135 @@
+package com.portfolio.pricing.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 규칙으로 계산 가능한 거래소 휴장일
+ *
+ * - NYSE / NASDAQ: 고정일(관측일 이동 포함) + 요일 규칙 공휴일 + Good Friday
+ * - KRX: 양력 고정 공휴일, 대체공휴일(적용 시작 연도 기준), 근로자의 날, 연말 휴장일
+ *
+ * 음력 명절(설날 / 추석 / 부처님오신날), 선거일, 임시 휴장은 규칙으로 계산할 수 없으므로
+ * exchange_holidays 테이블에서 읽어 합친다.
+ */
+final class MarketHolidays {
+
+    private static final List<MonthDay> KRX_FIXED = List.of(
+            MonthDay.of(1, 1),     // 신정
+            MonthDay.of(3, 1),     // 삼일절
+            MonthDay.of(5, 1),     // 근로자의 날 (휴장)
+            MonthDay.of(5, 5),     // 어린이날
+            MonthDay.of(6, 6),     // 현충일
+            MonthDay.of(8, 15),    // 광복절
+            MonthDay.of(10, 3),    // 개천절
+            MonthDay.of(10, 9),    // 한글날
+            MonthDay.of(12, 25));  // 성탄절
+
+    private MarketHolidays() {
+    }
+
+    static Set<LocalDate> forExchange(String code, int fromYear, int toYear) {
+        Set<LocalDate> holidays = new HashSet<>();
+        for (int year = fromYear; year <= toYear; year++) {
+            switch (code) {
+                case "NYSE", "NASDAQ" -> addNyse(holidays, year);
+                case "KRX" -> addKrx(holidays, year);
+                default -> { }
+            }
+        }
+        return holidays;
+    }
+
+    // ========== NYSE ==========
+
+    private static void addNyse(Set<LocalDate> holidays, int year) {
+        // 신정: 일요일이면 월요일 휴장, 토요일이면 전년도 12/31은 휴장하지 않음
+        LocalDate newYear = LocalDate.of(year, 1, 1);
+        if (newYear.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            holidays.add(newYear.plusDays(1));
+        } else if (newYear.getDayOfWeek() != DayOfWeek.SATURDAY) {
+            holidays.add(newYear);
+        }
+        if (year >= 1998) {
+            holidays.add(nthWeekday(year, Month.JANUARY, DayOfWeek.MONDAY, 3));   // Martin Luther King Jr. Day
+        }
+        holidays.add(nthWeekday(year, Month.FEBRUARY, DayOfWeek.MONDAY, 3));      // Washington's Birthday
+        holidays.add(easterSunday(year).minusDays(2));                           // Good Friday
+        holidays.add(LocalDate.of(year, 5, 31).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))); // Memorial Day
+        if (year >= 2022) {
+            holidays.add(observed(LocalDate.of(year, 6, 19)));                   // Juneteenth
+        }
+        holidays.add(observed(LocalDate.of(year, 7, 4)));                        // Independence Day
+        holidays.add(nthWeekday(year, Month.SEPTEMBER, DayOfWeek.MONDAY, 1));     // Labor Day
+        holidays.add(nthWeekday(year, Month.NOVEMBER, DayOfWeek.THURSDAY, 4));    // Thanksgiving
+        holidays.add(observed(LocalDate.of(year, 12, 25)));                      // Christmas
+    }
+
+    /** 토요일 → 금요일, 일요일 → 월요일 */
+    private static LocalDate observed(LocalDate date) {
+        return switch (date.getDayOfWeek()) {
+            case SATURDAY -> date.minusDays(1);
+            case SUNDAY -> date.plusDays(1);
+            default -> date;
+        };
+    }
+
+    private static LocalDate nthWeekday(int year, Month month, DayOfWeek dayOfWeek, int n) {
+        return LocalDate.of(year, month, 1).with(TemporalAdjusters.dayOfWeekInMonth(n, dayOfWeek));
+    }
+
+    /** 부활절 (Anonymous Gregorian algorithm) */
+    static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    // ========== KRX ==========
+
+    private static void addKrx(Set<LocalDate> holidays, int year) {
+        for (MonthDay monthDay : KRX_FIXED) {
+            holidays.add(monthDay.atYear(year));
+        }
+        // 대체공휴일: 주말과 겹치면 다음 평일 (어린이날 2014~, 국경일 2021~, 성탄절 2023~)
+        substitute(holidays, LocalDate.of(year, 5, 5), year >= 2014);
+        for (MonthDay monthDay : List.of(MonthDay.of(3, 1), MonthDay.of(8, 15), MonthDay.of(10, 3), MonthDay.of(10, 9))) {
+            substitute(holidays, monthDay.atYear(year), year >= 2021);
+        }
+        substitute(holidays, LocalDate.of(year, 12, 25), year >= 2023);
+
+        // 연말 휴장일: 해당 연도 마지막 평일
+        LocalDate lastDay = LocalDate.of(year, 12, 31);
+        while (!ExchangeCalendar.isWeekday(lastDay)) {
+            lastDay = lastDay.minusDays(1);
+        }
+        holidays.add(lastDay);
+    }
+
+    private static void substitute(Set<LocalDate> holidays, LocalDate date, boolean applies) {
+        if (!applies || ExchangeCalendar.isWeekday(date)) return;
+        LocalDate d = date.plusDays(1);
+        while (!ExchangeCalendar.isWeekday(d) || holidays.contains(d)) {
+            d = d.plusDays(1);
+        }
+        holidays.add(d);
+    }
+}
@@ -1,5 +1,6 @@
 package com.portfolio.pricing.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +19,7 @@ import java.util.*;
  * - 추후 ExternalPriceService로 교체 예정
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class MockPriceService implements PriceService {
 
@@ -50,6 +52,8 @@ public class MockPriceService implements PriceService {
 
     private static final BigDecimal DEFAULT_PRICE = new BigDecimal("100.00");
 
+    private final TradingCalendar tradingCalendar;
+
     @Override
     public BigDecimal getCurrentPrice(String instrumentId) {
         BigDecimal basePrice = BASE_PRICES.getOrDefault(instrumentId, DEFAULT_PRICE);
@@ -73,14 +77,10 @@ public class MockPriceService implements PriceService {
 
     @Override
     public Map<LocalDate, BigDecimal> getHistoricalPrices(String instrumentId, LocalDate from, LocalDate to) {
+        // 종목 거래소의 거래일만 (주말 / 휴장일 제외)
         Map<LocalDate, BigDecimal> prices = new LinkedHashMap<>();
-        LocalDate current = from;
-        while (!current.isAfter(to)) {
-            // 주말 제외 (토/일)
-            if (current.getDayOfWeek().getValue() <= 5) {
-                prices.put(current, simulateHistoricalPrice(instrumentId, current));
-            }
-            current = current.plusDays(1);
+        for (LocalDate date : tradingCalendar.forInstrument(instrumentId).tradingDays(from, to)) {
+            prices.put(date, simulateHistoricalPrice(instrumentId, date));
         }
         return prices;
     }
@@ -106,6 +106,27 @@ public class MockPriceService implements PriceService {
         return BigDecimal.ONE;
     }
 
+    /**
+     * 평일마다 현재 환율(getFxRate) 주변 ±0.5% 내외로 결정론적 변동 (같은 통화쌍+날짜 = 항상 같은 환율)
+     */
+    @Override
+    public Map<LocalDate, BigDecimal> getHistoricalFxRates(String fromCurrency, String toCurrency,
+                                                           LocalDate from, LocalDate to) {
+        BigDecimal spot = getFxRate(fromCurrency, toCurrency);
+        Map<LocalDate, BigDecimal> rates = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.getDayOfWeek().getValue() > 5) continue;
+            if (fromCurrency.equals(toCurrency)) {
+                rates.put(date, BigDecimal.ONE);
+                continue;
+            }
+            Random rng = new Random(Objects.hash(fromCurrency, toCurrency, date.toString()));
+            double noise = Math.max(-0.02, Math.min(0.02, rng.nextGaussian() * 0.005));
+            rates.put(date, spot.multiply(BigDecimal.valueOf(1 + noise)).setScale(10, RoundingMode.HALF_UP));
+        }
+        return rates;
+    }
+
     /**
      * 히스토리컬 가격 시뮬레이션
      * 
@@ -0,0 +1,9 @@
+package com.portfolio.pricing.service;
+
+import java.math.BigDecimal;
+
+/**
+ * 외부 시세 수신 시 직전에 받은 현재가와 달라진 종목
+ */
+public record PriceChangedEvent(String instrumentId, BigDecimal price) {
+}
@@ -2,6 +2,8 @@ package com.portfolio.pricing.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -34,8 +36,38 @@ public interface PriceService {
      */
     Map<LocalDate, BigDecimal> getHistoricalPrices(String instrumentId, LocalDate from, LocalDate to);
 
+    /**
+     * 여러 종목의 기간 내 일별 종가 일괄 조회 (백테스트 가격 행렬 적재용)
+     * 기본 구현은 종목별 getHistoricalPrices를 한 번씩 호출한다.
+     */
+    default Map<String, Map<LocalDate, BigDecimal>> getBulkHistoricalPrices(
+            Collection<String> instrumentIds, LocalDate from, LocalDate to) {
+        Map<String, Map<LocalDate, BigDecimal>> result = new LinkedHashMap<>();
+        for (String id : instrumentIds) {
+            result.computeIfAbsent(id, k -> getHistoricalPrices(k, from, to));
+        }
+        return result;
+    }
+
+    /**
+     * 가격 데이터 버전 (백테스트 결과 캐시 키에 포함)
+     * 과거 가격이 바뀔 수 있는 시점마다 달라져야 한다. 기본 구현은 일 단위 (Mock / 외부 API 모두 당일 기준으로 시세 생성·수신).
+     */
+    default String getPriceDataVersion() {
+        return getClass().getSimpleName() + ":" + LocalDate.now();
+    }
+
     /**
      * 환율 조회 (예: USD/KRW)
      */
     BigDecimal getFxRate(String fromCurrency, String toCurrency);
+
+    /**
+     * 기간 내 일별 환율 (fromCurrency 1단위의 toCurrency 가격, 백테스트 환율 행렬 적재용)
+     * 기본 구현은 이력이 없음을 뜻하는 빈 Map (호출 측에서 getFxRate 현재 환율로 대체).
+     */
+    default Map<LocalDate, BigDecimal> getHistoricalFxRates(String fromCurrency, String toCurrency,
+                                                            LocalDate from, LocalDate to) {
+        return Map.of();
+    }
 }
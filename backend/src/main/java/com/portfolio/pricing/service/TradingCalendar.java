@@ -0,0 +1,163 @@
+package com.portfolio.pricing.service;
+
+import com.portfolio.pricing.entity.Exchange;
+import com.portfolio.pricing.entity.ExchangeHoliday;
+import com.portfolio.pricing.entity.Instrument;
+import com.portfolio.pricing.repository.ExchangeHolidayRepository;
+import com.portfolio.pricing.repository.ExchangeRepository;
+import com.portfolio.pricing.repository.InstrumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 거래소별 거래일 달력 (백테스트 / 성과 분석 / 시세 공용)
+ *
+ * - 휴장일 = 규칙 휴장일(MarketHolidays) ∪ exchange_holidays 테이블
+ * - 검증 구간: NYSE / NASDAQ는 규칙만으로 계산되므로 전 구간,
+ *   KRX는 음력 명절 / 선거일을 테이블에서 읽으므로 테이블에 휴장일이 있는 연도 구간 (현재 2010 ~ 2027)
+ *   구간 밖 요청은 warnIfUnverified로 경고를 남긴다.
+ * - 거래소별 ExchangeCalendar(epoch day 비트맵 + 누적 거래일 수)는 처음 요청 시 한 번 만들어 캐시
+ * - 종목 → 거래소: instruments.exchange_id, 없으면 티커 형식으로 추정 (6자리 숫자 = KRX, 그 외 NYSE)
+ * - 종목 → 통화: instruments.currency, 없으면 거래소로 추정 (KRX = KRW, 그 외 USD)
+ *
+ * 휴장일 테이블을 수정한 뒤에는 evict()로 캐시를 비운다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TradingCalendar {
+
+    public static final String NYSE = "NYSE";
+    public static final String KRX = "KRX";
+
+    private static final Pattern KRX_TICKER = Pattern.compile("\\d{6}");
+    /** 규칙 외 휴장일을 exchange_holidays 테이블에만 두는 거래소 */
+    private static final Set<String> TABLE_HOLIDAY_EXCHANGES = Set.of(KRX);
+
+    private final ExchangeRepository exchangeRepository;
+    private final ExchangeHolidayRepository holidayRepository;
+    private final InstrumentRepository instrumentRepository;
+
+    private final Map<String, ExchangeCalendar> calendars = new ConcurrentHashMap<>();
+    private final Map<String, String> exchangeByInstrument = new ConcurrentHashMap<>();
+    private final Map<String, String> currencyByInstrument = new ConcurrentHashMap<>();
+
+    /**
+     * 거래소 코드(NYSE, NASDAQ, KRX ...)의 달력
+     */
+    public ExchangeCalendar forExchange(String code) {
+        return calendars.computeIfAbsent(code, this::build);
+    }
+
+    /**
+     * 종목이 상장된 거래소의 달력
+     */
+    public ExchangeCalendar forInstrument(String instrumentId) {
+        return forExchange(exchangeCode(instrumentId));
+    }
+
+    /**
+     * 여러 종목의 거래소 합집합 달력 (어느 한 시장이라도 열리는 날)
+     */
+    public ExchangeCalendar forInstruments(Collection<String> instrumentIds) {
+        SortedSet<String> codes = new TreeSet<>();
+        for (String id : instrumentIds) {
+            codes.add(exchangeCode(id));
+        }
+        if (codes.isEmpty()) {
+            return forExchange(NYSE);
+        }
+        if (codes.size() == 1) {
+            return forExchange(codes.first());
+        }
+        String key = String.join("+", codes);
+        ExchangeCalendar cached = calendars.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ExchangeCalendar union = null;
+        for (String code : codes) {
+            union = union == null ? forExchange(code) : union.union(forExchange(code));
+        }
+        calendars.putIfAbsent(key, union);
+        return union;
+    }
+
+    /**
+     * 통화 기준 기본 시장 달력 (KRW → KRX, 그 외 NYSE)
+     */
+    public ExchangeCalendar forCurrency(String currency) {
+        return forExchange("KRW".equals(currency) ? KRX : NYSE);
+    }
+
+    public String exchangeCode(String instrumentId) {
+        return exchangeByInstrument.computeIfAbsent(instrumentId, id -> {
+            Optional<String> code = instrumentRepository.findById(id)
+                    .or(() -> instrumentRepository.findByTicker(id))
+                    .map(Instrument::getExchangeId)
+                    .flatMap(exchangeRepository::findById)
+                    .map(Exchange::getCode);
+            return code.orElseGet(() -> KRX_TICKER.matcher(id).matches() ? KRX : NYSE);
+        });
+    }
+
+    /**
+     * 종목의 거래 통화
+     */
+    public String currency(String instrumentId) {
+        return currencyByInstrument.computeIfAbsent(instrumentId, id -> instrumentRepository.findById(id)
+                .or(() -> instrumentRepository.findByTicker(id))
+                .map(Instrument::getCurrency)
+                .orElseGet(() -> KRX.equals(exchangeCode(id)) ? "KRW" : "USD"));
+    }
+
+    /**
+     * [from, to]가 달력의 검증 구간 밖이면 경고 (휴장일이 거래일로 취급될 수 있음)
+     */
+    public void warnIfUnverified(ExchangeCalendar calendar, LocalDate from, LocalDate to) {
+        if (!from.isAfter(to) && !calendar.isVerified(from, to)) {
+            log.warn("Trading calendar holidays not verified for requested range: exchange={}, from={}, to={}, verified={}~{}",
+                    calendar.code(), from, to, calendar.verifiedFrom(), calendar.verifiedTo());
+        }
+    }
+
+    public void evict() {
+        calendars.clear();
+        exchangeByInstrument.clear();
+        currencyByInstrument.clear();
+    }
+
+    private ExchangeCalendar build(String code) {
+        long startedAt = System.nanoTime();
+        Set<LocalDate> holidays = MarketHolidays.forExchange(code,
+                ExchangeCalendar.FIRST.getYear(), ExchangeCalendar.LAST.getYear());
+
+        int[] tableYears = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+        exchangeRepository.findByCode(code).ifPresent(exchange -> {
+            for (ExchangeHoliday holiday : holidayRepository.findByExchangeId(exchange.getId())) {
+                holidays.add(holiday.getHolidayDate());
+                tableYears[0] = Math.min(tableYears[0], holiday.getHolidayDate().getYear());
+                tableYears[1] = Math.max(tableYears[1], holiday.getHolidayDate().getYear());
+            }
+        });
+
+        ExchangeCalendar calendar;
+        if (!TABLE_HOLIDAY_EXCHANGES.contains(code)) {
+            calendar = ExchangeCalendar.of(code, holidays);
+        } else if (tableYears[0] <= tableYears[1]) {
+            calendar = ExchangeCalendar.of(code, holidays,
+                    LocalDate.of(tableYears[0], 1, 1), LocalDate.of(tableYears[1], 12, 31));
+        } else {
+            calendar = ExchangeCalendar.of(code, holidays, null, null);
+        }
+        log.debug("Built trading calendar: exchange={}, holidays={}, elapsedMs={}",
+                code, holidays.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        return calendar;
+    }
+}
@@ -0,0 +1,303 @@
+package com.portfolio.valuation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.portfolio.ledger.service.LedgerChangedEvent;
+import com.portfolio.pricing.service.PriceChangedEvent;
+import com.portfolio.valuation.service.ValuationService.PortfolioValuation;
+import com.portfolio.valuation.service.ValuationService.PositionValuation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 포트폴리오 평가 결과 캐시 (포트폴리오 × 모드)
+ *
+ * - 1차: Caffeine, 모드별 TTL (REALTIME = app.cache.valuation-realtime-ttl, EOD = app.cache.valuation-eod-ttl)
+ * - 2차: Redis (RedisTemplate 빈이 있을 때만, 노드 간 공유)
+ * - 무효화: 포트폴리오별 세대 번호를 올린다. 항목은 계산을 시작할 때의 세대로 저장되므로,
+ *   계산 중에 원장이 바뀌어도 이전 결과가 새 세대로 조회되지 않는다.
+ *   Redis가 있으면 세대 번호도 Redis에 두어 다른 노드의 1차 캐시까지 함께 무효화된다.
+ *   - 거래 생성 / 취소 / 포지션 재구성: 커밋 이후 (LedgerChangedEvent)
+ *   - 보유 종목 현재가 변경: PriceChangedEvent (이 노드가 캐시한 유효 평가 중 해당 종목을 다른 가격으로 평가한 포트폴리오)
+ *     계산 중에 자신이 조회한 현재가로 발행된 이벤트는 유효 항목이 없거나 같은 가격이므로 결과를 버리지 않는다.
+ * - 종목 → 포트폴리오 역색인은 1차 캐시 항목이 있는 동안만 유지 (만료 / 용량 초과 / 무효화 시 제거)
+ * - 지표: valuation.cache{result=hit|miss}
+ */
+@Component
+@Slf4j
+public class ValuationCache {
+
+    public static final String MODE_REALTIME = "REALTIME";
+    public static final String MODE_EOD = "EOD";
+
+    private static final String REDIS_KEY_PREFIX = "valuation:";
+    private static final String REDIS_GENERATION_PREFIX = "valuation:gen:";
+
+    private final ObjectProvider<RedisTemplate<String, Object>> redisTemplate;
+    private final Duration realtimeTtl;
+    private final Duration eodTtl;
+    private final Cache<Key, CachedValuation> local;
+    private final Map<String, AtomicLong> localGenerations = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> portfoliosByInstrument = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ValuationCache(ObjectProvider<RedisTemplate<String, Object>> redisTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.cache.valuation-realtime-ttl:20}") long realtimeTtlSeconds,
+                          @Value("${app.cache.valuation-eod-ttl:3600}") long eodTtlSeconds,
+                          @Value("${app.cache.valuation-max-size:10000}") long maximumSize) {
+        this.redisTemplate = redisTemplate;
+        this.realtimeTtl = Duration.ofSeconds(realtimeTtlSeconds);
+        this.eodTtl = Duration.ofSeconds(eodTtlSeconds);
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Key, CachedValuation>() {
+                    @Override
+                    public long expireAfterCreate(Key key, CachedValuation value, long currentTime) {
+                        return ttl(key.mode()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, CachedValuation value, long currentTime, long currentDuration) {
+                        return ttl(key.mode()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, CachedValuation value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .evictionListener((Key key, CachedValuation value, RemovalCause cause) -> {
+                    if (key != null && value != null) unmap(key, value);
+                })
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+        this.hits = Counter.builder("valuation.cache").tag("result", "hit")
+                .description("Portfolio valuations served from cache").register(meterRegistry);
+        this.misses = Counter.builder("valuation.cache").tag("result", "miss")
+                .description("Portfolio valuations that required a recomputation").register(meterRegistry);
+    }
+
+    /**
+     * 캐시 조회, 없으면 compute 결과를 저장해 반환
+     * 항목의 workspaceId가 다르면 캐시를 쓰지 않는다 (compute에서 접근 권한 확인).
+     */
+    public PortfolioValuation getOrCompute(String portfolioId, String workspaceId, String mode,
+                                           Supplier<PortfolioValuation> compute) {
+        Key key = new Key(portfolioId, mode);
+        Long generation = generation(portfolioId);
+
+        if (generation != null) {
+            CachedValuation cached = local.getIfPresent(key);
+            if (cached == null || cached.generation != generation) {
+                cached = redisGet(key, generation);
+                if (cached != null) putLocal(key, cached);
+            }
+            if (cached != null && cached.generation == generation && cached.workspaceId.equals(workspaceId)) {
+                hits.increment();
+                return cached.valuation;
+            }
+        }
+
+        misses.increment();
+        PortfolioValuation valuation = compute.get();
+        if (generation != null) {
+            put(key, new CachedValuation(workspaceId, generation, valuation));
+        }
+        return valuation;
+    }
+
+    /**
+     * 포트폴리오의 모든 모드 항목 무효화 (세대 번호 증가)
+     */
+    public void invalidate(String portfolioId) {
+        localGenerations.computeIfAbsent(portfolioId, id -> new AtomicLong()).incrementAndGet();
+        for (String mode : new String[]{MODE_REALTIME, MODE_EOD}) {
+            Key key = new Key(portfolioId, mode);
+            CachedValuation removed = local.asMap().remove(key);
+            if (removed != null) unmap(key, removed);
+        }
+
+        RedisTemplate<String, Object> redis = redisTemplate.getIfAvailable();
+        if (redis != null) {
+            try {
+                redis.opsForValue().increment(REDIS_GENERATION_PREFIX + portfolioId);
+            } catch (Exception e) {
+                log.warn("Valuation cache invalidation in Redis failed: portfolio={}", portfolioId, e);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        invalidate(event.portfolioId());
+    }
+
+    @EventListener
+    public void onPriceChanged(PriceChangedEvent event) {
+        Set<String> portfolioIds = portfoliosByInstrument.get(event.instrumentId());
+        if (portfolioIds == null) return;
+        int invalidated = 0;
+        for (String portfolioId : List.copyOf(portfolioIds)) {
+            if (pricedDifferently(portfolioId, event)) {
+                invalidate(portfolioId);
+                invalidated++;
+            }
+        }
+        log.debug("Valuation cache invalidated by price change: instrument={}, portfolios={}",
+                event.instrumentId(), invalidated);
+    }
+
+    /**
+     * 현재 세대의 1차 캐시 항목 중 해당 종목을 이벤트와 다른 가격으로 평가한 항목이 있는지
+     * (세대 번호를 읽지 못하면 무효화)
+     */
+    private boolean pricedDifferently(String portfolioId, PriceChangedEvent event) {
+        Long generation = generation(portfolioId);
+        if (generation == null) return true;
+        for (String mode : new String[]{MODE_REALTIME, MODE_EOD}) {
+            CachedValuation cached = local.getIfPresent(new Key(portfolioId, mode));
+            if (cached == null || cached.generation != generation || cached.valuation.positions == null) continue;
+            for (PositionValuation position : cached.valuation.positions) {
+                if (event.instrumentId().equals(position.instrumentId)
+                        && (position.marketPrice == null || position.marketPrice.compareTo(event.price()) != 0)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public Duration ttl(String mode) {
+        return MODE_EOD.equals(mode) ? eodTtl : realtimeTtl;
+    }
+
+    private void put(Key key, CachedValuation cached) {
+        putLocal(key, cached);
+
+        RedisTemplate<String, Object> redis = redisTemplate.getIfAvailable();
+        if (redis != null) {
+            try {
+                redis.opsForValue().set(redisKey(key, cached.generation), cached, ttl(key.mode()));
+            } catch (Exception e) {
+                log.warn("Valuation cache write to Redis failed: portfolio={}, mode={}", key.portfolioId(), key.mode(), e);
+            }
+        }
+    }
+
+    /**
+     * 1차 캐시 저장 + 보유 종목 역색인 등록
+     */
+    private void putLocal(Key key, CachedValuation cached) {
+        local.put(key, cached);
+        if (cached.valuation.positions == null) return;
+        for (PositionValuation position : cached.valuation.positions) {
+            portfoliosByInstrument.compute(position.instrumentId, (id, portfolioIds) -> {
+                Set<String> ids = portfolioIds != null ? portfolioIds : ConcurrentHashMap.<String>newKeySet();
+                ids.add(key.portfolioId());
+                return ids;
+            });
+        }
+    }
+
+    /**
+     * 1차 캐시에서 빠진 항목의 역색인 제거 (같은 포트폴리오의 다른 모드 항목이 같은 종목을 보유하면 유지)
+     */
+    private void unmap(Key key, CachedValuation removed) {
+        if (removed.valuation == null || removed.valuation.positions == null) return;
+        Key other = new Key(key.portfolioId(), MODE_EOD.equals(key.mode()) ? MODE_REALTIME : MODE_EOD);
+        for (PositionValuation position : removed.valuation.positions) {
+            portfoliosByInstrument.computeIfPresent(position.instrumentId, (id, portfolioIds) -> {
+                if (!holds(local.getIfPresent(other), id)) portfolioIds.remove(key.portfolioId());
+                return portfolioIds.isEmpty() ? null : portfolioIds;
+            });
+        }
+    }
+
+    private static boolean holds(CachedValuation cached, String instrumentId) {
+        if (cached == null || cached.valuation == null || cached.valuation.positions == null) return false;
+        return cached.valuation.positions.stream().anyMatch(p -> Objects.equals(p.instrumentId, instrumentId));
+    }
+
+    /**
+     * 포트폴리오를 보유 종목으로 색인한 종목 수 (역색인 크기 확인용)
+     */
+    int indexedInstrumentCount() {
+        return portfoliosByInstrument.size();
+    }
+
+    /**
+     * 현재 세대 번호 (Redis 조회 실패 시 null → 캐시를 건너뜀)
+     */
+    private Long generation(String portfolioId) {
+        RedisTemplate<String, Object> redis = redisTemplate.getIfAvailable();
+        if (redis == null) {
+            return localGenerations.computeIfAbsent(portfolioId, id -> new AtomicLong()).get();
+        }
+        try {
+            Object value = redis.opsForValue().get(REDIS_GENERATION_PREFIX + portfolioId);
+            return value != null ? Long.parseLong(value.toString()) : 0L;
+        } catch (Exception e) {
+            log.warn("Valuation cache generation read from Redis failed: portfolio={}", portfolioId, e);
+            return null;
+        }
+    }
+
+    private CachedValuation redisGet(Key key, long generation) {
+        RedisTemplate<String, Object> redis = redisTemplate.getIfAvailable();
+        if (redis == null) return null;
+        try {
+            Object value = redis.opsForValue().get(redisKey(key, generation));
+            return value instanceof CachedValuation cached ? cached : null;
+        } catch (Exception e) {
+            log.warn("Valuation cache read from Redis failed: portfolio={}, mode={}", key.portfolioId(), key.mode(), e);
+            return null;
+        }
+    }
+
+    private static String redisKey(Key key, long generation) {
+        return REDIS_KEY_PREFIX + key.portfolioId() + ":" + key.mode() + ":" + generation;
+    }
+
+    private record Key(String portfolioId, String mode) {
+    }
+
+    /**
+     * 캐시 항목 (Redis에는 JSON으로 저장)
+     */
+    public static class CachedValuation {
+        public String workspaceId;
+        public long generation;
+        public PortfolioValuation valuation;
+
+        public CachedValuation() {
+        }
+
+        CachedValuation(String workspaceId, long generation, PortfolioValuation valuation) {
+            this.workspaceId = workspaceId;
+            this.generation = generation;
+            this.valuation = valuation;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.portfolio.valuation.service;
+
+import com.portfolio.ledger.entity.Transaction;
+import com.portfolio.ledger.entity.TransactionLeg;
+import com.portfolio.ledger.repository.TransactionRepository;
+import com.portfolio.pricing.service.PriceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 기간 평가액 시계열 계산 (성과 분석용)
+ *
+ * 원장을 한 번 읽어 발생 시각 순으로 정렬하고, 종목별 기간 종가를 getBulkHistoricalPrices로 한 번 적재한 뒤
+ * 거래일을 앞으로 쓸어가며 포지션 / 현금을 누적한다. → O(거래일 × 보유 종목 + 거래)
+ * (기존: 거래일마다 calculateValueAtDate / getCashFlowAtDate가 각각 원장 전체를 다시 읽고 재생)
+ *
+ * 결과는 거래일마다 calculateValueAtDate / getCashFlowAtDate와 같다.
+ * - 평가액: 그날 23:59:59까지의 거래 (발생 시각 없는 거래 포함), 보유 수량 > 0인 종목만 그날 종가로 평가
+ * - 적재한 시계열에 그날 종가가 없으면 getHistoricalPrice, 그것도 없으면 현재가
+ * - 현금흐름: 그날 발생한 DEPOSIT / WITHDRAW 거래의 EXTERNAL 외 CASH leg 합계
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ValuationSeriesEngine {
+
+    private final TransactionRepository transactionRepository;
+    private final PriceService priceService;
+
+    /**
+     * 거래일별 평가액 / 외부 현금흐름
+     *
+     * @param sessions 오름차순 거래일
+     */
+    @Transactional(readOnly = true)
+    public List<DailyValuation> series(String portfolioId, LocalDate[] sessions) {
+        if (sessions.length == 0) return List.of();
+        long startedAt = System.nanoTime();
+
+        List<Transaction> transactions = new ArrayList<>(transactionRepository.findByPortfolioIdWithLegs(
+                portfolioId, Transaction.TransactionStatus.VOID));
+        transactions.sort(Comparator.comparing(Transaction::getOccurredAt,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Set<String> instrumentIds = new LinkedHashSet<>();
+        Map<LocalDate, BigDecimal> cashFlows = new HashMap<>();
+        for (Transaction tx : transactions) {
+            for (TransactionLeg leg : tx.getLegs()) {
+                if (leg.getLegType() == TransactionLeg.LegType.ASSET && leg.getInstrumentId() != null) {
+                    instrumentIds.add(leg.getInstrumentId());
+                }
+            }
+            if (tx.getOccurredAt() != null && isExternalFlow(tx)) {
+                cashFlows.merge(tx.getOccurredAt().toLocalDate(), externalCash(tx), BigDecimal::add);
+            }
+        }
+
+        Map<String, Map<LocalDate, BigDecimal>> history = instrumentIds.isEmpty()
+                ? Map.of()
+                : priceService.getBulkHistoricalPrices(instrumentIds, sessions[0], sessions[sessions.length - 1]);
+        Map<String, BigDecimal> currentPrices = new HashMap<>();
+
+        Map<String, BigDecimal> quantities = new LinkedHashMap<>();
+        BigDecimal cashBalance = BigDecimal.ZERO;
+        int cursor = 0;
+
+        List<DailyValuation> values = new ArrayList<>(sessions.length);
+        for (LocalDate date : sessions) {
+            LocalDateTime endOfDay = date.atTime(23, 59, 59);
+
+            // 그날까지의 거래 반영
+            for (; cursor < transactions.size(); cursor++) {
+                Transaction tx = transactions.get(cursor);
+                if (tx.getOccurredAt() != null && tx.getOccurredAt().isAfter(endOfDay)) break;
+
+                for (TransactionLeg leg : tx.getLegs()) {
+                    if (leg.getLegType() == TransactionLeg.LegType.ASSET && leg.getInstrumentId() != null) {
+                        if (leg.getQuantity() != null) {
+                            quantities.merge(leg.getInstrumentId(), leg.getQuantity(), BigDecimal::add);
+                        }
+                    } else if (leg.getLegType() == TransactionLeg.LegType.CASH) {
+                        if (!"EXTERNAL".equals(leg.getAccount())) {
+                            cashBalance = cashBalance.add(leg.getAmount());
+                        }
+                    }
+                }
+            }
+
+            BigDecimal totalAssetValue = BigDecimal.ZERO;
+            for (Map.Entry<String, BigDecimal> entry : quantities.entrySet()) {
+                if (entry.getValue().compareTo(BigDecimal.ZERO) <= 0) continue;
+                BigDecimal price = priceAt(entry.getKey(), date, history, currentPrices);
+                totalAssetValue = totalAssetValue.add(entry.getValue().multiply(price));
+            }
+
+            values.add(new DailyValuation(date, totalAssetValue.add(cashBalance),
+                    cashFlows.getOrDefault(date, BigDecimal.ZERO)));
+        }
+
+        log.debug("Valuation series computed: portfolio={}, sessions={}, transactions={}, instruments={}, elapsedMs={}",
+                portfolioId, sessions.length, transactions.size(), instrumentIds.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return values;
+    }
+
+    private BigDecimal priceAt(String instrumentId, LocalDate date,
+                               Map<String, Map<LocalDate, BigDecimal>> history,
+                               Map<String, BigDecimal> currentPrices) {
+        BigDecimal price = history.getOrDefault(instrumentId, Collections.emptyMap()).get(date);
+        if (price != null) return price;
+        return priceService.getHistoricalPrice(instrumentId, date)
+                .orElseGet(() -> currentPrices.computeIfAbsent(instrumentId, priceService::getCurrentPrice));
+    }
+
+    // DEPOSIT, WITHDRAW 거래의 EXTERNAL 계정 외 금액이 외부 현금흐름
+    private static boolean isExternalFlow(Transaction tx) {
+        return tx.getType() == Transaction.TransactionType.DEPOSIT
+                || tx.getType() == Transaction.TransactionType.WITHDRAW;
+    }
+
+    private static BigDecimal externalCash(Transaction tx) {
+        BigDecimal amount = BigDecimal.ZERO;
+        for (TransactionLeg leg : tx.getLegs()) {
+            if (leg.getLegType() == TransactionLeg.LegType.CASH && !"EXTERNAL".equals(leg.getAccount())) {
+                amount = amount.add(leg.getAmount());
+            }
+        }
+        return amount;
+    }
+
+    /**
+     * 거래일 평가액 (현금 포함) / 외부 현금흐름
+     */
+    public record DailyValuation(LocalDate date, BigDecimal totalValue, BigDecimal cashFlow) {
+    }
+}
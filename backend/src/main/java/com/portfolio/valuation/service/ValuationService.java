@@ -2,9 +2,11 @@ package com.portfolio.valuation.service;
 
 import com.portfolio.common.exception.BusinessException;
 import com.portfolio.common.exception.ErrorCode;
+import com.portfolio.ledger.entity.PositionSnapshot;
 import com.portfolio.ledger.entity.Transaction;
 import com.portfolio.ledger.entity.TransactionLeg;
 import com.portfolio.ledger.repository.TransactionRepository;
+import com.portfolio.ledger.service.PositionService;
 import com.portfolio.portfolio.entity.Portfolio;
 import com.portfolio.portfolio.repository.PortfolioRepository;
 import com.portfolio.pricing.entity.Instrument;
@@ -31,11 +33,26 @@ public class ValuationService {
     private final PortfolioRepository portfolioRepository;
     private final InstrumentRepository instrumentRepository;
     private final PriceService priceService;
+    private final PositionService positionService;
+    private final ValuationCache valuationCache;
+
+    /**
+     * 포트폴리오 평가 조회 (캐시 우선, 대시보드 폴링용)
+     * 모드별 TTL 동안 재계산하지 않으며, 거래 생성 / 취소나 보유 종목 현재가 변경 시 무효화된다.
+     *
+     * @param mode REALTIME | EOD
+     */
+    public PortfolioValuation getValuation(String portfolioId, String workspaceId, String mode) {
+        if (!ValuationCache.MODE_REALTIME.equals(mode) && !ValuationCache.MODE_EOD.equals(mode)) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "mode must be REALTIME or EOD");
+        }
+        return valuationCache.getOrCompute(portfolioId, workspaceId, mode,
+                () -> calculateValuation(portfolioId, workspaceId));
+    }
 
     /**
      * 포트폴리오 평가 계산
-     * - 거래 내역에서 포지션 계산 (보유 수량, 평균 단가)
-     * - 현금 잔액 계산
+     * - 물리화 포지션(position_snapshots)과 현금 잔액을 읽음 (원장 재생 없음)
      * - 시가 평가액 계산 (Mock 가격 사용)
      */
     @Transactional(readOnly = true)
@@ -43,55 +60,43 @@ public class ValuationService {
         Portfolio portfolio = portfolioRepository.findByIdAndWorkspaceId(portfolioId, workspaceId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.PORTFOLIO_NOT_FOUND));
 
-        // POSTED 거래만 조회
-        List<Transaction> transactions = transactionRepository.findByPortfolioIdWithLegs(
-                portfolioId, Transaction.TransactionStatus.VOID);
+        PositionService.Positions current = positionService.currentPositions(portfolioId);
+        BigDecimal cashBalance = current.cashBalance();
 
-        // 포지션 계산
-        Map<String, PositionAccumulator> positionMap = new LinkedHashMap<>();
-        BigDecimal cashBalance = BigDecimal.ZERO;
+        // 수량이 0이면 스킵 (전량 매도)
+        List<PositionSnapshot> held = current.snapshots().stream()
+                .filter(snapshot -> snapshot.getQuantity().compareTo(BigDecimal.ZERO) != 0)
+                .toList();
 
-        for (Transaction tx : transactions) {
-            for (TransactionLeg leg : tx.getLegs()) {
-                if (leg.getLegType() == TransactionLeg.LegType.ASSET && leg.getInstrumentId() != null) {
-                    positionMap.computeIfAbsent(leg.getInstrumentId(), k -> new PositionAccumulator())
-                            .addTrade(leg.getQuantity(), leg.getPrice(), leg.getAmount());
-                } else if (leg.getLegType() == TransactionLeg.LegType.CASH) {
-                    // EXTERNAL 계정은 포트폴리오 현금에 포함 안 함
-                    if (!"EXTERNAL".equals(leg.getAccount())) {
-                        cashBalance = cashBalance.add(leg.getAmount());
-                    }
-                }
-                // FEE, TAX는 현금에서 차감 (CASH leg에 이미 반영)
-            }
-        }
+        // Instrument 정보 / 현재가 일괄 조회 (포지션 수와 무관하게 쿼리 1회, 가격 조회 1회)
+        List<String> heldIds = held.stream().map(PositionSnapshot::getInstrumentId).toList();
+        Map<String, Instrument> instruments = heldIds.isEmpty() ? Map.of()
+                : instrumentRepository.findByIdIn(heldIds).stream()
+                        .collect(Collectors.toMap(Instrument::getId, instrument -> instrument));
+        Map<String, BigDecimal> currentPrices = heldIds.isEmpty() ? Map.of() : priceService.getCurrentPrices(heldIds);
 
         // 각 포지션 평가
         List<PositionValuation> positions = new ArrayList<>();
         BigDecimal totalAssetValue = BigDecimal.ZERO;
 
-        for (Map.Entry<String, PositionAccumulator> entry : positionMap.entrySet()) {
-            String instrumentId = entry.getKey();
-            PositionAccumulator acc = entry.getValue();
-
-            // 수량이 0이면 스킵 (전량 매도)
-            if (acc.quantity.compareTo(BigDecimal.ZERO) == 0) continue;
+        for (PositionSnapshot snapshot : held) {
+            String instrumentId = snapshot.getInstrumentId();
 
-            BigDecimal currentPrice = priceService.getCurrentPrice(instrumentId);
-            BigDecimal marketValue = acc.quantity.multiply(currentPrice);
-            BigDecimal costBasis = acc.quantity.multiply(acc.getAvgCost());
+            BigDecimal currentPrice = currentPrices.get(instrumentId);
+            BigDecimal marketValue = snapshot.getQuantity().multiply(currentPrice);
+            BigDecimal costBasis = snapshot.getQuantity().multiply(snapshot.getAvgCost());
             BigDecimal unrealizedPnl = marketValue.subtract(costBasis);
 
-            // Instrument 정보 조회 (있으면)
+            // Instrument 정보 (있으면)
             String ticker = instrumentId;
             String name = null;
-            Optional<Instrument> instrument = instrumentRepository.findById(instrumentId);
+            Instrument instrument = instruments.get(instrumentId);
             String assetClass = "EQUITY"; // default
-            if (instrument.isPresent()) {
-                ticker = instrument.get().getTicker() != null ? instrument.get().getTicker() : instrumentId;
-                name = instrument.get().getName();
-                if (instrument.get().getAssetClass() != null) {
-                    assetClass = instrument.get().getAssetClass().name();
+            if (instrument != null) {
+                ticker = instrument.getTicker() != null ? instrument.getTicker() : instrumentId;
+                name = instrument.getName();
+                if (instrument.getAssetClass() != null) {
+                    assetClass = instrument.getAssetClass().name();
                 }
             }
 
@@ -100,13 +105,13 @@ public class ValuationService {
             pv.ticker = ticker;
             pv.instrumentName = name;
             pv.assetClass = assetClass;
-            pv.quantity = acc.quantity;
-            pv.avgCost = acc.getAvgCost();
+            pv.quantity = snapshot.getQuantity();
+            pv.avgCost = snapshot.getAvgCost();
             pv.marketPrice = currentPrice;
             pv.marketValue = marketValue;
             pv.marketValueBase = marketValue; // 같은 통화면 1:1
             pv.unrealizedPnlBase = unrealizedPnl;
-            pv.realizedPnlBase = acc.realizedPnl;
+            pv.realizedPnlBase = snapshot.getRealizedPnlBase();
 
             totalAssetValue = totalAssetValue.add(marketValue);
             positions.add(pv);
@@ -0,0 +1,11 @@
+-- 현금 잔액 행을 항상 원장 쓰기 잠금 행으로 사용
+-- - materialized: 포지션 / 현금 잔액이 원장에서 물리화되었는지 (V9로 만든 행은 모두 물리화된 상태)
+-- - 행이 없던 포트폴리오는 물리화되지 않은 잠금 행을 미리 만든다 (첫 쓰기 때 원장에서 재구성)
+--   이후 생성되는 포트폴리오는 첫 쓰기 직전에 INSERT ... ON CONFLICT DO NOTHING으로 만든다
+
+ALTER TABLE portfolio_cash_balances ADD COLUMN materialized BOOLEAN NOT NULL DEFAULT TRUE;
+
+INSERT INTO portfolio_cash_balances (portfolio_id, amount, materialized)
+SELECT p.id, 0, FALSE
+  FROM portfolios p
+ WHERE NOT EXISTS (SELECT 1 FROM portfolio_cash_balances c WHERE c.portfolio_id = p.id);
@@ -0,0 +1,52 @@
+-- KRX 규칙 외 휴장일 확장 (V4: 2022~2025 → 2010~2027)
+-- - 음력 명절(설날 / 추석 / 부처님오신날)과 대체공휴일, 선거일, 임시 공휴일
+-- - TradingCalendar는 이 테이블에 KRX 휴장일이 있는 연도 범위를 검증 범위로 보고, 범위 밖 조회는 경고를 남긴다.
+--   연도를 추가할 때는 새 마이그레이션으로 해당 연도 전체를 넣는다.
+
+INSERT INTO exchange_holidays (exchange_id, holiday_date, name)
+SELECT e.id, v.holiday_date, v.name
+FROM exchanges e
+CROSS JOIN (VALUES
+    (DATE '2010-02-15', '설날'), (DATE '2010-05-21', '부처님오신날'), (DATE '2010-06-02', '지방 선거'),
+    (DATE '2010-09-21', '추석'), (DATE '2010-09-22', '추석'), (DATE '2010-09-23', '추석'),
+    (DATE '2011-02-02', '설날'), (DATE '2011-02-03', '설날'), (DATE '2011-02-04', '설날'),
+    (DATE '2011-05-10', '부처님오신날'),
+    (DATE '2011-09-12', '추석'), (DATE '2011-09-13', '추석'),
+    (DATE '2012-01-23', '설날'), (DATE '2012-01-24', '설날'),
+    (DATE '2012-04-11', '국회의원 선거'), (DATE '2012-05-28', '부처님오신날'),
+    (DATE '2012-10-01', '추석'), (DATE '2012-12-19', '대통령 선거'),
+    (DATE '2013-02-11', '설날'), (DATE '2013-05-17', '부처님오신날'),
+    (DATE '2013-09-18', '추석'), (DATE '2013-09-19', '추석'), (DATE '2013-09-20', '추석'),
+    (DATE '2014-01-30', '설날'), (DATE '2014-01-31', '설날'),
+    (DATE '2014-05-06', '부처님오신날'), (DATE '2014-06-04', '지방 선거'),
+    (DATE '2014-09-08', '추석'), (DATE '2014-09-09', '추석'), (DATE '2014-09-10', '추석 대체공휴일'),
+    (DATE '2015-02-18', '설날'), (DATE '2015-02-19', '설날'), (DATE '2015-02-20', '설날'),
+    (DATE '2015-05-25', '부처님오신날'), (DATE '2015-08-14', '임시공휴일'),
+    (DATE '2015-09-28', '추석'), (DATE '2015-09-29', '추석 대체공휴일'),
+    (DATE '2016-02-08', '설날'), (DATE '2016-02-09', '설날'), (DATE '2016-02-10', '설날 대체공휴일'),
+    (DATE '2016-04-13', '국회의원 선거'), (DATE '2016-05-06', '임시공휴일'),
+    (DATE '2016-09-14', '추석'), (DATE '2016-09-15', '추석'), (DATE '2016-09-16', '추석'),
+    (DATE '2017-01-27', '설날'), (DATE '2017-01-30', '설날 대체공휴일'),
+    (DATE '2017-05-03', '부처님오신날'), (DATE '2017-05-09', '대통령 선거'),
+    (DATE '2017-10-02', '임시공휴일'), (DATE '2017-10-04', '추석'), (DATE '2017-10-05', '추석'),
+    (DATE '2017-10-06', '추석 대체공휴일'),
+    (DATE '2018-02-15', '설날'), (DATE '2018-02-16', '설날'),
+    (DATE '2018-05-22', '부처님오신날'), (DATE '2018-06-13', '지방 선거'),
+    (DATE '2018-09-24', '추석'), (DATE '2018-09-25', '추석'), (DATE '2018-09-26', '추석 대체공휴일'),
+    (DATE '2019-02-04', '설날'), (DATE '2019-02-05', '설날'), (DATE '2019-02-06', '설날'),
+    (DATE '2019-09-12', '추석'), (DATE '2019-09-13', '추석'),
+    (DATE '2020-01-24', '설날'), (DATE '2020-01-27', '설날 대체공휴일'),
+    (DATE '2020-04-15', '국회의원 선거'), (DATE '2020-04-30', '부처님오신날'),
+    (DATE '2020-08-17', '임시공휴일'),
+    (DATE '2020-09-30', '추석'), (DATE '2020-10-01', '추석'), (DATE '2020-10-02', '추석'),
+    (DATE '2021-02-11', '설날'), (DATE '2021-02-12', '설날'), (DATE '2021-05-19', '부처님오신날'),
+    (DATE '2021-09-20', '추석'), (DATE '2021-09-21', '추석'), (DATE '2021-09-22', '추석'),
+    (DATE '2026-02-16', '설날'), (DATE '2026-02-17', '설날'), (DATE '2026-02-18', '설날'),
+    (DATE '2026-05-25', '부처님오신날 대체공휴일'), (DATE '2026-06-03', '지방 선거'),
+    (DATE '2026-09-24', '추석'), (DATE '2026-09-25', '추석'),
+    (DATE '2027-02-08', '설날'), (DATE '2027-02-09', '설날 대체공휴일'),
+    (DATE '2027-05-13', '부처님오신날'),
+    (DATE '2027-09-14', '추석'), (DATE '2027-09-15', '추석'), (DATE '2027-09-16', '추석')
+) AS v(holiday_date, name)
+WHERE e.code = 'KRX'
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,28 @@
+-- Backtest 결과 영속화
+-- - 실행 행에 성과 통계 저장 (결과 시계열을 다시 읽지 않고 목록/요약 조회)
+-- - 시계열에 누적 투자금 (DCA)
+-- - 매매 로그: DEPOSIT 행 (종목/수량/가격 없음, amount), 실행 내 순서(seq)
+--   백테스트 종목 ID는 instruments 테이블에 없을 수 있으므로 FK 제거
+
+ALTER TABLE backtest_runs
+    ADD COLUMN cagr DECIMAL(12, 6),
+    ADD COLUMN vol DECIMAL(12, 6),
+    ADD COLUMN mdd DECIMAL(12, 6),
+    ADD COLUMN sharpe DECIMAL(12, 4),
+    ADD COLUMN total_invested DECIMAL(18, 4);
+
+CREATE INDEX idx_backtest_runs_started ON backtest_runs(started_at DESC);
+
+ALTER TABLE backtest_result_series
+    ADD COLUMN total_invested DECIMAL(18, 4);
+
+ALTER TABLE backtest_trade_logs DROP CONSTRAINT IF EXISTS backtest_trade_logs_instrument_id_fkey;
+
+ALTER TABLE backtest_trade_logs
+    ALTER COLUMN instrument_id DROP NOT NULL,
+    ALTER COLUMN quantity DROP NOT NULL,
+    ALTER COLUMN price DROP NOT NULL,
+    ADD COLUMN seq INT NOT NULL DEFAULT 0,
+    ADD COLUMN amount DECIMAL(18, 4);
+
+CREATE INDEX idx_backtest_trade_logs_run_seq ON backtest_trade_logs(run_id, seq);
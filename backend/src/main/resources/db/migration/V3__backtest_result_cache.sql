@@ -0,0 +1,6 @@
+-- Backtest 결과 캐시
+-- - 같은 설정 + 가격 데이터 버전의 재실행은 시뮬레이션 없이 원본 실행의 결과를 공유
+-- - source_run_id: 결과(시계열 / 매매 로그)를 가진 원본 실행
+
+ALTER TABLE backtest_runs
+    ADD COLUMN source_run_id VARCHAR(36) REFERENCES backtest_runs(id);
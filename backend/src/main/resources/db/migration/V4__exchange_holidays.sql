@@ -0,0 +1,48 @@
+-- 거래소 휴장일
+-- - 주말 / 고정 공휴일 / 요일 규칙 공휴일(NYSE)은 TradingCalendar가 규칙으로 계산
+-- - 이 테이블은 규칙으로 계산할 수 없는 날만 보관 (음력 명절, 선거일, 임시 공휴일, 임시 휴장)
+
+INSERT INTO exchanges (id, code, name, timezone, currency) VALUES
+    ('NYSE', 'NYSE', 'New York Stock Exchange', 'America/New_York', 'USD'),
+    ('NASDAQ', 'NASDAQ', 'Nasdaq Stock Market', 'America/New_York', 'USD'),
+    ('KRX', 'KRX', '한국거래소', 'Asia/Seoul', 'KRW')
+ON CONFLICT (code) DO NOTHING;
+
+CREATE TABLE exchange_holidays (
+    exchange_id VARCHAR(36) NOT NULL REFERENCES exchanges(id),
+    holiday_date DATE NOT NULL,
+    name VARCHAR(100),
+    PRIMARY KEY (exchange_id, holiday_date)
+);
+
+INSERT INTO exchange_holidays (exchange_id, holiday_date, name)
+SELECT e.id, v.holiday_date, v.name
+FROM exchanges e
+CROSS JOIN (VALUES
+    (DATE '2022-01-31', '설날'), (DATE '2022-02-01', '설날'), (DATE '2022-02-02', '설날'),
+    (DATE '2022-03-09', '대통령 선거'), (DATE '2022-06-01', '지방 선거'),
+    (DATE '2022-09-09', '추석'), (DATE '2022-09-12', '추석 대체공휴일'),
+    (DATE '2023-01-23', '설날'), (DATE '2023-01-24', '설날 대체공휴일'),
+    (DATE '2023-05-29', '부처님오신날 대체공휴일'),
+    (DATE '2023-09-28', '추석'), (DATE '2023-09-29', '추석'), (DATE '2023-10-02', '임시공휴일'),
+    (DATE '2024-02-09', '설날'), (DATE '2024-02-12', '설날 대체공휴일'),
+    (DATE '2024-04-10', '국회의원 선거'), (DATE '2024-05-15', '부처님오신날'),
+    (DATE '2024-09-16', '추석'), (DATE '2024-09-17', '추석'), (DATE '2024-09-18', '추석'),
+    (DATE '2024-10-01', '국군의 날 임시공휴일'),
+    (DATE '2025-01-27', '임시공휴일'), (DATE '2025-01-28', '설날'), (DATE '2025-01-29', '설날'),
+    (DATE '2025-01-30', '설날'), (DATE '2025-06-03', '대통령 선거'),
+    (DATE '2025-10-06', '추석'), (DATE '2025-10-07', '추석'), (DATE '2025-10-08', '추석 대체공휴일')
+) AS v(holiday_date, name)
+WHERE e.code = 'KRX'
+ON CONFLICT DO NOTHING;
+
+INSERT INTO exchange_holidays (exchange_id, holiday_date, name)
+SELECT e.id, v.holiday_date, v.name
+FROM exchanges e
+CROSS JOIN (VALUES
+    (DATE '2012-10-29', 'Hurricane Sandy'), (DATE '2012-10-30', 'Hurricane Sandy'),
+    (DATE '2018-12-05', 'National Day of Mourning (George H.W. Bush)'),
+    (DATE '2025-01-09', 'National Day of Mourning (Jimmy Carter)')
+) AS v(holiday_date, name)
+WHERE e.code IN ('NYSE', 'NASDAQ')
+ON CONFLICT DO NOTHING;
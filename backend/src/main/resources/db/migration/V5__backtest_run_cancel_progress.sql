@@ -0,0 +1,10 @@
+-- Backtest 실행 취소 / 진행률
+-- - CANCELLED 상태 추가 (RUNNING에서만 전환)
+-- - progress: 처리한 거래일 비율 (%), eta_seconds: 남은 시간 추정 (RUNNING 중 워커가 주기적으로 갱신)
+
+ALTER TABLE backtest_runs DROP CONSTRAINT IF EXISTS backtest_runs_status_check;
+
+ALTER TABLE backtest_runs
+    ADD CONSTRAINT backtest_runs_status_check CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED', 'CANCELLED')),
+    ADD COLUMN progress DECIMAL(5, 2),
+    ADD COLUMN eta_seconds BIGINT;
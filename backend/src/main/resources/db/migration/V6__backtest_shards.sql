@@ -0,0 +1,23 @@
+-- Backtest 샤드 (스윕 변형 구간 / 몬테카를로 경로 구간 단위 분산 실행)
+-- - parent_id: 스윕 / 시뮬레이션 1건의 ID, 샤드는 완료 후 부모가 결과를 모은 뒤 삭제
+-- - 상태: PENDING → RUNNING(claim, 조건부 갱신) → DONE / FAILED
+--   claimed_at이 오래된 RUNNING 샤드는 다른 노드가 다시 가져갈 수 있음
+-- - result: 구간 결과 (IEEE 754 double 배열, big-endian)
+
+CREATE TABLE backtest_shards (
+    parent_id VARCHAR(36) NOT NULL,
+    shard_index INT NOT NULL,
+    kind VARCHAR(20) NOT NULL CHECK (kind IN ('SWEEP', 'MONTE_CARLO')),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED')),
+    range_from INT NOT NULL,
+    range_to INT NOT NULL,
+    worker VARCHAR(255),
+    claimed_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    result BYTEA,
+    error_message TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (parent_id, shard_index)
+);
+
+CREATE INDEX idx_backtest_shards_created ON backtest_shards(created_at);
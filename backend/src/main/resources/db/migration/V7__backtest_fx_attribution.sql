@@ -0,0 +1,7 @@
+-- Backtest 다중 통화
+-- - 환율 기여 분해 결과: fx_pnl_base (누적 환차손익, 기준 통화), fx_return (일별 환율 기여의 합)
+-- - 환율 이력 조회 (통화쌍 + 기간)는 fx_rates PK (base_currency, quote_currency, ts) 인덱스 사용
+
+ALTER TABLE backtest_runs
+    ADD COLUMN fx_pnl_base DECIMAL(18, 4),
+    ADD COLUMN fx_return DECIMAL(12, 6);
@@ -0,0 +1,14 @@
+-- Backtest 목록 keyset 페이지네이션
+-- - 실행: 전체 / 설정별 / 상태별 목록을 (정렬 키, id) 복합 인덱스로 커서 다음 구간만 읽음
+-- - 단일 컬럼 인덱스(config_id, status, started_at)는 복합 인덱스의 선두 컬럼으로 대체
+-- - 설정: created_at 내림차순 목록
+
+DROP INDEX IF EXISTS idx_backtest_runs_config;
+DROP INDEX IF EXISTS idx_backtest_runs_status;
+DROP INDEX IF EXISTS idx_backtest_runs_started;
+
+CREATE INDEX idx_backtest_runs_started ON backtest_runs(started_at DESC, id DESC);
+CREATE INDEX idx_backtest_runs_config_started ON backtest_runs(config_id, started_at DESC, id DESC);
+CREATE INDEX idx_backtest_runs_status_started ON backtest_runs(status, started_at DESC, id DESC);
+
+CREATE INDEX idx_backtest_configs_created ON backtest_configs(created_at DESC, id DESC);
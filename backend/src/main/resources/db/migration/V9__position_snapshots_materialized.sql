@@ -0,0 +1,19 @@
+-- 물리화 포지션: 거래 생성 / 취소와 같은 트랜잭션에서 갱신
+-- - position_snapshots: 일자별 스냅샷 대신 포트폴리오 × 종목 현재 포지션 1행 (as_of = 마지막 반영 거래 시각)
+-- - total_cost / realized_pnl_base: 원장 재생과 같은 결과가 나오도록 반올림 없이 누적
+-- - portfolio_cash_balances: 현금 잔액 + 원장 쓰기 직렬화용 잠금 행 (행이 없으면 첫 쓰기 / 조회 때 원장에서 재구성)
+
+DELETE FROM position_snapshots;
+
+DROP INDEX IF EXISTS idx_position_snapshots_as_of;
+ALTER TABLE position_snapshots DROP CONSTRAINT position_snapshots_pkey;
+ALTER TABLE position_snapshots ADD PRIMARY KEY (portfolio_id, instrument_id);
+
+ALTER TABLE position_snapshots ADD COLUMN total_cost DECIMAL(32, 14) NOT NULL DEFAULT 0;
+ALTER TABLE position_snapshots ALTER COLUMN realized_pnl_base TYPE DECIMAL(32, 14);
+
+CREATE TABLE portfolio_cash_balances (
+    portfolio_id VARCHAR(36) PRIMARY KEY REFERENCES portfolios(id),
+    amount DECIMAL(18, 4) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,105 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestMonteCarloService.*;
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.common.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestMonteCarloService 테스트")
+class BacktestMonteCarloServiceTest {
+
+    @Autowired
+    private BacktestMonteCarloService monteCarloService;
+
+    private MonteCarloRequest createRequest(long seed) {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("Monte Carlo Test");
+        config.setStartDate("2020-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("QUARTERLY");
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.6"));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal("0.4"));
+        config.setTargets(List.of(spy, bnd));
+
+        MonteCarloRequest request = new MonteCarloRequest();
+        request.setBaseConfig(config);
+        request.setPaths(500);
+        request.setYears(10);
+        request.setSeed(seed);
+        return request;
+    }
+
+    @Test
+    @DisplayName("분위수 밴드 - 오름차순, 범위 내")
+    void simulate_percentileBands() {
+        MonteCarloResult result = monteCarloService.simulate(createRequest(42L));
+
+        assertThat(result.getPaths()).isEqualTo(500);
+        assertThat(result.getTradingDays()).isGreaterThan(2500);
+        assertThat(result.getTerminalWealth()).containsOnlyKeys("p5", "p25", "p50", "p75", "p95");
+
+        for (var bands : List.of(result.getTerminalWealth(), result.getCagr(), result.getMdd())) {
+            assertThat(bands.get("p5")).isLessThanOrEqualTo(bands.get("p25"));
+            assertThat(bands.get("p25")).isLessThanOrEqualTo(bands.get("p50"));
+            assertThat(bands.get("p50")).isLessThanOrEqualTo(bands.get("p75"));
+            assertThat(bands.get("p75")).isLessThanOrEqualTo(bands.get("p95"));
+        }
+        assertThat(result.getMdd().get("p95")).isBetween(BigDecimal.ZERO, BigDecimal.ONE);
+        assertThat(result.getMddExceedance().get("0.10"))
+                .isGreaterThanOrEqualTo(result.getMddExceedance().get("0.50"));
+    }
+
+    @Test
+    @DisplayName("같은 시드 - 같은 결과")
+    void simulate_reproducibleWithSeed() {
+        MonteCarloResult first = monteCarloService.simulate(createRequest(7L));
+        MonteCarloResult second = monteCarloService.simulate(createRequest(7L));
+
+        assertThat(second.getTerminalWealth()).isEqualTo(first.getTerminalWealth());
+        assertThat(second.getMdd()).isEqualTo(first.getMdd());
+    }
+
+    @Test
+    @DisplayName("샤드 분할 실행 - 같은 시드면 단일 노드 실행과 같은 결과")
+    void simulate_shardedMatchesLocal() {
+        MonteCarloResult local = monteCarloService.simulate(createRequest(11L), 0);
+        MonteCarloResult sharded = monteCarloService.simulate(createRequest(11L), 120);
+
+        assertThat(sharded.getTerminalWealth()).isEqualTo(local.getTerminalWealth());
+        assertThat(sharded.getCagr()).isEqualTo(local.getCagr());
+        assertThat(sharded.getMdd()).isEqualTo(local.getMdd());
+        assertThat(sharded.getMddExceedance()).isEqualTo(local.getMddExceedance());
+        assertThat(sharded.getTotalInvested()).isEqualTo(local.getTotalInvested());
+    }
+
+    @Test
+    @DisplayName("경로 수 초과 - INVALID_INPUT")
+    void simulate_tooManyPaths() {
+        MonteCarloRequest request = createRequest(1L);
+        request.setPaths(BacktestMonteCarloService.MAX_PATHS + 1);
+
+        assertThatThrownBy(() -> monteCarloService.simulate(request))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.pricing.entity.FxRate;
+import com.portfolio.pricing.repository.FxRateRepository;
+import com.portfolio.pricing.service.PriceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestPriceLoader 테스트")
+class BacktestPriceLoaderTest {
+
+    @Autowired
+    private BacktestPriceLoader priceLoader;
+
+    @Autowired
+    private PriceService priceService;
+
+    @Autowired
+    private FxRateRepository fxRateRepository;
+
+    @Test
+    @DisplayName("거래일 × 종목 행렬 - 일별 조회 가격과 동일")
+    void load_matchesDailyPrices() {
+        LocalDate start = LocalDate.parse("2023-01-01");
+        LocalDate end = LocalDate.parse("2023-03-31");
+
+        PriceMatrix matrix = priceLoader.load(List.of("SPY", "BND"), start, end);
+
+        assertThat(matrix.numInstruments()).isEqualTo(2);
+        assertThat(matrix.instrumentId(0)).isEqualTo("SPY");
+        // 평일 65일 - NYSE 휴장 3일 (1/2 신정 대체, 1/16 MLK, 2/20 Presidents Day)
+        assertThat(matrix.numDays()).isEqualTo(62);
+        List<LocalDate> holidays = List.of(
+                LocalDate.parse("2023-01-02"), LocalDate.parse("2023-01-16"), LocalDate.parse("2023-02-20"));
+
+        for (int d = 0; d < matrix.numDays(); d++) {
+            LocalDate date = matrix.date(d);
+            assertThat(date.getDayOfWeek().getValue()).isLessThanOrEqualTo(5);
+            assertThat(date).isNotIn(holidays);
+            for (int i = 0; i < matrix.numInstruments(); i++) {
+                double expected = priceService.getHistoricalPrice(matrix.instrumentId(i), date)
+                        .orElseThrow().doubleValue();
+                assertThat(matrix.price(d, i)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("중복 종목 - 같은 가격 열로 적재")
+    void load_duplicateInstrument() {
+        LocalDate start = LocalDate.parse("2023-01-02");
+        LocalDate end = LocalDate.parse("2023-01-31");
+
+        PriceMatrix matrix = priceLoader.load(List.of("SPY", "SPY"), start, end);
+
+        for (int d = 0; d < matrix.numDays(); d++) {
+            assertThat(matrix.price(d, 1)).isEqualTo(matrix.price(d, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("다중 통화 - 기준 통화 가격 = 현지 가격 × 일별 환율, 기준 통화 종목은 환율 1")
+    void load_convertsToBaseCurrency() {
+        LocalDate start = LocalDate.parse("2023-01-02");
+        LocalDate end = LocalDate.parse("2023-02-28");
+
+        PriceMatrix local = priceLoader.load(List.of("SPY", "005930"), start, end);
+        PriceMatrix matrix = priceLoader.load(List.of("SPY", "005930"), Arrays.asList(null, "KRW"), "KRW", start, end);
+
+        assertThat(matrix.hasFx()).isTrue();
+        assertThat(matrix.numDays()).isEqualTo(local.numDays());
+        Map<LocalDate, BigDecimal> usdKrw = priceService.getHistoricalFxRates("USD", "KRW", start.minusDays(10), end);
+        for (int d = 0; d < matrix.numDays(); d++) {
+            double fx = matrix.fxRate(d, 0);
+            BigDecimal quoted = usdKrw.get(matrix.date(d));
+            if (quoted != null) {
+                assertThat(fx).isEqualTo(quoted.doubleValue());
+            }
+            assertThat(matrix.localPrice(d, 0)).isEqualTo(local.price(d, 0));
+            assertThat(matrix.price(d, 0)).isEqualTo(local.price(d, 0) * fx);
+            assertThat(matrix.fxRate(d, 1)).isEqualTo(1.0);
+            assertThat(matrix.price(d, 1)).isEqualTo(local.price(d, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("다중 통화 - fx_rates 이력 우선 (역방향은 역수), 빈 날은 직전 환율")
+    void load_prefersStoredFxRates() {
+        LocalDate start = LocalDate.parse("2023-03-01");
+        LocalDate end = LocalDate.parse("2023-03-10");
+        fxRateRepository.saveAll(List.of(
+                FxRate.builder().baseCurrency("KRW").quoteCurrency("EUR").ts(LocalDate.parse("2023-02-28").atTime(16, 0))
+                        .rate(new BigDecimal("0.00070000")).source("test").build(),
+                FxRate.builder().baseCurrency("KRW").quoteCurrency("EUR").ts(LocalDate.parse("2023-03-06").atTime(16, 0))
+                        .rate(new BigDecimal("0.00080000")).source("test").build()));
+        try {
+            PriceMatrix matrix = priceLoader.load(List.of("SPY"), List.of("EUR"), "KRW", start, end);
+
+            for (int d = 0; d < matrix.numDays(); d++) {
+                double expected = matrix.date(d).isBefore(LocalDate.parse("2023-03-06")) ? 1 / 0.0007 : 1 / 0.0008;
+                assertThat(matrix.fxRate(d, 0)).isCloseTo(expected, within(1e-9));
+            }
+        } finally {
+            fxRateRepository.deleteAll();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestResultCache 테스트")
+class BacktestResultCacheTest {
+
+    @Autowired
+    private BacktestService backtestService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BacktestConfig createConfig(String name, String spyWeight, String bndWeight) {
+        BacktestConfig config = new BacktestConfig();
+        config.setName(name);
+        config.setStartDate("2020-01-01");
+        config.setEndDate("2022-12-31");
+        config.setInitialCapitalBase(new BigDecimal("50000000"));
+        config.setRebalanceType("BAND");
+        config.setBandThreshold(new BigDecimal("0.05"));
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal(spyWeight));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal(bndWeight));
+
+        config.setTargets(List.of(spy, bnd));
+        return config;
+    }
+
+    private double counter(String result) {
+        return meterRegistry.counter("backtest.result.cache", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("해시 정규화 - 이름 / 소수 scale 무관, 기간·가격 버전은 구분")
+    void configHash_normalized() {
+        BacktestConfig a = createConfig("A", "0.7", "0.3");
+        BacktestConfig b = createConfig("B", "0.70", "0.300");
+
+        assertThat(BacktestResultCache.configHash(a, "v1")).isEqualTo(BacktestResultCache.configHash(b, "v1"));
+        assertThat(BacktestResultCache.configHash(a, "v1")).isNotEqualTo(BacktestResultCache.configHash(a, "v2"));
+
+        b.setEndDate("2022-12-30");
+        assertThat(BacktestResultCache.configHash(a, "v1")).isNotEqualTo(BacktestResultCache.configHash(b, "v1"));
+    }
+
+    @Test
+    @DisplayName("해시 - 종목 순서가 다르면 다른 키 (체결 우선순위 / 매매 로그 순서가 달라짐)")
+    void configHash_targetOrderMatters() {
+        BacktestConfig a = createConfig("A", "0.6", "0.4");
+        BacktestConfig b = createConfig("A", "0.6", "0.4");
+        b.setTargets(List.of(b.getTargets().get(1), b.getTargets().get(0)));
+
+        assertThat(BacktestResultCache.configHash(a, "v1")).isNotEqualTo(BacktestResultCache.configHash(b, "v1"));
+    }
+
+    @Test
+    @DisplayName("동일 설정 재실행 - 원본 결과 공유, 적중 지표 증가")
+    void rerun_servedFromCache() {
+        BacktestRun first = backtestService.runBacktest(null, createConfig("Cache Test", "0.55", "0.45"));
+        double hitsBefore = counter("hit");
+
+        BacktestRun second = backtestService.runBacktest(null, createConfig("Cache Test (copy)", "0.550", "0.45"));
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(second.getSourceRunId()).isEqualTo(first.getId());
+        assertThat(counter("hit")).isEqualTo(hitsBefore + 1);
+
+        BacktestResult original = backtestService.getResult(first.getId());
+        BacktestResult reused = backtestService.getResult(second.getId());
+        assertThat(reused.getSeries()).hasSameSizeAs(original.getSeries());
+        assertThat(reused.getTradeLogs()).hasSameSizeAs(original.getTradeLogs());
+        assertThat(reused.getStats().getCagr()).isEqualByComparingTo(original.getStats().getCagr());
+    }
+
+    @Test
+    @DisplayName("설정 변경 - 캐시 미적중")
+    void changedConfig_misses() {
+        backtestService.runBacktest(null, createConfig("Cache Miss", "0.35", "0.65"));
+        double missesBefore = counter("miss");
+
+        BacktestRun changed = backtestService.runBacktest(null, createConfig("Cache Miss", "0.36", "0.64"));
+
+        assertThat(changed.getSourceRunId()).isNull();
+        assertThat(counter("miss")).isEqualTo(missesBefore + 1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.portfolio.backtest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestResultStreamer 테스트")
+class BacktestResultStreamerTest {
+
+    @Autowired
+    private BacktestResultStreamer streamer;
+
+    @Autowired
+    private BacktestService backtestService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private BacktestRun runBacktest() {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("Stream Test");
+        config.setStartDate("2022-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("QUARTERLY");
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.6"));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal("0.4"));
+
+        config.setTargets(List.of(spy, bnd));
+        return backtestService.runBacktest(null, config);
+    }
+
+    private String write(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("NDJSON - 요약 행 + 시계열 / 매매 로그 행, 전체 결과와 일치")
+    void ndjson_matchesFullResult() throws Exception {
+        BacktestRun run = runBacktest();
+        BacktestResult full = backtestService.getResult(run.getId());
+
+        String body = write(streamer.stream(run.getId(), "ndjson", null, null, null, true, true));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+
+        assertThat(lines.get(0).get("type").asText()).isEqualTo("run");
+        assertThat(lines.get(0).get("run").get("id").asText()).isEqualTo(run.getId());
+
+        List<JsonNode> series = lines.stream().filter(n -> "series".equals(n.get("type").asText())).toList();
+        List<JsonNode> trades = lines.stream().filter(n -> "trade".equals(n.get("type").asText())).toList();
+        assertThat(series).hasSameSizeAs(full.getSeries());
+        assertThat(trades).hasSameSizeAs(full.getTradeLogs());
+        assertThat(lines).hasSize(1 + series.size() + trades.size());
+
+        SeriesPoint last = full.getSeries().get(full.getSeries().size() - 1);
+        JsonNode lastLine = series.get(series.size() - 1);
+        assertThat(lastLine.get("ts").asText()).isEqualTo(last.getTs());
+        assertThat(lastLine.get("equityCurveBase").decimalValue()).isEqualByComparingTo(last.getEquityCurveBase());
+    }
+
+    @Test
+    @DisplayName("JSON - 필드 선택과 기간 슬라이스")
+    void json_projectionAndSlice() throws Exception {
+        BacktestRun run = runBacktest();
+
+        String body = write(streamer.stream(run.getId(), "json", List.of("ts", "equityCurveBase"),
+                "2023-01-01", "2023-03-31", true, false));
+        JsonNode root = objectMapper.readTree(body);
+
+        assertThat(root.has("tradeLogs")).isFalse();
+        assertThat(root.get("stats").has("cagr")).isTrue();
+        JsonNode series = root.get("series");
+        assertThat(series.size()).isPositive();
+        for (JsonNode point : series) {
+            assertThat(point.size()).isEqualTo(2);
+            assertThat(point.get("ts").asText()).isBetween("2023-01-01", "2023-03-31");
+        }
+    }
+
+    @Test
+    @DisplayName("선택한 필드가 없는 구간 - 빈 객체 없이 생략")
+    void emptyProjection_sectionSkipped() throws Exception {
+        BacktestRun run = runBacktest();
+
+        String ndjson = write(streamer.stream(run.getId(), "ndjson", List.of("equityCurveBase"), null, null, true, true));
+        List<String> types = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            types.add(node.get("type").asText());
+            if (!"run".equals(node.get("type").asText())) {
+                assertThat(node.size()).isGreaterThan(1);
+            }
+        }
+        assertThat(types).contains("series").doesNotContain("trade");
+
+        JsonNode json = objectMapper.readTree(write(streamer.stream(run.getId(), "json", List.of("equityCurveBase"),
+                null, null, true, true)));
+        assertThat(json.has("series")).isTrue();
+        assertThat(json.has("tradeLogs")).isFalse();
+    }
+
+    @Test
+    @DisplayName("알 수 없는 필드 - INVALID_INPUT")
+    void unknownField_rejected() {
+        BacktestRun run = runBacktest();
+
+        assertThatThrownBy(() -> streamer.stream(run.getId(), "ndjson", List.of("nope"), null, null, true, true))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+}
@@ -0,0 +1,145 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestService 비동기 실행 테스트")
+class BacktestServiceAsyncTest {
+
+    @Autowired
+    private BacktestService backtestService;
+
+    private BacktestConfig createConfig() {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("Async Test");
+        config.setStartDate("2023-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("10000000"));
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(BigDecimal.ONE);
+        config.setTargets(List.of(spy));
+        return config;
+    }
+
+    private BacktestRun awaitFinished(String runId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        BacktestRun run = backtestService.getRun(runId);
+        while ("RUNNING".equals(run.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            run = backtestService.getRun(runId);
+        }
+        return run;
+    }
+
+    @Test
+    @DisplayName("submit - RUNNING 즉시 반환 후 워커에서 완료")
+    void submit_completesInBackground() throws InterruptedException {
+        BacktestRun submitted = backtestService.submitBacktest(null, createConfig());
+
+        assertThat(submitted.getId()).isNotNull();
+        assertThat(submitted.getStartedAt()).isNotNull();
+
+        BacktestRun finished = awaitFinished(submitted.getId());
+        assertThat(finished.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(finished.getFinishedAt()).isNotNull();
+        assertThat(backtestService.getResult(submitted.getId()).getSeries()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("동시 제출 - 모두 완료")
+    void submit_manyRuns() throws InterruptedException {
+        List<String> runIds = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            runIds.add(backtestService.submitBacktest(null, createConfig()).getId());
+        }
+
+        for (String runId : runIds) {
+            assertThat(awaitFinished(runId).getStatus()).isEqualTo("SUCCEEDED");
+        }
+    }
+
+    @Test
+    @DisplayName("잘못된 설정 - FAILED 상태로 기록")
+    void submit_invalidConfig_fails() throws InterruptedException {
+        BacktestConfig config = createConfig();
+        config.setTargets(List.of());
+
+        BacktestRun finished = awaitFinished(backtestService.submitBacktest(null, config).getId());
+
+        assertThat(finished.getStatus()).isEqualTo("FAILED");
+        assertThat(finished.getErrorMessage()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("취소 - CANCELLED로 전환되고 이후 결과로 덮어쓰지 않음")
+    void cancel_runningRun() throws InterruptedException {
+        BacktestConfig config = createConfig();
+        config.setStartDate("1985-01-01");
+        config.setInitialCapitalBase(new BigDecimal("12345678"));
+
+        BacktestRun submitted = backtestService.submitBacktest(null, config);
+        BacktestRun cancelled = backtestService.cancelRun(submitted.getId());
+        assertThat(cancelled.getStatus()).isEqualTo("CANCELLED");
+        assertThat(cancelled.getFinishedAt()).isNotNull();
+
+        Thread.sleep(500);
+        assertThat(backtestService.getRun(submitted.getId()).getStatus()).isEqualTo("CANCELLED");
+        assertThatThrownBy(() -> backtestService.getResult(submitted.getId()))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("취소 - 이미 끝난 실행은 BACKTEST_NOT_CANCELLABLE")
+    void cancel_finishedRun() throws InterruptedException {
+        BacktestRun finished = awaitFinished(backtestService.submitBacktest(null, createConfig()).getId());
+
+        assertThatThrownBy(() -> backtestService.cancelRun(finished.getId()))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.BACKTEST_NOT_CANCELLABLE);
+        assertThat(backtestService.getRun(finished.getId()).getProgress()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("핸들 - 체크포인트에서 진행률 갱신, 취소 시 엔진 중단")
+    void handle_progressAndCancel() {
+        int days = 2_000;
+        double[] prices = new double[days];
+        int[] months = new int[days];
+        Arrays.fill(prices, 100.0);
+
+        ColumnarBacktestEngine.Rules rules = BacktestService.toColumnarRules(createConfig());
+        ColumnarBacktestEngine engine = new ColumnarBacktestEngine(1, days);
+
+        BacktestRunHandle handle = new BacktestRunHandle("run-1", null);
+        handle.start(days);
+        engine.run(prices, months, new double[] {1.0}, rules, handle);
+        assertThat(handle.progress()).isEqualByComparingTo("89.6");   // 마지막 체크포인트 1792 / 2000
+        handle.complete();
+        assertThat(handle.progress()).isEqualByComparingTo("100");
+
+        BacktestRunHandle cancelled = new BacktestRunHandle("run-2", null);
+        cancelled.cancel();
+        assertThatThrownBy(() -> engine.run(prices, months, new double[] {1.0}, rules, cancelled))
+                .isInstanceOf(CancellationException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestService 컬럼형 엔진 테스트")
+class BacktestServiceColumnarEngineTest {
+
+    /** ColumnarBacktestEngine 문서의 허용 오차 (일별 평가액 상대 오차) */
+    private static final double TOLERANCE = 1e-6;
+
+    @Autowired
+    private BacktestService backtestService;
+
+    private BacktestConfig createBaseConfig(String engine) {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("Columnar Test");
+        config.setStartDate("2022-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("QUARTERLY");
+        config.setEngine(engine);
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.6"));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal("0.4"));
+
+        config.setTargets(List.of(spy, bnd));
+        return config;
+    }
+
+    private BacktestResult run(BacktestConfig config) {
+        BacktestRun run = backtestService.runBacktest(null, config);
+        assertThat(run.getStatus()).isEqualTo("SUCCEEDED");
+        return backtestService.getResult(run.getId());
+    }
+
+    private void assertSameResult(BacktestResult decimal, BacktestResult columnar) {
+        assertThat(columnar.getSeries()).hasSameSizeAs(decimal.getSeries());
+        assertThat(columnar.getTradeLogs()).hasSameSizeAs(decimal.getTradeLogs());
+
+        for (int i = 0; i < decimal.getSeries().size(); i++) {
+            SeriesPoint expected = decimal.getSeries().get(i);
+            SeriesPoint actual = columnar.getSeries().get(i);
+            assertThat(actual.getTs()).isEqualTo(expected.getTs());
+
+            double expectedEquity = expected.getEquityCurveBase().doubleValue();
+            double actualEquity = actual.getEquityCurveBase().doubleValue();
+            assertThat(actualEquity).isCloseTo(expectedEquity,
+                    within(Math.max(0.01, Math.abs(expectedEquity) * TOLERANCE)));
+            assertThat(actual.getTotalInvested()).isEqualByComparingTo(expected.getTotalInvested());
+        }
+
+        for (int i = 0; i < decimal.getTradeLogs().size(); i++) {
+            TradeLog expected = decimal.getTradeLogs().get(i);
+            TradeLog actual = columnar.getTradeLogs().get(i);
+            assertThat(actual.getTs()).isEqualTo(expected.getTs());
+            assertThat(actual.getAction()).isEqualTo(expected.getAction());
+            assertThat(actual.getInstrumentId()).isEqualTo(expected.getInstrumentId());
+        }
+
+        assertThat(columnar.getStats().getTotalInvested())
+                .isEqualByComparingTo(decimal.getStats().getTotalInvested());
+        assertThat(columnar.getStats().getCagr().doubleValue())
+                .isCloseTo(decimal.getStats().getCagr().doubleValue(), within(1e-5));
+        assertThat(columnar.getStats().getMdd().doubleValue())
+                .isCloseTo(decimal.getStats().getMdd().doubleValue(), within(1e-5));
+    }
+
+    @Test
+    @DisplayName("PERIODIC 리밸런싱 - DECIMAL 엔진과 결과 일치")
+    void periodic_matchesDecimalEngine() {
+        BacktestResult decimal = run(createBaseConfig(BacktestService.ENGINE_DECIMAL));
+        BacktestResult columnar = run(createBaseConfig(BacktestService.ENGINE_COLUMNAR));
+
+        assertSameResult(decimal, columnar);
+    }
+
+    @Test
+    @DisplayName("BAND 리밸런싱 - DECIMAL 엔진과 결과 일치")
+    void band_matchesDecimalEngine() {
+        BacktestConfig decimalConfig = createBaseConfig(BacktestService.ENGINE_DECIMAL);
+        decimalConfig.setRebalanceType("BAND");
+        decimalConfig.setBandThreshold(new BigDecimal("0.02"));
+        BacktestConfig columnarConfig = createBaseConfig(BacktestService.ENGINE_COLUMNAR);
+        columnarConfig.setRebalanceType("BAND");
+        columnarConfig.setBandThreshold(new BigDecimal("0.02"));
+
+        assertSameResult(run(decimalConfig), run(columnarConfig));
+    }
+
+    @Test
+    @DisplayName("DCA 월별 적립 - DECIMAL 엔진과 결과 일치")
+    void dca_matchesDecimalEngine() {
+        BacktestConfig decimalConfig = createBaseConfig(BacktestService.ENGINE_DECIMAL);
+        BacktestConfig columnarConfig = createBaseConfig(BacktestService.ENGINE_COLUMNAR);
+        for (BacktestConfig config : List.of(decimalConfig, columnarConfig)) {
+            config.setInitialCapitalBase(BigDecimal.ZERO);
+            config.setInvestmentType("DCA");
+            config.setDcaAmount(new BigDecimal("1000000"));
+            config.setDcaFrequency("MONTHLY");
+        }
+
+        BacktestResult columnar = run(columnarConfig);
+        assertSameResult(run(decimalConfig), columnar);
+
+        columnar.getTradeLogs().stream()
+                .filter(log -> "DEPOSIT".equals(log.getAction()))
+                .forEach(log -> assertThat(log.getAmount()).isEqualByComparingTo(new BigDecimal("1000000.00")));
+    }
+}
@@ -0,0 +1,101 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestService 다중 통화 테스트")
+class BacktestServiceFxTest {
+
+    @Autowired
+    private BacktestService backtestService;
+
+    @Autowired
+    private BacktestPriceLoader priceLoader;
+
+    private BacktestConfig createConfig(String engine, String baseCurrency) {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("FX Test");
+        config.setStartDate("2023-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("QUARTERLY");
+        config.setEngine(engine);
+        config.setBaseCurrency(baseCurrency);
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.5"));
+
+        TargetAlloc samsung = new TargetAlloc();
+        samsung.setInstrumentId("005930");
+        samsung.setAssetClass("EQUITY");
+        samsung.setCurrency("KRW");
+        samsung.setTargetWeight(new BigDecimal("0.5"));
+
+        config.setTargets(List.of(spy, samsung));
+        return config;
+    }
+
+    private BacktestResult run(BacktestConfig config) {
+        BacktestRun run = backtestService.runBacktest(null, config);
+        assertThat(run.getStatus()).isEqualTo("SUCCEEDED");
+        return backtestService.getResult(run.getId());
+    }
+
+    @Test
+    @DisplayName("기준 통화 지정 - 환율 기여 보고, 두 엔진 결과 일치")
+    void baseCurrency_reportsFxContribution() {
+        BacktestResult decimal = run(createConfig(BacktestService.ENGINE_DECIMAL, "KRW"));
+        BacktestResult columnar = run(createConfig(BacktestService.ENGINE_COLUMNAR, "KRW"));
+
+        assertThat(decimal.getStats().getFxPnlBase()).isNotNull().isNotZero();
+        assertThat(decimal.getStats().getFxReturn()).isNotNull();
+        assertThat(columnar.getStats().getFxPnlBase().doubleValue())
+                .isCloseTo(decimal.getStats().getFxPnlBase().doubleValue(), within(1000.0));
+        assertThat(columnar.getStats().getFxReturn().doubleValue())
+                .isCloseTo(decimal.getStats().getFxReturn().doubleValue(), within(1e-5));
+    }
+
+    @Test
+    @DisplayName("환율 기여 - 보유 수량 × 현지 가격 × 환율 변화의 합")
+    void fxAttribution_matchesHoldings() {
+        BacktestConfig config = createConfig(BacktestService.ENGINE_COLUMNAR, "KRW");
+        config.setRebalanceType("NONE");
+        BacktestResult result = run(config);
+        PriceMatrix matrix = priceLoader.load(config);
+
+        // 리밸런싱 없음: 첫날 매수 수량을 끝까지 보유
+        TradeLog spyBuy = result.getTradeLogs().stream()
+                .filter(t -> "SPY".equals(t.getInstrumentId()))
+                .findFirst().orElseThrow();
+        double quantity = spyBuy.getQuantity().doubleValue();
+        double expected = 0;
+        for (int d = 1; d < matrix.numDays(); d++) {
+            expected += quantity * matrix.localPrice(d, 0) * (matrix.fxRate(d, 0) - matrix.fxRate(d - 1, 0));
+        }
+
+        assertThat(result.getStats().getFxPnlBase().doubleValue()).isCloseTo(expected, within(0.01));
+    }
+
+    @Test
+    @DisplayName("기준 통화 미지정 - 환산 / 환율 기여 없음")
+    void noBaseCurrency_noFx() {
+        BacktestResult result = run(createConfig(BacktestService.ENGINE_COLUMNAR, null));
+
+        assertThat(result.getStats().getFxPnlBase()).isNull();
+        assertThat(result.getStats().getFxReturn()).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.repository.BacktestShardRepository;
+import com.portfolio.backtest.service.BacktestShardCoordinator.BacktestShardJob;
+import com.portfolio.backtest.service.BacktestShardCoordinator.ShardKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestShardCoordinator 테스트")
+class BacktestShardCoordinatorTest {
+
+    @Autowired
+    private BacktestShardCoordinator coordinator;
+
+    @Autowired
+    private BacktestStore store;
+
+    @Autowired
+    private BacktestShardRepository shardRepository;
+
+    private static BacktestShardJob template() {
+        BacktestShardJob job = new BacktestShardJob();
+        job.setKind(ShardKind.SWEEP);
+        return job;
+    }
+
+    @Test
+    @DisplayName("브로커 없음 - 분산 실행 비활성, 부모가 모든 샤드를 실행하고 구간 순서대로 전달")
+    void execute_withoutBroker_runsAllShardsInOrder() {
+        assertThat(coordinator.isDistributed()).isFalse();
+
+        List<int[]> ranges = new ArrayList<>();
+        double[] values = new double[10];
+        coordinator.execute(template(), 10, 4,
+                (from, to) -> {
+                    double[] result = new double[to - from];
+                    for (int i = from; i < to; i++) result[i - from] = i * i;
+                    return result;
+                },
+                (from, to, result) -> {
+                    ranges.add(new int[] {from, to});
+                    System.arraycopy(result, 0, values, from, to - from);
+                });
+
+        assertThat(ranges).containsExactly(new int[] {0, 4}, new int[] {4, 8}, new int[] {8, 10});
+        assertThat(values).containsExactly(0, 1, 4, 9, 16, 25, 36, 49, 64, 81);
+        assertThat(shardRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("워커 - claim 실패(없거나 이미 끝난 샤드)면 실행하지 않음")
+    void process_skipsUnclaimableShard() {
+        AtomicInteger calls = new AtomicInteger();
+        BacktestShardJob job = template();
+        job.setParentId("missing-parent");
+        job.setShardIndex(0);
+        job.setFrom(0);
+        job.setTo(4);
+
+        coordinator.process(job, (from, to) -> {
+            calls.incrementAndGet();
+            return new double[to - from];
+        });
+
+        store.insertShards("done-parent", ShardKind.SWEEP.name(), 4, 4);
+        store.completeShard("done-parent", 0, new double[] {1, 2, 3, 4});
+        job.setParentId("done-parent");
+        coordinator.process(job, (from, to) -> {
+            calls.incrementAndGet();
+            return new double[to - from];
+        });
+
+        assertThat(calls).hasValue(0);
+        assertThat(store.findShardResults("done-parent").get(0)).containsExactly(1, 2, 3, 4);
+        store.deleteShards("done-parent");
+    }
+}
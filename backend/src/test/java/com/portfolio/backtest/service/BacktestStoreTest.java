@@ -0,0 +1,284 @@
+package com.portfolio.backtest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backtest.repository.BacktestConfigRepository;
+import com.portfolio.backtest.repository.BacktestResultJdbcRepository;
+import com.portfolio.backtest.repository.BacktestRunRepository;
+import com.portfolio.backtest.repository.BacktestShardRepository;
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.common.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "app.backtest.result-cache-size=1")
+@ActiveProfiles("test")
+@DisplayName("BacktestStore 영속화 테스트")
+class BacktestStoreTest {
+
+    @Autowired
+    private BacktestService backtestService;
+
+    @Autowired
+    private BacktestStore store;
+
+    @Autowired
+    private BacktestConfigRepository configRepository;
+
+    @Autowired
+    private BacktestRunRepository runRepository;
+
+    @Autowired
+    private BacktestResultJdbcRepository resultRepository;
+
+    @Autowired
+    private BacktestShardRepository shardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BacktestConfig createConfig(String name) {
+        BacktestConfig config = new BacktestConfig();
+        config.setName(name);
+        config.setStartDate("2022-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(BigDecimal.ZERO);
+        config.setInvestmentType("DCA");
+        config.setDcaAmount(new BigDecimal("1000000"));
+        config.setDcaFrequency("MONTHLY");
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.7"));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal("0.3"));
+
+        config.setTargets(List.of(spy, bnd));
+        return config;
+    }
+
+    @Test
+    @DisplayName("LRU에서 밀려난 결과 - DB에서 동일하게 복원")
+    void evictedResult_loadedFromDatabase() {
+        BacktestRun first = backtestService.runBacktest(null, createConfig("Store Test 1"));
+        BacktestResult original = backtestService.getResult(first.getId());
+
+        // 캐시 크기 1 → 두 번째 실행 결과가 첫 번째를 밀어냄 (결과 캐시에 걸리지 않도록 적립 금액을 다르게)
+        BacktestConfig second = createConfig("Store Test 2");
+        second.setDcaAmount(new BigDecimal("2000000"));
+        backtestService.runBacktest(null, second);
+
+        BacktestResult loaded = backtestService.getResult(first.getId());
+        assertThat(loaded).isNotSameAs(original);
+        assertThat(loaded.getRun().getStatus()).isEqualTo("SUCCEEDED");
+
+        assertThat(loaded.getSeries()).hasSameSizeAs(original.getSeries());
+        for (int i = 0; i < original.getSeries().size(); i++) {
+            SeriesPoint expected = original.getSeries().get(i);
+            SeriesPoint actual = loaded.getSeries().get(i);
+            assertThat(actual.getTs()).isEqualTo(expected.getTs());
+            assertThat(actual.getEquityCurveBase()).isEqualByComparingTo(expected.getEquityCurveBase());
+            assertThat(actual.getTotalInvested()).isEqualByComparingTo(expected.getTotalInvested());
+        }
+
+        assertThat(loaded.getTradeLogs()).hasSameSizeAs(original.getTradeLogs());
+        for (int i = 0; i < original.getTradeLogs().size(); i++) {
+            TradeLog expected = original.getTradeLogs().get(i);
+            TradeLog actual = loaded.getTradeLogs().get(i);
+            assertThat(actual.getTs()).isEqualTo(expected.getTs());
+            assertThat(actual.getAction()).isEqualTo(expected.getAction());
+            assertThat(actual.getInstrumentId()).isEqualTo(expected.getInstrumentId());
+        }
+
+        assertThat(loaded.getStats().getCagr()).isEqualByComparingTo(original.getStats().getCagr());
+        assertThat(loaded.getStats().getMdd()).isEqualByComparingTo(original.getStats().getMdd());
+        assertThat(loaded.getStats().getTotalInvested())
+                .isEqualByComparingTo(original.getStats().getTotalInvested());
+    }
+
+    @Test
+    @DisplayName("매매 로그 페이지 - LRU / DB 어느 쪽에서 읽어도 같은 구간")
+    void tradeLogPage_sameFromCacheAndDatabase() {
+        BacktestRun first = backtestService.runBacktest(null, createConfig("Store Page 1"));
+        TradeLogPage cached = backtestService.getTradeLogs(first.getId(), 5, 10);
+
+        BacktestConfig second = createConfig("Store Page 2");
+        second.setDcaAmount(new BigDecimal("3000000"));
+        backtestService.runBacktest(null, second);
+
+        TradeLogPage loaded = backtestService.getTradeLogs(first.getId(), 5, 10);
+        assertThat(cached.getTotal()).isGreaterThan(15);
+        assertThat(loaded.getTotal()).isEqualTo(cached.getTotal());
+        assertThat(loaded.getItems()).hasSize(10).isEqualTo(cached.getItems());
+
+        TradeLogPage tail = backtestService.getTradeLogs(first.getId(), cached.getTotal() - 3, 10);
+        assertThat(tail.getItems()).hasSize(3);
+        assertThatThrownBy(() -> backtestService.getTradeLogs(first.getId(), 0, 0))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("설정 / 실행 조회 - DB 기준")
+    void configAndRun_persisted() {
+        BacktestRun run = backtestService.runBacktest(null, createConfig("Store Test 3"));
+
+        BacktestConfig config = backtestService.getConfig(run.getConfigId());
+        assertThat(config.getName()).isEqualTo("Store Test 3");
+        assertThat(config.getInvestmentType()).isEqualTo("DCA");
+        assertThat(config.getDcaAmount()).isEqualByComparingTo("1000000");
+        assertThat(config.getTargets()).extracting(TargetAlloc::getInstrumentId).containsExactly("SPY", "BND");
+
+        assertThat(backtestService.getRun(run.getId()).getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(backtestService.listRuns(run.getConfigId(), null, null, 50).getItems())
+                .extracting(BacktestRun::getId)
+                .containsExactly(run.getId());
+    }
+
+    @Test
+    @DisplayName("실행 목록 - 커서로 끝까지 중복 없이, 최근 시작 순, 상태 필터")
+    void listRuns_cursorPagination() {
+        BacktestRun first = backtestService.runBacktest(null, createConfig("Store List"));
+        String configId = first.getConfigId();
+        for (int k = 0; k < 4; k++) {
+            backtestService.runBacktest(configId, null);   // 결과 캐시 적중 → 즉시 SUCCEEDED 실행 추가
+        }
+
+        List<BacktestRun> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<BacktestRun> page = backtestService.listRuns(configId, null, cursor, 2);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(all).extracting(BacktestRun::getId).doesNotHaveDuplicates().hasSize(5).contains(first.getId());
+        assertThat(all).extracting(r -> Instant.parse(r.getStartedAt()))
+                .isSortedAccordingTo(Comparator.reverseOrder());
+
+        assertThat(backtestService.listRuns(configId, "SUCCEEDED", null, 50).getItems()).hasSize(5);
+        assertThat(backtestService.listRuns(configId, "FAILED", null, 50).getItems()).isEmpty();
+        assertThat(backtestService.listConfigs(null, 50).getItems()).extracting(BacktestConfig::getId).contains(configId);
+        assertThatThrownBy(() -> backtestService.listRuns(configId, "DONE", null, 50))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> backtestService.listRuns(configId, null, "not-a-cursor", 50))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("결과 저장 중 취소 - SUCCEEDED로 덮어쓰지 않고 결과 행도 롤백")
+    void saveResult_cancelledConcurrently_staysCancelled() {
+        BacktestRun source = backtestService.runBacktest(null, createConfig("Store Cancel"));
+        BacktestResult result = backtestService.getResult(source.getId());
+
+        BacktestRun run = new BacktestRun();
+        run.setId(UUID.randomUUID().toString());
+        run.setConfigId(source.getConfigId());
+        run.setStatus("RUNNING");
+        run.setStartedAt(Instant.now().toString());
+        store.insertRun(run);
+
+        // 취소 상태 확인 이후, 결과 행을 쓰기 직전에 다른 트랜잭션에서 취소가 커밋됨
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        BacktestResultJdbcRepository interleaving = new BacktestResultJdbcRepository(jdbcTemplate) {
+            @Override
+            public void insertSeries(String runId, List<SeriesPoint> series) {
+                Boolean cancelled = requiresNew.execute(status -> store.cancelRun(runId));
+                assertThat(cancelled).isTrue();
+                super.insertSeries(runId, series);
+            }
+        };
+        BacktestStore racingStore = new BacktestStore(configRepository, runRepository, interleaving,
+                shardRepository, objectMapper);
+
+        run.setFinishedAt(Instant.now().toString());
+        run.setStatus("SUCCEEDED");
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> racingStore.saveResult(run, result)))
+                .isInstanceOf(CancellationException.class);
+
+        assertThat(backtestService.getRun(run.getId()).getStatus()).isEqualTo("CANCELLED");
+        assertThat(resultRepository.findSeries(run.getId())).isEmpty();
+        assertThat(resultRepository.findTradeLogs(run.getId()).size()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패 기록 - RUNNING만 FAILED로, 이미 취소된 실행은 CANCELLED 유지")
+    void failRun_onlyWhileRunning() {
+        BacktestRun source = backtestService.runBacktest(null, createConfig("Store Fail"));
+        BacktestRun failing = insertRunning(source.getConfigId());
+        BacktestRun cancelled = insertRunning(source.getConfigId());
+        assertThat(store.cancelRun(cancelled.getId())).isTrue();
+
+        for (BacktestRun run : List.of(failing, cancelled)) {
+            run.setFinishedAt(Instant.now().toString());
+            run.setErrorMessage("price feed unavailable");
+            run.setStatus("FAILED");
+        }
+
+        assertThat(store.failRun(failing)).isTrue();
+        assertThat(store.failRun(cancelled)).isFalse();
+
+        BacktestRun failed = backtestService.getRun(failing.getId());
+        assertThat(failed.getStatus()).isEqualTo("FAILED");
+        assertThat(failed.getErrorMessage()).isEqualTo("price feed unavailable");
+        assertThat(failed.getFinishedAt()).isNotNull();
+        BacktestRun stillCancelled = backtestService.getRun(cancelled.getId());
+        assertThat(stillCancelled.getStatus()).isEqualTo("CANCELLED");
+        assertThat(stillCancelled.getErrorMessage()).isNull();
+    }
+
+    @Test
+    @DisplayName("결과 다운샘플링 - maxPoints < MIN_POINTS는 시계열 길이와 무관하게 거부")
+    void getResult_rejectsSmallMaxPoints() {
+        BacktestRun run = backtestService.runBacktest(null, createConfig("Store MaxPoints"));
+        int size = backtestService.getResult(run.getId()).getSeries().size();
+
+        assertThat(backtestService.getResult(run.getId(), size).getSeries()).hasSize(size);
+        assertThat(backtestService.getResult(run.getId(), 3).getSeries()).hasSizeLessThanOrEqualTo(3);
+        assertThatThrownBy(() -> backtestService.getResult(run.getId(), 2))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> backtestService.getResult(run.getId(), 0))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private BacktestRun insertRunning(String configId) {
+        BacktestRun run = new BacktestRun();
+        run.setId(UUID.randomUUID().toString());
+        run.setConfigId(configId);
+        run.setStatus("RUNNING");
+        run.setStartedAt(Instant.now().toString());
+        store.insertRun(run);
+        return run;
+    }
+}
@@ -0,0 +1,158 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.backtest.service.BacktestSweepService.*;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestSweepService 테스트")
+class BacktestSweepServiceTest {
+
+    @Autowired
+    private BacktestSweepService sweepService;
+
+    @Autowired
+    private BacktestService backtestService;
+
+    private BacktestConfig createBaseConfig() {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("Sweep Test");
+        config.setStartDate("2021-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("QUARTERLY");
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.6"));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal("0.4"));
+
+        config.setTargets(List.of(spy, bnd));
+        return config;
+    }
+
+    @Test
+    @DisplayName("그리드 확장 - 주기 × 밴드 × 비중 격자")
+    void sweep_expandsGrid() {
+        SweepRequest request = new SweepRequest();
+        request.setBaseConfig(createBaseConfig());
+        request.setRebalancePeriods(List.of("MONTHLY", "ANNUAL"));
+        SweepRange bands = new SweepRange();
+        bands.setFrom(new BigDecimal("0.02"));
+        bands.setTo(new BigDecimal("0.10"));
+        bands.setStep(new BigDecimal("0.04"));
+        request.setBandThresholds(bands);
+        request.setTargetWeightStep(new BigDecimal("0.25"));
+
+        SweepResult result = sweepService.sweep(request);
+
+        // (2 주기 + 3 밴드) × 5 비중 조합
+        assertThat(result.getVariantCount()).isEqualTo(25);
+        assertThat(result.getRows()).hasSize(25);
+        assertThat(result.getRows().get(0).getRank()).isEqualTo(1);
+
+        List<BigDecimal> sharpes = result.getRows().stream()
+                .map(SweepRow::getSharpe)
+                .filter(s -> s != null)
+                .toList();
+        for (int i = 1; i < sharpes.size(); i++) {
+            assertThat(sharpes.get(i)).isLessThanOrEqualTo(sharpes.get(i - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("변형 결과 - 단일 실행 통계와 일치")
+    void sweep_matchesSingleRun() {
+        SweepRequest request = new SweepRequest();
+        request.setBaseConfig(createBaseConfig());
+        request.setTargetWeightSets(List.of(
+                List.of(new BigDecimal("0.6"), new BigDecimal("0.4")),
+                List.of(new BigDecimal("0.3"), new BigDecimal("0.7"))));
+        request.setSortBy("CAGR");
+
+        SweepResult result = sweepService.sweep(request);
+        assertThat(result.getVariantCount()).isEqualTo(2);
+
+        BacktestConfig single = createBaseConfig();
+        single.setEngine(BacktestService.ENGINE_COLUMNAR);
+        BacktestRun run = backtestService.runBacktest(null, single);
+        PerformanceStats stats = backtestService.getResult(run.getId()).getStats();
+
+        SweepRow row = result.getRows().stream()
+                .filter(r -> r.getWeights().get("SPY").compareTo(new BigDecimal("0.6")) == 0)
+                .findFirst()
+                .orElseThrow();
+        assertThat(row.getCagr().doubleValue()).isCloseTo(stats.getCagr().doubleValue(), within(1e-5));
+        assertThat(row.getMdd().doubleValue()).isCloseTo(stats.getMdd().doubleValue(), within(1e-5));
+        assertThat(row.getVol().doubleValue()).isCloseTo(stats.getVol().doubleValue(), within(1e-5));
+    }
+
+    @Test
+    @DisplayName("샤드 분할 평가 - 단일 노드 평가와 같은 순위표")
+    void sweep_shardedMatchesLocal() {
+        SweepRequest request = new SweepRequest();
+        request.setBaseConfig(createBaseConfig());
+        request.setRebalancePeriods(List.of("MONTHLY", "ANNUAL"));
+        request.setTargetWeightStep(new BigDecimal("0.1"));
+
+        SweepResult local = sweepService.sweep(request, 0);
+        SweepResult sharded = sweepService.sweep(request, 5);
+
+        assertThat(sharded.getVariantCount()).isEqualTo(22);
+        assertThat(sharded.getRows()).isEqualTo(local.getRows());
+    }
+
+    @Test
+    @DisplayName("최대 변형 수 초과 - BACKTEST_SWEEP_TOO_LARGE")
+    void sweep_tooLarge() {
+        SweepRequest request = new SweepRequest();
+        request.setBaseConfig(createBaseConfig());
+        SweepRange dca = new SweepRange();
+        dca.setFrom(new BigDecimal("1000"));
+        dca.setTo(new BigDecimal("100000000"));
+        dca.setStep(new BigDecimal("1000"));
+        request.setDcaAmounts(dca);
+
+        assertThatThrownBy(() -> sweepService.sweep(request))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.BACKTEST_SWEEP_TOO_LARGE);
+    }
+
+    @Test
+    @DisplayName("전략 / 위험 기반 비중이 지정된 기준 설정 - INVALID_INPUT")
+    void sweep_rejectsDynamicBaseConfig() {
+        SweepRequest strategy = new SweepRequest();
+        strategy.setBaseConfig(createBaseConfig());
+        strategy.getBaseConfig().setStrategy("DUAL_MOMENTUM");
+
+        SweepRequest weighting = new SweepRequest();
+        weighting.setBaseConfig(createBaseConfig());
+        weighting.getBaseConfig().setWeighting("INVERSE_VOL");
+
+        for (SweepRequest request : List.of(strategy, weighting)) {
+            assertThatThrownBy(() -> sweepService.sweep(request))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting(e -> ((BusinessException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.INVALID_INPUT);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.backtest.service.BacktestSweepService.SweepRange;
+import com.portfolio.backtest.service.BacktestWalkForwardService.*;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import com.portfolio.common.util.StreamingPerformanceStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BacktestWalkForwardService 테스트")
+class BacktestWalkForwardServiceTest {
+
+    @Autowired
+    private BacktestWalkForwardService walkForwardService;
+
+    @Autowired
+    private BacktestService backtestService;
+
+    private BacktestConfig createBaseConfig() {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("Walk-forward Test");
+        config.setStartDate("2018-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("QUARTERLY");
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.6"));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal("0.4"));
+
+        config.setTargets(List.of(spy, bnd));
+        return config;
+    }
+
+    @Test
+    @DisplayName("롤링 창 - 창 수 / 구간 / 후보 선택")
+    void rollingWindows() {
+        WalkForwardRequest request = new WalkForwardRequest();
+        request.setBaseConfig(createBaseConfig());
+        request.setRebalancePeriods(List.of("MONTHLY", "ANNUAL"));
+        SweepRange bands = new SweepRange();
+        bands.setValues(List.of(new BigDecimal("0.05"), new BigDecimal("0.10")));
+        request.setBandThresholds(bands);
+        request.setInSampleMonths(24);
+        request.setOutOfSampleMonths(12);
+
+        WalkForwardResult result = walkForwardService.optimize(request);
+
+        // 72개월, in-sample 24 → out-of-sample 2020 / 2021 / 2022 / 2023
+        assertThat(result.getCandidateCount()).isEqualTo(4);
+        assertThat(result.getWindows()).hasSize(4);
+        WalkForwardWindow first = result.getWindows().get(0);
+        assertThat(first.getInSampleStart()).startsWith("2018-01");
+        assertThat(first.getInSampleEnd()).startsWith("2019-12");
+        assertThat(first.getOutOfSampleStart()).startsWith("2020-01");
+        assertThat(result.getWindows().get(3).getOutOfSampleEnd()).startsWith("2023-12");
+        assertThat(result.getWindows()).allSatisfy(w -> assertThat(w.getRebalanceType()).isIn("PERIODIC", "BAND"));
+
+        assertThat(result.getSeries().get(0).getTs()).isEqualTo(first.getInSampleEnd());
+        assertThat(result.getMdd()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("후보 1개 - 연결 곡선이 전체 실행 곡선의 out-of-sample 구간과 일치")
+    void singleCandidate_matchesFullRun() {
+        WalkForwardRequest request = new WalkForwardRequest();
+        request.setBaseConfig(createBaseConfig());
+        request.setInSampleMonths(12);
+        request.setOutOfSampleMonths(6);
+        request.setAnchored(true);
+
+        WalkForwardResult result = walkForwardService.optimize(request);
+
+        BacktestConfig single = createBaseConfig();
+        single.setEngine(BacktestService.ENGINE_COLUMNAR);
+        List<SeriesPoint> full = backtestService.getResult(backtestService.runBacktest(null, single).getId()).getSeries();
+
+        String oosBase = result.getSeries().get(0).getTs();
+        double baseEquity = full.stream().filter(p -> p.getTs().equals(oosBase)).findFirst().orElseThrow()
+                .getEquityCurveBase().doubleValue();
+        double fullGrowth = full.get(full.size() - 1).getEquityCurveBase().doubleValue() / baseEquity;
+        double stitchedGrowth = result.getSeries().get(result.getSeries().size() - 1).getEquity().doubleValue() / 1e8;
+
+        assertThat(stitchedGrowth).isCloseTo(fullGrowth, within(1e-6));
+        assertThat(result.getWindows().get(0).getInSampleStart())
+                .isEqualTo(result.getWindows().get(result.getWindows().size() - 1).getInSampleStart());
+    }
+
+    @Test
+    @DisplayName("구간 지표 - 누적합 계산이 스트리밍 통계와 일치")
+    void score_matchesStreamingStats() {
+        Random random = new Random(7);
+        int days = 500;
+        double[] r1 = new double[days];
+        double[] r2 = new double[days];
+        double[] lg = new double[days];
+        double[] equity = new double[days];
+        equity[0] = 100;
+        for (int d = 1; d < days; d++) {
+            double r = random.nextGaussian() * 0.01;
+            equity[d] = equity[d - 1] * (1 + r);
+            r1[d] = r1[d - 1] + r;
+            r2[d] = r2[d - 1] + r * r;
+            lg[d] = lg[d - 1] + Math.log1p(r);
+        }
+
+        int a = 120;
+        int b = 370;
+        StreamingPerformanceStats stats = new StreamingPerformanceStats();
+        for (int d = a; d <= b; d++) {
+            stats.add(equity[d], 0);
+        }
+        double vol = stats.annualizedVolatility(BacktestService.TRADING_DAYS_PER_YEAR);
+        double cagr = Math.pow(equity[b] / equity[a], (double) BacktestService.TRADING_DAYS_PER_YEAR / (b - a)) - 1;
+
+        assertThat(BacktestWalkForwardService.score("MDD", r1, r2, lg, a, b)).isCloseTo(stats.maxDrawdown(), within(1e-9));
+        assertThat(BacktestWalkForwardService.score("CAGR", r1, r2, lg, a, b)).isCloseTo(cagr, within(1e-9));
+        assertThat(BacktestWalkForwardService.score("SHARPE", r1, r2, lg, a, b))
+                .isCloseTo((cagr - BacktestService.RISK_FREE_RATE) / vol, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("기간 부족 - INVALID_INPUT")
+    void periodTooShort() {
+        WalkForwardRequest request = new WalkForwardRequest();
+        request.setBaseConfig(createBaseConfig());
+        request.setInSampleMonths(120);
+
+        assertThatThrownBy(() -> walkForwardService.optimize(request))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+}
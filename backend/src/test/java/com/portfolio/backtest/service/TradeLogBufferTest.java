@@ -0,0 +1,88 @@
+package com.portfolio.backtest.service;
+
+import com.portfolio.backtest.service.BacktestService.TradeLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TradeLogBuffer 테스트")
+class TradeLogBufferTest {
+
+    private static TradeLogBuffer sample() {
+        TradeLogBuffer buffer = new TradeLogBuffer(
+                new String[]{"2024-01-02", "2024-01-03"}, new String[]{"SPY", "QQQ"}, 1);
+        buffer.record(0, -1, ColumnarBacktestEngine.ACTION_DEPOSIT, 0, 1_000_000, 0);
+        buffer.record(0, 0, ColumnarBacktestEngine.ACTION_BUY, 12.345678, 470.123, 5.8049);
+        buffer.record(1, 1, ColumnarBacktestEngine.ACTION_SELL, 3.5, 400.5, 1.2);
+        return buffer;
+    }
+
+    @Test
+    @DisplayName("get - 요청한 건만 TradeLog로 변환, API 소수 자릿수로 반올림")
+    void get_materializesWithScales() {
+        TradeLogBuffer buffer = sample();
+
+        assertThat(buffer).hasSize(3);
+        TradeLog deposit = buffer.get(0);
+        assertThat(deposit.getAction()).isEqualTo("DEPOSIT");
+        assertThat(deposit.getInstrumentId()).isNull();
+        assertThat(deposit.getAmount()).isEqualTo(new BigDecimal("1000000.00"));
+
+        TradeLog buy = buffer.get(1);
+        assertThat(buy.getTs()).isEqualTo("2024-01-02");
+        assertThat(buy.getInstrumentId()).isEqualTo("SPY");
+        assertThat(buy.getAction()).isEqualTo("BUY");
+        assertThat(buy.getQuantity()).isEqualTo(new BigDecimal("12.3457"));
+        assertThat(buy.getPrice()).isEqualTo(new BigDecimal("470.12"));
+        assertThat(buy.getFee()).isEqualTo(new BigDecimal("5.80"));
+
+        assertThat(buffer.get(2).getAction()).isEqualTo("SELL");
+        assertThat(buffer.get(2)).isNotSameAs(buffer.get(2)).isEqualTo(buffer.get(2));
+        assertThatThrownBy(() -> buffer.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("page - 범위를 넘으면 있는 만큼만")
+    void page_clampsToSize() {
+        TradeLogBuffer buffer = sample();
+
+        assertThat(buffer.page(1, 1)).containsExactly(buffer.get(1));
+        assertThat(buffer.page(1, Integer.MAX_VALUE)).hasSize(2);
+        assertThat(buffer.page(3, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("append - DB 행을 사전으로 압축해 같은 TradeLog로 복원")
+    void append_roundTripsRows() {
+        TradeLogBuffer original = sample();
+        TradeLogBuffer loaded = new TradeLogBuffer();
+        for (TradeLog log : original) {
+            loaded.append(log.getTs(), log.getInstrumentId(), log.getAction(),
+                    log.getQuantity() != null ? log.getQuantity().doubleValue() : 0,
+                    log.getPrice() != null ? log.getPrice().doubleValue() : 0,
+                    log.getFee() != null ? log.getFee().doubleValue() : 0,
+                    log.getAmount() != null ? log.getAmount().doubleValue() : 0);
+        }
+
+        assertThat(loaded).isEqualTo(original);
+        assertThat(loaded.day(2)).isEqualTo(1);
+        assertThat(loaded.action(2)).isEqualTo(ColumnarBacktestEngine.ACTION_SELL);
+    }
+
+    @Test
+    @DisplayName("record - 용량을 넘으면 확장")
+    void record_grows() {
+        TradeLogBuffer buffer = new TradeLogBuffer(new String[]{"2024-01-02"}, new String[]{"SPY"}, 1);
+        for (int k = 0; k < 1_000; k++) {
+            buffer.record(0, 0, ColumnarBacktestEngine.ACTION_BUY, k, 100, 0.1);
+        }
+
+        assertThat(buffer).hasSize(1_000);
+        assertThat(buffer.quantity(999)).isEqualTo(999);
+        assertThat(List.copyOf(buffer)).hasSize(1_000);
+    }
+}
@@ -0,0 +1,145 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.backtest.service.BacktestService;
+import com.portfolio.backtest.service.BacktestService.*;
+import com.portfolio.common.exception.BusinessException;
+import com.portfolio.common.exception.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("백테스트 전략 테스트")
+class BacktestStrategyTest {
+
+    @Autowired
+    private BacktestService backtestService;
+
+    private BacktestConfig createConfig(String strategy, Map<String, BigDecimal> params) {
+        BacktestConfig config = new BacktestConfig();
+        config.setName("Strategy Test");
+        config.setStartDate("2020-01-01");
+        config.setEndDate("2023-12-31");
+        config.setInitialCapitalBase(new BigDecimal("100000000"));
+        config.setRebalanceType("PERIODIC");
+        config.setRebalancePeriod("ANNUAL");
+        config.setStrategy(strategy);
+        config.setStrategyParams(params);
+
+        TargetAlloc spy = new TargetAlloc();
+        spy.setInstrumentId("SPY");
+        spy.setAssetClass("EQUITY");
+        spy.setTargetWeight(new BigDecimal("0.6"));
+
+        TargetAlloc bnd = new TargetAlloc();
+        bnd.setInstrumentId("BND");
+        bnd.setAssetClass("BOND");
+        bnd.setTargetWeight(new BigDecimal("0.4"));
+
+        config.setTargets(List.of(spy, bnd));
+        return config;
+    }
+
+    private BacktestResult run(BacktestConfig config) {
+        BacktestRun run = backtestService.runBacktest(null, config);
+        assertThat(run.getStatus()).isEqualTo("SUCCEEDED");
+        return backtestService.getResult(run.getId());
+    }
+
+    @Test
+    @DisplayName("등록된 전략 목록")
+    void listStrategies() {
+        assertThat(backtestService.listStrategies())
+                .contains(DualMomentumStrategy.NAME, MovingAverageTrendStrategy.NAME, VolatilityTargetStrategy.NAME);
+    }
+
+    @Test
+    @DisplayName("전략별 실행 성공 - 같은 거래일 시계열")
+    void strategies_run() {
+        BacktestResult fixed = run(createConfig(null, null));
+
+        for (String strategy : List.of(DualMomentumStrategy.NAME, MovingAverageTrendStrategy.NAME,
+                VolatilityTargetStrategy.NAME)) {
+            BacktestResult result = run(createConfig(strategy, Map.of()));
+
+            assertThat(result.getSeries()).as(strategy).hasSameSizeAs(fixed.getSeries());
+            assertThat(result.getTradeLogs()).as(strategy).isNotEmpty();
+            assertThat(result.getStats().getCagr()).as(strategy).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("파라미터 반영 - 이동 평균 창이 다르면 결과도 다름")
+    void trend_paramsApplied() {
+        BacktestResult slow = run(createConfig(MovingAverageTrendStrategy.NAME,
+                Map.of("maDays", new BigDecimal("200"))));
+        BacktestResult fast = run(createConfig(MovingAverageTrendStrategy.NAME,
+                Map.of("maDays", new BigDecimal("20"), "ema", BigDecimal.ONE)));
+
+        SeriesPoint slowLast = slow.getSeries().get(slow.getSeries().size() - 1);
+        SeriesPoint fastLast = fast.getSeries().get(fast.getSeries().size() - 1);
+        assertThat(fastLast.getEquityCurveBase()).isNotEqualByComparingTo(slowLast.getEquityCurveBase());
+    }
+
+    @Test
+    @DisplayName("위험 기반 비중 - 리밸런싱 때 설정 비중과 다른 비중으로 매매")
+    void weighting_runs() {
+        BacktestResult fixed = run(createConfig(null, null));
+
+        for (String weighting : RiskWeightingStrategy.SCHEMES) {
+            BacktestConfig config = createConfig(null, null);
+            config.setRebalancePeriod("QUARTERLY");
+            config.setWeighting(weighting);
+            config.setCovarianceHalfLifeDays(20);
+            BacktestResult result = run(config);
+
+            assertThat(result.getSeries()).as(weighting).hasSameSizeAs(fixed.getSeries());
+            SeriesPoint fixedLast = fixed.getSeries().get(fixed.getSeries().size() - 1);
+            SeriesPoint last = result.getSeries().get(result.getSeries().size() - 1);
+            assertThat(last.getEquityCurveBase()).as(weighting).isNotEqualByComparingTo(fixedLast.getEquityCurveBase());
+        }
+    }
+
+    @Test
+    @DisplayName("위험 기반 비중 - 전략과 함께 / NONE 리밸런싱 / 알 수 없는 방식은 INVALID_INPUT")
+    void invalidWeighting_rejected() {
+        BacktestConfig combined = createConfig(MovingAverageTrendStrategy.NAME, Map.of());
+        combined.setWeighting(RiskWeightingStrategy.RISK_PARITY);
+        BacktestConfig noRebalance = createConfig(null, null);
+        noRebalance.setRebalanceType("NONE");
+        noRebalance.setWeighting(RiskWeightingStrategy.INVERSE_VOL);
+        BacktestConfig unknown = createConfig(null, null);
+        unknown.setWeighting("MAX_SHARPE");
+
+        for (BacktestConfig config : List.of(combined, noRebalance, unknown)) {
+            assertThatThrownBy(() -> backtestService.createConfig(config))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting(e -> ((BusinessException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    @Test
+    @DisplayName("알 수 없는 전략 / 범위 밖 파라미터 - INVALID_INPUT")
+    void invalidStrategy_rejected() {
+        assertThatThrownBy(() -> backtestService.createConfig(createConfig("UNKNOWN", null)))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_INPUT);
+
+        assertThatThrownBy(() -> backtestService.createConfig(
+                createConfig(VolatilityTargetStrategy.NAME, Map.of("targetVol", new BigDecimal("-1")))))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_INPUT);
+    }
+}
@@ -0,0 +1,110 @@
+package com.portfolio.backtest.strategy;
+
+import com.portfolio.backtest.strategy.indicator.EwmaCovariance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RiskBudgetSolver 테스트")
+class RiskBudgetSolverTest {
+
+    private static final int N = 20;
+
+    /** 단일 팩터 + 개별 잡음 수익률로 만든 EWMA 공분산 */
+    private static double[] covariance(long seed) {
+        Random random = new Random(seed);
+        double[] vol = new double[N];
+        for (int i = 0; i < N; i++) vol[i] = 0.005 + 0.02 * random.nextDouble();
+
+        EwmaCovariance covariance = new EwmaCovariance(N, 60);
+        double[] returns = new double[N];
+        for (int d = 0; d < 500; d++) {
+            double factor = random.nextGaussian();
+            for (int i = 0; i < N; i++) {
+                returns[i] = vol[i] * (0.6 * factor + 0.8 * random.nextGaussian());
+            }
+            covariance.add(returns);
+        }
+        return covariance.matrix();
+    }
+
+    private static double[] unset() {
+        double[] weights = new double[N];
+        weights[0] = Double.NaN;
+        return weights;
+    }
+
+    private static double variance(double[] cov, double[] w) {
+        double value = 0;
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) value += w[i] * cov[i * N + j] * w[j];
+        }
+        return value;
+    }
+
+    @Test
+    @DisplayName("INVERSE_VOL - 비중 × 변동성이 모두 같음")
+    void inverseVolatility() {
+        double[] cov = covariance(1);
+        double[] w = unset();
+
+        new RiskBudgetSolver(N).inverseVolatility(cov, w);
+
+        assertThat(Arrays.stream(w).sum()).isCloseTo(1.0, within(1e-12));
+        double expected = w[0] * Math.sqrt(cov[0]);
+        for (int i = 1; i < N; i++) {
+            assertThat(w[i] * Math.sqrt(cov[i * N + i])).isCloseTo(expected, within(1e-12));
+        }
+    }
+
+    @Test
+    @DisplayName("RISK_PARITY - 위험 기여도가 모두 1 / n, 이전 결과로 시작하면 빨리 수렴")
+    void equalRiskContribution() {
+        double[] cov = covariance(2);
+        double[] w = unset();
+        RiskBudgetSolver solver = new RiskBudgetSolver(N);
+
+        int cold = solver.equalRiskContribution(cov, w);
+
+        double total = variance(cov, w);
+        for (int i = 0; i < N; i++) {
+            double sigmaW = 0;
+            for (int j = 0; j < N; j++) sigmaW += cov[i * N + j] * w[j];
+            assertThat(w[i] * sigmaW / total).isCloseTo(1.0 / N, within(1e-9));
+        }
+        assertThat(Arrays.stream(w).sum()).isCloseTo(1.0, within(1e-12));
+        assertThat(solver.equalRiskContribution(cov, w)).isLessThan(cold);
+    }
+
+    @Test
+    @DisplayName("MIN_VARIANCE - long-only, 어떤 비중 이동으로도 분산이 줄지 않음")
+    void minimumVariance() {
+        double[] cov = covariance(3);
+        double[] w = unset();
+
+        new RiskBudgetSolver(N).minimumVariance(cov, w);
+
+        assertThat(Arrays.stream(w).allMatch(x -> x >= 0)).isTrue();
+        assertThat(Arrays.stream(w).sum()).isCloseTo(1.0, within(1e-12));
+
+        double best = variance(cov, w);
+        double[] inverseVol = unset();
+        new RiskBudgetSolver(N).inverseVolatility(cov, inverseVol);
+        assertThat(best).isLessThanOrEqualTo(variance(cov, inverseVol));
+
+        Random random = new Random(4);
+        for (int k = 0; k < 5_000; k++) {
+            double[] moved = w.clone();
+            int to = random.nextInt(N);
+            int from = random.nextInt(N);
+            double delta = Math.min(moved[from], 1e-3 * random.nextDouble());
+            moved[to] += delta;
+            moved[from] -= delta;
+            assertThat(variance(cov, moved)).isGreaterThanOrEqualTo(best - 1e-15);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.portfolio.backtest.strategy.indicator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("증분 지표 테스트")
+class IncrementalIndicatorsTest {
+
+    private static double[] randomWalk(int n, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        values[0] = 100;
+        for (int i = 1; i < n; i++) {
+            values[i] = values[i - 1] * (1 + random.nextGaussian() * 0.02);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("RollingMean / RollingStdev - 창 전체 재계산과 일치")
+    void rollingMeanAndStdev_matchNaive() {
+        double[] values = randomWalk(2_000, 1);
+        int window = 20;
+        RollingMean mean = new RollingMean(window);
+        RollingStdev stdev = new RollingStdev(window);
+
+        for (int i = 0; i < values.length; i++) {
+            mean.add(values[i]);
+            stdev.add(values[i]);
+            if (i < window - 1) {
+                assertThat(mean.isReady()).isFalse();
+                assertThat(stdev.value()).isNaN();
+                continue;
+            }
+            double sum = 0;
+            for (int j = i - window + 1; j <= i; j++) sum += values[j];
+            double expectedMean = sum / window;
+            double squares = 0;
+            for (int j = i - window + 1; j <= i; j++) squares += (values[j] - expectedMean) * (values[j] - expectedMean);
+            double expectedStdev = Math.sqrt(squares / (window - 1));
+
+            assertThat(mean.value()).isCloseTo(expectedMean, within(1e-9));
+            assertThat(stdev.mean()).isCloseTo(expectedMean, within(1e-9));
+            assertThat(stdev.value()).isCloseTo(expectedStdev, within(1e-9));
+        }
+    }
+
+    @Test
+    @DisplayName("RollingMax - 창 안의 최댓값과 일치")
+    void rollingMax_matchesNaive() {
+        double[] values = randomWalk(2_000, 2);
+        int window = 50;
+        RollingMax max = new RollingMax(window);
+
+        for (int i = 0; i < values.length; i++) {
+            max.add(values[i]);
+            if (i < window - 1) {
+                assertThat(max.value()).isNaN();
+                continue;
+            }
+            double expected = Double.NEGATIVE_INFINITY;
+            for (int j = i - window + 1; j <= i; j++) expected = Math.max(expected, values[j]);
+            assertThat(max.value()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Ema - 재귀식과 일치, reset 후 처음부터")
+    void ema_matchesRecurrence() {
+        double[] values = randomWalk(500, 3);
+        Ema ema = Ema.ofPeriod(10);
+        double alpha = 2.0 / 11;
+
+        double expected = values[0];
+        ema.add(values[0]);
+        for (int i = 1; i < values.length; i++) {
+            ema.add(values[i]);
+            expected = alpha * values[i] + (1 - alpha) * expected;
+        }
+        assertThat(ema.isReady()).isTrue();
+        assertThat(ema.value()).isCloseTo(expected, within(1e-9));
+
+        ema.reset();
+        assertThat(ema.isReady()).isFalse();
+        assertThat(ema.value()).isNaN();
+    }
+
+    @Test
+    @DisplayName("EwmaCovariance - 지수 가중 평균 직접 계산과 일치")
+    void ewmaCovariance_matchesNaive() {
+        Random random = new Random(4);
+        int n = 4;
+        int days = 300;
+        double halfLife = 20;
+        double lambda = Math.pow(2, -1 / halfLife);
+        double[][] returns = new double[days][n];
+        EwmaCovariance covariance = new EwmaCovariance(n, halfLife);
+        for (int t = 0; t < days; t++) {
+            for (int i = 0; i < n; i++) returns[t][i] = random.nextGaussian() * 0.01;
+            covariance.add(returns[t]);
+        }
+
+        assertThat(covariance.isReady()).isTrue();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                double weights = 0;
+                for (int t = 0; t < days; t++) {
+                    double weight = Math.pow(lambda, days - 1 - t);
+                    sum += weight * returns[t][i] * returns[t][j];
+                    weights += weight;
+                }
+                assertThat(covariance.get(i, j)).isCloseTo(sum / weights, within(1e-15));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("DoubleRingBuffer - 가득 차면 가장 오래된 값을 밀어냄")
+    void ringBuffer_evictsOldest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+
+        assertThat(buffer.push(1)).isNaN();
+        assertThat(buffer.push(2)).isNaN();
+        assertThat(buffer.push(3)).isNaN();
+        assertThat(buffer.isFull()).isTrue();
+        assertThat(buffer.push(4)).isEqualTo(1);
+        assertThat(buffer.get(0)).isEqualTo(2);
+        assertThat(buffer.get(2)).isEqualTo(4);
+
+        buffer.clear();
+        assertThat(buffer.size()).isZero();
+    }
+}
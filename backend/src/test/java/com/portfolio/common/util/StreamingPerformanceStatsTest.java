@@ -0,0 +1,76 @@
+package com.portfolio.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StreamingPerformanceStats 테스트")
+class StreamingPerformanceStatsTest {
+
+    @Test
+    @DisplayName("MDD / drawdown - 누적 최고점 기준")
+    void drawdown_tracksRunningPeak() {
+        StreamingPerformanceStats stats = new StreamingPerformanceStats();
+        double[] equity = {100, 120, 90, 110, 60, 130, 125};
+        for (double e : equity) {
+            stats.add(e, 100);
+        }
+
+        assertThat(stats.count()).isEqualTo(7);
+        assertThat(stats.peak()).isEqualTo(130);
+        assertThat(stats.maxDrawdown()).isCloseTo(0.5, within(1e-12));
+        assertThat(stats.drawdown()).isCloseTo(5.0 / 130.0, within(1e-12));
+    }
+
+    @Test
+    @DisplayName("평균 / 분산 - 2-pass 계산과 일치")
+    void variance_matchesTwoPass() {
+        StreamingPerformanceStats stats = new StreamingPerformanceStats();
+        double[] equity = {1000, 1010, 1005, 1030, 1020, 1050, 1042};
+        double[] returns = new double[equity.length - 1];
+        for (int i = 0; i < equity.length; i++) {
+            stats.add(equity[i], 1000);
+            if (i > 0) returns[i - 1] = equity[i] / equity[i - 1] - 1.0;
+        }
+
+        double mean = 0;
+        for (double r : returns) mean += r;
+        mean /= returns.length;
+        double variance = 0;
+        for (double r : returns) variance += (r - mean) * (r - mean);
+        variance /= returns.length;
+
+        assertThat(stats.returnCount()).isEqualTo(returns.length);
+        assertThat(stats.meanReturn()).isCloseTo(mean, within(1e-15));
+        assertThat(stats.variance()).isCloseTo(variance, within(1e-15));
+        assertThat(stats.twrProduct()).isCloseTo(1042.0 / 1000.0, within(1e-12));
+    }
+
+    @Test
+    @DisplayName("입금일 수익률 - 입금액 효과 제거")
+    void returns_excludeDeposits() {
+        StreamingPerformanceStats stats = new StreamingPerformanceStats();
+        stats.add(1000, 1000);
+        stats.add(2000, 2000);   // 1000 입금, 수익 0
+        stats.add(2200, 2000);   // +10%
+
+        assertThat(stats.twrProduct()).isCloseTo(1.1, within(1e-12));
+        assertThat(stats.maxDrawdown()).isZero();
+    }
+
+    @Test
+    @DisplayName("reset 후 재사용")
+    void reset_clearsState() {
+        StreamingPerformanceStats stats = new StreamingPerformanceStats();
+        stats.add(100, 100);
+        stats.add(50, 100);
+        stats.reset();
+        stats.add(10, 10);
+
+        assertThat(stats.count()).isEqualTo(1);
+        assertThat(stats.returnCount()).isZero();
+        assertThat(stats.maxDrawdown()).isZero();
+        assertThat(stats.twrProduct()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.portfolio.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TimeSeriesDownsampler 테스트")
+class TimeSeriesDownsamplerTest {
+
+    private static double[] randomWalk(int n, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[n];
+        values[0] = 100;
+        for (int i = 1; i < n; i++) {
+            values[i] = values[i - 1] * (1 + random.nextGaussian() * 0.01);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("LTTB - 정확히 maxPoints개, 첫 / 마지막 점 유지, 오름차순")
+    void lttb_sizeAndEndpoints() {
+        double[] values = randomWalk(5_000, 1);
+
+        int[] indices = TimeSeriesDownsampler.lttb(values, 300);
+
+        assertThat(indices).hasSize(300).isSorted().doesNotHaveDuplicates();
+        assertThat(indices[0]).isZero();
+        assertThat(indices[299]).isEqualTo(4_999);
+    }
+
+    @Test
+    @DisplayName("LTTB - 버킷 안의 스파이크를 선택")
+    void lttb_keepsSpike() {
+        double[] values = new double[1_000];
+        values[517] = 50;
+
+        int[] indices = TimeSeriesDownsampler.lttb(values, 20);
+
+        assertThat(indices).contains(517);
+    }
+
+    @Test
+    @DisplayName("downsample - MDD 고점 / 저점 항상 포함, maxPoints 이하")
+    void downsample_keepsDrawdownExtremes() {
+        double[] values = randomWalk(10_000, 7);
+        int[] extremes = TimeSeriesDownsampler.maxDrawdownPeakTrough(values);
+
+        int[] indices = TimeSeriesDownsampler.downsample(values, 200);
+
+        assertThat(indices.length).isLessThanOrEqualTo(200);
+        assertThat(indices).isSorted().doesNotHaveDuplicates().contains(extremes);
+
+        StreamingPerformanceStats full = new StreamingPerformanceStats();
+        for (double v : values) full.add(v, 100);
+        StreamingPerformanceStats sampled = new StreamingPerformanceStats();
+        for (int i : indices) sampled.add(values[i], 100);
+        assertThat(sampled.maxDrawdown()).isCloseTo(full.maxDrawdown(), within(1e-12));
+    }
+
+    @Test
+    @DisplayName("downsample - 작은 maxPoints(3, 4)에서도 결과 크기는 maxPoints 이하")
+    void downsample_smallMaxPoints() {
+        double[] values = randomWalk(1_000, 3);
+        int[] extremes = TimeSeriesDownsampler.maxDrawdownPeakTrough(values);
+        assertThat(extremes).hasSize(2);
+
+        int[] four = TimeSeriesDownsampler.downsample(values, 4);
+        assertThat(four.length).isLessThanOrEqualTo(4);
+        assertThat(four).isSorted().doesNotHaveDuplicates().contains(0, 999).contains(extremes);
+
+        int[] three = TimeSeriesDownsampler.downsample(values, 3);
+        assertThat(three.length).isLessThanOrEqualTo(3);
+        assertThat(three).isSorted().doesNotHaveDuplicates().contains(0, 999);
+    }
+
+    @Test
+    @DisplayName("점 수가 maxPoints 이하 / null - 원본 그대로")
+    void downsample_noop() {
+        List<Double> points = List.of(1.0, 2.0, 3.0);
+
+        assertThat(TimeSeriesDownsampler.downsample(points, Double::doubleValue, 10)).isSameAs(points);
+        assertThat(TimeSeriesDownsampler.downsample(points, Double::doubleValue, null)).isSameAs(points);
+        assertThat(TimeSeriesDownsampler.downsample(new double[] {1, 2}, 5)).containsExactly(0, 1);
+        assertThatThrownBy(() -> TimeSeriesDownsampler.lttb(new double[10], 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("maxPoints < MIN_POINTS - 점 수가 적어도 거부")
+    void downsample_rejectsSmallMaxPointsForShortSeries() {
+        List<Double> points = List.of(1.0, 2.0);
+
+        assertThatThrownBy(() -> TimeSeriesDownsampler.downsample(points, Double::doubleValue, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeSeriesDownsampler.downsample(points, Double::doubleValue, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeSeriesDownsampler.downsample(new double[] {1, 2}, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
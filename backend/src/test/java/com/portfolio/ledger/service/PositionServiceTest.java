@@ -0,0 +1,223 @@
+package com.portfolio.ledger.service;
+
+import com.portfolio.TestConfig;
+import com.portfolio.ledger.entity.PositionSnapshot;
+import com.portfolio.ledger.entity.Transaction;
+import com.portfolio.ledger.entity.TransactionLeg;
+import com.portfolio.portfolio.entity.Portfolio;
+import com.portfolio.portfolio.repository.PortfolioRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(TestConfig.class)
+@DisplayName("PositionService 테스트")
+class PositionServiceTest {
+
+    private static final String TEST_WORKSPACE_ID = "test-workspace";
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PositionService positionService;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String portfolioId;
+
+    @BeforeEach
+    void setUp() {
+        Portfolio portfolio = portfolioRepository.save(Portfolio.builder()
+                .workspaceId(TEST_WORKSPACE_ID)
+                .name("Position Test")
+                .baseCurrency("USD")
+                .type(Portfolio.PortfolioType.REAL)
+                .build());
+        portfolioId = portfolio.getId();
+
+        BigDecimal amount = new BigDecimal("100000");
+        create(Transaction.TransactionType.DEPOSIT, T0, List.of(
+                cashLeg(amount, "CASH"),
+                cashLeg(amount.negate(), "EXTERNAL")));
+    }
+
+    private Transaction create(Transaction.TransactionType type, LocalDateTime occurredAt, List<TransactionLeg> legs) {
+        return transactionService.createTransaction(portfolioId, TEST_WORKSPACE_ID, type, occurredAt, null,
+                new ArrayList<>(legs));
+    }
+
+    private Transaction trade(String ticker, String quantity, String price, LocalDateTime occurredAt) {
+        BigDecimal qty = new BigDecimal(quantity);
+        BigDecimal amount = qty.multiply(new BigDecimal(price));
+        Transaction.TransactionType type = qty.signum() > 0
+                ? Transaction.TransactionType.BUY
+                : Transaction.TransactionType.SELL;
+        return create(type, occurredAt, List.of(
+                TransactionLeg.builder()
+                        .legType(TransactionLeg.LegType.ASSET)
+                        .instrumentId(ticker)
+                        .currency("USD")
+                        .quantity(qty)
+                        .price(new BigDecimal(price))
+                        .amount(amount)
+                        .build(),
+                cashLeg(amount.negate(), "CASH")));
+    }
+
+    private static String instrumentId(Transaction transaction) {
+        return transaction.getLegs().stream()
+                .filter(leg -> leg.getLegType() == TransactionLeg.LegType.ASSET)
+                .findFirst().orElseThrow().getInstrumentId();
+    }
+
+    private static TransactionLeg cashLeg(BigDecimal amount, String account) {
+        return TransactionLeg.builder()
+                .legType(TransactionLeg.LegType.CASH)
+                .currency("USD")
+                .amount(amount)
+                .account(account)
+                .build();
+    }
+
+    /** 물리화된 행을 DB에서 다시 읽음 */
+    private PositionService.Positions reload() {
+        entityManager.flush();
+        entityManager.clear();
+        return positionService.currentPositions(portfolioId);
+    }
+
+    private static void assertSamePositions(PositionService.Positions actual, PositionService.Positions expected) {
+        assertThat(actual.cashBalance()).isEqualByComparingTo(expected.cashBalance());
+        assertThat(actual.snapshots()).hasSameSizeAs(expected.snapshots());
+        for (int i = 0; i < expected.snapshots().size(); i++) {
+            PositionSnapshot a = actual.snapshots().get(i);
+            PositionSnapshot e = expected.snapshots().get(i);
+            assertThat(a.getInstrumentId()).isEqualTo(e.getInstrumentId());
+            assertThat(a.getAsOf()).isEqualTo(e.getAsOf());
+            assertThat(a.getQuantity()).isEqualByComparingTo(e.getQuantity());
+            assertThat(a.getAvgCost()).isEqualByComparingTo(e.getAvgCost());
+            assertThat(a.getTotalCost()).isEqualByComparingTo(e.getTotalCost());
+            assertThat(a.getRealizedPnlBase()).isEqualByComparingTo(e.getRealizedPnlBase());
+        }
+    }
+
+    @Test
+    @DisplayName("거래마다 증분 반영 - 원장 전체 재구성과 일치")
+    void incremental_matchesRebuild() {
+        String instrumentA = instrumentId(trade("POS_A", "10", "100", T0.plusDays(1)));
+        trade("POS_B", "3", "300.5", T0.plusDays(2));
+        trade("POS_A", "5", "120", T0.plusDays(3));
+        trade("POS_A", "-8", "130.25", T0.plusDays(4));
+
+        PositionService.Positions incremental = reload();
+        PositionSnapshot positionA = incremental.snapshots().stream()
+                .filter(s -> s.getInstrumentId().equals(instrumentA))
+                .findFirst().orElseThrow();
+
+        assertThat(incremental.cashBalance()).isEqualByComparingTo("98540.5");
+        assertThat(positionA.getQuantity()).isEqualByComparingTo("7");
+        assertThat(positionA.getAvgCost()).isEqualByComparingTo("106.666666");
+        assertThat(positionA.getRealizedPnlBase()).isEqualByComparingTo("188.666664");
+
+        transactionService.rebuildPositions(portfolioId, TEST_WORKSPACE_ID);
+        assertSamePositions(reload(), incremental);
+    }
+
+    @Test
+    @DisplayName("거래 취소 - 현금 / 해당 종목 포지션 되돌림")
+    void void_revertsPosition() {
+        trade("POS_A", "10", "100", T0.plusDays(1));
+        Transaction sell = trade("POS_A", "-4", "150", T0.plusDays(2));
+
+        transactionService.voidTransaction(sell.getId());
+
+        PositionService.Positions positions = reload();
+        assertThat(positions.cashBalance()).isEqualByComparingTo("99000");
+        assertThat(positions.snapshots()).hasSize(1);
+        PositionSnapshot positionA = positions.snapshots().get(0);
+        assertThat(positionA.getQuantity()).isEqualByComparingTo("10");
+        assertThat(positionA.getRealizedPnlBase()).isEqualByComparingTo("0");
+        assertThat(positionA.getAsOf()).isEqualTo(T0.plusDays(1));
+
+        Transaction buy = trade("POS_B", "1", "200", T0.plusDays(3));
+        transactionService.voidTransaction(buy.getId());
+        assertThat(reload().snapshots()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("과거 시점 거래 - 해당 종목만 발생 시각 순으로 재계산")
+    void backdatedTrade_replaysInstrument() {
+        trade("POS_A", "10", "100", T0.plusDays(10));
+        trade("POS_A", "-5", "110", T0.plusDays(20));
+
+        trade("POS_A", "10", "80", T0.plusDays(5));
+
+        PositionService.Positions positions = reload();
+        PositionSnapshot positionA = positions.snapshots().get(0);
+        assertThat(positionA.getQuantity()).isEqualByComparingTo("15");
+        assertThat(positionA.getAsOf()).isEqualTo(T0.plusDays(20));
+        // 평균 단가 90에 매도 → 실현 손익 5 × 20
+        assertThat(positionA.getRealizedPnlBase()).isEqualByComparingTo("100");
+
+        transactionService.rebuildPositions(portfolioId, TEST_WORKSPACE_ID);
+        assertSamePositions(reload(), positions);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("현금 잔액 행이 없는 포트폴리오의 동시 첫 쓰기 - 둘 다 성공, 잠금 행 하나로 직렬화")
+    void concurrentFirstWrites_serialized() throws Exception {
+        String freshId = portfolioRepository.save(Portfolio.builder()
+                .workspaceId(TEST_WORKSPACE_ID)
+                .name("Position Concurrent")
+                .baseCurrency("USD")
+                .type(Portfolio.PortfolioType.REAL)
+                .build()).getId();
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Transaction>> writes = new ArrayList<>();
+            for (String amount : List.of("1000", "2500")) {
+                writes.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    BigDecimal value = new BigDecimal(amount);
+                    return transactionService.createTransaction(freshId, TEST_WORKSPACE_ID,
+                            Transaction.TransactionType.DEPOSIT, T0, null,
+                            new ArrayList<>(List.of(cashLeg(value, "CASH"), cashLeg(value.negate(), "EXTERNAL"))));
+                }));
+            }
+            for (Future<Transaction> write : writes) {
+                assertThat(write.get(30, TimeUnit.SECONDS).getId()).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(positionService.currentPositions(freshId).cashBalance()).isEqualByComparingTo("3500");
+    }
+}
@@ -0,0 +1,243 @@
+package com.portfolio.pricing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.TestConfig;
+import com.portfolio.common.util.AssetClass;
+import com.portfolio.pricing.entity.Instrument;
+import com.portfolio.pricing.repository.InstrumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(TestConfig.class)
+@DisplayName("ExternalPriceService 현재가 일괄 조회 테스트")
+class ExternalPriceServiceTest {
+
+    @Autowired
+    private InstrumentRepository instrumentRepository;
+
+    @Autowired
+    private MockPriceService mockPriceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** 스텁이 받은 요청 ("GET REALTIME_BULK_QUOTES", "POST mktId=ALL" 등) */
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+
+    private String samsungId;
+    private String hynixId;
+    private String appleId;
+    private String msftId;
+
+    @BeforeEach
+    void setUp() {
+        samsungId = save("삼성전자", "005930", "KRW", "KR");
+        hynixId = save("SK하이닉스", "000660", "KRW", "KR");
+        appleId = save("Apple Inc.", "AAPL", "USD", "US");
+        msftId = save("Microsoft", "MSFT", "USD", "US");
+    }
+
+    private String save(String name, String ticker, String currency, String country) {
+        return instrumentRepository.save(Instrument.builder()
+                .name(name)
+                .ticker(ticker)
+                .instrumentType(Instrument.InstrumentType.STOCK)
+                .assetClass(AssetClass.EQUITY)
+                .currency(currency)
+                .country(country)
+                .status(Instrument.InstrumentStatus.ACTIVE)
+                .build()).getId();
+    }
+
+    /**
+     * 요청을 네트워크로 보내지 않고 stub 응답을 돌려주는 RestTemplate으로 서비스 구성
+     */
+    private ExternalPriceService service(boolean bulkQuotes, long deadlineMs, Function<String, String> stub) {
+        RestTemplateBuilder builder = new RestTemplateBuilder().additionalInterceptors((request, body, execution) -> {
+            String call = describe(request, new String(body, StandardCharsets.UTF_8));
+            calls.add(call);
+            String json = stub.apply(call);
+            if (json == null) {
+                return new MockClientHttpResponse(new byte[0], HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            ClientHttpResponse response = new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response;
+        });
+        ExternalPriceService service = new ExternalPriceService(
+                instrumentRepository, mockPriceService, objectMapper, builder, events::add);
+        ReflectionTestUtils.setField(service, "alphaBaseUrl", "http://alpha.test");
+        ReflectionTestUtils.setField(service, "alphaApiKey", "test-key");
+        ReflectionTestUtils.setField(service, "krxBaseUrl", "http://krx.test");
+        ReflectionTestUtils.setField(service, "timeoutMs", 3000L);
+        ReflectionTestUtils.setField(service, "alphaBulkQuotes", bulkQuotes);
+        ReflectionTestUtils.setField(service, "batchDeadlineMs", deadlineMs);
+        ReflectionTestUtils.setField(service, "maxConcurrency", 4);
+        return service;
+    }
+
+    private static String describe(HttpRequest request, String body) {
+        String uri = request.getURI().toString();
+        if (request.getMethod() == HttpMethod.POST) {
+            return body.contains("mktId=ALL") ? "POST mktId=ALL" : "POST isuCd=" + param(body, "isuCd");
+        }
+        return "GET " + param(uri, "function") + " " + param(uri, "symbol");
+    }
+
+    private static String param(String query, String name) {
+        for (String pair : query.substring(query.indexOf('?') + 1).split("&")) {
+            if (pair.startsWith(name + "=")) return pair.substring(name.length() + 1).replace("%2C", ",");
+        }
+        return "";
+    }
+
+    private static String krxRows(String... tickerAndClose) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < tickerAndClose.length; i += 2) {
+            if (!rows.isEmpty()) rows.append(',');
+            rows.append("{\"ISU_SRT_CD\":\"").append(tickerAndClose[i])
+                    .append("\",\"TDD_CLSPRC\":\"").append(tickerAndClose[i + 1]).append("\"}");
+        }
+        return "{\"OutBlock_1\":[" + rows + "]}";
+    }
+
+    private static String globalQuote(String price) {
+        return "{\"Global Quote\":{\"05. price\":\"" + price + "\"}}";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("벤더별 분류 - KRX 종목은 전종목 시세 1회, 해외 종목은 종목별 GLOBAL_QUOTE")
+    void getCurrentPrices_groupsByVendor() {
+        ExternalPriceService service = service(false, 5000, call -> switch (call) {
+            case "POST mktId=ALL" -> krxRows("005930", "71,500", "000660", "180,000", "999999", "1,000");
+            case "GET GLOBAL_QUOTE AAPL" -> globalQuote("230.123");
+            case "GET GLOBAL_QUOTE MSFT" -> globalQuote("401.5");
+            default -> null;
+        });
+
+        Map<String, BigDecimal> prices = service.getCurrentPrices(List.of(samsungId, appleId, hynixId, msftId));
+
+        assertThat(prices).containsOnlyKeys(samsungId, appleId, hynixId, msftId);
+        assertThat(prices.get(samsungId)).isEqualByComparingTo("71500");
+        assertThat(prices.get(hynixId)).isEqualByComparingTo("180000");
+        assertThat(prices.get(appleId)).isEqualByComparingTo("230.12");
+        assertThat(prices.get(msftId)).isEqualByComparingTo("401.50");
+        assertThat(calls).containsExactlyInAnyOrder(
+                "POST mktId=ALL", "GET GLOBAL_QUOTE AAPL", "GET GLOBAL_QUOTE MSFT");
+    }
+
+    @Test
+    @DisplayName("일괄 API 후 종목별 API - 일괄 결과에 없는 종목만 종목별 호출")
+    void getCurrentPrices_bulkThenPerInstrument() {
+        ExternalPriceService service = service(true, 5000, call -> switch (call) {
+            case "POST mktId=ALL" -> krxRows("005930", "71500");
+            case "POST isuCd=000660" -> krxRows("000660", "181000");
+            case "GET REALTIME_BULK_QUOTES AAPL,MSFT" -> "{\"data\":[{\"symbol\":\"AAPL\",\"close\":\"231\"}]}";
+            case "GET GLOBAL_QUOTE MSFT" -> globalQuote("402");
+            default -> null;
+        });
+
+        Map<String, BigDecimal> prices = service.getCurrentPrices(List.of(samsungId, hynixId, appleId, msftId));
+
+        assertThat(prices.get(samsungId)).isEqualByComparingTo("71500");
+        assertThat(prices.get(hynixId)).isEqualByComparingTo("181000");
+        assertThat(prices.get(appleId)).isEqualByComparingTo("231");
+        assertThat(prices.get(msftId)).isEqualByComparingTo("402");
+        assertThat(calls).containsExactlyInAnyOrder(
+                "POST mktId=ALL", "GET REALTIME_BULK_QUOTES AAPL,MSFT",
+                "POST isuCd=000660", "GET GLOBAL_QUOTE MSFT");
+    }
+
+    @Test
+    @DisplayName("마감 시각 - 벤더 일괄 API도 전체 대기 한도 안에서 동시 호출, 늦은 벤더만 Mock으로 폴백")
+    void getCurrentPrices_deadlineCoversBulkCalls() {
+        ExternalPriceService service = service(true, 300, call -> {
+            if (call.startsWith("POST")) sleep(3000);
+            return call.equals("GET REALTIME_BULK_QUOTES AAPL")
+                    ? "{\"data\":[{\"symbol\":\"AAPL\",\"close\":\"232\"}]}"
+                    : null;
+        });
+
+        long startedAt = System.nanoTime();
+        Map<String, BigDecimal> prices = service.getCurrentPrices(List.of(samsungId, appleId));
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(2000);
+        assertThat(prices.get(appleId)).isEqualByComparingTo("232");
+        // Mock 기본가 100 ± 1.2%
+        assertThat(prices.get(samsungId)).isBetween(new BigDecimal("98"), new BigDecimal("102"));
+    }
+
+    @Test
+    @DisplayName("종목별 폴백 - 외부 시세가 없는 종목 / 미등록 종목만 Mock 가격")
+    void getCurrentPrices_fallsBackPerInstrument() {
+        ExternalPriceService service = service(false, 5000, call -> switch (call) {
+            case "POST mktId=ALL" -> krxRows("005930", "71500");
+            case "GET GLOBAL_QUOTE AAPL" -> globalQuote("233");
+            case "GET GLOBAL_QUOTE MSFT" -> "{\"Note\":\"rate limited\"}";
+            default -> null;
+        });
+
+        Map<String, BigDecimal> prices = service.getCurrentPrices(
+                List.of(samsungId, hynixId, appleId, msftId, "UNKNOWN_ID"));
+
+        assertThat(prices).containsOnlyKeys(samsungId, hynixId, appleId, msftId, "UNKNOWN_ID");
+        assertThat(prices.get(samsungId)).isEqualByComparingTo("71500");
+        assertThat(prices.get(appleId)).isEqualByComparingTo("233");
+        assertThat(prices.get(hynixId)).isBetween(new BigDecimal("98"), new BigDecimal("102"));
+        assertThat(prices.get(msftId)).isBetween(new BigDecimal("98"), new BigDecimal("102"));
+        assertThat(prices.get("UNKNOWN_ID")).isBetween(new BigDecimal("98"), new BigDecimal("102"));
+        assertThat(calls).contains("POST isuCd=000660").doesNotContain("GET GLOBAL_QUOTE UNKNOWN_ID");
+    }
+
+    @Test
+    @DisplayName("시세 변경 이벤트 - 직전에 받은 값과 다를 때만 발행")
+    void getCurrentPrices_publishesOnChange() {
+        String[] close = {"71500"};
+        ExternalPriceService service = service(false, 5000,
+                call -> call.equals("POST mktId=ALL") ? krxRows("005930", close[0]) : null);
+
+        service.getCurrentPrices(List.of(samsungId));
+        service.getCurrentPrices(List.of(samsungId));
+        assertThat(events).isEmpty();
+
+        close[0] = "72000";
+        service.getCurrentPrices(List.of(samsungId));
+        assertThat(events).containsExactly(new PriceChangedEvent(samsungId, new BigDecimal("72000")));
+    }
+}
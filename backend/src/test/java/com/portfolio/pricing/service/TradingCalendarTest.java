@@ -0,0 +1,127 @@
+package com.portfolio.pricing.service;
+
+import com.portfolio.pricing.entity.Exchange;
+import com.portfolio.pricing.entity.ExchangeHoliday;
+import com.portfolio.pricing.repository.ExchangeHolidayRepository;
+import com.portfolio.pricing.repository.ExchangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("TradingCalendar 테스트")
+class TradingCalendarTest {
+
+    @Autowired
+    private TradingCalendar tradingCalendar;
+
+    @Autowired
+    private ExchangeRepository exchangeRepository;
+
+    @Autowired
+    private ExchangeHolidayRepository holidayRepository;
+
+    @AfterEach
+    void tearDown() {
+        tradingCalendar.evict();
+    }
+
+    @Test
+    @DisplayName("NYSE 2023 - 거래일 250일, 규칙 휴장일 제외")
+    void nyse2023() {
+        ExchangeCalendar nyse = tradingCalendar.forExchange(TradingCalendar.NYSE);
+
+        LocalDate from = LocalDate.parse("2023-01-01");
+        LocalDate to = LocalDate.parse("2023-12-31");
+        assertThat(nyse.tradingDaysBetween(from, to)).isEqualTo(250);
+        assertThat(nyse.tradingDays(from, to)).hasSize(250);
+
+        assertThat(nyse.isTradingDay(LocalDate.parse("2023-04-07"))).isFalse();   // Good Friday
+        assertThat(nyse.isTradingDay(LocalDate.parse("2023-06-19"))).isFalse();   // Juneteenth
+        assertThat(nyse.isTradingDay(LocalDate.parse("2023-11-24"))).isTrue();
+
+        assertThat(nyse.nextTradingDay(LocalDate.parse("2023-11-22"))).isEqualTo("2023-11-24");
+        assertThat(nyse.nextTradingDay(LocalDate.parse("2023-12-22"))).isEqualTo("2023-12-26");
+        assertThat(nyse.previousTradingDay(LocalDate.parse("2023-01-03"))).isEqualTo("2022-12-30");
+    }
+
+    @Test
+    @DisplayName("KRX - 규칙 휴장일 + exchange_holidays 테이블 휴장일")
+    void krx_rulesAndTableHolidays() {
+        Exchange krx = exchangeRepository.findByCode(TradingCalendar.KRX).orElseGet(() ->
+                exchangeRepository.save(Exchange.builder()
+                        .id("KRX").code("KRX").name("Korea Exchange").timezone("Asia/Seoul").currency("KRW")
+                        .build()));
+        for (String date : List.of("2024-09-16", "2024-09-17", "2024-09-18")) {
+            holidayRepository.save(new ExchangeHoliday(krx.getId(), LocalDate.parse(date), "추석"));
+        }
+        tradingCalendar.evict();
+
+        ExchangeCalendar calendar = tradingCalendar.forExchange(TradingCalendar.KRX);
+
+        assertThat(calendar.isTradingDay(LocalDate.parse("2024-05-01"))).isFalse();   // 근로자의 날
+        assertThat(calendar.isTradingDay(LocalDate.parse("2024-05-06"))).isFalse();   // 어린이날 대체공휴일
+        assertThat(calendar.isTradingDay(LocalDate.parse("2024-12-31"))).isFalse();   // 연말 휴장일
+        assertThat(calendar.nextTradingDay(LocalDate.parse("2024-09-13"))).isEqualTo("2024-09-19");
+        assertThat(tradingCalendar.forCurrency("KRW")).isSameAs(calendar);
+    }
+
+    @Test
+    @DisplayName("종목 합집합 달력 - 어느 한 시장이라도 열리면 거래일")
+    void instrumentsUnion() {
+        ExchangeCalendar union = tradingCalendar.forInstruments(List.of("SPY", "005930"));
+
+        assertThat(tradingCalendar.exchangeCode("005930")).isEqualTo(TradingCalendar.KRX);
+        assertThat(union.isTradingDay(LocalDate.parse("2024-07-04"))).isTrue();    // NYSE 휴장, KRX 개장
+        assertThat(union.isTradingDay(LocalDate.parse("2024-08-15"))).isTrue();    // KRX 휴장, NYSE 개장
+        assertThat(union.isTradingDay(LocalDate.parse("2024-12-25"))).isFalse();   // 양쪽 휴장
+        assertThat(tradingCalendar.forInstruments(List.of("005930", "SPY"))).isSameAs(union);
+
+        LocalDate from = LocalDate.parse("2020-01-01");
+        LocalDate to = LocalDate.parse("2024-12-31");
+        LocalDate[] days = union.tradingDays(from, to);
+        assertThat(days).hasSize(union.tradingDaysBetween(from, to));
+        assertThat(days).isSorted().allMatch(union::isTradingDay);
+    }
+
+    @Test
+    @DisplayName("검증 구간 - KRX는 테이블 휴장일이 있는 연도, NYSE는 전 구간, 합집합은 교집합")
+    void verifiedRange() {
+        Exchange krx = exchangeRepository.findByCode(TradingCalendar.KRX).orElseGet(() ->
+                exchangeRepository.save(Exchange.builder()
+                        .id("KRX").code("KRX").name("Korea Exchange").timezone("Asia/Seoul").currency("KRW")
+                        .build()));
+        tradingCalendar.evict();
+        assertThat(tradingCalendar.forExchange(TradingCalendar.KRX)
+                .isVerified(LocalDate.parse("2024-01-02"), LocalDate.parse("2024-01-31"))).isFalse();
+
+        holidayRepository.save(new ExchangeHoliday(krx.getId(), LocalDate.parse("2024-02-09"), "설날"));
+        holidayRepository.save(new ExchangeHoliday(krx.getId(), LocalDate.parse("2026-02-16"), "설날"));
+        tradingCalendar.evict();
+
+        ExchangeCalendar calendar = tradingCalendar.forExchange(TradingCalendar.KRX);
+        assertThat(calendar.verifiedFrom()).isEqualTo("2024-01-01");
+        assertThat(calendar.verifiedTo()).isEqualTo("2026-12-31");
+        assertThat(calendar.isVerified(LocalDate.parse("2024-01-02"), LocalDate.parse("2026-12-30"))).isTrue();
+        assertThat(calendar.isVerified(LocalDate.parse("2023-12-28"), LocalDate.parse("2024-01-31"))).isFalse();
+        assertThat(calendar.isVerified(LocalDate.parse("2026-12-01"), LocalDate.parse("2027-01-04"))).isFalse();
+
+        ExchangeCalendar nyse = tradingCalendar.forExchange(TradingCalendar.NYSE);
+        assertThat(nyse.isVerified(LocalDate.parse("1990-01-02"), LocalDate.parse("2040-12-31"))).isTrue();
+
+        ExchangeCalendar union = tradingCalendar.forInstruments(List.of("SPY", "005930"));
+        assertThat(union.verifiedFrom()).isEqualTo("2024-01-01");
+        assertThat(union.verifiedTo()).isEqualTo("2026-12-31");
+    }
+}
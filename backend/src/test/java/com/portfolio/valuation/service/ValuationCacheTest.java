@@ -0,0 +1,174 @@
+package com.portfolio.valuation.service;
+
+import com.portfolio.ledger.service.LedgerChangedEvent;
+import com.portfolio.pricing.service.PriceChangedEvent;
+import com.portfolio.valuation.service.ValuationService.PortfolioValuation;
+import com.portfolio.valuation.service.ValuationService.PositionValuation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ValuationCache 테스트")
+class ValuationCacheTest {
+
+    private static final String WORKSPACE_ID = "test-workspace";
+
+    @Autowired
+    private ValuationCache valuationCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** 호출 횟수를 세는 평가 계산 (instrumentId 1종목 보유) */
+    private static Supplier<PortfolioValuation> counting(AtomicInteger calls, String portfolioId, String instrumentId) {
+        return () -> {
+            calls.incrementAndGet();
+            return valuation(portfolioId, instrumentId, null, BigDecimal.valueOf(calls.get()));
+        };
+    }
+
+    private static PortfolioValuation valuation(String portfolioId, String instrumentId, BigDecimal price,
+                                                BigDecimal totalValue) {
+        PositionValuation position = new PositionValuation();
+        position.instrumentId = instrumentId;
+        position.marketPrice = price;
+        PortfolioValuation valuation = new PortfolioValuation();
+        valuation.portfolioId = portfolioId;
+        valuation.totalValueBase = totalValue;
+        valuation.positions = List.of(position);
+        return valuation;
+    }
+
+    @Test
+    @DisplayName("같은 포트폴리오 / 모드는 재계산하지 않음, 모드별로 따로 저장")
+    void getOrCompute_cachesPerMode() {
+        String portfolioId = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<PortfolioValuation> compute = counting(calls, portfolioId, "INST_A");
+
+        PortfolioValuation first = valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, compute);
+        PortfolioValuation second = valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, compute);
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_EOD, compute);
+
+        assertThat(second).isSameAs(first);
+        assertThat(calls).hasValue(2);
+        assertThat(valuationCache.ttl(ValuationCache.MODE_EOD))
+                .isGreaterThan(valuationCache.ttl(ValuationCache.MODE_REALTIME));
+    }
+
+    @Test
+    @DisplayName("다른 워크스페이스 요청은 캐시를 쓰지 않음")
+    void getOrCompute_otherWorkspace_recomputes() {
+        String portfolioId = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<PortfolioValuation> compute = counting(calls, portfolioId, "INST_A");
+
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, compute);
+        valuationCache.getOrCompute(portfolioId, "other-workspace", ValuationCache.MODE_REALTIME, compute);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("원장 변경 이벤트 - 해당 포트폴리오의 모든 모드 무효화")
+    void ledgerChanged_invalidatesPortfolio() {
+        String portfolioId = UUID.randomUUID().toString();
+        String otherId = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger otherCalls = new AtomicInteger();
+
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, counting(calls, portfolioId, "INST_A"));
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_EOD, counting(calls, portfolioId, "INST_A"));
+        valuationCache.getOrCompute(otherId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, counting(otherCalls, otherId, "INST_A"));
+
+        eventPublisher.publishEvent(new LedgerChangedEvent(portfolioId));
+
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, counting(calls, portfolioId, "INST_A"));
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_EOD, counting(calls, portfolioId, "INST_A"));
+        valuationCache.getOrCompute(otherId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, counting(otherCalls, otherId, "INST_A"));
+
+        assertThat(calls).hasValue(4);
+        assertThat(otherCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("현재가 변경 이벤트 - 해당 종목을 보유한 포트폴리오만 무효화")
+    void priceChanged_invalidatesHolders() {
+        String holderId = UUID.randomUUID().toString();
+        String otherId = UUID.randomUUID().toString();
+        String instrumentId = "INST_" + UUID.randomUUID();
+        AtomicInteger holderCalls = new AtomicInteger();
+        AtomicInteger otherCalls = new AtomicInteger();
+        Supplier<PortfolioValuation> holder = counting(holderCalls, holderId, instrumentId);
+        Supplier<PortfolioValuation> other = counting(otherCalls, otherId, "INST_OTHER");
+
+        valuationCache.getOrCompute(holderId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, holder);
+        valuationCache.getOrCompute(otherId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, other);
+
+        eventPublisher.publishEvent(new PriceChangedEvent(instrumentId, new BigDecimal("101.00")));
+
+        valuationCache.getOrCompute(holderId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, holder);
+        valuationCache.getOrCompute(otherId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, other);
+
+        assertThat(holderCalls).hasValue(2);
+        assertThat(otherCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("현재가 변경 이벤트 - 재계산 중 자신이 조회한 현재가로는 결과를 버리지 않음, 같은 가격은 무효화 안 함")
+    void priceChanged_duringCompute_keepsResult() {
+        String portfolioId = UUID.randomUUID().toString();
+        String instrumentId = "INST_" + UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+        // 계산 중 현재가 조회 → 직전 값과 달라 PriceChangedEvent 발행 (ExternalPriceService와 같은 흐름)
+        Supplier<PortfolioValuation> compute = () -> {
+            BigDecimal price = new BigDecimal("100.00").add(BigDecimal.valueOf(calls.incrementAndGet()));
+            eventPublisher.publishEvent(new PriceChangedEvent(instrumentId, price));
+            return valuation(portfolioId, instrumentId, price, price);
+        };
+
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, compute);
+        eventPublisher.publishEvent(new LedgerChangedEvent(portfolioId));
+        PortfolioValuation recomputed = valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, compute);
+        eventPublisher.publishEvent(new PriceChangedEvent(instrumentId, new BigDecimal("102")));
+        PortfolioValuation cached = valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, compute);
+
+        assertThat(calls).hasValue(2);
+        assertThat(cached).isSameAs(recomputed);
+
+        eventPublisher.publishEvent(new PriceChangedEvent(instrumentId, new BigDecimal("103.00")));
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME, compute);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("종목 역색인 - 포트폴리오 무효화 시 보유 종목 색인 제거")
+    void invalidate_dropsInstrumentIndex() {
+        String portfolioId = UUID.randomUUID().toString();
+        String realtimeOnly = "INST_" + UUID.randomUUID();
+        String both = "INST_" + UUID.randomUUID();
+        int before = valuationCache.indexedInstrumentCount();
+
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_REALTIME,
+                counting(new AtomicInteger(), portfolioId, realtimeOnly));
+        valuationCache.getOrCompute(portfolioId, WORKSPACE_ID, ValuationCache.MODE_EOD,
+                counting(new AtomicInteger(), portfolioId, both));
+        assertThat(valuationCache.indexedInstrumentCount()).isEqualTo(before + 2);
+
+        eventPublisher.publishEvent(new LedgerChangedEvent(portfolioId));
+        assertThat(valuationCache.indexedInstrumentCount()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,154 @@
+package com.portfolio.valuation.service;
+
+import com.portfolio.TestConfig;
+import com.portfolio.ledger.entity.Transaction;
+import com.portfolio.ledger.entity.TransactionLeg;
+import com.portfolio.ledger.service.TransactionService;
+import com.portfolio.portfolio.entity.Portfolio;
+import com.portfolio.portfolio.repository.PortfolioRepository;
+import com.portfolio.valuation.service.ValuationSeriesEngine.DailyValuation;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(TestConfig.class)
+@DisplayName("ValuationSeriesEngine 테스트")
+class ValuationSeriesEngineTest {
+
+    private static final String TEST_WORKSPACE_ID = "test-workspace";
+    private static final LocalDate D0 = LocalDate.of(2024, 1, 2);
+
+    @Autowired
+    private ValuationSeriesEngine valuationSeriesEngine;
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String portfolioId;
+
+    @BeforeEach
+    void setUp() {
+        portfolioId = portfolioRepository.save(Portfolio.builder()
+                .workspaceId(TEST_WORKSPACE_ID)
+                .name("Series Test")
+                .baseCurrency("USD")
+                .type(Portfolio.PortfolioType.REAL)
+                .build()).getId();
+    }
+
+    private void create(Transaction.TransactionType type, LocalDateTime occurredAt, List<TransactionLeg> legs) {
+        transactionService.createTransaction(portfolioId, TEST_WORKSPACE_ID, type, occurredAt, null,
+                new ArrayList<>(legs));
+    }
+
+    private void external(Transaction.TransactionType type, String amount, LocalDateTime occurredAt) {
+        BigDecimal value = new BigDecimal(amount);
+        create(type, occurredAt, List.of(cashLeg(value, "CASH"), cashLeg(value.negate(), "EXTERNAL")));
+    }
+
+    private void trade(String ticker, String quantity, String price, LocalDateTime occurredAt) {
+        BigDecimal qty = new BigDecimal(quantity);
+        BigDecimal amount = qty.multiply(new BigDecimal(price));
+        Transaction.TransactionType type = qty.signum() > 0
+                ? Transaction.TransactionType.BUY
+                : Transaction.TransactionType.SELL;
+        create(type, occurredAt, List.of(
+                TransactionLeg.builder()
+                        .legType(TransactionLeg.LegType.ASSET)
+                        .instrumentId(ticker)
+                        .currency("USD")
+                        .quantity(qty)
+                        .price(new BigDecimal(price))
+                        .amount(amount)
+                        .build(),
+                cashLeg(amount.negate(), "CASH")));
+    }
+
+    private static TransactionLeg cashLeg(BigDecimal amount, String account) {
+        return TransactionLeg.builder()
+                .legType(TransactionLeg.LegType.CASH)
+                .currency("USD")
+                .amount(amount)
+                .account(account)
+                .build();
+    }
+
+    private static LocalDate[] weekdays(LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.getDayOfWeek().getValue() <= 5) days.add(date);
+        }
+        return days.toArray(new LocalDate[0]);
+    }
+
+    @Test
+    @DisplayName("거래일별 평가액 / 현금흐름 - 날짜별 재생 결과와 일치")
+    void series_matchesPerDateReplay() {
+        external(Transaction.TransactionType.DEPOSIT, "100000", D0.atTime(9, 0));
+        trade("SER_A", "10", "100", D0.atTime(10, 0));
+        trade("SER_B", "3", "300.5", D0.plusDays(1).atTime(15, 30));
+        trade("SER_A", "5", "120", D0.plusDays(3).atTime(23, 59, 59));
+        trade("SER_A", "-15", "130.25", D0.plusDays(6).atTime(11, 0));
+        external(Transaction.TransactionType.WITHDRAW, "-2500", D0.plusDays(7).atTime(14, 0));
+        external(Transaction.TransactionType.DEPOSIT, "1000", D0.plusDays(7).atTime(16, 0));
+        // 세션 이후 거래는 반영되지 않음
+        trade("SER_B", "1", "310", D0.plusDays(30).atTime(10, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        LocalDate[] sessions = weekdays(D0.minusDays(1), D0.plusDays(14));
+        List<DailyValuation> series = valuationSeriesEngine.series(portfolioId, sessions);
+
+        assertThat(series).hasSize(sessions.length);
+        for (int i = 0; i < sessions.length; i++) {
+            DailyValuation daily = series.get(i);
+            assertThat(daily.date()).isEqualTo(sessions[i]);
+            assertThat(daily.totalValue())
+                    .as("value at %s", sessions[i])
+                    .isEqualByComparingTo(valuationService.calculateValueAtDate(portfolioId, sessions[i]));
+            assertThat(daily.cashFlow())
+                    .as("cash flow at %s", sessions[i])
+                    .isEqualByComparingTo(valuationService.getCashFlowAtDate(portfolioId, sessions[i]));
+        }
+
+        assertThat(series.get(0).totalValue()).isEqualByComparingTo("0");
+        assertThat(series.get(1).cashFlow()).isEqualByComparingTo("100000");
+    }
+
+    @Test
+    @DisplayName("거래 없는 포트폴리오 / 빈 거래일 목록")
+    void series_empty() {
+        LocalDate[] sessions = weekdays(D0, D0.plusDays(6));
+
+        assertThat(valuationSeriesEngine.series(portfolioId, sessions))
+                .extracting(DailyValuation::totalValue)
+                .allSatisfy(v -> assertThat(v).isEqualByComparingTo("0"));
+        assertThat(valuationSeriesEngine.series(portfolioId, new LocalDate[0])).isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package com.portfolio.valuation.service;
+
+import com.portfolio.TestConfig;
+import com.portfolio.ledger.entity.Transaction;
+import com.portfolio.ledger.entity.TransactionLeg;
+import com.portfolio.ledger.service.TransactionService;
+import com.portfolio.portfolio.entity.Portfolio;
+import com.portfolio.portfolio.repository.PortfolioRepository;
+import com.portfolio.valuation.service.ValuationService.PortfolioValuation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(TestConfig.class)
+@DisplayName("ValuationService 테스트")
+class ValuationServiceTest {
+
+    private static final String TEST_WORKSPACE_ID = "test-workspace";
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+    @Autowired
+    private ValuationService valuationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /** 종목 instruments개를 1주씩 보유한 포트폴리오 */
+    private String createPortfolio(String name, int instruments) {
+        String portfolioId = portfolioRepository.save(Portfolio.builder()
+                .workspaceId(TEST_WORKSPACE_ID)
+                .name(name)
+                .baseCurrency("USD")
+                .type(Portfolio.PortfolioType.REAL)
+                .build()).getId();
+
+        for (int i = 0; i < instruments; i++) {
+            BigDecimal price = new BigDecimal("100");
+            transactionService.createTransaction(portfolioId, TEST_WORKSPACE_ID, Transaction.TransactionType.BUY,
+                    T0.plusDays(i), null, new ArrayList<>(List.of(
+                            TransactionLeg.builder()
+                                    .legType(TransactionLeg.LegType.ASSET)
+                                    .instrumentId(name + "_" + i)
+                                    .currency("USD")
+                                    .quantity(BigDecimal.ONE)
+                                    .price(price)
+                                    .amount(price)
+                                    .build(),
+                            TransactionLeg.builder()
+                                    .legType(TransactionLeg.LegType.CASH)
+                                    .currency("USD")
+                                    .amount(price.negate())
+                                    .account("CASH")
+                                    .build())));
+        }
+        return portfolioId;
+    }
+
+    /** 평가 1회에 실행된 SQL 수 */
+    private long countQueries(String portfolioId, int expectedPositions) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            PortfolioValuation valuation = valuationService.calculateValuation(portfolioId, TEST_WORKSPACE_ID);
+            assertThat(valuation.positions).hasSize(expectedPositions);
+            assertThat(valuation.positions).allSatisfy(p -> assertThat(p.ticker).startsWith("VAL_"));
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    @Test
+    @DisplayName("평가 쿼리 수 - 보유 종목 수와 무관하게 일정")
+    void calculateValuation_constantQueryCount() {
+        String small = createPortfolio("VAL_S", 1);
+        String large = createPortfolio("VAL_L", 20);
+
+        long smallQueries = countQueries(small, 1);
+        long largeQueries = countQueries(large, 20);
+
+        assertThat(largeQueries).isEqualTo(smallQueries);
+    }
+}
@@ -1,5 +1,11 @@
 import { get, post } from './client';
-import type { BacktestConfig, BacktestRun, BacktestResult } from '@/types';
+import type {
+  BacktestConfig,
+  BacktestRun,
+  BacktestResult,
+  BacktestTradeLogPage,
+  CursorPage,
+} from '@/types';
 
 export interface RunBacktestRequest {
   configId?: string;
@@ -16,8 +22,8 @@ export const backtestApi = {
     get<BacktestConfig>(`/v1/backtests/configs/${id}`),
 
   // List configs
-  listConfigs: () =>
-    get<BacktestConfig[]>('/v1/backtests/configs'),
+  listConfigs: (cursor?: string, limit?: number) =>
+    get<CursorPage<BacktestConfig>>('/v1/backtests/configs', { cursor, limit }),
 
   // Run backtest
   run: (request: RunBacktestRequest) =>
@@ -27,11 +33,19 @@ export const backtestApi = {
   getRun: (runId: string) =>
     get<BacktestRun>(`/v1/backtests/runs/${runId}`),
 
+  // Cancel a running backtest
+  cancelRun: (runId: string) =>
+    post<BacktestRun>(`/v1/backtests/runs/${runId}/cancel`),
+
   // Get run results
-  getResults: (runId: string) =>
-    get<BacktestResult>(`/v1/backtests/runs/${runId}/results`),
+  getResults: (runId: string, maxPoints?: number) =>
+    get<BacktestResult>(`/v1/backtests/runs/${runId}/results`, { maxPoints }),
+
+  // Page through trade logs
+  getTradeLogs: (runId: string, offset = 0, limit = 100) =>
+    get<BacktestTradeLogPage>(`/v1/backtests/runs/${runId}/trades`, { offset, limit }),
 
-  // List runs
-  listRuns: (configId?: string) =>
-    get<BacktestRun[]>('/v1/backtests/runs', { configId }),
+  // List runs (newest first, cursor paged)
+  listRuns: (params: { configId?: string; status?: BacktestRun['status']; cursor?: string; limit?: number } = {}) =>
+    get<CursorPage<BacktestRun>>('/v1/backtests/runs', params),
 };
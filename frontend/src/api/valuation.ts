@@ -15,6 +15,7 @@ export interface PerformanceParams {
   to: string;
   metric?: MetricType;
   frequency?: FrequencyType;
+  maxPoints?: number;
 }
 
 export interface CompareRequest {
@@ -24,6 +25,7 @@ export interface CompareRequest {
   to: string;
   metric: MetricType;
   currencyMode: 'BASE' | 'NATIVE';
+  maxPoints?: number;
 }
 
 export const valuationApi = {
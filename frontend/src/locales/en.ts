@@ -233,6 +233,8 @@ export default {
       statusSucceeded: 'Succeeded',
       statusFailed: 'Failed',
       statusRunning: 'Running',
+      loadMore: 'Load more',
+      loadingMore: 'Loading more...',
     },
   },
   transaction: {
@@ -233,6 +233,8 @@ export default {
       statusSucceeded: '완료',
       statusFailed: '실패',
       statusRunning: '실행 중',
+      loadMore: '더 보기',
+      loadingMore: '불러오는 중...',
     },
   },
   transaction: {
@@ -0,0 +1,65 @@
+import { describe, it, expect, beforeEach, vi } from 'vitest';
+import { setActivePinia, createPinia } from 'pinia';
+import { useBacktestStore } from './backtest';
+import { backtestApi } from '@/api';
+import type { BacktestRun } from '@/types';
+
+vi.mock('@/api', () => ({
+  backtestApi: {
+    listConfigs: vi.fn(),
+    listRuns: vi.fn(),
+  },
+}));
+
+function run(id: string): BacktestRun {
+  return {
+    id,
+    configId: 'config-1',
+    status: 'SUCCEEDED',
+    startedAt: '2024-01-02T10:00:00Z',
+  };
+}
+
+describe('Backtest Store', () => {
+  beforeEach(() => {
+    setActivePinia(createPinia());
+    vi.clearAllMocks();
+  });
+
+  it('실행 목록 - nextCursor를 따라 다음 페이지를 이어 붙임', async () => {
+    const store = useBacktestStore();
+    vi.mocked(backtestApi.listRuns)
+      .mockResolvedValueOnce({ items: [run('a'), run('b')], nextCursor: 'cursor-1' })
+      .mockResolvedValueOnce({ items: [run('c')], nextCursor: null });
+
+    await store.fetchRuns('config-1');
+    expect(store.runs.map((r) => r.id)).toEqual(['a', 'b']);
+    expect(store.hasMoreRuns).toBe(true);
+
+    await store.loadMoreRuns();
+    expect(backtestApi.listRuns).toHaveBeenLastCalledWith({ configId: 'config-1', cursor: 'cursor-1' });
+    expect(store.runs.map((r) => r.id)).toEqual(['a', 'b', 'c']);
+    expect(store.hasMoreRuns).toBe(false);
+
+    await store.loadMoreRuns();
+    expect(backtestApi.listRuns).toHaveBeenCalledTimes(2);
+  });
+
+  it('설정 목록 - 다시 조회하면 첫 페이지부터', async () => {
+    const store = useBacktestStore();
+    vi.mocked(backtestApi.listConfigs)
+      .mockResolvedValueOnce({ items: [{ id: 'c1' }], nextCursor: 'cursor-1' } as never)
+      .mockResolvedValueOnce({ items: [{ id: 'c2' }] } as never)
+      .mockResolvedValueOnce({ items: [{ id: 'c1' }], nextCursor: 'cursor-1' } as never);
+
+    await store.fetchConfigs();
+    await store.loadMoreConfigs();
+    expect(backtestApi.listConfigs).toHaveBeenLastCalledWith('cursor-1');
+    expect(store.configs.map((c) => c.id)).toEqual(['c1', 'c2']);
+    expect(store.hasMoreConfigs).toBe(false);
+
+    await store.fetchConfigs();
+    expect(store.configs.map((c) => c.id)).toEqual(['c1']);
+    expect(store.hasMoreConfigs).toBe(true);
+  });
+});
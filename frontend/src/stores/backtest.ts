@@ -1,11 +1,17 @@
 import { defineStore } from 'pinia';
-import { ref } from 'vue';
+import { computed, ref } from 'vue';
 import { backtestApi, type RunBacktestRequest } from '@/api';
 import type { BacktestConfig, BacktestRun, BacktestResult } from '@/types';
 
 export const useBacktestStore = defineStore('backtest', () => {
   const configs = ref<BacktestConfig[]>([]);
   const runs = ref<BacktestRun[]>([]);
+  // Cursor of the next page (null once the last page has been loaded)
+  const configsCursor = ref<string | null>(null);
+  const runsCursor = ref<string | null>(null);
+  const runsConfigId = ref<string | undefined>(undefined);
+  const hasMoreConfigs = computed(() => configsCursor.value !== null);
+  const hasMoreRuns = computed(() => runsCursor.value !== null);
   const currentRun = ref<BacktestRun | null>(null);
   const currentResult = ref<BacktestResult | null>(null);
   const loading = ref(false);
@@ -16,7 +22,25 @@ export const useBacktestStore = defineStore('backtest', () => {
     loading.value = true;
     error.value = null;
     try {
-      configs.value = await backtestApi.listConfigs();
+      const page = await backtestApi.listConfigs();
+      configs.value = page.items;
+      configsCursor.value = page.nextCursor ?? null;
+    } catch (e: unknown) {
+      error.value = (e as Error).message || 'Failed to fetch configs';
+      throw e;
+    } finally {
+      loading.value = false;
+    }
+  }
+
+  async function loadMoreConfigs() {
+    if (configsCursor.value === null) return;
+    loading.value = true;
+    error.value = null;
+    try {
+      const page = await backtestApi.listConfigs(configsCursor.value);
+      configs.value.push(...page.items);
+      configsCursor.value = page.nextCursor ?? null;
     } catch (e: unknown) {
       error.value = (e as Error).message || 'Failed to fetch configs';
       throw e;
@@ -70,7 +94,7 @@ export const useBacktestStore = defineStore('backtest', () => {
           const index = runs.value.findIndex((r) => r.id === runId);
           if (index !== -1) runs.value[index] = run;
 
-          if (run.status === 'SUCCEEDED' || run.status === 'FAILED') {
+          if (run.status !== 'RUNNING') {
             polling.value = false;
             resolve(run);
           } else {
@@ -104,7 +128,26 @@ export const useBacktestStore = defineStore('backtest', () => {
     loading.value = true;
     error.value = null;
     try {
-      runs.value = await backtestApi.listRuns(configId);
+      const page = await backtestApi.listRuns({ configId });
+      runs.value = page.items;
+      runsCursor.value = page.nextCursor ?? null;
+      runsConfigId.value = configId;
+    } catch (e: unknown) {
+      error.value = (e as Error).message || 'Failed to fetch runs';
+      throw e;
+    } finally {
+      loading.value = false;
+    }
+  }
+
+  async function loadMoreRuns() {
+    if (runsCursor.value === null) return;
+    loading.value = true;
+    error.value = null;
+    try {
+      const page = await backtestApi.listRuns({ configId: runsConfigId.value, cursor: runsCursor.value });
+      runs.value.push(...page.items);
+      runsCursor.value = page.nextCursor ?? null;
     } catch (e: unknown) {
       error.value = (e as Error).message || 'Failed to fetch runs';
       throw e;
@@ -126,12 +169,16 @@ export const useBacktestStore = defineStore('backtest', () => {
     loading,
     polling,
     error,
+    hasMoreConfigs,
+    hasMoreRuns,
     fetchConfigs,
+    loadMoreConfigs,
     createConfig,
     runBacktest,
     pollRunStatus,
     fetchResults,
     fetchRuns,
+    loadMoreRuns,
     clearCurrent,
   };
 });
@@ -204,6 +204,8 @@ export interface PerformanceStats {
   beta?: number;
   trackingError?: number;
   totalInvested?: number;
+  fxPnlBase?: number;
+  fxReturn?: number;
 }
 
 export interface CompareCurvePoint {
@@ -237,9 +239,12 @@ export interface CompareResponse {
 export type RebalanceType = 'NONE' | 'PERIODIC' | 'BAND';
 export type RebalancePeriod = 'MONTHLY' | 'QUARTERLY' | 'SEMI_ANNUAL' | 'ANNUAL';
 export type PriceMode = 'ADJ_CLOSE' | 'CLOSE';
-export type BacktestStatus = 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+export type BacktestStatus = 'RUNNING' | 'SUCCEEDED' | 'FAILED' | 'CANCELLED';
 export type InvestmentType = 'LUMP_SUM' | 'DCA';
 export type DcaFrequency = 'MONTHLY' | 'QUARTERLY' | 'SEMI_ANNUAL' | 'ANNUAL';
+export type BacktestEngine = 'DECIMAL' | 'COLUMNAR';
+export type BacktestStrategy = 'DUAL_MOMENTUM' | 'TREND' | 'VOL_TARGET';
+export type BacktestWeighting = 'INVERSE_VOL' | 'RISK_PARITY' | 'MIN_VARIANCE';
 
 export interface BacktestConfig {
   id?: string;
@@ -256,6 +261,12 @@ export interface BacktestConfig {
   investmentType?: InvestmentType;
   dcaAmount?: number;
   dcaFrequency?: DcaFrequency;
+  engine?: BacktestEngine;
+  strategy?: BacktestStrategy;
+  strategyParams?: Record<string, number>;
+  weighting?: BacktestWeighting;
+  covarianceHalfLifeDays?: number;
+  baseCurrency?: string;
   targets: PortfolioTarget[];
 }
 
@@ -266,6 +277,9 @@ export interface BacktestRun {
   startedAt: string;
   finishedAt?: string;
   errorMessage?: string;
+  sourceRunId?: string;
+  progress?: number;
+  etaSeconds?: number;
 }
 
 export interface BacktestResultPoint {
@@ -286,6 +300,18 @@ export interface BacktestTradeLog {
   amount?: number;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string | null;
+}
+
+export interface BacktestTradeLogPage {
+  offset: number;
+  limit: number;
+  total: number;
+  items: BacktestTradeLog[];
+}
+
 export interface BacktestResult {
   run: BacktestRun;
   series: BacktestResultPoint[];